@@ -0,0 +1,145 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmark da busca de texto completo (FTS4) com 50 mil instrumentos
+ *
+ * Preenche um AppDatabase em memória com 50.000 linhas e mede a mediana
+ * da consulta do catálogo com busca de texto (InstrumentoDao.consultar),
+ * incluindo o cálculo do BM25. Buscas seletivas precisam ficar abaixo de
+ * 1 ms; o LIKE '%...%' equivalente (varredura da tabela) é medido apenas
+ * para comparação no Logcat.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BenchmarkBuscaInstrumentosTest {
+
+    private static final String TAG = "BenchmarkBusca";
+    private static final int TOTAL_INSTRUMENTOS = 50_000;
+    private static final int AQUECIMENTO = 20;
+    private static final int REPETICOES = 101;
+    private static final long LIMITE_NANOS = 1_000_000;
+
+    private static final String[] TIPOS = {"Violão", "Guitarra", "Baixo", "Teclado", "Bateria", "Saxofone",
+            "Flauta", "Trompete", "Violino", "Cavaquinho", "Ukulele", "Pandeiro"};
+    private static final String[] MARCAS = {"Yamaha", "Fender", "Gibson", "Roland", "Casio", "Tagima",
+            "Giannini", "Pearl", "Selmer", "Korg"};
+    private static final String[] CATEGORIAS = {"cordas", "teclas", "percussao", "sopro", "acessorios"};
+
+    private AppDatabase banco;
+
+    @Before
+    public void preencherBanco() {
+        Context contexto = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        banco = Room.inMemoryDatabaseBuilder(contexto, AppDatabase.class).build();
+
+        Random aleatorio = new Random(42);
+        List<Instrumento> instrumentos = new ArrayList<>(TOTAL_INSTRUMENTOS);
+        for (int i = 0; i < TOTAL_INSTRUMENTOS; i++) {
+            Instrumento instrumento = new Instrumento();
+            instrumento.setId(String.format(Locale.ROOT, "instrumento-%05d", i));
+            instrumento.setNome(TIPOS[aleatorio.nextInt(TIPOS.length)] + " "
+                    + MARCAS[aleatorio.nextInt(MARCAS.length)] + " modelo" + i);
+            instrumento.setDescricao("Instrumento em ótimo estado, revisado, série " + i
+                    + ", acompanha capa e cabo");
+            instrumento.setCategoria(CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)]);
+            instrumento.setPreco(10 + aleatorio.nextInt(500));
+            instrumento.setDisponivel(true);
+            instrumentos.add(instrumento);
+        }
+        banco.instrumentoDao().inserirOuAtualizar(instrumentos);
+        assertEquals(TOTAL_INSTRUMENTOS, banco.instrumentoDao().contar());
+    }
+
+    @After
+    public void fecharBanco() {
+        banco.close();
+    }
+
+    @Test
+    public void buscaPorTermoRaroFicaAbaixoDeUmMilissegundo() {
+        long mediana = medirBusca("modelo4217");
+        assertTrue("Mediana de " + mediana + " ns acima de 1 ms", mediana < LIMITE_NANOS);
+    }
+
+    @Test
+    public void buscaPorPrefixoComDoisTermosFicaAbaixoDeUmMilissegundo() {
+        long mediana = medirBusca("3141 modelo3141");
+        assertTrue("Mediana de " + mediana + " ns acima de 1 ms", mediana < LIMITE_NANOS);
+    }
+
+    @Test
+    public void buscaSemAcentoEncontraTextoAcentuado() {
+        List<ResultadoBuscaInstrumento> resultados = buscar("otimo modelo1");
+        assertFalse(resultados.isEmpty());
+    }
+
+    @Test
+    public void compararComVarreduraLike() {
+        medirBusca("modelo4217");
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < AQUECIMENTO + REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            banco.getOpenHelper().getReadableDatabase().query(
+                    "SELECT * FROM instrumentos WHERE nome LIKE '%' || ? || '%' OR descricao LIKE '%' || ? || '%'",
+                    new Object[]{"modelo4217", "modelo4217"}).close();
+            if (i >= AQUECIMENTO) {
+                tempos[i - AQUECIMENTO] = System.nanoTime() - inicio;
+            }
+        }
+        Log.i(TAG, "LIKE (varredura) - mediana: " + mediana(tempos) + " ns");
+    }
+
+    /**
+     * Mede a mediana de uma busca do catálogo, depois de aquecer o cache de páginas do SQLite
+     */
+    private long medirBusca(String texto) {
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < AQUECIMENTO + REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            List<ResultadoBuscaInstrumento> resultados = buscar(texto);
+            for (ResultadoBuscaInstrumento resultado : resultados) {
+                resultado.calcularBm25();
+            }
+            if (i >= AQUECIMENTO) {
+                tempos[i - AQUECIMENTO] = System.nanoTime() - inicio;
+            }
+            assertFalse(resultados.isEmpty());
+        }
+        long mediana = mediana(tempos);
+        Log.i(TAG, "FTS \"" + texto + "\" - mediana: " + mediana + " ns");
+        return mediana;
+    }
+
+    private List<ResultadoBuscaInstrumento> buscar(String texto) {
+        return banco.instrumentoDao().consultar(new ConsultaInstrumentos()
+                .comTexto(RepositorioInstrumentos.montarConsultaFts(texto))
+                .construir());
+    }
+
+    private static long mediana(long[] tempos) {
+        long[] ordenados = tempos.clone();
+        Arrays.sort(ordenados);
+        return ordenados[ordenados.length / 2];
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageReference;
+
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Limpeza de imagens órfãs (ColetorImagensOrfas) contra os emuladores do Firebase
+ *
+ * Envia ao emulador do Storage objetos referenciados e órfãos em instruments/
+ * e profiles/{uid}/, grava os documentos de instrumento (capa e galeria) e de
+ * usuário que apontam para os referenciados e executa o coletor com carência
+ * zero, como administrador (claim "admin" definida pela API do emulador de Auth).
+ * Apenas os órfãos podem ser removidos.
+ *
+ * Requer os emuladores em execução (firebase emulators:start, portas de
+ * firebase.json); sem eles o teste é ignorado.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ColetorImagensOrfasTest {
+
+    private static final String NOME_APP = "teste-coletor-imagens";
+    private static final String HOST_PADRAO = "10.0.2.2";
+    private static final byte[] CONTEUDO = {0x52, 0x49, 0x46, 0x46, 0x00, 0x00, 0x00, 0x00};
+
+    private static String host;
+    private static FirebaseApp app;
+    private static FirebaseFirestore firestore;
+    private static FirebaseStorage armazenamento;
+    private static FirebaseUser administrador;
+
+    @BeforeClass
+    public static void conectarEmuladores() throws Exception {
+        host = BuildConfig.FIREBASE_EMULATOR_HOST.isEmpty() ? HOST_PADRAO : BuildConfig.FIREBASE_EMULATOR_HOST;
+        Assume.assumeTrue("Emuladores do Firebase não estão em execução em " + host,
+                emuladorDisponivel(GerenciadorFirebase.PORTA_EMULADOR_FIRESTORE)
+                        && emuladorDisponivel(GerenciadorFirebase.PORTA_EMULADOR_ARMAZENAMENTO)
+                        && emuladorDisponivel(GerenciadorFirebase.PORTA_EMULADOR_AUTENTICACAO));
+
+        // Instância própria: a do aplicativo pode já ter sido usada sem os emuladores
+        Context contexto = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        app = FirebaseApp.initializeApp(contexto, FirebaseApp.getInstance().getOptions(), NOME_APP);
+        FirebaseAuth autenticacao = FirebaseAuth.getInstance(app);
+        autenticacao.useEmulator(host, GerenciadorFirebase.PORTA_EMULADOR_AUTENTICACAO);
+        firestore = FirebaseFirestore.getInstance(app);
+        firestore.useEmulator(host, GerenciadorFirebase.PORTA_EMULADOR_FIRESTORE);
+        armazenamento = FirebaseStorage.getInstance(app);
+        armazenamento.useEmulator(host, GerenciadorFirebase.PORTA_EMULADOR_ARMAZENAMENTO);
+
+        // Apenas administradores podem excluir objetos (storage.rules)
+        String email = "coletor-" + UUID.randomUUID() + "@teste.com";
+        administrador = Tasks.await(autenticacao.createUserWithEmailAndPassword(email, "senha-teste")).getUser();
+        definirClaimAdmin(administrador.getUid());
+        Tasks.await(administrador.getIdToken(true));
+    }
+
+    @AfterClass
+    public static void encerrar() {
+        if (app != null) {
+            app.delete();
+        }
+    }
+
+    @Test
+    public void removeApenasObjetosSemReferencia() throws Exception {
+        String sufixo = UUID.randomUUID().toString();
+        String uid = administrador.getUid();
+        StorageReference raiz = armazenamento.getReference();
+
+        StorageReference capa = enviar(raiz.child("instruments/capa-" + sufixo + ".webp"));
+        StorageReference galeria = enviar(raiz.child("instruments/galeria-" + sufixo + ".webp"));
+        StorageReference instrumentoOrfao = enviar(raiz.child("instruments/orfa-" + sufixo + ".webp"));
+        StorageReference foto = enviar(raiz.child("profiles/" + uid + "/foto-" + sufixo + ".webp"));
+        StorageReference fotoOrfa = enviar(raiz.child("profiles/" + uid + "/orfa-" + sufixo + ".webp"));
+
+        // Documentos que referenciam a capa, a imagem da galeria e a foto de perfil
+        Map<String, Object> imagemGaleria = new HashMap<>();
+        imagemGaleria.put(VersoesImagem.CAMPO_COMPLETA, galeria.toString());
+        Map<String, Object> instrumento = new HashMap<>();
+        instrumento.put("name", "Instrumento " + sufixo);
+        instrumento.put(VersoesImagem.CAMPO_COMPLETA, capa.toString());
+        instrumento.put(VersoesImagem.CAMPO_GALERIA, Collections.singletonList(imagemGaleria));
+        Tasks.await(firestore.collection("instruments").document("coletor-" + sufixo).set(instrumento));
+        Tasks.await(firestore.collection("users").document(uid)
+                .set(Collections.singletonMap("profileImageUrl", foto.toString())));
+
+        ColetorImagensOrfas.Resultado resultado = new ColetorImagensOrfas(firestore, armazenamento, 0)
+                .executar(() -> false);
+
+        assertFalse("Execução interrompida antes de analisar todos os objetos", resultado.incompleto);
+        assertTrue(resultado.excluidos >= 2);
+        assertTrue("Capa referenciada removida", existe(capa));
+        assertTrue("Imagem da galeria referenciada removida", existe(galeria));
+        assertTrue("Foto de perfil referenciada removida", existe(foto));
+        assertFalse("Imagem órfã de instrumento mantida", existe(instrumentoOrfao));
+        assertFalse("Foto de perfil órfã mantida", existe(fotoOrfa));
+    }
+
+    private static StorageReference enviar(StorageReference referencia) throws Exception {
+        Tasks.await(referencia.putBytes(CONTEUDO));
+        return referencia;
+    }
+
+    private static boolean existe(StorageReference referencia) throws Exception {
+        try {
+            Tasks.await(referencia.getMetadata());
+            return true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageException
+                    && ((StorageException) e.getCause()).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Define a claim "admin" pela API REST do emulador de Auth (token fixo "owner", aceito apenas pelo emulador)
+     */
+    private static void definirClaimAdmin(String uid) throws Exception {
+        URL url = new URL("http://" + host + ":" + GerenciadorFirebase.PORTA_EMULADOR_AUTENTICACAO
+                + "/identitytoolkit.googleapis.com/v1/projects/" + app.getOptions().getProjectId()
+                + "/accounts:update");
+        JSONObject corpo = new JSONObject()
+                .put("localId", uid)
+                .put("customAttributes", new JSONObject().put("admin", true).toString());
+
+        HttpURLConnection conexao = (HttpURLConnection) url.openConnection();
+        try {
+            conexao.setRequestMethod("POST");
+            conexao.setRequestProperty("Content-Type", "application/json");
+            conexao.setRequestProperty("Authorization", "Bearer owner");
+            conexao.setDoOutput(true);
+            try (OutputStream saida = conexao.getOutputStream()) {
+                saida.write(corpo.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(HttpURLConnection.HTTP_OK, conexao.getResponseCode());
+        } finally {
+            conexao.disconnect();
+        }
+    }
+
+    private static boolean emuladorDisponivel(int porta) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, porta), 1000);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteProgram;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plano de execução das consultas do catálogo (ConsultaInstrumentos)
+ *
+ * Verifica com EXPLAIN QUERY PLAN, em um AppDatabase em memória, que os
+ * filtros por disponibilidade/categoria com ordenação por preço usam os
+ * índices compostos de Instrumento (os mesmos criados pela MIGRATION_7_8)
+ * e não ordenam com B-tree temporária.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ConsultaInstrumentosTest {
+
+    private static final String INDICE_CATEGORIA = "index_instrumentos_disponivel_categoria_preco_id";
+    private static final String INDICE_PRECO = "index_instrumentos_disponivel_preco_id";
+
+    private AppDatabase banco;
+
+    @Before
+    public void criarBanco() {
+        Context contexto = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        banco = Room.inMemoryDatabaseBuilder(contexto, AppDatabase.class).build();
+
+        List<Instrumento> instrumentos = new ArrayList<>();
+        String[] categorias = {"cordas", "percussao", "sopro", "teclas"};
+        for (int i = 0; i < 200; i++) {
+            Instrumento instrumento = new Instrumento();
+            instrumento.setId("instrumento-" + i);
+            instrumento.setNome("Instrumento " + i);
+            instrumento.setCategoria(categorias[i % categorias.length]);
+            instrumento.setPreco(10 + (i * 7) % 300);
+            instrumento.setDisponivel(i % 5 != 0);
+            instrumentos.add(instrumento);
+        }
+        banco.instrumentoDao().inserirOuAtualizar(instrumentos);
+    }
+
+    @After
+    public void fecharBanco() {
+        banco.close();
+    }
+
+    @Test
+    public void categoriaOrdenadaPorPrecoCrescenteUsaIndiceComposto() {
+        assertUsaIndice(new ConsultaInstrumentos().naCategoria("cordas").ordenarPorPreco(true), INDICE_CATEGORIA);
+    }
+
+    @Test
+    public void categoriaOrdenadaPorPrecoDecrescenteUsaIndiceComposto() {
+        assertUsaIndice(new ConsultaInstrumentos().naCategoria("cordas").ordenarPorPreco(false), INDICE_CATEGORIA);
+    }
+
+    @Test
+    public void todasCategoriasOrdenadasPorPrecoCrescenteUsaIndiceComposto() {
+        assertUsaIndice(new ConsultaInstrumentos().naCategoria("").ordenarPorPreco(true), INDICE_PRECO);
+    }
+
+    @Test
+    public void todasCategoriasOrdenadasPorPrecoDecrescenteUsaIndiceComposto() {
+        assertUsaIndice(new ConsultaInstrumentos().naCategoria("").ordenarPorPreco(false), INDICE_PRECO);
+    }
+
+    private void assertUsaIndice(ConsultaInstrumentos consulta, String indice) {
+        String plano = planoDe(consulta.construir());
+        assertTrue("Índice " + indice + " não usado:\n" + plano, plano.contains(indice));
+        assertFalse("Ordenação com B-tree temporária:\n" + plano, plano.contains("TEMP B-TREE"));
+    }
+
+    /**
+     * Executa EXPLAIN QUERY PLAN com os mesmos argumentos da consulta e junta as linhas de detalhe
+     */
+    private String planoDe(SupportSQLiteQuery consulta) {
+        SupportSQLiteQuery explicacao = new SupportSQLiteQuery() {
+            @Override
+            public String getSql() {
+                return "EXPLAIN QUERY PLAN " + consulta.getSql();
+            }
+
+            @Override
+            public void bindTo(SupportSQLiteProgram programa) {
+                consulta.bindTo(programa);
+            }
+
+            @Override
+            public int getArgCount() {
+                return consulta.getArgCount();
+            }
+        };
+
+        StringBuilder plano = new StringBuilder();
+        try (Cursor cursor = banco.getOpenHelper().getReadableDatabase().query(explicacao)) {
+            int detalhe = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plano.append(cursor.getString(detalhe)).append('\n');
+            }
+        }
+        return plano.toString();
+    }
+}
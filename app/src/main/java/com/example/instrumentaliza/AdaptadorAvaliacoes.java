@@ -8,10 +8,12 @@ import android.widget.RatingBar;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.firestore.DocumentSnapshot;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -28,17 +30,18 @@ import java.util.Locale;
  * - Nome do locatário
  * - Data da avaliação
  * - Layout responsivo com MaterialCardView
+ * - ListAdapter com diferenças calculadas em background (DiferencaDocumentos)
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AdaptadorAvaliacoes extends RecyclerView.Adapter<AdaptadorAvaliacoes.ViewHolder> {
+public class AdaptadorAvaliacoes extends ListAdapter<DocumentSnapshot, AdaptadorAvaliacoes.ViewHolder> {
     
     // Constantes
     private static final String TAG = "AdaptadorAvaliacoes";
     
     // Dados
-    private List<DocumentSnapshot> avaliacoes;
+    private final java.text.SimpleDateFormat formatoData = new java.text.SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
     
     /**
      * Construtor principal
@@ -46,7 +49,8 @@ public class AdaptadorAvaliacoes extends RecyclerView.Adapter<AdaptadorAvaliacoe
      * @param avaliacoes Lista de documentos de avaliações
      */
     public AdaptadorAvaliacoes(List<DocumentSnapshot> avaliacoes) {
-        this.avaliacoes = avaliacoes;
+        super(DiferencaDocumentos.INSTANCIA);
+        submitList(new ArrayList<>(avaliacoes));
     }
     
     @NonNull
@@ -59,7 +63,7 @@ public class AdaptadorAvaliacoes extends RecyclerView.Adapter<AdaptadorAvaliacoe
     
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        DocumentSnapshot documentoAvaliacao = avaliacoes.get(position);
+        DocumentSnapshot documentoAvaliacao = getItem(position);
         
         // Extrair dados da avaliação
         String instrumentoNome = documentoAvaliacao.getString("instrumentoNome");
@@ -88,8 +92,7 @@ public class AdaptadorAvaliacoes extends RecyclerView.Adapter<AdaptadorAvaliacoe
         
         // Configurar data
         if (dataAvaliacao != null) {
-            java.text.SimpleDateFormat formato = new java.text.SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-            String dataFormatada = formato.format(dataAvaliacao.toDate());
+            String dataFormatada = formatoData.format(dataAvaliacao.toDate());
             holder.textoData.setText("Avaliado em " + dataFormatada);
         } else {
             holder.textoData.setText("Data não informada");
@@ -120,11 +123,6 @@ public class AdaptadorAvaliacoes extends RecyclerView.Adapter<AdaptadorAvaliacoe
         holder.ratingBar.setProgressTintList(android.content.res.ColorStateList.valueOf(corNota));
     }
     
-    @Override
-    public int getItemCount() {
-        return avaliacoes.size();
-    }
-    
     /**
      * Atualiza a lista de avaliações
      * 
@@ -133,10 +131,9 @@ public class AdaptadorAvaliacoes extends RecyclerView.Adapter<AdaptadorAvaliacoe
     public void atualizarAvaliacoes(List<DocumentSnapshot> novasAvaliacoes) {
         Log.d(TAG, "atualizarAvaliacoes chamado com " + novasAvaliacoes.size() + " avaliações");
         
-        this.avaliacoes = novasAvaliacoes;
-        notifyDataSetChanged();
-        
-        Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount());
+        // Diferença calculada em background: apenas as avaliações novas ou alteradas são religadas
+        submitList(new ArrayList<>(novasAvaliacoes),
+                () -> Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount()));
     }
     
     /**
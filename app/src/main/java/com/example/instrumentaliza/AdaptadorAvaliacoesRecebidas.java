@@ -2,47 +2,62 @@ package com.example.instrumentaliza;
 
 import android.text.TextUtils;
 import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.RatingBar;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 /**
  * Adaptador para exibir avaliações recebidas pelo usuário
  */
-public class AdaptadorAvaliacoesRecebidas extends RecyclerView.Adapter<AdaptadorAvaliacoesRecebidas.ViewHolder> {
+public class AdaptadorAvaliacoesRecebidas extends ListAdapter<DocumentSnapshot, AdaptadorAvaliacoesRecebidas.ViewHolder> {
     
     private static final String TAG = "AdaptadorAvaliacoesRecebidas";
     
-    private List<DocumentSnapshot> avaliacoes;
     private SimpleDateFormat formatoData = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
     
     public AdaptadorAvaliacoesRecebidas(List<DocumentSnapshot> avaliacoes) {
-        this.avaliacoes = avaliacoes;
+        super(DiferencaDocumentos.INSTANCIA);
+        setHasStableIds(true);
+        submitList(new ArrayList<>(avaliacoes));
     }
     
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_avaliacao_recebida, parent, false);
+        // View pré-inflada em background, se houver (InfladorAntecipado)
+        View view = InfladorAntecipado.obter(parent, R.layout.item_avaliacao_recebida);
         return new ViewHolder(view);
     }
     
+    /**
+     * Tipo de view: o layout do item (seguro para o pool compartilhado da atividade)
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return R.layout.item_avaliacao_recebida;
+    }
+    
+    @Override
+    public long getItemId(int position) {
+        return PoolVisualizacoes.idEstavel(getItem(position).getId());
+    }
+    
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        DocumentSnapshot avaliacao = avaliacoes.get(position);
+        DocumentSnapshot avaliacao = getItem(position);
         
         Log.d(TAG, "Exibindo avaliação: " + avaliacao.getId());
         
@@ -90,18 +105,13 @@ public class AdaptadorAvaliacoesRecebidas extends RecyclerView.Adapter<Adaptador
         }
     }
     
-    @Override
-    public int getItemCount() {
-        return avaliacoes.size();
-    }
-    
     /**
      * Atualiza a lista de avaliações
      */
     public void atualizarAvaliacoes(List<DocumentSnapshot> novasAvaliacoes) {
-        this.avaliacoes = novasAvaliacoes;
-        notifyDataSetChanged();
-        Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount());
+        // Diferença calculada em background: apenas as avaliações novas ou alteradas são religadas
+        submitList(new ArrayList<>(novasAvaliacoes),
+                () -> Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount()));
     }
     
     /**
@@ -0,0 +1,123 @@
+package com.example.instrumentaliza;
+
+import android.net.Uri;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AdaptadorGaleriaEnvio - Imagens selecionadas para a galeria e o progresso de cada envio
+ *
+ * Usado na tela de adição de instrumento: mostra as imagens escolhidas, na
+ * ordem da galeria, e o percentual enviado de cada uma.
+ *
+ * Características técnicas:
+ * - Atualizações de progresso por payload, sem recarregar as miniaturas
+ * - Miniaturas carregadas com as opções de lista (OpcoesGlide)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class AdaptadorGaleriaEnvio extends RecyclerView.Adapter<AdaptadorGaleriaEnvio.ViewHolder> {
+
+    // Payload de atualização apenas do progresso
+    private static final Object PROGRESSO = new Object();
+
+    private final List<Uri> imagens = new ArrayList<>();
+    private int[] percentuais = new int[0];
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_gallery_upload, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        Glide.with(holder.imagem.getContext())
+                .load(imagens.get(position))
+                .apply(OpcoesGlide.miniatura())
+                .into(holder.imagem);
+        exibirProgresso(holder, position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PROGRESSO)) {
+            exibirProgresso(holder, position);
+        } else {
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return imagens.size();
+    }
+
+    /**
+     * Substitui as imagens selecionadas
+     *
+     * @param novasImagens URIs na ordem da galeria
+     */
+    public void atualizarImagens(List<Uri> novasImagens) {
+        imagens.clear();
+        imagens.addAll(novasImagens);
+        percentuais = new int[0];
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Atualiza o percentual enviado de cada imagem
+     *
+     * @param novosPercentuais Percentual por imagem, na ordem da galeria
+     */
+    public void atualizarProgresso(int[] novosPercentuais) {
+        int[] anteriores = percentuais;
+        percentuais = novosPercentuais;
+        for (int i = 0; i < imagens.size(); i++) {
+            if (i >= anteriores.length || i >= novosPercentuais.length || anteriores[i] != novosPercentuais[i]) {
+                notifyItemChanged(i, PROGRESSO);
+            }
+        }
+    }
+
+    private void exibirProgresso(ViewHolder holder, int posicao) {
+        if (posicao >= percentuais.length) {
+            holder.barraProgresso.setVisibility(View.GONE);
+            holder.textoPercentual.setVisibility(View.GONE);
+            return;
+        }
+        int percentual = percentuais[posicao];
+        holder.barraProgresso.setVisibility(View.VISIBLE);
+        holder.barraProgresso.setProgress(percentual);
+        holder.textoPercentual.setVisibility(percentual < 100 ? View.VISIBLE : View.GONE);
+        holder.textoPercentual.setText(holder.itemView.getContext().getString(R.string.gallery_upload_percent, percentual));
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        ImageView imagem;
+        ProgressBar barraProgresso;
+        TextView textoPercentual;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            imagem = itemView.findViewById(R.id.uploadImageView);
+            barraProgresso = itemView.findViewById(R.id.uploadProgressBar);
+            textoPercentual = itemView.findViewById(R.id.uploadPercentTextView);
+        }
+    }
+}
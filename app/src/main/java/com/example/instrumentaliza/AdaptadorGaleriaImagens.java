@@ -0,0 +1,119 @@
+package com.example.instrumentaliza;
+
+import android.graphics.drawable.Drawable;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+
+import java.util.List;
+
+/**
+ * AdaptadorGaleriaImagens - Páginas da galeria de um instrumento (ViewPager2)
+ *
+ * Exibe as imagens da galeria na tela de detalhes, uma por página.
+ *
+ * Funcionalidades:
+ * - Versão cartão em todas as páginas vinculadas (leve, muitas vezes já em cache pelas listas)
+ * - Versão completa carregada apenas para a página visível
+ *
+ * Características técnicas:
+ * - A troca de página atualiza apenas o item selecionado (payload), sem reinflar
+ * - A versão cartão serve de miniatura enquanto a completa é baixada
+ * - A prévia gravada no documento (PreviaImagem) aparece antes de qualquer download
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class AdaptadorGaleriaImagens extends RecyclerView.Adapter<AdaptadorGaleriaImagens.ViewHolder> {
+
+    // Payload que pede a versão completa para a página visível
+    private static final Object CARREGAR_COMPLETA = new Object();
+
+    private final List<VersoesImagem> imagens;
+    private int paginaVisivel = 0;
+
+    public AdaptadorGaleriaImagens(List<VersoesImagem> imagens) {
+        this.imagens = imagens;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_gallery_image, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        carregar(holder, position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(CARREGAR_COMPLETA)) {
+            carregar(holder, position);
+        } else {
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return imagens.size();
+    }
+
+    /**
+     * Informa a página exibida, que passa a carregar a versão completa
+     *
+     * @param pagina Posição selecionada no ViewPager2
+     */
+    public void definirPaginaVisivel(int pagina) {
+        if (pagina == paginaVisivel) {
+            return;
+        }
+        paginaVisivel = pagina;
+        notifyItemChanged(pagina, CARREGAR_COMPLETA);
+    }
+
+    private void carregar(ViewHolder holder, int posicao) {
+        VersoesImagem imagem = imagens.get(posicao);
+        RequestManager glide = Glide.with(holder.imagem.getContext());
+        String urlCartao = imagem.escolher(VersoesImagem.LADO_CARTAO);
+        Drawable previa = PreviaImagem.drawable(holder.imagem.getResources(), imagem.getPrevia());
+
+        if (posicao != paginaVisivel) {
+            glide.load(urlCartao)
+                    .placeholder(previa)
+                    .centerCrop()
+                    .transition(OpcoesGlide.transicao())
+                    .into(holder.imagem);
+            return;
+        }
+
+        // Página visível: completa, com a versão cartão (ou a imagem já exibida, ou a prévia) enquanto carrega
+        Drawable exibida = holder.imagem.getDrawable();
+        glide.load(imagem.escolher(VersoesImagem.LADO_COMPLETA))
+                .thumbnail(glide.load(urlCartao).centerCrop())
+                .placeholder(exibida != null ? exibida : previa)
+                .centerCrop()
+                .transition(OpcoesGlide.transicao())
+                .into(holder.imagem);
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        ImageView imagem;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            imagem = itemView.findViewById(R.id.galleryImageView);
+        }
+    }
+}
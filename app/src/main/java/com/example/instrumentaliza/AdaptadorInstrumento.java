@@ -1,6 +1,5 @@
 package com.example.instrumentaliza;
 
-import android.net.Uri;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -12,7 +11,6 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 
 import java.util.List;
 import java.util.Locale;
@@ -50,9 +48,9 @@ public class AdaptadorInstrumento extends RecyclerView.Adapter<AdaptadorInstrume
         // Carregar imagem com Glide
         if (instrumento.getUriImagem() != null && !instrumento.getUriImagem().isEmpty()) {
             Glide.with(holder.itemView.getContext())
-                    .load(Uri.parse(instrumento.getUriImagem()))
-                    .transition(DrawableTransitionOptions.withCrossFade())
-                    .centerCrop()
+                    .load(instrumento.getUriImagem())
+                    .apply(OpcoesGlide.miniatura())
+                    .transition(OpcoesGlide.transicao())
                     .into(holder.imagemInstrumento);
         } else {
             holder.imagemInstrumento.setImageResource(R.drawable.ic_music_note);
@@ -1,8 +1,6 @@
 package com.example.instrumentaliza;
 
-import android.net.Uri;
 import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
@@ -10,50 +8,76 @@ import android.widget.TextView;
 import android.widget.ImageButton;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
 import com.example.instrumentaliza.models.FirebaseInstrument;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentSnapshot;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * AdaptadorInstrumentoFirebase - Adaptador para RecyclerView de instrumentos
  * 
  * Este adaptador é responsável por exibir a lista de instrumentos musicais
- * em um RecyclerView, convertendo DocumentSnapshot do Firestore em views
- * interativas para o usuário.
+ * em um RecyclerView, convertendo instrumentos (vindos do espelho local ou do
+ * Firestore) em views interativas para o usuário.
  * 
  * Funcionalidades principais:
  * - Exibição de dados do instrumento (nome, categoria, descrição, preço)
  * - Carregamento assíncrono de imagens com Glide
- * - Gerenciamento de favoritos com verificação em tempo real
+ * - Estado de favorito de cada linha, a partir dos favoritos carregados uma vez pela tela
  * - Callbacks para interações do usuário (clique, favoritar)
  * - Atualização dinâmica da lista de instrumentos
+ * - Pré-carregamento das imagens das próximas linhas durante a rolagem
  * 
  * Características técnicas:
  * - Usa ViewHolder pattern para performance
  * - Integração com Firebase Firestore
  * - Carregamento de imagens otimizado
  * - Interface de callback para comunicação com Activity
- * - Tratamento de estados de favoritos
+ * - Favoritos: nenhuma consulta por linha nem no clique; o botão lê a flag da linha,
+ *   atualizada localmente após adicionar ou remover
+ * - Textos e versões da imagem preparados em background (LinhaInstrumento); o bind
+ *   apenas copia campos para as views
+ * - ListAdapter: diferenças calculadas em background, por ID do instrumento; linhas
+ *   cuja imagem não mudou religam apenas os textos, sem reiniciar o Glide
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AdaptadorInstrumentoFirebase extends RecyclerView.Adapter<AdaptadorInstrumentoFirebase.ViewHolder> {
+public class AdaptadorInstrumentoFirebase extends ListAdapter<LinhaInstrumento, AdaptadorInstrumentoFirebase.ViewHolder> {
     
     // Constantes
     private static final String TAG = "AdaptadorInstrumentoFirebase";
     
-    // Dados do adaptador
-    private List<DocumentSnapshot> instrumentos;
-    private final String idUsuarioAtual;
+    // Payloads: textos (e talvez o favorito) mudaram / apenas o estado de favorito mudou
+    private static final Object PAYLOAD_TEXTOS = new Object();
+    private static final Object PAYLOAD_FAVORITO = new Object();
+    
+    // Tamanho real da imagem da linha, usado para pré-carregar exatamente a mesma requisição do bind
+    private final ViewPreloadSizeProvider<LinhaInstrumento> provedorTamanho = new ViewPreloadSizeProvider<>();
+    private int ladoImagemPx = 0;
     private final OnInstrumentClickListener listener;
+    
+    // Última lista recebida, reenviada ao preparador quando um favorito muda (thread principal)
+    private List<FirebaseInstrument> instrumentos = new ArrayList<>();
+    // IDs dos favoritos do usuário (substituído, nunca alterado: lido pela thread do preparador)
+    private volatile Set<String> favoritos = Collections.emptySet();
+    private final PreparadorLinhas<FirebaseInstrument, LinhaInstrumento> preparador = new PreparadorLinhas<>(
+            instrumento -> LinhaInstrumento.doCatalogo(instrumento, favoritos.contains(instrumento.getId())));
 
     /**
      * Interface para comunicação com a Activity
@@ -64,41 +88,42 @@ public class AdaptadorInstrumentoFirebase extends RecyclerView.Adapter<Adaptador
     public interface OnInstrumentClickListener {
         /**
          * Callback chamado quando o usuário clica no item do instrumento
-         * @param instrumento DocumentSnapshot do instrumento clicado
+         * @param instrumento Instrumento clicado
          */
-        void aoClicarInstrumento(DocumentSnapshot instrumento);
+        void aoClicarInstrumento(FirebaseInstrument instrumento);
         
         /**
          * Callback chamado quando o usuário clica no botão de editar
-         * @param instrumento DocumentSnapshot do instrumento a ser editado
+         * @param instrumento Instrumento a ser editado
          */
-        void aoClicarEditar(DocumentSnapshot instrumento);
+        void aoClicarEditar(FirebaseInstrument instrumento);
         
         /**
          * Callback chamado quando o usuário clica no botão de deletar
-         * @param instrumento DocumentSnapshot do instrumento a ser deletado
+         * @param instrumento Instrumento a ser deletado
          */
-        void aoClicarDeletar(DocumentSnapshot instrumento);
+        void aoClicarDeletar(FirebaseInstrument instrumento);
         
         /**
          * Callback chamado quando o usuário clica no botão de favorito
-         * @param instrumento DocumentSnapshot do instrumento
+         * @param instrumento Instrumento
          * @param ehFavorito true se está nos favoritos (será removido), false caso contrário
          */
-        void aoClicarFavorito(DocumentSnapshot instrumento, boolean ehFavorito);
+        void aoClicarFavorito(FirebaseInstrument instrumento, boolean ehFavorito);
     }
 
     /**
      * Construtor do adaptador
      * 
-     * @param instrumentos Lista de instrumentos do Firestore
-     * @param idUsuarioAtual ID do usuário logado para verificar favoritos
+     * Os favoritos começam vazios; a tela os informa com definirFavoritos.
+     * 
+     * @param instrumentos Lista de instrumentos
      * @param listener Interface de callback para interações
      */
-    public AdaptadorInstrumentoFirebase(List<DocumentSnapshot> instrumentos, String idUsuarioAtual, OnInstrumentClickListener listener) {
-        this.instrumentos = instrumentos;
-        this.idUsuarioAtual = idUsuarioAtual;
+    public AdaptadorInstrumentoFirebase(List<FirebaseInstrument> instrumentos, OnInstrumentClickListener listener) {
+        super(new DiferencaInstrumentos());
         this.listener = listener;
+        atualizarInstrumentos(instrumentos);
     }
 
     /**
@@ -114,94 +139,98 @@ public class AdaptadorInstrumentoFirebase extends RecyclerView.Adapter<Adaptador
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_instrument, parent, false);
-        return new ViewHolder(view);
+        // View pré-inflada em background, se houver (InfladorAntecipado)
+        View view = InfladorAntecipado.obter(parent, R.layout.item_instrument);
+        ViewHolder holder = new ViewHolder(view);
+        
+        // A primeira linha criada define o tamanho usado no pré-carregamento
+        provedorTamanho.setView(holder.imagemInstrumento);
+        if (ladoImagemPx == 0) {
+            ladoImagemPx = VersoesImagem.ladoEmPixels(holder.imagemInstrumento);
+        }
+        
+        // Listeners criados uma vez por view; o instrumento é obtido pela posição no momento do clique
+        holder.itemView.setOnClickListener(v -> {
+            int posicao = holder.getBindingAdapterPosition();
+            if (posicao != RecyclerView.NO_POSITION) {
+                listener.aoClicarInstrumento(getItem(posicao).instrumento);
+            }
+        });
+        holder.botaoFavorito.setOnClickListener(v -> {
+            int posicao = holder.getBindingAdapterPosition();
+            if (posicao == RecyclerView.NO_POSITION) {
+                return;
+            }
+            // Estado atual já conhecido pela linha: nenhuma consulta antes de alternar
+            LinhaInstrumento linha = getItem(posicao);
+            listener.aoClicarFavorito(linha.instrumento, linha.ehFavorito);
+        });
+        return holder;
     }
 
     /**
      * Vincula os dados do instrumento às views do ViewHolder
      * 
      * Este é o método principal do adaptador, responsável por:
-     * 1. Converter DocumentSnapshot em objeto FirebaseInstrument
+     * 1. Obter a linha (já formatada em background) da posição
      * 2. Carregar e exibir a imagem do instrumento
      * 3. Preencher todos os campos de texto
-     * 4. Verificar e atualizar estado do favorito
-     * 5. Configurar listeners para interações do usuário
+     * 4. Exibir o estado do favorito, já resolvido na linha
      * 
      * @param holder ViewHolder que contém as views a serem preenchidas
      * @param position Posição do item na lista
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        // Obter dados do instrumento
-        DocumentSnapshot documentoInstrumento = instrumentos.get(position);
-        FirebaseInstrument instrumento = FirebaseInstrument.fromDocument(documentoInstrumento);
-        
-        Log.d("AdaptadorInstrumentoFirebase", "Exibindo: '" + instrumento.getName() + "', Categoria: '" + instrumento.getCategory() + "'");
-        
-        // Carregar imagem do instrumento com Glide
-        if (instrumento.getImageUri() != null && !instrumento.getImageUri().isEmpty()) {
+        LinhaInstrumento linha = getItem(position);
+        carregarImagem(holder, linha);
+        vincularTextos(holder, linha);
+        atualizarBotaoFavorito(holder.botaoFavorito, linha.ehFavorito);
+    }
+    
+    /**
+     * Vinculação parcial: textos e favorito (imagem inalterada) ou apenas o estado de favorito
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        LinhaInstrumento linha = getItem(position);
+        if (payloads.contains(PAYLOAD_TEXTOS)) {
+            vincularTextos(holder, linha);
+        }
+        // Lido da linha (sem consulta): religado em ambos os payloads
+        atualizarBotaoFavorito(holder.botaoFavorito, linha.ehFavorito);
+    }
+    
+    private void carregarImagem(ViewHolder holder, LinhaInstrumento linha) {
+        // Carregar com Glide a menor versão da imagem que cobre a miniatura
+        // A prévia do documento (já decodificada em background) aparece de imediato
+        VersoesImagem versoes = linha.versoes;
+        String urlImagem = versoes.escolherPara(holder.imagemInstrumento);
+        if (urlImagem != null) {
             Glide.with(holder.itemView.getContext())
-                    .load(Uri.parse(instrumento.getImageUri()))
-                    .transition(DrawableTransitionOptions.withCrossFade())
-                    .centerCrop()
+                    .load(urlImagem)
+                    .apply(OpcoesGlide.miniatura())
+                    .placeholder(PreviaImagem.drawable(holder.itemView.getResources(), versoes.getPrevia()))
+                    .transition(OpcoesGlide.transicao())
                     .into(holder.imagemInstrumento);
         } else {
             // Usar imagem padrão se não houver URI
             holder.imagemInstrumento.setImageResource(R.drawable.ic_music_note);
         }
-
-        // Preencher campos de texto
-        holder.textoNome.setText(instrumento.getName());
-        holder.textoCategoria.setText(instrumento.getCategory());
-        holder.textoDescricao.setText(instrumento.getDescription());
-        
-        // Configurar preço com nota
-        Log.d(TAG, "Instrumento: " + instrumento.getName() + 
-                   " - Nota média: " + instrumento.getNotaMedia() + 
-                   " - Total avaliações: " + instrumento.getTotalAvaliacoes() +
-                   " - Possui avaliações: " + instrumento.possuiAvaliacoes());
-        
-        String textoPreco;
-        if (instrumento.possuiAvaliacoes()) {
-            textoPreco = String.format(Locale.getDefault(), "R$ %.2f/dia\n%.1f (%d avaliações)", 
-                instrumento.getPrice(), 
-                instrumento.getNotaMedia(),
-                instrumento.getTotalAvaliacoes());
-        } else {
-            textoPreco = String.format(Locale.getDefault(), "R$ %.2f/dia\nSem avaliações", instrumento.getPrice());
-        }
-        holder.textoPreco.setText(textoPreco);
-
-        // Verificar se o instrumento está nos favoritos do usuário
-        GerenciadorFirebase.ehFavorito(idUsuarioAtual, documentoInstrumento.getId())
-                .thenAccept(ehFavorito -> {
-                    // Atualizar UI na thread principal
-                    holder.itemView.post(() -> {
-                        atualizarBotaoFavorito(holder.botaoFavorito, ehFavorito);
-                    });
-                })
-                .exceptionally(throwable -> {
-                    Log.e("AdaptadorInstrumentoFirebase", "Erro ao verificar favorito: " + throwable.getMessage(), throwable);
-                    return null;
-                });
-
-        // Configurar listener para clique no item (navegar para detalhes)
-        holder.itemView.setOnClickListener(v -> listener.aoClicarInstrumento(documentoInstrumento));
-        
-        // Configurar listener para o botão de favoritar
-        holder.botaoFavorito.setOnClickListener(v -> {
-            // Verificar estado atual do favorito antes de alternar
-            GerenciadorFirebase.ehFavorito(idUsuarioAtual, documentoInstrumento.getId())
-                    .thenAccept(ehFavorito -> {
-                        listener.aoClicarFavorito(documentoInstrumento, ehFavorito);
-                    })
-                    .exceptionally(throwable -> {
-                        Log.e("AdaptadorInstrumentoFirebase", "Erro ao verificar favorito: " + throwable.getMessage(), throwable);
-                        return null;
-                    });
-        });
+    }
+    
+    /**
+     * Copia os textos já formatados da linha para as views
+     */
+    private void vincularTextos(ViewHolder holder, LinhaInstrumento linha) {
+        holder.textoNome.setText(linha.nome);
+        holder.textoCategoria.setText(linha.categoria);
+        holder.textoDescricao.setText(linha.descricao);
+        holder.textoPreco.setText(linha.textoPreco);
     }
     
     /**
@@ -223,31 +252,126 @@ public class AdaptadorInstrumentoFirebase extends RecyclerView.Adapter<Adaptador
     }
 
     /**
-     * Retorna o número total de itens na lista
+     * Atualiza a lista de instrumentos e notifica o RecyclerView
      * 
-     * @return Número de instrumentos na lista
+     * Este método é chamado quando novos dados chegam (banco local ou Firebase).
+     * Os instrumentos são convertidos em LinhaInstrumento e comparados com a lista
+     * atual em background: apenas as linhas inseridas, removidas, movidas ou
+     * alteradas são religadas.
+     * 
+     * @param novosInstrumentos Nova lista de instrumentos (copiada; o chamador pode continuar alterando a sua)
      */
-    @Override
-    public int getItemCount() {
-        return instrumentos.size();
+    public void atualizarInstrumentos(List<FirebaseInstrument> novosInstrumentos) {
+        Log.d("AdaptadorInstrumentoFirebase", "atualizarInstrumentos chamado com " + novosInstrumentos.size() + " instrumentos");
+        
+        instrumentos = new ArrayList<>(novosInstrumentos);
+        preparador.enviar(this, novosInstrumentos,
+                () -> Log.d("AdaptadorInstrumentoFirebase", "Adapter atualizado, getItemCount: " + getItemCount()));
+    }
+    
+    /**
+     * Atualiza a lista de instrumentos junto com os favoritos do usuário
+     * 
+     * @param novosInstrumentos Nova lista de instrumentos
+     * @param idsFavoritos IDs dos instrumentos favoritos
+     */
+    public void atualizarInstrumentos(List<FirebaseInstrument> novosInstrumentos, Set<String> idsFavoritos) {
+        favoritos = new HashSet<>(idsFavoritos);
+        atualizarInstrumentos(novosInstrumentos);
+    }
+    
+    /**
+     * Define os favoritos do usuário (GerenciadorFirebase.obterIdsFavoritos)
+     * 
+     * As linhas são preparadas de novo em background; apenas os botões que
+     * mudaram são religados.
+     * 
+     * @param idsFavoritos IDs dos instrumentos favoritos
+     */
+    public void definirFavoritos(Set<String> idsFavoritos) {
+        favoritos = new HashSet<>(idsFavoritos);
+        preparador.enviar(this, instrumentos, null);
+    }
+    
+    /**
+     * Atualiza localmente o estado de favorito de um instrumento, após adicioná-lo ou removê-lo
+     * 
+     * @param idInstrumento ID do instrumento alterado
+     * @param ehFavorito true se agora está nos favoritos
+     */
+    public void definirFavorito(String idInstrumento, boolean ehFavorito) {
+        if (favoritos.contains(idInstrumento) == ehFavorito) {
+            return;
+        }
+        Set<String> novos = new HashSet<>(favoritos);
+        if (ehFavorito) {
+            novos.add(idInstrumento);
+        } else {
+            novos.remove(idInstrumento);
+        }
+        definirFavoritos(novos);
     }
 
     /**
-     * Atualiza a lista de instrumentos e notifica o RecyclerView
+     * Cria o listener de rolagem que pré-carrega as imagens das próximas linhas
      * 
-     * Este método é chamado quando novos dados chegam do Firebase,
-     * substituindo a lista atual e forçando uma atualização completa
-     * de todos os itens visíveis.
+     * As imagens são pedidas com a mesma URL, o mesmo tamanho e as mesmas opções
+     * do onBindViewHolder, de modo que a linha encontra o bitmap já decodificado
+     * no cache de memória ao entrar na tela.
      * 
-     * @param novosInstrumentos Nova lista de instrumentos do Firestore
+     * @param glide RequestManager da tela que contém a lista
+     * @param linhasAFrente Quantidade de linhas pré-carregadas à frente da rolagem
+     * @return Listener a ser registrado com addOnScrollListener
      */
-    public void atualizarInstrumentos(List<DocumentSnapshot> novosInstrumentos) {
-        Log.d("AdaptadorInstrumentoFirebase", "atualizarInstrumentos chamado com " + novosInstrumentos.size() + " instrumentos");
+    public RecyclerViewPreloader<LinhaInstrumento> criarPreCarregador(RequestManager glide, int linhasAFrente) {
+        ListPreloader.PreloadModelProvider<LinhaInstrumento> provedorModelos = new ListPreloader.PreloadModelProvider<LinhaInstrumento>() {
+            @NonNull
+            @Override
+            public List<LinhaInstrumento> getPreloadItems(int posicao) {
+                // Antes da primeira linha existir, o tamanho alvo ainda é desconhecido
+                List<LinhaInstrumento> linhas = getCurrentList();
+                if (ladoImagemPx == 0 || posicao < 0 || posicao >= linhas.size()) {
+                    return Collections.emptyList();
+                }
+                LinhaInstrumento linha = linhas.get(posicao);
+                if (linha.versoes.escolher(ladoImagemPx) == null) {
+                    return Collections.emptyList();
+                }
+                return Collections.singletonList(linha);
+            }
+            
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull LinhaInstrumento linha) {
+                return glide.load(linha.versoes.escolher(ladoImagemPx))
+                        .apply(OpcoesGlide.miniatura());
+            }
+        };
+        return new RecyclerViewPreloader<>(glide, provedorModelos, provedorTamanho, linhasAFrente);
+    }
+
+    /**
+     * Comparação de linhas para o DiffUtil: mesmo ID, mesmos dados exibidos
+     */
+    private static class DiferencaInstrumentos extends DiffUtil.ItemCallback<LinhaInstrumento> {
+        @Override
+        public boolean areItemsTheSame(@NonNull LinhaInstrumento antiga, @NonNull LinhaInstrumento nova) {
+            return Objects.equals(antiga.id, nova.id);
+        }
         
-        this.instrumentos = novosInstrumentos;
-        notifyDataSetChanged();
+        @Override
+        public boolean areContentsTheSame(@NonNull LinhaInstrumento antiga, @NonNull LinhaInstrumento nova) {
+            return antiga.equals(nova);
+        }
         
-        Log.d("AdaptadorInstrumentoFirebase", "Adapter atualizado, getItemCount: " + getItemCount());
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull LinhaInstrumento antiga, @NonNull LinhaInstrumento nova) {
+            // Imagem igual: religar apenas textos e/ou favorito, sem reiniciar o carregamento da imagem
+            if (!antiga.versoes.equals(nova.versoes)) {
+                return null;
+            }
+            return antiga.mesmosTextos(nova) ? PAYLOAD_FAVORITO : PAYLOAD_TEXTOS;
+        }
     }
 
     /**
@@ -1,25 +1,26 @@
 package com.example.instrumentaliza;
 
-import android.util.Log;
-import android.view.LayoutInflater;
+import android.graphics.drawable.Drawable;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.instrumentaliza.models.FirebaseChat;
-import com.example.instrumentaliza.models.FirebaseInstrument;
-
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
 
-import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * AdaptadorListaChat - Adaptador para RecyclerView da lista de conversas
@@ -30,28 +31,35 @@ import java.util.Locale;
  * 
  * Funcionalidades principais:
  * - Exibição de lista de conversas ativas
- * - Carregamento dinâmico de nomes de instrumentos
+ * - Nome e foto do instrumento já resolvidos na linha (instrumentos buscados em lote pelo ViewModel)
  * - Diferenciação entre anúncios próprios e interesses
  * - Formatação de timestamps de última mensagem
  * - Callback para navegação para conversa específica
  * 
  * Características técnicas:
- * - Carregamento assíncrono de dados do Firestore
+ * - Nenhuma leitura no Firestore durante o bind
  * - Cache de nomes de instrumentos no documento do chat
  * - Fallback para IDs quando nome não está disponível
  * - Interface de callback para comunicação com Activity
+ * - Horário e papel formatados em background (LinhaChat), fora do bind
+ * - ListAdapter: diferenças calculadas em background; uma nova
+ *   mensagem religa apenas o horário da conversa, sem recarregar a foto
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AdaptadorListaChat extends RecyclerView.Adapter<AdaptadorListaChat.ChatViewHolder> {
+public class AdaptadorListaChat extends ListAdapter<LinhaChat, AdaptadorListaChat.ChatViewHolder> {
     private static final String TAG = "AdaptadorListaChat";
     
+    // Payload: apenas nome/horário/papel mudaram (mesma foto)
+    private static final Object PAYLOAD_DADOS = new Object();
+    
     // Dados do adaptador
-    private List<DocumentSnapshot> chats;
     private final OnChatClickListener listener;
-    private final String idUsuarioAtual;
-    private final FirebaseFirestore firestore;
+    private final PreparadorLinhas<DocumentSnapshot, LinhaChat> preparador;
+    
+    // Instrumentos das conversas, buscados em lote pelo ViewModel (substituído, nunca alterado: lido pela thread do preparador)
+    private volatile Map<String, DocumentSnapshot> instrumentos = Collections.emptyMap();
 
     /**
      * Interface para comunicação com a Activity
@@ -81,25 +89,62 @@ public class AdaptadorListaChat extends RecyclerView.Adapter<AdaptadorListaChat.
      * @param idUsuarioAtual ID do usuário logado para determinar papel
      */
     public AdaptadorListaChat(List<DocumentSnapshot> chats, OnChatClickListener listener, String idUsuarioAtual) {
-        this.chats = chats;
+        super(new DiferencaChats());
+        setHasStableIds(true);
         this.listener = listener;
-        this.idUsuarioAtual = idUsuarioAtual;
-        this.firestore = FirebaseFirestore.getInstance();
+        this.preparador = new PreparadorLinhas<>(documento -> LinhaChat.deDocumento(documento, idUsuarioAtual,
+                instrumentos.get(documento.getString("instrumentId"))));
+        preparador.enviar(this, chats, null);
     }
 
     /**
      * Cria uma nova instância do ViewHolder
      * 
+     * Os listeners são criados uma vez por view; a conversa é obtida pela
+     * posição no momento do clique.
+     * 
      * @param parent ViewGroup pai (RecyclerView)
-     * @param viewType Tipo da view (não usado neste adaptador)
+     * @param viewType Tipo da view (sempre R.layout.item_chat)
      * @return ViewHolder configurado
      */
     @NonNull
     @Override
     public ChatViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_chat, parent, false);
-        return new ChatViewHolder(view);
+        // View pré-inflada em background, se houver (InfladorAntecipado)
+        View view = InfladorAntecipado.obter(parent, R.layout.item_chat);
+        ChatViewHolder holder = new ChatViewHolder(view);
+        
+        // O pool é compartilhado entre as abas: o adaptador é o que ligou a linha, não o que a criou
+        holder.itemView.setOnClickListener(v -> {
+            AdaptadorListaChat adaptador = (AdaptadorListaChat) holder.getBindingAdapter();
+            int posicao = holder.getBindingAdapterPosition();
+            if (adaptador != null && posicao != RecyclerView.NO_POSITION) {
+                adaptador.listener.onChatClick(adaptador.getItem(posicao).documento);
+            }
+        });
+        holder.itemView.setOnLongClickListener(v -> {
+            AdaptadorListaChat adaptador = (AdaptadorListaChat) holder.getBindingAdapter();
+            int posicao = holder.getBindingAdapterPosition();
+            if (adaptador == null || posicao == RecyclerView.NO_POSITION) {
+                return false;
+            }
+            adaptador.listener.onChatDelete(adaptador.getItem(posicao).documento);
+            return true; // Consumir o evento
+        });
+        return holder;
+    }
+
+    /**
+     * Tipo de view: o layout do item (seguro para o pool compartilhado entre abas)
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return R.layout.item_chat;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return PoolVisualizacoes.idEstavel(getItem(position).id);
     }
 
     /**
@@ -110,165 +155,101 @@ public class AdaptadorListaChat extends RecyclerView.Adapter<AdaptadorListaChat.
      */
     @Override
     public void onBindViewHolder(@NonNull ChatViewHolder holder, int position) {
-        DocumentSnapshot chatDoc = chats.get(position);
-        FirebaseChat chat = FirebaseChat.fromDocument(chatDoc);
-
-        Log.d(TAG, "Vinculando chat " + position + " - instrumentId: " + chat.getInstrumentId());
-
-        // Primeiro, tentar usar o nome salvo no chat (cache)
-        String nomeExibicao = null;
-        if (chatDoc.contains("instrumentName")) {
-            nomeExibicao = chatDoc.getString("instrumentName");
-            Log.d(TAG, "Nome do instrumento encontrado no chat: " + nomeExibicao);
-        }
-
-        // Se não tiver nome em cache, buscar do instrumento
-        if (nomeExibicao == null || nomeExibicao.isEmpty()) {
-            Log.d(TAG, "Nome não encontrado no chat, buscando do instrumento...");
-            carregarNomeInstrumento(chat.getInstrumentId(), holder.textoNomeInstrumento);
-        } else {
-            Log.d(TAG, "Usando nome salvo no chat: " + nomeExibicao);
-            holder.textoNomeInstrumento.setText(nomeExibicao);
-        }
-
-        // Carregar foto do instrumento
-        carregarFotoInstrumento(chat.getInstrumentId(), holder.imagemInstrumento);
-
-        // Formatar timestamp da última mensagem
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM HH:mm", Locale.getDefault());
-        if (chat.getLastMessageAt() != null) {
-            holder.textoUltimaMensagem.setText(sdf.format(chat.getLastMessageAt()));
-        } else {
-            holder.textoUltimaMensagem.setText("-");
-        }
-
-        // Determinar papel do usuário na conversa
-        String textoPapel = idUsuarioAtual != null && idUsuarioAtual.equals(chat.getOwnerId())
-                ? "Seu anúncio"
-                : "Você - interessado";
-        holder.textoPapelBadge.setText(textoPapel);
-
-        // Configurar listeners
-        holder.itemView.setOnClickListener(v -> listener.onChatClick(chatDoc));
-        holder.itemView.setOnLongClickListener(v -> {
-            listener.onChatDelete(chatDoc);
-            return true; // Consumir o evento
-        });
+        LinhaChat linha = getItem(position);
+        vincularDados(holder, linha);
+        carregarFotoInstrumento(holder, linha);
     }
 
     /**
-     * Carrega o nome do instrumento do Firestore
-     * 
-     * Busca o nome do instrumento no Firestore e atualiza o TextView.
-     * Em caso de erro ou instrumento não encontrado, exibe um fallback
-     * com parte do ID do instrumento.
-     * 
-     * @param instrumentId ID do instrumento a ser buscado
-     * @param textView TextView que será atualizado com o nome
+     * Religa apenas os dados da conversa; a foto só é recarregada se ela mudou
      */
-    private void carregarNomeInstrumento(String instrumentId, TextView textView) {
-        if (instrumentId == null || instrumentId.isEmpty()) {
-            textView.setText("Instrumento");
+    @Override
+    public void onBindViewHolder(@NonNull ChatViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.contains(PAYLOAD_DADOS)) {
+            onBindViewHolder(holder, position);
             return;
         }
+        vincularDados(holder, getItem(position));
+    }
 
-        Log.d(TAG, "Carregando nome do instrumento para ID: " + instrumentId);
-
-        firestore.collection("instruments").document(instrumentId).get()
-                .addOnSuccessListener(doc -> {
-                    if (doc != null && doc.exists()) {
-                        // Tentar diferentes campos de nome
-                        String name = doc.getString("name");
-                        if (name == null || name.isEmpty()) {
-                            name = doc.getString("nome");
-                        }
-                        if (name == null || name.isEmpty()) {
-                            name = doc.getString("instrumentName");
-                        }
-                        
-                        Log.d(TAG, "Nome do instrumento encontrado: " + name);
-                        if (name != null && !name.isEmpty()) {
-                            textView.setText(name);
-                        } else {
-                            textView.setText("Instrumento #" + instrumentId.substring(0, Math.min(8, instrumentId.length())));
-                        }
-                    } else {
-                        Log.w(TAG, "Documento do instrumento não encontrado: " + instrumentId);
-                        textView.setText("Instrumento #" + instrumentId.substring(0, Math.min(8, instrumentId.length())));
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Erro ao carregar nome do instrumento " + instrumentId + ": " + e.getMessage());
-                    textView.setText("Instrumento #" + instrumentId.substring(0, Math.min(8, instrumentId.length())));
-                });
+    /**
+     * Copia o nome do instrumento, o horário e o papel do usuário, já resolvidos, para as views
+     */
+    private void vincularDados(ChatViewHolder holder, LinhaChat linha) {
+        holder.textoNomeInstrumento.setText(linha.nomeInstrumento);
+        holder.textoUltimaMensagem.setText(linha.ultimaMensagem);
+        holder.textoPapelBadge.setText(linha.papel);
     }
 
     /**
-     * Carrega a foto do instrumento do Firestore
+     * Carrega a foto do instrumento, já conhecida pela linha (sem leituras no Firestore)
      * 
-     * Busca a foto do instrumento no Firestore e atualiza o ImageView.
-     * Em caso de erro ou instrumento não encontrado, mantém a imagem padrão.
-     * 
-     * @param instrumentId ID do instrumento a ser buscado
-     * @param imageView ImageView que será atualizado com a foto
+     * @param holder ViewHolder para atualizar a foto
+     * @param linha Linha da conversa
      */
-    private void carregarFotoInstrumento(String instrumentId, ImageView imageView) {
-        if (instrumentId == null || instrumentId.isEmpty()) {
-            Log.d(TAG, "ID do instrumento vazio, mantendo imagem padrão");
+    private void carregarFotoInstrumento(ChatViewHolder holder, LinhaChat linha) {
+        ImageView imageView = holder.imagemInstrumento;
+        String imageUrl = linha.versoes != null ? linha.versoes.escolherPara(imageView) : null;
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            // Instrumento não encontrado ou sem foto: ícone padrão do layout (a view pode ter outra foto)
+            Glide.with(imageView.getContext()).clear(imageView);
+            imageView.setImageResource(R.drawable.ic_message);
             return;
         }
-
-        Log.d(TAG, "Carregando foto do instrumento para ID: " + instrumentId);
-
-        firestore.collection("instruments").document(instrumentId).get()
-                .addOnSuccessListener(doc -> {
-                    if (doc != null && doc.exists()) {
-                        // Tentar diferentes campos de imagem
-                        String imageUrl = doc.getString("imageUrl");
-                        if (imageUrl == null || imageUrl.isEmpty()) {
-                            imageUrl = doc.getString("imageUri");
-                        }
-                        if (imageUrl == null || imageUrl.isEmpty()) {
-                            imageUrl = doc.getString("photoUrl");
-                        }
-                        
-                        Log.d(TAG, "URL da imagem encontrada: " + imageUrl);
-                        if (imageUrl != null && !imageUrl.isEmpty()) {
-                            // Carregar imagem com Glide
-                            Glide.with(imageView.getContext())
-                                    .load(imageUrl)
-                                    .centerCrop()
-                                    .into(imageView);
-                        } else {
-                            Log.d(TAG, "Nenhuma URL de imagem encontrada para o instrumento");
-                        }
-                    } else {
-                        Log.w(TAG, "Documento do instrumento não encontrado: " + instrumentId);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Erro ao carregar foto do instrumento " + instrumentId + ": " + e.getMessage());
-                });
+        
+        // A prévia do instrumento (já decodificada em background) aparece de imediato
+        Drawable previa = PreviaImagem.drawable(holder.itemView.getResources(), linha.versoes.getPrevia());
+        RequestBuilder<Drawable> requisicao = Glide.with(imageView.getContext()).load(imageUrl);
+        if (previa != null) {
+            requisicao = requisicao.placeholder(previa);
+        }
+        requisicao.apply(OpcoesGlide.miniatura())
+                .transition(OpcoesGlide.transicao())
+                .into(imageView);
     }
 
     /**
-     * Retorna o número total de conversas
+     * Atualiza a lista de conversas e notifica o RecyclerView
+     * 
+     * A diferença para a lista atual é calculada em background; apenas as
+     * conversas inseridas, removidas ou alteradas são religadas.
      * 
-     * @return Número de conversas na lista
+     * @param novosChats Nova lista de conversas do Firestore
      */
-    @Override
-    public int getItemCount() {
-        return chats.size();
+    public void atualizarChats(List<DocumentSnapshot> novosChats) {
+        preparador.enviar(this, novosChats, null);
     }
 
     /**
-     * Atualiza a lista de conversas e notifica o RecyclerView
+     * Atualiza a lista de conversas já unida aos instrumentos
      * 
      * @param novosChats Nova lista de conversas do Firestore
+     * @param instrumentosPorId Instrumentos das conversas, por ID (GerenciadorFirebase.obterInstrumentosPorIds)
      */
-    public void atualizarChats(List<DocumentSnapshot> novosChats) {
-        this.chats = novosChats;
-        notifyDataSetChanged();
+    public void atualizarChats(List<DocumentSnapshot> novosChats, Map<String, DocumentSnapshot> instrumentosPorId) {
+        instrumentos = new HashMap<>(instrumentosPorId);
+        atualizarChats(novosChats);
+    }
+
+    /**
+     * Comparação de linhas para o DiffUtil: mesma conversa, mesmos dados exibidos
+     */
+    private static class DiferencaChats extends DiffUtil.ItemCallback<LinhaChat> {
+        @Override
+        public boolean areItemsTheSame(@NonNull LinhaChat antiga, @NonNull LinhaChat nova) {
+            return antiga.id.equals(nova.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LinhaChat antiga, @NonNull LinhaChat nova) {
+            return antiga.equals(nova);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull LinhaChat antiga, @NonNull LinhaChat nova) {
+            return Objects.equals(antiga.versoes, nova.versoes) ? PAYLOAD_DADOS : null;
+        }
     }
 
     /**
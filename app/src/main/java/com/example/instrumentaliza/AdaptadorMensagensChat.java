@@ -7,14 +7,14 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.instrumentaliza.models.FirebaseMessage;
 import com.google.firebase.firestore.DocumentSnapshot;
 
-import java.text.SimpleDateFormat;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * AdaptadorMensagensChat - Adaptador para RecyclerView de mensagens do chat
@@ -32,18 +32,19 @@ import java.util.Locale;
  * Características técnicas:
  * - Suporte a múltiplos tipos de view (getItemViewType)
  * - Layouts diferentes para mensagens próprias e de outros
- * - Formatação de data/hora localizada
+ * - Horário e remetente resolvidos em background (LinhaMensagem), fora do bind
  * - Integração com Firebase Firestore
+ * - ListAdapter: diferenças calculadas em background; uma
+ *   mensagem nova insere apenas a sua linha, sem religar a conversa inteira
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AdaptadorMensagensChat extends RecyclerView.Adapter<AdaptadorMensagensChat.MessageViewHolder> {
+public class AdaptadorMensagensChat extends ListAdapter<LinhaMensagem, AdaptadorMensagensChat.MessageViewHolder> {
     private static final String TAG = "AdaptadorMensagensChat";
     
-    // Dados do adaptador
-    private List<DocumentSnapshot> mensagens;
-    private final String idUsuarioAtual;
+    // Conversão das mensagens em linhas (hora formatada, remetente resolvido) fora da thread principal
+    private final PreparadorLinhas<DocumentSnapshot, LinhaMensagem> preparador;
     
     // Constantes para tipos de view
     private static final int TIPO_VIEW_MINHA_MENSAGEM = 1;
@@ -56,8 +57,9 @@ public class AdaptadorMensagensChat extends RecyclerView.Adapter<AdaptadorMensag
      * @param idUsuarioAtual ID do usuário logado para diferenciar mensagens
      */
     public AdaptadorMensagensChat(List<DocumentSnapshot> mensagens, String idUsuarioAtual) {
-        this.mensagens = mensagens;
-        this.idUsuarioAtual = idUsuarioAtual;
+        super(new DiferencaMensagens());
+        this.preparador = new PreparadorLinhas<>(documento -> LinhaMensagem.deDocumento(documento, idUsuarioAtual));
+        preparador.enviar(this, mensagens, null);
     }
 
     /**
@@ -89,28 +91,9 @@ public class AdaptadorMensagensChat extends RecyclerView.Adapter<AdaptadorMensag
      */
     @Override
     public void onBindViewHolder(@NonNull MessageViewHolder holder, int position) {
-        DocumentSnapshot documentoMensagem = mensagens.get(position);
-        FirebaseMessage mensagem = FirebaseMessage.fromDocument(documentoMensagem);
-        
-        Log.d(TAG, "Exibindo mensagem: " + mensagem.getContent() + " de: " + mensagem.getSenderId());
-        
-        // Exibir conteúdo da mensagem
-        holder.textoMensagem.setText(mensagem.getContent());
-        
-        // Formatar timestamp para exibição (apenas hora)
-        SimpleDateFormat sdf = new SimpleDateFormat("HH:mm", Locale.getDefault());
-        String tempo = sdf.format(mensagem.getTimestamp());
-        holder.textoTempo.setText(tempo);
-    }
-
-    /**
-     * Retorna o número total de mensagens
-     * 
-     * @return Número de mensagens na lista
-     */
-    @Override
-    public int getItemCount() {
-        return mensagens.size();
+        LinhaMensagem linha = getItem(position);
+        holder.textoMensagem.setText(linha.texto);
+        holder.textoTempo.setText(linha.tempo);
     }
 
     /**
@@ -121,10 +104,7 @@ public class AdaptadorMensagensChat extends RecyclerView.Adapter<AdaptadorMensag
      */
     @Override
     public int getItemViewType(int position) {
-        DocumentSnapshot documentoMensagem = mensagens.get(position);
-        String idRemetente = documentoMensagem.getString("senderId");
-        
-        if (idUsuarioAtual.equals(idRemetente)) {
+        if (getItem(position).minha) {
             return TIPO_VIEW_MINHA_MENSAGEM;
         } else {
             return TIPO_VIEW_OUTRA_MENSAGEM;
@@ -137,12 +117,42 @@ public class AdaptadorMensagensChat extends RecyclerView.Adapter<AdaptadorMensag
      * @param novasMensagens Nova lista de mensagens do Firestore
      */
     public void atualizarMensagens(List<DocumentSnapshot> novasMensagens) {
+        atualizarMensagens(novasMensagens, null);
+    }
+
+    /**
+     * Atualiza a lista de mensagens, executando uma ação quando a lista nova estiver aplicada
+     * 
+     * A diferença é calculada em background: ações que dependem das posições
+     * (ex.: rolar até a última mensagem) devem ser passadas em aoConcluir.
+     * 
+     * @param novasMensagens Nova lista de mensagens do Firestore
+     * @param aoConcluir Executado na thread principal após a atualização (pode ser null)
+     */
+    public void atualizarMensagens(List<DocumentSnapshot> novasMensagens, @Nullable Runnable aoConcluir) {
         Log.d(TAG, "atualizarMensagens chamado com " + novasMensagens.size() + " mensagens");
         
-        this.mensagens = novasMensagens;
-        notifyDataSetChanged();
-        
-        Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount());
+        preparador.enviar(this, novasMensagens, () -> {
+            Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount());
+            if (aoConcluir != null) {
+                aoConcluir.run();
+            }
+        });
+    }
+
+    /**
+     * Comparação de linhas para o DiffUtil: mesma mensagem, mesmos dados exibidos
+     */
+    private static class DiferencaMensagens extends DiffUtil.ItemCallback<LinhaMensagem> {
+        @Override
+        public boolean areItemsTheSame(@NonNull LinhaMensagem antiga, @NonNull LinhaMensagem nova) {
+            return antiga.id.equals(nova.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LinhaMensagem antiga, @NonNull LinhaMensagem nova) {
+            return antiga.equals(nova);
+        }
     }
 
     /**
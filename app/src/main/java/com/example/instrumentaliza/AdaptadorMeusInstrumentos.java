@@ -1,8 +1,6 @@
 package com.example.instrumentaliza;
 
-import android.net.Uri;
 import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageButton;
@@ -11,21 +9,27 @@ import android.widget.TextView;
 import com.google.android.material.button.MaterialButton;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.example.instrumentaliza.models.FirebaseInstrument;
 
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 
-public class AdaptadorMeusInstrumentos extends RecyclerView.Adapter<AdaptadorMeusInstrumentos.ViewHolder> {
+public class AdaptadorMeusInstrumentos extends ListAdapter<LinhaInstrumento, AdaptadorMeusInstrumentos.ViewHolder> {
     private static final String TAG = "AdaptadorMeusInstrumentos";
     
-    private List<DocumentSnapshot> instrumentos;
+    // Payload: imagem igual, apenas os textos mudaram
+    private static final Object PAYLOAD_TEXTOS = new Object();
+    
     private final OnMyInstrumentClickListener listener;
+    // Conversão dos documentos (FirebaseInstrument.fromDocument, preço formatado) fora da thread principal
+    private final PreparadorLinhas<DocumentSnapshot, LinhaInstrumento> preparador =
+            new PreparadorLinhas<>(LinhaInstrumento::deMeuInstrumento);
 
     public interface OnMyInstrumentClickListener {
         void onInstrumentClick(DocumentSnapshot instrumento);
@@ -35,66 +39,111 @@ public class AdaptadorMeusInstrumentos extends RecyclerView.Adapter<AdaptadorMeu
     }
 
     public AdaptadorMeusInstrumentos(List<DocumentSnapshot> instrumentos, OnMyInstrumentClickListener listener) {
-        this.instrumentos = instrumentos;
+        super(new DiferencaMeusInstrumentos());
         this.listener = listener;
+        preparador.enviar(this, instrumentos, null);
     }
 
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_my_instrument, parent, false);
-        return new ViewHolder(view);
+        // View pré-inflada em background, se houver (InfladorAntecipado)
+        View view = InfladorAntecipado.obter(parent, R.layout.item_my_instrument);
+        ViewHolder holder = new ViewHolder(view);
+        
+        // Listeners criados uma vez por view; o documento é obtido pela posição no momento do clique
+        holder.itemView.setOnClickListener(v -> {
+            DocumentSnapshot documento = documentoEm(holder);
+            if (documento != null) listener.onInstrumentClick(documento);
+        });
+        holder.botaoSolicitacoes.setOnClickListener(v -> {
+            DocumentSnapshot documento = documentoEm(holder);
+            if (documento != null) listener.onRequestsClick(documento);
+        });
+        holder.botaoEditar.setOnClickListener(v -> {
+            DocumentSnapshot documento = documentoEm(holder);
+            if (documento != null) listener.onEditClick(documento);
+        });
+        holder.botaoDeletar.setOnClickListener(v -> {
+            DocumentSnapshot documento = documentoEm(holder);
+            if (documento != null) listener.onDeleteClick(documento);
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        DocumentSnapshot documentoInstrumento = instrumentos.get(position);
-        FirebaseInstrument instrumento = FirebaseInstrument.fromDocument(documentoInstrumento);
-        
-        Log.d(TAG, "Exibindo meu instrumento: '" + instrumento.getName() + "', Categoria: '" + instrumento.getCategory() + "'");
-        
-        // Carregar imagem com Glide
-        if (instrumento.getImageUri() != null && !instrumento.getImageUri().isEmpty()) {
+        LinhaInstrumento linha = getItem(position);
+        carregarImagem(holder, linha);
+        vincularDados(holder, linha);
+    }
+
+    /**
+     * Religa apenas os textos; a imagem só é recarregada se alguma versão da capa mudou
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.contains(PAYLOAD_TEXTOS)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        vincularDados(holder, getItem(position));
+    }
+
+    private void carregarImagem(ViewHolder holder, LinhaInstrumento linha) {
+        // Carregar com Glide a menor versão da imagem que cobre a miniatura
+        // A prévia do documento (já decodificada em background) aparece de imediato
+        VersoesImagem versoes = linha.versoes;
+        String urlImagem = versoes.escolherPara(holder.imagemInstrumento);
+        if (urlImagem != null) {
             Glide.with(holder.itemView.getContext())
-                    .load(Uri.parse(instrumento.getImageUri()))
-                    .transition(DrawableTransitionOptions.withCrossFade())
-                    .centerCrop()
+                    .load(urlImagem)
+                    .apply(OpcoesGlide.miniatura())
+                    .placeholder(PreviaImagem.drawable(holder.itemView.getResources(), versoes.getPrevia()))
+                    .transition(OpcoesGlide.transicao())
                     .into(holder.imagemInstrumento);
         } else {
             holder.imagemInstrumento.setImageResource(R.drawable.ic_music_note);
         }
+    }
 
-        holder.textoNome.setText(instrumento.getName());
-        holder.textoCategoria.setText(instrumento.getCategory());
-        holder.textoDescricao.setText(instrumento.getDescription());
-        holder.textoPreco.setText(String.format(Locale.getDefault(), "R$ %.2f/dia", instrumento.getPrice()));
-
-        // Configurar listener para clicar no item
-        holder.itemView.setOnClickListener(v -> listener.onInstrumentClick(documentoInstrumento));
-        
-        // Configurar listener para o botão de solicitações
-        holder.botaoSolicitacoes.setOnClickListener(v -> listener.onRequestsClick(documentoInstrumento));
-        
-        // Configurar listener para o botão de editar
-        holder.botaoEditar.setOnClickListener(v -> listener.onEditClick(documentoInstrumento));
-        
-        // Configurar listener para o botão de deletar
-        holder.botaoDeletar.setOnClickListener(v -> listener.onDeleteClick(documentoInstrumento));
+    private void vincularDados(ViewHolder holder, LinhaInstrumento linha) {
+        holder.textoNome.setText(linha.nome);
+        holder.textoCategoria.setText(linha.categoria);
+        holder.textoDescricao.setText(linha.descricao);
+        holder.textoPreco.setText(linha.textoPreco);
     }
 
-    @Override
-    public int getItemCount() {
-        return instrumentos.size();
+    @Nullable
+    private DocumentSnapshot documentoEm(ViewHolder holder) {
+        int posicao = holder.getBindingAdapterPosition();
+        return posicao != RecyclerView.NO_POSITION ? getItem(posicao).documento : null;
     }
 
     public void atualizarInstrumentos(List<DocumentSnapshot> novosInstrumentos) {
         Log.d(TAG, "atualizarInstrumentos chamado com " + novosInstrumentos.size() + " instrumentos");
         
-        this.instrumentos = novosInstrumentos;
-        notifyDataSetChanged();
-        
-        Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount());
+        // Conversão e diferença calculadas em background: apenas os instrumentos alterados são religados
+        preparador.enviar(this, novosInstrumentos,
+                () -> Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount()));
+    }
+
+    private static class DiferencaMeusInstrumentos extends DiffUtil.ItemCallback<LinhaInstrumento> {
+        @Override
+        public boolean areItemsTheSame(@NonNull LinhaInstrumento antiga, @NonNull LinhaInstrumento nova) {
+            return Objects.equals(antiga.id, nova.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LinhaInstrumento antiga, @NonNull LinhaInstrumento nova) {
+            return antiga.equals(nova);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull LinhaInstrumento antiga, @NonNull LinhaInstrumento nova) {
+            return antiga.versoes.equals(nova.versoes) ? PAYLOAD_TEXTOS : null;
+        }
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -1,21 +1,31 @@
 package com.example.instrumentaliza;
 
+import android.graphics.drawable.Drawable;
 import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.google.android.material.button.MaterialButton;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
 import com.google.firebase.firestore.DocumentSnapshot;
 
-import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * AdaptadorReservas - Adaptador para RecyclerView de reservas
@@ -35,20 +45,35 @@ import java.util.Locale;
  * Características técnicas:
  * - ViewHolder pattern para performance
  * - Interface de callback para interações
- * - Formatação automática de datas e preços
+ * - Formatação de datas, preços e status em background (LinhaReserva), fora do bind
+ * - Reservas já avaliadas recebidas em lote (uma consulta por carga da lista, não por linha)
+ * - Nome e imagem do instrumento já resolvidos na linha (instrumentos buscados em lote pelo ViewModel)
  * - Cores dinâmicas baseadas no status
  * - Layout responsivo com ConstraintLayout
+ * - ListAdapter: diferenças calculadas em background; apenas as linhas alteradas
+ *   são religadas e a imagem do instrumento só é recarregada se ela mudar
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AdaptadorReservas extends RecyclerView.Adapter<AdaptadorReservas.ViewHolder> {
+public class AdaptadorReservas extends ListAdapter<LinhaReserva, AdaptadorReservas.ViewHolder> {
     
     private static final String TAG = "AdaptadorReservas";
     
-    private List<DocumentSnapshot> reservas;
+    // Payload: apenas os dados da reserva mudaram (mesma imagem)
+    private static final Object PAYLOAD_DADOS = new Object();
+    
     private final OnReservaClickListener listener;
     private String tipoReserva; // "meus_instrumentos" ou "meus_interesses"
+    
+    // Reservas já avaliadas (substituído, nunca alterado: lido pela thread do preparador)
+    private volatile Set<String> reservasAvaliadas = Collections.emptySet();
+    // Instrumentos referenciados, buscados em lote pelo ViewModel (substituído, nunca alterado)
+    private volatile Map<String, DocumentSnapshot> instrumentos = Collections.emptyMap();
+    private final PreparadorLinhas<DocumentSnapshot, LinhaReserva> preparador = new PreparadorLinhas<>(
+            documento -> LinhaReserva.deDocumento(InstrumentalizaApplication.getInstance(), documento,
+                    reservasAvaliadas.contains(documento.getId()),
+                    instrumentos.get(documento.getString("instrumentId"))));
 
     /**
      * Interface para manipular cliques nas reservas
@@ -65,8 +90,7 @@ public class AdaptadorReservas extends RecyclerView.Adapter<AdaptadorReservas.Vi
      * @param listener Listener para cliques nas reservas
      */
     public AdaptadorReservas(List<DocumentSnapshot> reservas, OnReservaClickListener listener) {
-        this.reservas = reservas;
-        this.listener = listener;
+        this(reservas, listener, null);
     }
     
     /**
@@ -79,276 +103,165 @@ public class AdaptadorReservas extends RecyclerView.Adapter<AdaptadorReservas.Vi
      *                   - "meus_interesses": mostra "AVALIAR" (avalia o instrumento)
      */
     public AdaptadorReservas(List<DocumentSnapshot> reservas, OnReservaClickListener listener, String tipoReserva) {
-        this.reservas = reservas;
+        super(new DiferencaReservas());
         this.listener = listener;
         this.tipoReserva = tipoReserva;
+        setHasStableIds(true);
+        preparador.enviar(this, reservas, null);
     }
 
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_reservation, parent, false);
-        return new ViewHolder(view);
+        // View pré-inflada em background, se houver (InfladorAntecipado)
+        View view = InfladorAntecipado.obter(parent, R.layout.item_reservation);
+        ViewHolder holder = new ViewHolder(view);
+        
+        // Listener criado uma vez por view; a linha é obtida pela posição no momento do clique.
+        // O pool é compartilhado entre as abas: o adaptador é o que ligou a linha, não o que a criou
+        holder.itemView.setOnClickListener(v -> {
+            AdaptadorReservas adaptador = (AdaptadorReservas) holder.getBindingAdapter();
+            int posicao = holder.getBindingAdapterPosition();
+            if (adaptador != null && posicao != RecyclerView.NO_POSITION) {
+                adaptador.listener.onReservaClick(adaptador.getItem(posicao).documento);
+            }
+        });
+        holder.botaoAvaliar.setOnClickListener(v -> {
+            AdaptadorReservas adaptador = (AdaptadorReservas) holder.getBindingAdapter();
+            int posicao = holder.getBindingAdapterPosition();
+            if (adaptador != null && posicao != RecyclerView.NO_POSITION && adaptador.listener != null) {
+                adaptador.listener.onAvaliarReserva(adaptador.getItem(posicao).documento);
+            }
+        });
+        return holder;
     }
 
+    /**
+     * Tipo de view: o layout do item (seguro para o pool compartilhado entre abas)
+     */
     @Override
-    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        DocumentSnapshot documentReserva = reservas.get(position);
-        
-        Log.d(TAG, "Exibindo reserva: " + documentReserva.getId() + " - Status: " + documentReserva.getString("status"));
-        
-        // Configurar informações da reserva
-        String instrumentoId = documentReserva.getString("instrumentId");
-        String status = documentReserva.getString("status");
-        Double precoTotal = documentReserva.getDouble("totalPrice");
-        
-        // Configurar período
-        SimpleDateFormat formatoData = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-        String periodo = "";
-        if (documentReserva.get("startDate") != null && documentReserva.get("endDate") != null) {
-            periodo = formatoData.format(documentReserva.getTimestamp("startDate").toDate()) + " a " + 
-                     formatoData.format(documentReserva.getTimestamp("endDate").toDate());
-        }
-        holder.textoPeriodo.setText(periodo);
-        
-        // Configurar preço total
-        if (precoTotal != null) {
-            holder.textoPrecoTotal.setText(String.format(Locale.getDefault(), "R$ %.2f", precoTotal));
-        } else {
-            holder.textoPrecoTotal.setText("R$ 0,00");
-        }
-        
-        // Configurar status em português
-        String statusTraduzido = traduzirStatus(status);
-        holder.textoStatus.setText(statusTraduzido);
-        
-        // Configurar cor do status
-        int corStatus;
-        switch (status != null ? status : "PENDENTE") {
-            case "CONFIRMADA":
-                corStatus = holder.itemView.getContext().getResources().getColor(R.color.status_accepted);
-                break;
-            case "PENDENTE":
-                corStatus = holder.itemView.getContext().getResources().getColor(R.color.status_pending);
-                break;
-            case "CANCELADA":
-                corStatus = holder.itemView.getContext().getResources().getColor(R.color.status_rejected);
-                break;
-            default:
-                corStatus = holder.itemView.getContext().getResources().getColor(R.color.text_gray_light);
-                break;
-        }
-        holder.textoStatus.setTextColor(corStatus);
-        
-        // Configurar data da reserva
-        if (documentReserva.get("createdAt") != null) {
-            String dataReserva = "Reservado em " + formatoData.format(documentReserva.getTimestamp("createdAt").toDate());
-            holder.textoDataReserva.setText(dataReserva);
-        }
-        
-        // Configurar botão de avaliação
-        if ("CONFIRMED".equals(status)) {
-            verificarEAvaliarBotaoAvaliacao(documentReserva, holder);
-        } else {
-            holder.botaoAvaliar.setVisibility(View.GONE);
-        }
-        
-        // Buscar nome do instrumento por ID
-        if (instrumentoId != null) {
-            buscarNomeInstrumento(instrumentoId, holder);
-        } else {
-            holder.textoNomeInstrumento.setText("Instrumento: N/A");
-        }
-        
-        // Configurar listener para clicar no item
-        holder.itemView.setOnClickListener(v -> listener.onReservaClick(documentReserva));
+    public int getItemViewType(int position) {
+        return R.layout.item_reservation;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return PoolVisualizacoes.idEstavel(getItem(position).id);
     }
 
     @Override
-    public int getItemCount() {
-        return reservas.size();
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        LinhaReserva linha = getItem(position);
+        vincularDados(holder, linha);
+        carregarImagem(holder, linha);
+        
+        // Texto do botão depende apenas da aba (a view pode ter vindo da outra aba)
+        holder.botaoAvaliar.setText("meus_instrumentos".equals(tipoReserva) ? "AVALIAR LOCATÁRIO" : "AVALIAR");
     }
     
     /**
-     * Traduz o status do inglês para português
-     * 
-     * @param status Status em inglês
-     * @return Status traduzido em português
+     * Religa apenas os campos da reserva; a imagem só é recarregada se ela mudou
      */
-    private String traduzirStatus(String status) {
-        if (status == null) return "PENDENTE";
-        
-        switch (status.toUpperCase()) {
-            case "CONFIRMED":
-                return "CONFIRMADO";
-            case "PENDING":
-                return "PENDENTE";
-            case "CANCELLED":
-                return "CANCELADO";
-            case "COMPLETED":
-                return "CONCLUÍDO";
-            default:
-                return status;
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.contains(PAYLOAD_DADOS)) {
+            onBindViewHolder(holder, position);
+            return;
         }
+        vincularDados(holder, getItem(position));
     }
     
     /**
-     * Busca o nome e imagem do instrumento pelo ID
-     * 
-     * @param instrumentoId ID do instrumento
-     * @param holder ViewHolder para atualizar o nome e imagem
+     * Copia os textos já formatados da linha para as views
      */
-    private void buscarNomeInstrumento(String instrumentoId, ViewHolder holder) {
-        // Primeiro mostrar loading
-        holder.textoNomeInstrumento.setText("Carregando...");
-        
-        // Buscar instrumento no Firestore
-        com.google.firebase.firestore.FirebaseFirestore.getInstance()
-                .collection("instruments")
-                .document(instrumentoId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        String nomeInstrumento = documentSnapshot.getString("name");
-                        if (nomeInstrumento != null && !nomeInstrumento.isEmpty()) {
-                            holder.textoNomeInstrumento.setText(nomeInstrumento);
-                        } else {
-                            holder.textoNomeInstrumento.setText("Instrumento sem nome");
-                        }
-                        
-                        // Carregar imagem do instrumento
-                        carregarImagemInstrumento(documentSnapshot, holder);
-                        
-                    } else {
-                        holder.textoNomeInstrumento.setText("Instrumento não encontrado");
-                        // Manter imagem padrão se instrumento não encontrado
-                    }
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao buscar nome do instrumento: " + erro.getMessage(), erro);
-                    holder.textoNomeInstrumento.setText("Erro ao carregar nome");
-                    // Manter imagem padrão em caso de erro
-                });
+    private void vincularDados(ViewHolder holder, LinhaReserva linha) {
+        holder.textoNomeInstrumento.setText(linha.nomeInstrumento);
+        holder.textoPeriodo.setText(linha.periodo);
+        holder.textoPrecoTotal.setText(linha.precoTotal);
+        holder.textoStatus.setText(linha.status);
+        holder.textoStatus.setTextColor(linha.corStatus);
+        holder.textoDataReserva.setText(linha.dataReserva);
+        holder.botaoAvaliar.setVisibility(linha.podeAvaliar ? View.VISIBLE : View.GONE);
     }
     
     /**
-     * Carrega a imagem do instrumento
+     * Carrega a imagem do instrumento, já conhecida pela linha (sem leituras no Firestore)
      * 
-     * @param instrumentoDoc Documento do instrumento do Firestore
      * @param holder ViewHolder para atualizar a imagem
+     * @param linha Linha da reserva
      */
-    private void carregarImagemInstrumento(com.google.firebase.firestore.DocumentSnapshot instrumentoDoc, ViewHolder holder) {
+    private void carregarImagem(ViewHolder holder, LinhaReserva linha) {
         if (holder.imagemInstrumento == null) {
             Log.w(TAG, "ImageView não encontrada no layout");
             return;
         }
         
-        String imageUrl = instrumentoDoc.getString("imageUri");
-        if (imageUrl != null && !imageUrl.trim().isEmpty()) {
-            // Carregar imagem do Firebase Storage ou URL
-            Log.d(TAG, "Carregando imagem do instrumento: " + imageUrl);
-            carregarImagemDeUrl(imageUrl, holder.imagemInstrumento);
-        } else {
-            // Usar imagem padrão se não houver URL
-            Log.d(TAG, "Usando imagem padrão para instrumento sem URL");
+        String imageUrl = linha.versoes != null ? linha.versoes.escolherPara(holder.imagemInstrumento) : null;
+        if (imageUrl == null || imageUrl.trim().isEmpty()) {
+            // Usar imagem padrão se o instrumento não foi encontrado ou não tem imagem
+            Glide.with(holder.imagemInstrumento.getContext()).clear(holder.imagemInstrumento);
             holder.imagemInstrumento.setImageResource(R.drawable.ic_instrument_placeholder);
+            return;
         }
+        
+        // A prévia do instrumento (já decodificada em background) aparece de imediato
+        Drawable previa = PreviaImagem.drawable(holder.itemView.getResources(), linha.versoes.getPrevia());
+        RequestBuilder<Drawable> requisicao = Glide.with(holder.imagemInstrumento.getContext()).load(imageUrl);
+        requisicao = previa != null
+                ? requisicao.placeholder(previa)
+                : requisicao.placeholder(R.drawable.ic_instrument_placeholder);
+        requisicao.error(R.drawable.ic_instrument_placeholder)
+                .apply(OpcoesGlide.miniatura())
+                .transition(OpcoesGlide.transicao())
+                .into(holder.imagemInstrumento);
     }
     
     /**
-     * Carrega uma imagem de uma URL usando Glide
+     * Atualiza a lista de reservas
+     * 
+     * Os documentos são convertidos em LinhaReserva em background; em seguida a
+     * diferença para a lista atual é calculada e apenas as linhas alteradas são religadas.
      * 
-     * @param imageUrl URL da imagem
-     * @param imageView ImageView onde exibir a imagem
+     * @param novasReservas Nova lista de reservas (copiada; o chamador pode continuar alterando a sua)
      */
-    private void carregarImagemDeUrl(String imageUrl, android.widget.ImageView imageView) {
-        try {
-            Log.d(TAG, "Carregando imagem com Glide: " + imageUrl);
-            
-            com.bumptech.glide.Glide.with(imageView.getContext())
-                    .load(imageUrl)
-                    .placeholder(R.drawable.ic_instrument_placeholder)
-                    .error(R.drawable.ic_instrument_placeholder)
-                    .centerCrop()
-                    .into(imageView);
-                    
-        } catch (Exception e) {
-            Log.e(TAG, "Erro ao carregar imagem com Glide: " + e.getMessage(), e);
-            imageView.setImageResource(R.drawable.ic_instrument_placeholder);
-        }
+    public void atualizarReservas(List<DocumentSnapshot> novasReservas) {
+        preparador.enviar(this, novasReservas,
+                () -> Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount()));
     }
     
     /**
-     * Verifica se a reserva já foi avaliada e configura o botão adequadamente
+     * Atualiza a lista de reservas junto com as reservas já avaliadas e os instrumentos referenciados
      * 
-     * @param documentReserva Documento da reserva
-     * @param holder ViewHolder da reserva
+     * @param novasReservas Nova lista de reservas
+     * @param avaliadas IDs das reservas já avaliadas (GerenciadorFirebase.obterReservasAvaliadas)
+     * @param instrumentosPorId Instrumentos das reservas, por ID (GerenciadorFirebase.obterInstrumentosPorIds)
      */
-    private void verificarEAvaliarBotaoAvaliacao(DocumentSnapshot documentReserva, ViewHolder holder) {
-        String reservaId = documentReserva.getId();
-        String tipoAvaliacao = "meus_instrumentos".equals(tipoReserva) ? "usuario" : "instrumento";
-        
-        Log.d(TAG, "Verificando se reserva " + reservaId + " já foi avaliada (" + tipoAvaliacao + ")");
-        
-        GerenciadorFirebase.verificarSeReservaFoiAvaliada(reservaId, tipoAvaliacao)
-                .thenAccept(jaAvaliada -> {
-                    if (holder.itemView.getContext() instanceof android.app.Activity) {
-                        ((android.app.Activity) holder.itemView.getContext()).runOnUiThread(() -> {
-                            if (jaAvaliada) {
-                                Log.d(TAG, "Reserva já avaliada, ocultando botão");
-                                holder.botaoAvaliar.setVisibility(View.GONE);
-                            } else {
-                                Log.d(TAG, "Reserva não avaliada, mostrando botão");
-                                holder.botaoAvaliar.setVisibility(View.VISIBLE);
-                                
-                                // Definir texto do botão baseado no tipo de reserva
-                                if ("meus_instrumentos".equals(tipoReserva)) {
-                                    holder.botaoAvaliar.setText("AVALIAR LOCATÁRIO");
-                                } else {
-                                    holder.botaoAvaliar.setText("AVALIAR");
-                                }
-                                
-                                holder.botaoAvaliar.setOnClickListener(v -> {
-                                    if (listener != null) {
-                                        listener.onAvaliarReserva(documentReserva);
-                                    }
-                                });
-                            }
-                        });
-                    }
-                })
-                .exceptionally(erro -> {
-                    Log.e(TAG, "Erro ao verificar avaliação: " + erro.getMessage(), erro);
-                    // Em caso de erro, mostrar botão por segurança
-                    if (holder.itemView.getContext() instanceof android.app.Activity) {
-                        ((android.app.Activity) holder.itemView.getContext()).runOnUiThread(() -> {
-                            holder.botaoAvaliar.setVisibility(View.VISIBLE);
-                            if ("meus_instrumentos".equals(tipoReserva)) {
-                                holder.botaoAvaliar.setText("AVALIAR LOCATÁRIO");
-                            } else {
-                                holder.botaoAvaliar.setText("AVALIAR");
-                            }
-                            holder.botaoAvaliar.setOnClickListener(v -> {
-                                if (listener != null) {
-                                    listener.onAvaliarReserva(documentReserva);
-                                }
-                            });
-                        });
-                    }
-                    return null;
-                });
+    public void atualizarReservas(List<DocumentSnapshot> novasReservas, Set<String> avaliadas,
+                                  Map<String, DocumentSnapshot> instrumentosPorId) {
+        reservasAvaliadas = new HashSet<>(avaliadas);
+        instrumentos = new HashMap<>(instrumentosPorId);
+        atualizarReservas(novasReservas);
     }
 
     /**
-     * Atualiza a lista de reservas
-     * 
-     * @param novasReservas Nova lista de reservas
+     * Comparação de linhas para o DiffUtil: mesma reserva, mesmos dados exibidos
      */
-    public void atualizarReservas(List<DocumentSnapshot> novasReservas) {
-        this.reservas = novasReservas;
-        notifyDataSetChanged();
-        Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount());
+    private static class DiferencaReservas extends DiffUtil.ItemCallback<LinhaReserva> {
+        @Override
+        public boolean areItemsTheSame(@NonNull LinhaReserva antiga, @NonNull LinhaReserva nova) {
+            return antiga.id.equals(nova.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LinhaReserva antiga, @NonNull LinhaReserva nova) {
+            return antiga.equals(nova);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull LinhaReserva antiga, @NonNull LinhaReserva nova) {
+            return Objects.equals(antiga.versoes, nova.versoes) ? PAYLOAD_DADOS : null;
+        }
     }
 
     /**
@@ -364,7 +277,7 @@ public class AdaptadorReservas extends RecyclerView.Adapter<AdaptadorReservas.Vi
         TextView textoPrecoTotal;
         TextView textoDataReserva;
         MaterialButton botaoAvaliar;
-        android.widget.ImageView imagemInstrumento;
+        ImageView imagemInstrumento;
 
         ViewHolder(View itemView) {
             super(itemView);
@@ -1,21 +1,27 @@
 package com.example.instrumentaliza;
 
+import android.graphics.drawable.Drawable;
 import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.instrumentaliza.models.FirebaseSolicitacao;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
 import com.google.firebase.firestore.DocumentSnapshot;
 
-import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * AdaptadorSolicitacoes - Adaptador para RecyclerView de solicitações
@@ -35,19 +41,30 @@ import java.util.Locale;
  * Características técnicas:
  * - ViewHolder pattern para performance
  * - Interface de callback para interações
- * - Formatação automática de datas e preços
- * - Cores dinâmicas baseadas no status
+ * - Formatação de datas, preços, status e cores em background (LinhaSolicitacao), fora do bind
  * - Layout responsivo com ConstraintLayout
+ * - Instrumentos unidos às linhas antes da exibição (busca em lote pela tela):
+ *   a rolagem não dispara leituras no Firestore
+ * - ListAdapter: diferenças calculadas em background; apenas as
+ *   linhas alteradas são religadas e a imagem só é recarregada se ela mudar
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AdaptadorSolicitacoes extends RecyclerView.Adapter<AdaptadorSolicitacoes.ViewHolder> {
+public class AdaptadorSolicitacoes extends ListAdapter<LinhaSolicitacao, AdaptadorSolicitacoes.ViewHolder> {
     
     private static final String TAG = "AdaptadorSolicitacoes";
     
-    private List<DocumentSnapshot> solicitacoes;
+    // Payload: apenas os dados da solicitação mudaram (mesma imagem)
+    private static final Object PAYLOAD_DADOS = new Object();
+    
     private final OnSolicitacaoClickListener listener;
+    
+    // Instrumentos referenciados, buscados em lote pela tela (substituído, nunca alterado: lido pela thread do preparador)
+    private volatile Map<String, DocumentSnapshot> instrumentos = Collections.emptyMap();
+    private final PreparadorLinhas<DocumentSnapshot, LinhaSolicitacao> preparador = new PreparadorLinhas<>(
+            documento -> LinhaSolicitacao.deDocumento(InstrumentalizaApplication.getInstance(), documento,
+                    instrumentos.get(documento.getString("instrumentoId"))));
 
     /**
      * Interface para manipular cliques nas solicitações
@@ -63,168 +80,153 @@ public class AdaptadorSolicitacoes extends RecyclerView.Adapter<AdaptadorSolicit
      * @param listener Listener para cliques nas solicitações
      */
     public AdaptadorSolicitacoes(List<DocumentSnapshot> solicitacoes, OnSolicitacaoClickListener listener) {
-        this.solicitacoes = solicitacoes;
+        super(new DiferencaSolicitacoes());
+        setHasStableIds(true);
         this.listener = listener;
+        preparador.enviar(this, solicitacoes, null);
     }
 
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_solicitacao, parent, false);
-        return new ViewHolder(view);
+        // View pré-inflada em background, se houver (InfladorAntecipado)
+        View view = InfladorAntecipado.obter(parent, R.layout.item_solicitacao);
+        ViewHolder holder = new ViewHolder(view);
+        
+        // Listener criado uma vez por view; a linha é obtida pela posição no momento do clique.
+        // O pool é compartilhado entre as abas: o adaptador é o que ligou a linha, não o que a criou
+        holder.itemView.setOnClickListener(v -> {
+            AdaptadorSolicitacoes adaptador = (AdaptadorSolicitacoes) holder.getBindingAdapter();
+            int posicao = holder.getBindingAdapterPosition();
+            if (adaptador != null && posicao != RecyclerView.NO_POSITION) {
+                adaptador.listener.onSolicitacaoClick(adaptador.getItem(posicao).documento);
+            }
+        });
+        return holder;
     }
 
+    /**
+     * Tipo de view: o layout do item (seguro para o pool compartilhado entre abas)
+     */
     @Override
-    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        DocumentSnapshot documentoSolicitacao = solicitacoes.get(position);
-        FirebaseSolicitacao solicitacao = FirebaseSolicitacao.fromDocument(documentoSolicitacao);
-        
-        Log.d(TAG, "Exibindo solicitação: " + solicitacao.getId() + " - Status: " + solicitacao.getStatus());
-        Log.d(TAG, "Status original: '" + solicitacao.getStatus() + "'");
-        
-        // Configurar informações do solicitante
-        holder.textoSolicitanteNome.setText(solicitacao.getInstrumentoNome());
-        holder.textoSolicitanteEmail.setText(solicitacao.getSolicitanteEmail());
-        
-        // Configurar período
-        SimpleDateFormat formatoData = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-        String periodo = formatoData.format(solicitacao.getDataInicio()) + " a " + 
-                        formatoData.format(solicitacao.getDataFim());
-        holder.textoPeriodo.setText(periodo);
-        
-        // Configurar preço total
-        holder.textoPrecoTotal.setText(String.format(Locale.getDefault(), "R$ %.2f", solicitacao.getPrecoTotal()));
-        
-        // Configurar data da solicitação
-        if (solicitacao.getDataCriacao() != null) {
-            String dataSolicitacao = "Solicitado em " + formatoData.format(solicitacao.getDataCriacao());
-            holder.textoDataSolicitacao.setText(dataSolicitacao);
-        }
-        
-        // Configurar status - garantir que sempre tenha um valor
-        String status = solicitacao.getStatus();
-        Log.d(TAG, "Status obtido: '" + status + "'");
-        
-        // Se status for null, vazio ou não for um dos valores esperados, usar PENDENTE
-        if (status == null || status.isEmpty() || 
-            (!status.equals("PENDENTE") && !status.equals("ACEITA") && !status.equals("RECUSADA"))) {
-            status = "PENDENTE";
-            Log.d(TAG, "Status inválido/nulo, definindo como PENDENTE");
-        }
-        
-        Log.d(TAG, "Status final: '" + status + "'");
-        holder.textoStatus.setText(status);
-        holder.textoStatus.setVisibility(View.VISIBLE);
-        
-        // Configurar cor do status
-        int corStatus;
-        switch (status) {
-            case "PENDENTE":
-                corStatus = android.graphics.Color.WHITE; // Branco para contraste com fundo laranja
-                break;
-            case "ACEITA":
-                corStatus = holder.itemView.getContext().getResources().getColor(R.color.status_accepted);
-                break;
-            case "RECUSADA":
-                corStatus = holder.itemView.getContext().getResources().getColor(R.color.status_rejected);
-                break;
-            default:
-                corStatus = android.graphics.Color.WHITE; // Branco por padrão
-                break;
-        }
-        holder.textoStatus.setTextColor(corStatus);
-        
-        // Carregar imagem do instrumento
-        carregarImagemInstrumento(solicitacao.getInstrumentoId(), holder);
-        
-        // Configurar listener para clicar no item
-        holder.itemView.setOnClickListener(v -> listener.onSolicitacaoClick(documentoSolicitacao));
+    public int getItemViewType(int position) {
+        return R.layout.item_solicitacao;
     }
 
     @Override
-    public int getItemCount() {
-        return solicitacoes.size();
+    public long getItemId(int position) {
+        return PoolVisualizacoes.idEstavel(getItem(position).id);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        LinhaSolicitacao linha = getItem(position);
+        vincularDados(holder, linha);
+        carregarImagem(holder, linha);
+    }
+    
+    /**
+     * Religa apenas os campos da solicitação; a imagem só é recarregada se ela mudou
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.contains(PAYLOAD_DADOS)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        vincularDados(holder, getItem(position));
+    }
+    
+    /**
+     * Copia os textos já formatados da linha para as views
+     */
+    private void vincularDados(ViewHolder holder, LinhaSolicitacao linha) {
+        holder.textoSolicitanteNome.setText(linha.nomeInstrumento);
+        holder.textoSolicitanteEmail.setText(linha.emailSolicitante);
+        holder.textoPeriodo.setText(linha.periodo);
+        holder.textoPrecoTotal.setText(linha.precoTotal);
+        holder.textoDataSolicitacao.setText(linha.dataSolicitacao);
+        holder.textoStatus.setText(linha.status);
+        holder.textoStatus.setTextColor(linha.corStatus);
+        holder.textoStatus.setVisibility(View.VISIBLE);
     }
 
     /**
      * Atualiza a lista de solicitações
      * 
-     * @param novasSolicitacoes Nova lista de solicitações
+     * Os documentos são convertidos em LinhaSolicitacao em background; em seguida a
+     * diferença para a lista atual é calculada e apenas as linhas alteradas são religadas.
+     * 
+     * @param novasSolicitacoes Nova lista de solicitações (copiada; o chamador pode continuar alterando a sua)
      */
     public void atualizarSolicitacoes(List<DocumentSnapshot> novasSolicitacoes) {
-        this.solicitacoes = novasSolicitacoes;
-        notifyDataSetChanged();
-        Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount());
+        preparador.enviar(this, novasSolicitacoes,
+                () -> Log.d(TAG, "Adapter atualizado, getItemCount: " + getItemCount()));
+    }
+    
+    /**
+     * Atualiza a lista de solicitações já unida aos instrumentos referenciados
+     * 
+     * @param novasSolicitacoes Nova lista de solicitações
+     * @param instrumentosPorId Instrumentos das solicitações, por ID (GerenciadorFirebase.obterInstrumentosPorIds)
+     */
+    public void atualizarSolicitacoes(List<DocumentSnapshot> novasSolicitacoes,
+                                      Map<String, DocumentSnapshot> instrumentosPorId) {
+        instrumentos = new HashMap<>(instrumentosPorId);
+        atualizarSolicitacoes(novasSolicitacoes);
+    }
+    
+    /**
+     * Comparação de linhas para o DiffUtil: mesma solicitação, mesmos dados exibidos
+     */
+    private static class DiferencaSolicitacoes extends DiffUtil.ItemCallback<LinhaSolicitacao> {
+        @Override
+        public boolean areItemsTheSame(@NonNull LinhaSolicitacao antiga, @NonNull LinhaSolicitacao nova) {
+            return antiga.id.equals(nova.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LinhaSolicitacao antiga, @NonNull LinhaSolicitacao nova) {
+            return antiga.equals(nova);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull LinhaSolicitacao antiga, @NonNull LinhaSolicitacao nova) {
+            return Objects.equals(antiga.versoes, nova.versoes) ? PAYLOAD_DADOS : null;
+        }
     }
     
     /**
-     * Carrega a imagem do instrumento
+     * Carrega a imagem do instrumento, já conhecida pela linha (sem leituras no Firestore)
      * 
-     * @param instrumentoId ID do instrumento
      * @param holder ViewHolder para atualizar a imagem
+     * @param linha Linha da solicitação
      */
-    private void carregarImagemInstrumento(String instrumentoId, ViewHolder holder) {
+    private void carregarImagem(ViewHolder holder, LinhaSolicitacao linha) {
         if (holder.imagemAvatar == null) {
             Log.w(TAG, "ImageView não encontrada no layout");
             return;
         }
         
-        if (instrumentoId == null || instrumentoId.trim().isEmpty()) {
-            Log.w(TAG, "ID do instrumento não fornecido");
+        String imageUrl = linha.versoes != null ? linha.versoes.escolherPara(holder.imagemAvatar) : null;
+        if (imageUrl == null || imageUrl.trim().isEmpty()) {
+            // Usar imagem padrão se o instrumento não foi encontrado ou não tem imagem
+            Glide.with(holder.imagemAvatar.getContext()).clear(holder.imagemAvatar);
             holder.imagemAvatar.setImageResource(R.drawable.ic_instrument_placeholder);
             return;
         }
         
-        // Buscar instrumento no Firestore
-        com.google.firebase.firestore.FirebaseFirestore.getInstance()
-                .collection("instruments")
-                .document(instrumentoId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        String imageUrl = documentSnapshot.getString("imageUri");
-                        if (imageUrl != null && !imageUrl.trim().isEmpty()) {
-                            // Carregar imagem do Firebase Storage ou URL
-                            Log.d(TAG, "Carregando imagem do instrumento: " + imageUrl);
-                            carregarImagemDeUrl(imageUrl, holder.imagemAvatar);
-                        } else {
-                            // Usar imagem padrão se não houver URL
-                            Log.d(TAG, "Usando imagem padrão para instrumento sem URL");
-                            holder.imagemAvatar.setImageResource(R.drawable.ic_instrument_placeholder);
-                        }
-                    } else {
-                        Log.w(TAG, "Instrumento não encontrado: " + instrumentoId);
-                        holder.imagemAvatar.setImageResource(R.drawable.ic_instrument_placeholder);
-                    }
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao buscar instrumento: " + erro.getMessage(), erro);
-                    holder.imagemAvatar.setImageResource(R.drawable.ic_instrument_placeholder);
-                });
-    }
-    
-    /**
-     * Carrega uma imagem de uma URL usando Glide
-     * 
-     * @param imageUrl URL da imagem
-     * @param imageView ImageView onde exibir a imagem
-     */
-    private void carregarImagemDeUrl(String imageUrl, ImageView imageView) {
-        try {
-            Log.d(TAG, "Carregando imagem com Glide: " + imageUrl);
-            
-            com.bumptech.glide.Glide.with(imageView.getContext())
-                    .load(imageUrl)
-                    .placeholder(R.drawable.ic_instrument_placeholder)
-                    .error(R.drawable.ic_instrument_placeholder)
-                    .centerCrop()
-                    .into(imageView);
-                    
-        } catch (Exception e) {
-            Log.e(TAG, "Erro ao carregar imagem com Glide: " + e.getMessage(), e);
-            imageView.setImageResource(R.drawable.ic_instrument_placeholder);
-        }
+        // A prévia do instrumento (já decodificada em background) aparece de imediato
+        Drawable previa = PreviaImagem.drawable(holder.itemView.getResources(), linha.versoes.getPrevia());
+        RequestBuilder<Drawable> requisicao = Glide.with(holder.imagemAvatar.getContext()).load(imageUrl);
+        requisicao = previa != null
+                ? requisicao.placeholder(previa)
+                : requisicao.placeholder(R.drawable.ic_instrument_placeholder);
+        requisicao.error(R.drawable.ic_instrument_placeholder)
+                .apply(OpcoesGlide.miniatura())
+                .transition(OpcoesGlide.transicao())
+                .into(holder.imagemAvatar);
     }
 
     /**
@@ -1,11 +1,12 @@
 package com.example.instrumentaliza;
 
+import android.content.ClipData;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
-import android.provider.MediaStore;
 import android.util.Log;
 import android.view.MenuItem;
+import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.Button;
@@ -14,12 +15,14 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
 
-import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * AdicionarInstrumentoActivity - Tela de adição/edição de instrumentos
@@ -32,7 +35,7 @@ import java.text.Normalizer;
  * - Adição de novos instrumentos
  * - Edição de instrumentos existentes
  * - Seleção de categoria via dropdown
- * - Upload de imagem do instrumento
+ * - Galeria com várias imagens, enviadas em paralelo com progresso por imagem
  * - Validação de campos obrigatórios
  * - Salvamento no Firebase Firestore
  * 
@@ -40,60 +43,58 @@ import java.text.Normalizer;
  * - ActivityResultLauncher para seleção de imagem
  * - AutoCompleteTextView para categorias
  * - Validação de dados antes do salvamento
- * - Upload de imagem para Firebase Storage
+ * - Upload das imagens em segundo plano (GerenciadorEnvioImagens)
  * - Modo de edição baseado no Intent
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AdicionarInstrumentoActivity extends AppCompatActivity {
+public class AdicionarInstrumentoActivity extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "AdicionarInstrumentoActivity";
     
+    // Limite de imagens por galeria (mantém os dados do envio dentro do limite do WorkManager)
+    private static final int MAXIMO_IMAGENS_GALERIA = 8;
+    
     // Componentes da interface
     private TextInputEditText campoNome, campoDescricao, campoPreco;
     private AutoCompleteTextView campoCategoria;
     private ImageView imagemInstrumento;
+    private RecyclerView listaGaleria;
+    private AdaptadorGaleriaEnvio adaptadorGaleria;
+    private Button botaoSalvar;
     
-    // Dados da imagem
-    private Uri uriImagemSelecionada;
+    // Imagens selecionadas, na ordem da galeria (a primeira é a capa)
+    private final List<Uri> urisImagensSelecionadas = new ArrayList<>();
     
     // Autenticação e controle de estado
     private FirebaseAuth autenticacao;
     private boolean estaSalvando = false;
 
     /**
-     * Launcher para seleção de imagem da galeria
+     * Launcher para seleção de imagens da galeria
      * 
-     * Configurado para capturar o resultado da seleção de imagem
-     * e atualizar a interface com a imagem selecionada.
+     * Aceita uma ou várias imagens e atualiza a interface com a capa
+     * e a lista das imagens selecionadas.
      */
     private final ActivityResultLauncher<Intent> selecionarImagem = registerForActivityResult(
             new ActivityResultContracts.StartActivityForResult(),
             resultado -> {
                 if (resultado.getResultCode() == RESULT_OK && resultado.getData() != null) {
-                    uriImagemSelecionada = resultado.getData().getData();
-                    imagemInstrumento.setImageURI(uriImagemSelecionada);
+                    List<Uri> selecionadas = new ArrayList<>();
+                    ClipData varias = resultado.getData().getClipData();
+                    if (varias != null) {
+                        for (int i = 0; i < varias.getItemCount(); i++) {
+                            selecionadas.add(varias.getItemAt(i).getUri());
+                        }
+                    } else if (resultado.getData().getData() != null) {
+                        selecionadas.add(resultado.getData().getData());
+                    }
+                    exibirImagensSelecionadas(selecionadas);
                 }
             });
 
-    /**
-     * Normaliza uma string de categoria removendo acentos e formatando
-     * 
-     * @param entrada String de entrada a ser normalizada
-     * @return String normalizada com primeira letra maiúscula
-     */
-    private static String normalizarCategoria(String entrada) {
-        if (entrada == null) return "";
-        String normalizada = Normalizer.normalize(entrada.trim(), Normalizer.Form.NFD)
-            .replaceAll("[\\p{InCombiningDiacriticalMarks}]", "");
-        if (!normalizada.isEmpty()) {
-            normalizada = normalizada.substring(0, 1).toUpperCase() + normalizada.substring(1).toLowerCase();
-        }
-        return normalizada;
-    }
-
     /**
      * Método chamado quando a atividade é criada
      * 
@@ -145,8 +146,14 @@ public class AdicionarInstrumentoActivity extends AppCompatActivity {
             campoPreco = findViewById(R.id.priceEditText);
             campoCategoria = findViewById(R.id.categoryAutoComplete);
             imagemInstrumento = findViewById(R.id.instrumentImageView);
+            listaGaleria = findViewById(R.id.galleryRecyclerView);
             Button botaoAdicionarFoto = findViewById(R.id.addPhotoButton);
-            Button botaoSalvar = findViewById(R.id.saveButton);
+            botaoSalvar = findViewById(R.id.saveButton);
+            
+            // Configurar lista das imagens da galeria
+            listaGaleria.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
+            adaptadorGaleria = new AdaptadorGaleriaEnvio();
+            listaGaleria.setAdapter(adaptadorGaleria);
 
             // Configurar categorias
             String[] categorias = {getString(R.string.category_strings), getString(R.string.category_percussao), getString(R.string.category_sopro), getString(R.string.category_teclas), getString(R.string.category_acessorios)};
@@ -157,7 +164,10 @@ public class AdicionarInstrumentoActivity extends AppCompatActivity {
             // Configurar listeners
             botaoAdicionarFoto.setOnClickListener(v -> {
                 Log.d(TAG, "Botão de adicionar foto clicado");
-                Intent intent = new Intent(Intent.ACTION_PICK, MediaStore.Images.Media.EXTERNAL_CONTENT_URI);
+                Intent intent = new Intent(Intent.ACTION_GET_CONTENT);
+                intent.setType("image/*");
+                intent.addCategory(Intent.CATEGORY_OPENABLE);
+                intent.putExtra(Intent.EXTRA_ALLOW_MULTIPLE, true);
                 selecionarImagem.launch(intent);
             });
 
@@ -171,6 +181,57 @@ public class AdicionarInstrumentoActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Exibe a capa e a lista das imagens escolhidas
+     * 
+     * @param selecionadas Imagens retornadas pelo seletor, na ordem escolhida
+     */
+    private void exibirImagensSelecionadas(List<Uri> selecionadas) {
+        if (selecionadas.isEmpty()) {
+            return;
+        }
+        if (selecionadas.size() > MAXIMO_IMAGENS_GALERIA) {
+            Toast.makeText(this, getString(R.string.gallery_limit, MAXIMO_IMAGENS_GALERIA), Toast.LENGTH_SHORT).show();
+            selecionadas = selecionadas.subList(0, MAXIMO_IMAGENS_GALERIA);
+        }
+        urisImagensSelecionadas.clear();
+        urisImagensSelecionadas.addAll(selecionadas);
+        
+        imagemInstrumento.setImageURI(urisImagensSelecionadas.get(0));
+        adaptadorGaleria.atualizarImagens(urisImagensSelecionadas);
+        listaGaleria.setVisibility(urisImagensSelecionadas.size() > 1 ? View.VISIBLE : View.GONE);
+    }
+    
+    /**
+     * Acompanha o envio da galeria recém-agendado, exibindo o progresso de cada imagem
+     * 
+     * A tela fecha ao final do envio; o usuário pode sair antes, e o envio continua.
+     * 
+     * @param nomeTrabalho Nome do trabalho de envio
+     */
+    private void acompanharEnvioGaleria(String nomeTrabalho) {
+        listaGaleria.setVisibility(View.VISIBLE);
+        GerenciadorEnvioImagens.acompanhar(this, this, nomeTrabalho, true, new GerenciadorEnvioImagens.OuvinteEnvio() {
+            @Override
+            public void aoProgredir(int percentual) {
+                botaoSalvar.setText(getString(R.string.image_upload_progress, percentual));
+            }
+            
+            @Override
+            public void aoProgredirImagens(int[] percentuais) {
+                adaptadorGaleria.atualizarProgresso(percentuais);
+            }
+            
+            @Override
+            public void aoConcluir(boolean sucesso) {
+                if (!sucesso) {
+                    Toast.makeText(AdicionarInstrumentoActivity.this, R.string.image_upload_failed, Toast.LENGTH_SHORT).show();
+                }
+                finish();
+            }
+        });
+    }
+
     private void salvarInstrumento() {
         if (estaSalvando) {
             Log.d(TAG, "Já existe um salvamento em andamento");
@@ -183,7 +244,7 @@ public class AdicionarInstrumentoActivity extends AppCompatActivity {
             String descricao = campoDescricao.getText().toString().trim();
             String textoPreco = campoPreco.getText().toString().trim();
             String categoria = campoCategoria.getText().toString();
-            categoria = normalizarCategoria(categoria);
+            categoria = Instrumento.normalizarCategoria(categoria);
             String idProprietario = autenticacao.getCurrentUser().getUid();
 
             // Validação básica
@@ -205,12 +266,9 @@ public class AdicionarInstrumentoActivity extends AppCompatActivity {
             // Marcar que está salvando
             estaSalvando = true;
 
-            // Se há uma imagem selecionada, fazer upload primeiro
-            if (uriImagemSelecionada != null) {
-                Log.d(TAG, "Fazendo upload da imagem...");
-                Log.d(TAG, "URI da imagem: " + uriImagemSelecionada.toString());
-                String nomeArquivo = "instrumento_" + System.currentTimeMillis() + ".jpg";
-                Log.d(TAG, "Nome do arquivo: " + nomeArquivo);
+            // Se há imagens selecionadas, salvar o instrumento e agendar o envio da galeria
+            if (!urisImagensSelecionadas.isEmpty()) {
+                Log.d(TAG, "Salvando instrumento e agendando envio de " + urisImagensSelecionadas.size() + " imagem(ns)...");
                 
                 // Capturar as variáveis finais para usar no lambda
                 final String idProprietarioFinal = idProprietario;
@@ -218,21 +276,20 @@ public class AdicionarInstrumentoActivity extends AppCompatActivity {
                 final String descricaoFinal = descricao;
                 final String categoriaFinal = categoria;
                 final double precoFinal = preco;
+                final List<Uri> urisFinais = new ArrayList<>(urisImagensSelecionadas);
                 
-                Log.d(TAG, "Chamando GerenciadorFirebase.uploadInstrumentImage...");
-                GerenciadorFirebase.enviarImagemInstrumento(uriImagemSelecionada, nomeArquivo)
-                        .thenCompose(urlImagem -> {
-                            Log.d(TAG, "Imagem enviada com sucesso: " + urlImagem);
-                            // Agora salvar o instrumento com a URL da imagem
-                            Log.d(TAG, "Salvando instrumento com URL da imagem: " + urlImagem);
-                            return GerenciadorFirebase.criarInstrumento(idProprietarioFinal, nomeFinal, descricaoFinal, categoriaFinal, precoFinal, urlImagem);
-                        })
-                        .thenAccept(idInstrumento -> {
-                            Log.d(TAG, "Instrumento salvo com sucesso no Firebase, ID: " + idInstrumento);
+                // O documento é criado sem imagem; o envio em segundo plano grava a galeria ao concluir
+                GerenciadorFirebase.criarInstrumento(idProprietarioFinal, nomeFinal, descricaoFinal, categoriaFinal, precoFinal, null)
+                        .thenCompose(idInstrumento -> GerenciadorEnvioImagens
+                                .enfileirarGaleriaInstrumento(this, urisFinais, idInstrumento))
+                        .thenAccept(nomeTrabalho -> {
+                            Log.d(TAG, "Instrumento salvo, envio da galeria agendado: " + nomeTrabalho);
                             runOnUiThread(() -> {
                                 Toast.makeText(this, getString(R.string.instrument_saved), Toast.LENGTH_SHORT).show();
+                                Toast.makeText(this, getString(R.string.image_upload_background), Toast.LENGTH_LONG).show();
                                 setResult(RESULT_OK);
-                                finish();
+                                botaoSalvar.setEnabled(false);
+                                acompanharEnvioGaleria(nomeTrabalho);
                             });
                         })
                         .exceptionally(erro -> {
@@ -18,6 +18,14 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
  * Contém todas as entidades (Usuario, Instrumento, Reserva) e seus respectivos DAOs.
  * Implementa o padrão Singleton para acesso global ao banco de dados.
  * 
+ * A partir da versão 6, a tabela de instrumentos é um espelho local da coleção
+ * "instruments" do Firestore, mantido pelo RepositorioInstrumentos. Como o espelho
+ * pode ser reconstruído a partir do servidor, uma migração ausente recria o banco.
+ * A versão 7 adiciona o índice de texto completo (FTS4) usado na busca do catálogo
+ * e a versão 8 os índices compostos usados pela ConsultaInstrumentos. A versão 9
+ * guarda as URLs das versões miniatura e cartão da imagem (VersoesImagem) e a
+ * versão 10 a prévia de baixa resolução (PreviaImagem).
+ * 
  * Funcionalidades principais:
  * - Gerenciamento de entidades do banco de dados
  * - Migrações de versão do banco
@@ -35,7 +43,7 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
  * @author Jhonata
  * @version 1.0
  */
-@Database(entities = {Usuario.class, Instrumento.class, Reserva.class}, version = 5, exportSchema = false)
+@Database(entities = {Usuario.class, Instrumento.class, InstrumentoFts.class, Reserva.class}, version = 10, exportSchema = false)
 @TypeConverters({Converters.class})
 public abstract class AppDatabase extends RoomDatabase {
     
@@ -111,6 +119,109 @@ public abstract class AppDatabase extends RoomDatabase {
         }
     };
 
+    private static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // Migração da versão 5 para 6 (instrumentos passam a espelhar o Firestore)
+            // Recriar reservas sem a chave estrangeira para instrumentos
+            database.execSQL("CREATE TABLE IF NOT EXISTS reservas_nova (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "idUsuario INTEGER NOT NULL, " +
+                    "idInstrumento INTEGER NOT NULL, " +
+                    "dataInicio INTEGER, " +
+                    "dataFim INTEGER, " +
+                    "precoTotal REAL NOT NULL, " +
+                    "status TEXT, " +
+                    "dataCriacao INTEGER, " +
+                    "FOREIGN KEY (idUsuario) REFERENCES usuarios(id) ON UPDATE NO ACTION ON DELETE CASCADE)");
+            database.execSQL("INSERT INTO reservas_nova SELECT id, idUsuario, idInstrumento, dataInicio, dataFim, " +
+                    "precoTotal, status, dataCriacao FROM reservas");
+            database.execSQL("DROP TABLE reservas");
+            database.execSQL("ALTER TABLE reservas_nova RENAME TO reservas");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_reservas_idUsuario ON reservas (idUsuario)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_reservas_idInstrumento ON reservas (idInstrumento)");
+
+            // Recriar instrumentos com o ID do documento Firestore como chave primária
+            database.execSQL("DROP TABLE IF EXISTS instrumentos");
+            database.execSQL("CREATE TABLE IF NOT EXISTS instrumentos (" +
+                    "id TEXT NOT NULL, " +
+                    "idProprietario TEXT, " +
+                    "nome TEXT, " +
+                    "descricao TEXT, " +
+                    "categoria TEXT, " +
+                    "preco REAL NOT NULL, " +
+                    "uriImagem TEXT, " +
+                    "disponivel INTEGER NOT NULL, " +
+                    "faixasIndisponiveis TEXT, " +
+                    "notaMedia REAL NOT NULL, " +
+                    "totalAvaliacoes INTEGER NOT NULL, " +
+                    "criadoEm INTEGER, " +
+                    "atualizadoEm INTEGER, " +
+                    "PRIMARY KEY(id))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_instrumentos_idProprietario ON instrumentos (idProprietario)");
+            Log.d(TAG, "Migração para espelho de instrumentos concluída");
+        }
+    };
+
+    private static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // Migração da versão 6 para 7 (índice de texto completo dos instrumentos)
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `instrumentos_fts` USING FTS4(" +
+                    "`nome` TEXT, `descricao` TEXT, tokenize=unicode61 `remove_diacritics=1`, content=`instrumentos`)");
+            // Triggers de sincronização no mesmo formato gerado pelo Room
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_instrumentos_fts_BEFORE_UPDATE " +
+                    "BEFORE UPDATE ON `instrumentos` BEGIN DELETE FROM `instrumentos_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_instrumentos_fts_BEFORE_DELETE " +
+                    "BEFORE DELETE ON `instrumentos` BEGIN DELETE FROM `instrumentos_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_instrumentos_fts_AFTER_UPDATE " +
+                    "AFTER UPDATE ON `instrumentos` BEGIN INSERT INTO `instrumentos_fts`(`docid`, `nome`, `descricao`) " +
+                    "VALUES (NEW.`rowid`, NEW.`nome`, NEW.`descricao`); END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_instrumentos_fts_AFTER_INSERT " +
+                    "AFTER INSERT ON `instrumentos` BEGIN INSERT INTO `instrumentos_fts`(`docid`, `nome`, `descricao`) " +
+                    "VALUES (NEW.`rowid`, NEW.`nome`, NEW.`descricao`); END");
+            // Indexar as linhas já existentes no espelho
+            database.execSQL("INSERT INTO `instrumentos_fts`(`instrumentos_fts`) VALUES('rebuild')");
+            Log.d(TAG, "Migração para índice de texto completo concluída");
+        }
+    };
+
+    private static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // Migração da versão 7 para 8 (índices compostos do catálogo)
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_instrumentos_disponivel_categoria_preco_id` " +
+                    "ON `instrumentos` (`disponivel`, `categoria`, `preco`, `id`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_instrumentos_disponivel_preco_id` " +
+                    "ON `instrumentos` (`disponivel`, `preco`, `id`)");
+            Log.d(TAG, "Migração para índices compostos concluída");
+        }
+    };
+
+    private static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // Migração da versão 8 para 9 (versões miniatura/cartão da imagem)
+            database.execSQL("ALTER TABLE instrumentos ADD COLUMN uriMiniatura TEXT");
+            database.execSQL("ALTER TABLE instrumentos ADD COLUMN uriCartao TEXT");
+            // Esvaziar o espelho: com a tabela vazia o RepositorioInstrumentos faz
+            // uma sincronização completa e preenche as novas colunas
+            database.execSQL("DELETE FROM instrumentos");
+            Log.d(TAG, "Migração para versões de imagem concluída");
+        }
+    };
+
+    private static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // Migração da versão 9 para 10 (prévia de baixa resolução da imagem)
+            database.execSQL("ALTER TABLE instrumentos ADD COLUMN previaImagem TEXT");
+            // Esvaziar o espelho para que a sincronização completa preencha a nova coluna
+            database.execSQL("DELETE FROM instrumentos");
+            Log.d(TAG, "Migração para prévias de imagem concluída");
+        }
+    };
+
     /**
      * Obtém a instância única do banco de dados (Singleton)
      * 
@@ -126,7 +237,9 @@ public abstract class AppDatabase extends RoomDatabase {
                         AppDatabase.class,
                         "instrumentaliza_database"
                 )
-                .addMigrations(MIGRATION_0_1, MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5)
+                .addMigrations(MIGRATION_0_1, MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10)
+                // O espelho de instrumentos é reconstruído pela sincronização
+                .fallbackToDestructiveMigration()
                 .build();
                 Log.d(TAG, "Banco de dados inicializado com sucesso");
             } catch (Exception e) {
@@ -1,5 +1,6 @@
 package com.example.instrumentaliza;
 
+import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -9,7 +10,6 @@ import android.widget.RatingBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.example.instrumentaliza.models.FirebaseAvaliacao;
@@ -48,7 +48,7 @@ import java.util.Locale;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeAvaliarAluguel extends AppCompatActivity {
+public class AtividadeAvaliarAluguel extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "AvaliarAluguel";
@@ -74,6 +74,9 @@ public class AtividadeAvaliarAluguel extends AppCompatActivity {
     // Autenticação
     private FirebaseAuth autenticacao;
     private FirebaseUser usuarioAtual;
+
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
     
     // Controle de estado
     private boolean avaliando = false;
@@ -182,7 +185,7 @@ public class AtividadeAvaliarAluguel extends AppCompatActivity {
     private void carregarDadosReserva() {
         Log.d(TAG, "Carregando dados da reserva: " + reservaId);
         
-        GerenciadorFirebase.obterReservaPorId(reservaId)
+        carregamentos.vincular(GerenciadorFirebase.obterReservaPorId(reservaId))
                 .thenAccept(documento -> {
                     if (documento != null && documento.exists()) {
                         runOnUiThread(() -> {
@@ -246,7 +249,7 @@ public class AtividadeAvaliarAluguel extends AppCompatActivity {
     private void buscarInformacoesInstrumento(String instrumentoId) {
         Log.d(TAG, "Buscando informações do instrumento: " + instrumentoId);
         
-        GerenciadorFirebase.obterInstrumentoPorId(instrumentoId)
+        carregamentos.vincular(GerenciadorFirebase.obterInstrumentoPorId(instrumentoId))
                 .thenAccept(instrumentoDoc -> {
                     if (instrumentoDoc != null && instrumentoDoc.exists()) {
                         runOnUiThread(() -> {
@@ -299,7 +302,7 @@ public class AtividadeAvaliarAluguel extends AppCompatActivity {
         }
         
         // Buscar no Firestore se não encontrou na reserva
-        GerenciadorFirebase.obterUsuarioPorId(proprietarioId)
+        carregamentos.vincular(GerenciadorFirebase.obterUsuarioPorId(proprietarioId))
                 .thenAccept(usuarioDoc -> {
                     if (usuarioDoc != null && usuarioDoc.exists()) {
                         runOnUiThread(() -> {
@@ -486,7 +489,7 @@ public class AtividadeAvaliarAluguel extends AppCompatActivity {
                         
                         // Fechar atividade após um delay
                         new android.os.Handler().postDelayed(() -> {
-                            setResult(RESULT_OK);
+                            setResult(RESULT_OK, new Intent().putExtra("reserva_id", reservaId));
                             finish();
                         }, 1500);
                     });
@@ -496,7 +499,7 @@ public class AtividadeAvaliarAluguel extends AppCompatActivity {
                     runOnUiThread(() -> {
                         // Fechar atividade mesmo com erro
                         new android.os.Handler().postDelayed(() -> {
-                            setResult(RESULT_OK);
+                            setResult(RESULT_OK, new Intent().putExtra("reserva_id", reservaId));
                             finish();
                         }, 1500);
                     });
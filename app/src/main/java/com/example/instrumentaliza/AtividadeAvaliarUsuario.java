@@ -8,7 +8,6 @@ import android.widget.RatingBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.example.instrumentaliza.models.FirebaseAvaliacaoUsuario;
@@ -39,7 +38,7 @@ import java.util.concurrent.CompletableFuture;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeAvaliarUsuario extends AppCompatActivity {
+public class AtividadeAvaliarUsuario extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "AvaliarUsuario";
@@ -63,6 +62,9 @@ public class AtividadeAvaliarUsuario extends AppCompatActivity {
     private FirebaseReservation reserva;
     private FirebaseUser usuarioAtual;
     private boolean avaliando = false;
+
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -182,7 +184,7 @@ public class AtividadeAvaliarUsuario extends AppCompatActivity {
         }
         
         // Carregar dados da reserva do Firebase
-        GerenciadorFirebase.obterReservaPorId(reservaId)
+        carregamentos.vincular(GerenciadorFirebase.obterReservaPorId(reservaId))
                 .thenAccept(reservaDoc -> {
                     runOnUiThread(() -> {
                         if (!reservaDoc.exists()) {
@@ -228,7 +230,7 @@ public class AtividadeAvaliarUsuario extends AppCompatActivity {
         Log.d(TAG, "Carregando dados do instrumento e locatário");
         
         // Carregar dados do instrumento
-        GerenciadorFirebase.obterInstrumentoPorId(instrumentoId)
+        carregamentos.vincular(GerenciadorFirebase.obterInstrumentoPorId(instrumentoId))
                 .thenCompose(instrumentoDoc -> {
                     if (instrumentoDoc.exists()) {
                         instrumentoNome = instrumentoDoc.getString("name");
@@ -246,7 +248,7 @@ public class AtividadeAvaliarUsuario extends AppCompatActivity {
                     }
                     
                     // Carregar dados do locatário
-                    return GerenciadorFirebase.obterUsuarioPorId(locatarioId);
+                    return carregamentos.vincular(GerenciadorFirebase.obterUsuarioPorId(locatarioId));
                 })
                 .thenAccept(locatarioDoc -> {
                     runOnUiThread(() -> {
@@ -371,7 +373,7 @@ public class AtividadeAvaliarUsuario extends AppCompatActivity {
                             Toast.makeText(this, "Avaliação enviada com sucesso!", Toast.LENGTH_LONG).show();
                             
                             // Voltar para a tela anterior com indicação de atualização
-                            setResult(RESULT_OK);
+                            setResult(RESULT_OK, new Intent().putExtra("reserva_id", reservaId));
                             finish();
                         } else {
                             Log.e(TAG, "Falha ao enviar avaliação");
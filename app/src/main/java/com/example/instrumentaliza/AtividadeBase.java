@@ -0,0 +1,96 @@
+package com.example.instrumentaliza;
+
+import android.view.Menu;
+import android.view.MenuItem;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.metrics.performance.JankStats;
+
+/**
+ * AtividadeBase - Atividade base de todas as telas do aplicativo
+ *
+ * Mede os quadros de cada tela com o JankStats enquanto ela está em primeiro
+ * plano e os entrega ao MonitorQuadros, identificados pelo nome da tela.
+ * Em builds debug, acrescenta ao menu as opções de exportar e zerar o
+ * relatório de quadros.
+ *
+ * Funcionalidades:
+ * - JankStats criado com o conteúdo da tela e ativo apenas entre onResume e onPause
+ * - Nome da tela usado no relatório (nomeTela; por padrão, o nome da classe sem "Atividade")
+ * - Menu de depuração (R.menu.menu_depuracao) apenas com BuildConfig.DEBUG
+ *
+ * Características técnicas:
+ * - Subclasses que sobrescrevem onCreateOptionsMenu / onOptionsItemSelected
+ *   devem chamar o super para manter o menu de depuração
+ * - Estados da tela ("rolagem", "carregando") marcados com MonitorQuadros
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public abstract class AtividadeBase extends AppCompatActivity {
+
+    private JankStats jankStats;
+
+    @Override
+    public void onContentChanged() {
+        super.onContentChanged();
+        // Criado junto com o conteúdo: estados marcados ainda no onCreate já são registrados
+        iniciarJankStats();
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        iniciarJankStats();
+        jankStats.setTrackingEnabled(true);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if (jankStats != null) {
+            jankStats.setTrackingEnabled(false);
+        }
+    }
+
+    private void iniciarJankStats() {
+        if (jankStats == null) {
+            String tela = nomeTela();
+            jankStats = JankStats.createAndTrack(getWindow(), quadro -> MonitorQuadros.registrar(tela, quadro));
+        }
+    }
+
+    /**
+     * Nome da tela no relatório de quadros (ex.: "chat" para AtividadeChat)
+     */
+    protected String nomeTela() {
+        String nome = getClass().getSimpleName()
+                .replaceFirst("^Atividade", "")
+                .replaceFirst("Activity$", "");
+        return nome.isEmpty() ? getClass().getSimpleName() : Character.toLowerCase(nome.charAt(0)) + nome.substring(1);
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        super.onCreateOptionsMenu(menu);
+        if (BuildConfig.DEBUG) {
+            getMenuInflater().inflate(R.menu.menu_depuracao, menu);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() == R.id.action_frame_report) {
+            MonitorQuadros.exportar(this);
+            return true;
+        } else if (item.getItemId() == R.id.action_frame_report_reset) {
+            MonitorQuadros.zerar();
+            Toast.makeText(this, getString(R.string.debug_frame_report_reset_done), Toast.LENGTH_SHORT).show();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+}
@@ -7,7 +7,6 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -40,11 +39,12 @@ import java.util.Map;
  * - Carregamento assíncrono do Firebase
  * - Scroll automático para última mensagem
  * - Validação de campos de entrada
+ * - Leituras vinculadas ao ciclo de vida (EscopoCarregamentos); envios continuam ao sair
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeChat extends AppCompatActivity {
+public class AtividadeChat extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "AtividadeChat";
@@ -64,6 +64,7 @@ public class AtividadeChat extends AppCompatActivity {
     // Gerenciamento de dados
     private AdaptadorMensagensChat adaptadorMensagens;
     private FirebaseAuth autenticacao;
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
 
     /**
      * Método chamado quando a atividade é criada
@@ -107,6 +108,7 @@ public class AtividadeChat extends AppCompatActivity {
         FirebaseUser cu = autenticacao.getCurrentUser();
         adaptadorMensagens = new AdaptadorMensagensChat(new ArrayList<>(), cu != null ? cu.getUid() : "");
         listaMensagens.setAdapter(adaptadorMensagens);
+        MonitorQuadros.acompanharRolagem(listaMensagens);
 
         botaoEnviar.setOnClickListener(v -> sendMessage());
         
@@ -119,31 +121,27 @@ public class AtividadeChat extends AppCompatActivity {
     private void carregarCabecalhoEMensagens() {
         if (idInstrumento != null) {
             // Carregar nome do instrumento do intent
-            GerenciadorFirebase.obterInstrumentoPorId(idInstrumento)
+            carregamentos.vincular(GerenciadorFirebase.obterInstrumentoPorId(idInstrumento))
                     .thenAccept(doc -> {
                         if (doc != null) {
                             nomeInstrumento = doc.getString("name");
-                            runOnUiThread(() -> {
-                                textoNomeInstrumento.setText(nomeInstrumento != null ? "Chat sobre: " + nomeInstrumento : "Chat");
-                            });
+                            textoNomeInstrumento.setText(nomeInstrumento != null ? "Chat sobre: " + nomeInstrumento : "Chat");
                         }
                     });
         } else if (idChat != null) {
             // Se não tiver idInstrumento mas tiver idChat, carregar do chat
-            GerenciadorFirebase.obterChatPorId(idChat)
+            carregamentos.vincular(GerenciadorFirebase.obterChatPorId(idChat))
                     .thenAccept(chatDoc -> {
                         if (chatDoc != null) {
                             String chatInstrumentId = chatDoc.getString("idInstrumento");
                             if (chatInstrumentId != null) {
                                 idInstrumento = chatInstrumentId;
                                 // Agora carregar o nome do instrumento
-                                GerenciadorFirebase.obterInstrumentoPorId(chatInstrumentId)
+                                carregamentos.vincular(GerenciadorFirebase.obterInstrumentoPorId(chatInstrumentId))
                                         .thenAccept(instrumentDoc -> {
                                             if (instrumentDoc != null) {
                                                 nomeInstrumento = instrumentDoc.getString("name");
-                                                runOnUiThread(() -> {
-                                                    textoNomeInstrumento.setText(nomeInstrumento != null ? "Chat sobre: " + nomeInstrumento : "Chat");
-                                                });
+                                                textoNomeInstrumento.setText(nomeInstrumento != null ? "Chat sobre: " + nomeInstrumento : "Chat");
                                             }
                                         });
                             }
@@ -157,18 +155,23 @@ public class AtividadeChat extends AppCompatActivity {
     }
 
     private void carregarMensagens() {
-        GerenciadorFirebase.obterMensagensChat(idChat)
-                .thenAccept(messages -> runOnUiThread(() -> {
-                    adaptadorMensagens.atualizarMensagens(messages);
-                    if (messages.size() > 0) {
-                        listaMensagens.scrollToPosition(messages.size() - 1);
-                    }
-                }))
+        // Quadros da carga contados à parte no relatório ("chat:carregando")
+        MonitorQuadros.marcarEstado(listaMensagens, MonitorQuadros.ESTADO_CARREGANDO);
+        carregamentos.vincular(GerenciadorFirebase.obterMensagensChat(idChat))
+                .thenAccept(messages -> {
+                    adaptadorMensagens.atualizarMensagens(messages, () -> {
+                        if (messages.size() > 0) {
+                            listaMensagens.scrollToPosition(messages.size() - 1);
+                        }
+                    });
+                })
                 .exceptionally(throwable -> {
                     Log.e(TAG, "Erro ao carregar mensagens: " + throwable.getMessage(), throwable);
-                    runOnUiThread(() -> Toast.makeText(this, getString(R.string.error_generic), Toast.LENGTH_SHORT).show());
+                    Toast.makeText(this, getString(R.string.error_generic), Toast.LENGTH_SHORT).show();
                     return null;
-                });
+                })
+                .whenComplete((resultado, erro) ->
+                        MonitorQuadros.desmarcarEstado(listaMensagens, MonitorQuadros.ESTADO_CARREGANDO));
     }
 
     private void sendMessage() {
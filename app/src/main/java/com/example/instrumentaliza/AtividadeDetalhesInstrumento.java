@@ -16,15 +16,14 @@ import android.widget.Toast;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.viewpager2.widget.ViewPager2;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 
@@ -50,17 +49,20 @@ import java.util.concurrent.CompletableFuture;
  * - Interface adaptativa baseada no tipo de usuário
  * - Integração com sistema de chat
  * - Formatação adequada de preços e dados
+ * - Galeria de imagens paginada (ViewPager2), com a versão completa apenas na página visível
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeDetalhesInstrumento extends AppCompatActivity {
+public class AtividadeDetalhesInstrumento extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "DetalhesInstrumento";
     
     // Componentes da interface - dados do instrumento
     private ImageView imagemInstrumento;
+    private ViewPager2 paginasGaleria;
+    private TextView textoContadorGaleria;
     private TextView textoNome, textoCategoria, textoPreco, textoDescricao;
     
     // Componentes da interface - dados do proprietário
@@ -80,6 +82,9 @@ public class AtividadeDetalhesInstrumento extends AppCompatActivity {
     // Autenticação
     private FirebaseAuth autenticacao;
 
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
+
     /**
      * Método chamado quando a atividade é criada
      * 
@@ -109,6 +114,8 @@ public class AtividadeDetalhesInstrumento extends AppCompatActivity {
 
             // Inicializar componentes da interface - dados do instrumento
             imagemInstrumento = findViewById(R.id.instrumentImageView);
+            paginasGaleria = findViewById(R.id.galleryViewPager);
+            textoContadorGaleria = findViewById(R.id.galleryCounterTextView);
             textoNome = findViewById(R.id.nameTextView);
             textoCategoria = findViewById(R.id.categoryTextView);
             textoPreco = findViewById(R.id.priceTextView);
@@ -159,6 +166,38 @@ public class AtividadeDetalhesInstrumento extends AppCompatActivity {
         }
     }
 
+    /**
+     * Exibe a galeria do instrumento em páginas
+     * 
+     * Sem imagens, mantém o ícone padrão. A versão completa é carregada
+     * somente para a página visível; as demais usam a versão cartão.
+     * 
+     * @param galeria Imagens do instrumento, na ordem definida pelo proprietário
+     */
+    private void exibirGaleria(List<VersoesImagem> galeria) {
+        if (galeria.isEmpty()) {
+            imagemInstrumento.setImageResource(R.drawable.ic_music_note);
+            return;
+        }
+        
+        AdaptadorGaleriaImagens adaptadorGaleria = new AdaptadorGaleriaImagens(galeria);
+        paginasGaleria.setAdapter(adaptadorGaleria);
+        paginasGaleria.setVisibility(View.VISIBLE);
+        imagemInstrumento.setVisibility(View.GONE);
+        
+        if (galeria.size() > 1) {
+            textoContadorGaleria.setVisibility(View.VISIBLE);
+        }
+        textoContadorGaleria.setText(getString(R.string.gallery_counter, 1, galeria.size()));
+        paginasGaleria.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+            @Override
+            public void onPageSelected(int posicao) {
+                adaptadorGaleria.definirPaginaVisivel(posicao);
+                textoContadorGaleria.setText(getString(R.string.gallery_counter, posicao + 1, galeria.size()));
+            }
+        });
+    }
+    
     /**
      * Carrega todos os detalhes do instrumento e dados do proprietário
      * 
@@ -186,7 +225,7 @@ public class AtividadeDetalhesInstrumento extends AppCompatActivity {
         Log.d(TAG, "Carregando instrumento com ID: " + idInstrumento);
         
         // Carregar instrumento do Firebase Firestore
-        GerenciadorFirebase.obterInstrumentoPorId(idInstrumento)
+        carregamentos.vincular(GerenciadorFirebase.obterInstrumentoPorId(idInstrumento))
                 .thenAccept(instrumentDoc -> {
                     if (instrumentDoc == null) {
                         runOnUiThread(() -> {
@@ -210,20 +249,12 @@ public class AtividadeDetalhesInstrumento extends AppCompatActivity {
                     
                     // Carregar dados do proprietário
                     String ownerId = (String) instrumentDoc.get("ownerId");
-                    GerenciadorFirebase.obterDadosUsuario(ownerId)
+                    carregamentos.vincular(GerenciadorFirebase.obterDadosUsuario(ownerId))
                             .thenAccept(ownerData -> {
                                 runOnUiThread(() -> {
                                     try {
-                                        // Atualizar imagem
-                                        String imageUri = (String) instrumentDoc.get("imageUri");
-                                        if (imageUri != null && !imageUri.isEmpty()) {
-                                            Glide.with(this)
-                                                    .load(imageUri)
-                                                    .transition(DrawableTransitionOptions.withCrossFade())
-                                                    .into(imagemInstrumento);
-                                        } else {
-                                            imagemInstrumento.setImageResource(R.drawable.ic_music_note);
-                                        }
+                                        // Atualizar galeria (única tela que usa a versão completa)
+                                        exibirGaleria(VersoesImagem.galeriaDeDocumento(instrumentDoc));
 
                                         // Atualizar dados do instrumento
                                         textoNome.setText((String) instrumentDoc.get("name"));
@@ -388,7 +419,7 @@ public class AtividadeDetalhesInstrumento extends AppCompatActivity {
     private void carregarAvaliacoesInstrumento(String instrumentoId) {
         Log.d(TAG, "Carregando avaliações do instrumento: " + instrumentoId);
         
-        GerenciadorFirebase.obterAvaliacoesInstrumento(instrumentoId)
+        carregamentos.vincular(GerenciadorFirebase.obterAvaliacoesInstrumento(instrumentoId))
                 .thenAccept(avaliacoes -> {
                     runOnUiThread(() -> {
                         if (avaliacoes.isEmpty()) {
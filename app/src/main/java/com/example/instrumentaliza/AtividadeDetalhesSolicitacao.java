@@ -13,7 +13,6 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.example.instrumentaliza.models.FirebaseSolicitacao;
@@ -55,7 +54,7 @@ import java.util.concurrent.CompletableFuture;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeDetalhesSolicitacao extends AppCompatActivity {
+public class AtividadeDetalhesSolicitacao extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "DetalhesSolicitacao";
@@ -86,6 +85,9 @@ public class AtividadeDetalhesSolicitacao extends AppCompatActivity {
     private FirebaseAuth autenticacao;
     private FirebaseUser usuarioAtual;
 
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
+
     /**
      * Método chamado quando a atividade é criada
      * 
@@ -193,7 +195,7 @@ public class AtividadeDetalhesSolicitacao extends AppCompatActivity {
     private void carregarDetalhesSolicitacao() {
         Log.d(TAG, "Carregando detalhes da solicitação: " + idSolicitacao);
         
-        GerenciadorFirebase.obterSolicitacaoPorId(idSolicitacao)
+        carregamentos.vincular(GerenciadorFirebase.obterSolicitacaoPorId(idSolicitacao))
                 .thenAccept(documento -> {
                     runOnUiThread(() -> {
                         if (documento.exists()) {
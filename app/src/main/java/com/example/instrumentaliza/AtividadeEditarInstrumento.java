@@ -13,10 +13,8 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.appcompat.app.AppCompatActivity;
 
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
@@ -45,7 +43,7 @@ import java.util.concurrent.CompletableFuture;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeEditarInstrumento extends AppCompatActivity {
+public class AtividadeEditarInstrumento extends AtividadeBase {
     
     private static final String TAG = "EditarInstrumento";
     private static final int PICK_IMAGE_REQUEST = 1;
@@ -63,11 +61,14 @@ public class AtividadeEditarInstrumento extends AppCompatActivity {
     private String instrumentoId;
     private String proprietarioId;
     private Uri imagemUriAtual;
-    private String imagemUrlAtual;
     private boolean imagemAlterada = false;
+    private boolean envioImagemAgendado = false;
     
     // Firebase
     private FirebaseUser usuarioAtual;
+
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
     
     // Lista de categorias
     private final String[] categorias = {
@@ -119,6 +120,9 @@ public class AtividadeEditarInstrumento extends AppCompatActivity {
         
         // Carregar dados do instrumento
         carregarDadosInstrumento();
+        
+        // Exibir o progresso de um envio de imagem ainda pendente (mesmo após reiniciar o app)
+        acompanharEnvioImagem(false);
     }
     
     /**
@@ -161,7 +165,7 @@ public class AtividadeEditarInstrumento extends AppCompatActivity {
     private void carregarDadosInstrumento() {
         Log.d(TAG, "Carregando dados do instrumento: " + instrumentoId);
         
-        GerenciadorFirebase.obterInstrumentoPorId(instrumentoId)
+        carregamentos.vincular(GerenciadorFirebase.obterInstrumentoPorId(instrumentoId))
                 .thenAccept(documento -> {
                     if (documento != null && documento.exists()) {
                         runOnUiThread(() -> {
@@ -199,13 +203,13 @@ public class AtividadeEditarInstrumento extends AppCompatActivity {
         
         // Salvar dados para validação
         proprietarioId = documento.getString("ownerId");
-        imagemUrlAtual = documento.getString("imageUri");
         
-        // Carregar imagem atual
-        if (imagemUrlAtual != null && !imagemUrlAtual.isEmpty()) {
+        // Carregar imagem atual (versão adequada ao tamanho da pré-visualização)
+        String urlPreVisualizacao = VersoesImagem.deDocumento(documento).escolherPara(imagemInstrumento);
+        if (urlPreVisualizacao != null) {
             Glide.with(this)
-                    .load(Uri.parse(imagemUrlAtual))
-                    .transition(DrawableTransitionOptions.withCrossFade())
+                    .load(Uri.parse(urlPreVisualizacao))
+                    .transition(OpcoesGlide.transicao())
                     .centerCrop()
                     .into(imagemInstrumento);
         }
@@ -236,7 +240,7 @@ public class AtividadeEditarInstrumento extends AppCompatActivity {
             // Atualizar a imagem na interface
             Glide.with(this)
                     .load(imagemUriAtual)
-                    .transition(DrawableTransitionOptions.withCrossFade())
+                    .transition(OpcoesGlide.transicao())
                     .centerCrop()
                     .into(imagemInstrumento);
             
@@ -313,28 +317,32 @@ public class AtividadeEditarInstrumento extends AppCompatActivity {
         Log.d(TAG, "Dados a serem salvos - Nome: " + nome + ", Categoria: " + categoria + 
               ", Preço: " + preco + ", Descrição: " + descricao);
         
-        // Se a imagem foi alterada, fazer upload primeiro
+        // Se a imagem foi alterada, agendar o envio em segundo plano antes de salvar os dados
         if (imagemAlterada && imagemUriAtual != null) {
-            fazerUploadImagemEAtualizar(nome, categoria, preco, descricao);
+            agendarEnvioImagemEAtualizar(nome, categoria, preco, descricao);
         } else {
             // Atualizar apenas os dados, sem alterar a imagem
-            atualizarDadosInstrumento(nome, categoria, preco, descricao, imagemUrlAtual);
+            atualizarDadosInstrumento(nome, categoria, preco, descricao);
         }
     }
     
     /**
-     * Faz upload da nova imagem e atualiza o instrumento
+     * Agenda o envio da nova imagem (WorkManager) e atualiza os dados do instrumento
+     * 
+     * O envio continua mesmo que a tela seja fechada; ao terminar, o próprio
+     * trabalho grava as URLs da imagem no documento do instrumento.
      */
-    private void fazerUploadImagemEAtualizar(String nome, String categoria, double preco, String descricao) {
-        Log.d(TAG, "Fazendo upload da nova imagem");
-        
-        GerenciadorFirebase.fazerUploadImagemInstrumento(imagemUriAtual, instrumentoId)
-                .thenAccept(novaUrlImagem -> {
-                    Log.d(TAG, "Upload da imagem concluído: " + novaUrlImagem);
-                    atualizarDadosInstrumento(nome, categoria, preco, descricao, novaUrlImagem);
+    private void agendarEnvioImagemEAtualizar(String nome, String categoria, double preco, String descricao) {
+        Log.d(TAG, "Agendando envio da nova imagem");
+        
+        GerenciadorEnvioImagens.enfileirarImagemInstrumento(this, imagemUriAtual, instrumentoId)
+                .thenAccept(nomeTrabalho -> {
+                    Log.d(TAG, "Envio da imagem agendado: " + nomeTrabalho);
+                    envioImagemAgendado = true;
+                    atualizarDadosInstrumento(nome, categoria, preco, descricao);
                 })
                 .exceptionally(erro -> {
-                    Log.e(TAG, "Erro no upload da imagem: " + erro.getMessage(), erro);
+                    Log.e(TAG, "Erro ao preparar a imagem: " + erro.getMessage(), erro);
                     runOnUiThread(() -> {
                         Toast.makeText(this, "Erro ao fazer upload da imagem", Toast.LENGTH_SHORT).show();
                         reativarBotao();
@@ -344,17 +352,49 @@ public class AtividadeEditarInstrumento extends AppCompatActivity {
     }
     
     /**
-     * Atualiza os dados do instrumento no Firebase
+     * Mostra no botão de foto o progresso do envio da imagem deste instrumento
+     * 
+     * @param recemAgendado true se o envio acabou de ser agendado por esta tela
+     */
+    private void acompanharEnvioImagem(boolean recemAgendado) {
+        String nomeTrabalho = GerenciadorEnvioImagens.nomeTrabalhoInstrumento(instrumentoId);
+        CharSequence textoOriginal = botaoAlterarFoto.getText();
+        GerenciadorEnvioImagens.acompanhar(this, this, nomeTrabalho, recemAgendado, new GerenciadorEnvioImagens.OuvinteEnvio() {
+            @Override
+            public void aoProgredir(int percentual) {
+                botaoAlterarFoto.setEnabled(false);
+                botaoAlterarFoto.setText(getString(R.string.image_upload_progress, percentual));
+            }
+            
+            @Override
+            public void aoConcluir(boolean sucesso) {
+                botaoAlterarFoto.setEnabled(true);
+                botaoAlterarFoto.setText(textoOriginal);
+                if (sucesso) {
+                    // Recarregar a pré-visualização com a imagem enviada
+                    carregarDadosInstrumento();
+                } else {
+                    Toast.makeText(AtividadeEditarInstrumento.this, R.string.image_upload_failed, Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Atualiza os dados do instrumento no Firebase (a imagem é gravada pelo envio em segundo plano)
      */
-    private void atualizarDadosInstrumento(String nome, String categoria, double preco, String descricao, String urlImagem) {
+    private void atualizarDadosInstrumento(String nome, String categoria, double preco, String descricao) {
         Log.d(TAG, "Atualizando dados do instrumento no Firebase");
         
-        GerenciadorFirebase.atualizarInstrumento(instrumentoId, nome, categoria, preco, descricao, urlImagem)
+        GerenciadorFirebase.atualizarInstrumento(instrumentoId, nome, categoria, preco, descricao, null)
                 .thenAccept(sucesso -> {
                     runOnUiThread(() -> {
                         if (sucesso) {
                             Log.d(TAG, "Instrumento atualizado com sucesso");
                             Toast.makeText(this, "Instrumento atualizado com sucesso!", Toast.LENGTH_SHORT).show();
+                            if (envioImagemAgendado) {
+                                Toast.makeText(this, R.string.image_upload_background, Toast.LENGTH_LONG).show();
+                            }
                             
                             // Voltar para a tela anterior com indicação de sucesso
                             Intent resultIntent = new Intent();
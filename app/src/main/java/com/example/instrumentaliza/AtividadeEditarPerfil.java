@@ -9,7 +9,6 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.bumptech.glide.Glide;
@@ -45,7 +44,7 @@ import de.hdodenhof.circleimageview.CircleImageView;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeEditarPerfil extends AppCompatActivity {
+public class AtividadeEditarPerfil extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "EditarPerfil";
@@ -60,6 +59,9 @@ public class AtividadeEditarPerfil extends AppCompatActivity {
     // Autenticação
     private FirebaseAuth autenticacao;
 
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
+
     /**
      * Launcher para seleção de imagem da galeria
      * 
@@ -164,7 +166,7 @@ public class AtividadeEditarPerfil extends AppCompatActivity {
                 }
                 
                 // Tentar carregar dados adicionais do Firestore
-                GerenciadorFirebase.obterDadosUsuario(currentUser.getUid())
+                carregamentos.vincular(GerenciadorFirebase.obterDadosUsuario(currentUser.getUid()))
                         .thenAccept(userData -> {
                             if (userData != null && !userData.isEmpty()) {
                                 String displayName = (String) userData.get("name");
@@ -224,15 +226,12 @@ public class AtividadeEditarPerfil extends AppCompatActivity {
                             if (success) {
                                 // Se há uma nova imagem, fazer upload
                                 if (uriImagemSelecionada != null) {
-                                    String fileName = "profile_" + currentUser.getUid() + ".jpg";
-                                    GerenciadorFirebase.enviarImagemPerfil(uriImagemSelecionada, fileName)
-                                            .thenCompose(imageUrl -> {
-                                                // Atualizar a URL da imagem no perfil
-                                                return GerenciadorFirebase.atualizarImagemPerfilUsuario(currentUser.getUid(), imageUrl);
-                                            })
-                                            .thenAccept(imageSuccess -> {
+                                    // Envio em segundo plano; o trabalho grava a URL no perfil ao concluir
+                                    GerenciadorEnvioImagens.enfileirarImagemPerfil(this, uriImagemSelecionada, currentUser.getUid())
+                                            .thenAccept(nomeTrabalho -> {
                                                 runOnUiThread(() -> {
                                                     Toast.makeText(this, getString(R.string.success_update), Toast.LENGTH_SHORT).show();
+                                                    Toast.makeText(this, getString(R.string.image_upload_background), Toast.LENGTH_LONG).show();
                                                     finish();
                                                 });
                                             })
@@ -6,17 +6,20 @@ import android.util.Log;
 import android.view.View;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.example.instrumentaliza.models.FirebaseInstrument;
 import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * AtividadeFavoritos - Tela de instrumentos favoritos
@@ -41,7 +44,7 @@ import java.util.List;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeFavoritos extends AppCompatActivity implements AdaptadorInstrumentoFirebase.OnInstrumentClickListener {
+public class AtividadeFavoritos extends AtividadeBase implements AdaptadorInstrumentoFirebase.OnInstrumentClickListener {
     
     // Constantes
     private static final String TAG = "Favoritos";
@@ -54,6 +57,9 @@ public class AtividadeFavoritos extends AppCompatActivity implements AdaptadorIn
     // Autenticação
     private FirebaseAuth autenticacao;
 
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
+
     /**
      * Método chamado quando a atividade é criada
      * 
@@ -89,8 +95,17 @@ public class AtividadeFavoritos extends AppCompatActivity implements AdaptadorIn
 
         // Configurar RecyclerView
         listaFavoritos.setLayoutManager(new LinearLayoutManager(this));
-        adaptadorFavoritos = new AdaptadorInstrumentoFirebase(new ArrayList<>(), autenticacao.getCurrentUser().getUid(), this);
+        adaptadorFavoritos = new AdaptadorInstrumentoFirebase(new ArrayList<>(), this);
         listaFavoritos.setAdapter(adaptadorFavoritos);
+        MonitorQuadros.acompanharRolagem(listaFavoritos);
+        
+        // Inflar cartões em background enquanto os favoritos carregam
+        InfladorAntecipado.preInflar(listaFavoritos, R.layout.item_instrument,
+                getResources().getInteger(R.integer.prewarm_item_views));
+        
+        // Pré-carregar as imagens das próximas linhas no tamanho exato da miniatura
+        listaFavoritos.addOnScrollListener(adaptadorFavoritos.criarPreCarregador(Glide.with(this),
+                getResources().getInteger(R.integer.catalog_preload_rows)));
 
         // Carregar favoritos
         carregarFavoritos();
@@ -106,14 +121,21 @@ public class AtividadeFavoritos extends AppCompatActivity implements AdaptadorIn
 
         Log.d(TAG, "Carregando favoritos para usuário: " + currentUser.getUid());
 
-        GerenciadorFirebase.obterInstrumentosFavoritos(currentUser.getUid())
-                .thenAccept(instruments -> {
+        carregamentos.vincular(GerenciadorFirebase.obterInstrumentosFavoritos(currentUser.getUid()))
+                .thenAccept(documentos -> {
+                    List<FirebaseInstrument> instruments = new ArrayList<>(documentos.size());
+                    Set<String> ids = new HashSet<>();
+                    for (DocumentSnapshot documento : documentos) {
+                        instruments.add(FirebaseInstrument.fromDocument(documento));
+                        ids.add(documento.getId());
+                    }
                     runOnUiThread(() -> {
                         if (instruments.isEmpty()) {
                             mostrarEstadoVazio();
                         } else {
                             esconderEstadoVazio();
-                            adaptadorFavoritos.atualizarInstrumentos(instruments);
+                            // Todos os itens desta tela são favoritos: nenhuma consulta por linha
+                            adaptadorFavoritos.atualizarInstrumentos(instruments, ids);
                         }
                         Log.d(TAG, "Favoritos carregados: " + instruments.size());
                     });
@@ -137,7 +159,7 @@ public class AtividadeFavoritos extends AppCompatActivity implements AdaptadorIn
     }
 
     @Override
-    public void aoClicarInstrumento(DocumentSnapshot instrument) {
+    public void aoClicarInstrumento(FirebaseInstrument instrument) {
         // Abrir detalhes do instrumento
         Intent intent = new Intent(this, AtividadeDetalhesInstrumento.class);
         intent.putExtra("instrument_id", instrument.getId());
@@ -145,19 +167,19 @@ public class AtividadeFavoritos extends AppCompatActivity implements AdaptadorIn
     }
 
     @Override
-    public void aoClicarEditar(DocumentSnapshot instrument) {
+    public void aoClicarEditar(FirebaseInstrument instrument) {
         // Não permitir edição na tela de favoritos
         Toast.makeText(this, getString(R.string.error_permission), Toast.LENGTH_SHORT).show();
     }
 
     @Override
-    public void aoClicarDeletar(DocumentSnapshot instrument) {
+    public void aoClicarDeletar(FirebaseInstrument instrument) {
         // Não permitir exclusão na tela de favoritos
         Toast.makeText(this, getString(R.string.error_permission), Toast.LENGTH_SHORT).show();
     }
 
     @Override
-    public void aoClicarFavorito(DocumentSnapshot instrument, boolean isFavorite) {
+    public void aoClicarFavorito(FirebaseInstrument instrument, boolean isFavorite) {
         String instrumentId = instrument.getId();
         String userId = autenticacao.getCurrentUser().getUid();
         
@@ -168,6 +190,7 @@ public class AtividadeFavoritos extends AppCompatActivity implements AdaptadorIn
                         if (success) {
                             runOnUiThread(() -> {
                                 Toast.makeText(this, getString(R.string.removed_from_favorites), Toast.LENGTH_SHORT).show();
+                                adaptadorFavoritos.definirFavorito(instrumentId, false);
                                 // Recarregar favoritos
                                 carregarFavoritos();
                             });
@@ -13,10 +13,9 @@ import android.widget.ImageButton;
 import androidx.drawerlayout.widget.DrawerLayout;
 import com.google.android.material.navigation.NavigationView;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentSnapshot;
+import com.example.instrumentaliza.models.FirebaseInstrument;
 
 import androidx.appcompat.app.AlertDialog;
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -30,24 +29,13 @@ import com.google.android.material.bottomnavigation.BottomNavigationView;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.text.Normalizer;
 import android.view.View;
 import android.widget.TextView;
 import com.google.firebase.auth.FirebaseUser;
 import de.hdodenhof.circleimageview.CircleImageView;
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.DataSource;
-import com.bumptech.glide.load.engine.GlideException;
-import com.bumptech.glide.request.RequestListener;
-import com.bumptech.glide.request.target.Target;
-import android.graphics.drawable.Drawable;
-import androidx.annotation.Nullable;
 import com.google.android.material.datepicker.MaterialDatePicker;
 import com.google.android.material.datepicker.CalendarConstraints;
-import java.util.Date;
-import com.google.firebase.Timestamp;
 import java.util.Locale;
 
 /**
@@ -70,11 +58,12 @@ import java.util.Locale;
  * - Gerenciamento de favoritos
  * - Navegação lateral com perfil do usuário
  * - Integração completa com Firebase Firestore
+ * - Catálogo servido pelo espelho local (RepositorioInstrumentos)
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeInstrumentos extends AppCompatActivity implements AdaptadorInstrumentoFirebase.OnInstrumentClickListener {
+public class AtividadeInstrumentos extends AtividadeBase implements AdaptadorInstrumentoFirebase.OnInstrumentClickListener {
     
     // Componentes da interface
     private RecyclerView listaInstrumentos;
@@ -83,6 +72,9 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
     
     // Autenticação
     private FirebaseAuth autenticacao;
+
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
     
     // Filtros e busca
     private String consultaAtual = "";
@@ -91,6 +83,12 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
     private Long dataInicioFiltroUtc = null;
     private Long dataFimFiltroUtc = null;
     
+    // Resultados já carregados por combinação de filtros (reordenados em memória)
+    private final CacheCatalogo cacheCatalogo = new CacheCatalogo();
+    
+    // Versão da foto de perfil exibida no header (null antes da primeira exibição)
+    private Long versaoImagemHeader = null;
+    
     // Constantes
     private static final String TAG = "AtividadeInstrumentos";
     
@@ -98,48 +96,6 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
     private MenuItem menuItemRequests;
     private boolean hasUnreadRequests = false;
 
-    /**
-     * Normaliza uma string de categoria removendo acentos e convertendo para primeira letra maiúscula
-     * 
-     * Utilizado para comparação de categorias independente de acentuação.
-     * Remove todos os caracteres diacríticos (acentos) e converte para primeira letra maiúscula.
-     * Esta função deve ser idêntica à usada em AdicionarInstrumentoActivity para manter consistência.
-     * 
-     * @param input String de entrada a ser normalizada
-     * @return String normalizada sem acentos e com primeira letra maiúscula
-     */
-    private static String normalizarCategoria(String input) {
-        if (input == null) return "";
-        String normalized = Normalizer.normalize(input.trim(), Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        if (!normalized.isEmpty()) {
-            normalized = normalized.substring(0, 1).toUpperCase() + normalized.substring(1).toLowerCase();
-        }
-        Log.d("FiltroCategoria", "normalizarCategoria: '" + input + "' -> '" + normalized + "'");
-        return normalized;
-    }
-
-    /**
-     * Converte diferentes tipos de objetos de data para milissegundos
-     * 
-     * Suporta conversão de Long, Integer, Date, Timestamp e Firebase Timestamp
-     * para um valor long em milissegundos. Utilizado para comparação de datas
-     * nos filtros de disponibilidade.
-     * 
-     * @param value Objeto de data a ser convertido
-     * @return Valor em milissegundos ou Long.MIN_VALUE se não for possível converter
-     */
-    private static long toMillis(Object value) {
-        if (value == null) return Long.MIN_VALUE;
-        if (value instanceof Long) return (Long) value;
-        if (value instanceof java.lang.Integer) return ((Integer) value).longValue();
-        if (value instanceof Date) return ((Date) value).getTime();
-        if (value instanceof Timestamp) return ((Timestamp) value).toDate().getTime();
-        if (value instanceof com.google.firebase.Timestamp)
-            return ((com.google.firebase.Timestamp) value).toDate().getTime();
-        return Long.MIN_VALUE;
-    }
-
     /**
      * Método chamado quando a atividade é criada
      * 
@@ -183,8 +139,6 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
             // Configurar header do NavigationView
             View headerView = navigationView.getHeaderView(0);
             if (headerView != null) {
-                CircleImageView navProfileImageView = headerView.findViewById(R.id.navProfileImageView);
-                TextView navUserName = headerView.findViewById(R.id.navUserName);
                 TextView navUserEmail = headerView.findViewById(R.id.navUserEmail);
                 MaterialButton navViewProfileButton = headerView.findViewById(R.id.navViewProfileButton);
 
@@ -193,73 +147,7 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
                 if (currentUser != null) {
                     navUserEmail.setText(currentUser.getEmail());
                     
-                    // Tentar carregar nome e foto do Firestore
-                    GerenciadorFirebase.obterDadosUsuario(currentUser.getUid())
-                            .thenAccept(userData -> {
-                                Log.d(TAG, "Dados do usuário carregados: " + (userData != null ? userData.size() : "null"));
-                                if (userData != null && !userData.isEmpty()) {
-                                    String displayName = (String) userData.get("name");
-                                    String profileImageUrl = (String) userData.get("profileImageUrl");
-                                    
-                                    Log.d(TAG, "Nome do usuário: " + displayName);
-                                    Log.d(TAG, "URL da foto: " + profileImageUrl);
-                                    
-                                    runOnUiThread(() -> {
-                                        if (displayName != null && !displayName.isEmpty()) {
-                                            navUserName.setText(displayName);
-                                        } else {
-                                            navUserName.setText(getString(R.string.user_default_name));
-                                        }
-                                        
-                                        // Carregar foto de perfil se existir
-                                        if (profileImageUrl != null && !profileImageUrl.isEmpty()) {
-                                            Log.d(TAG, "Tentando carregar foto: " + profileImageUrl);
-                                            try {
-                                                // Usar Glide para carregar a imagem de forma assíncrona
-                                                Glide.with(AtividadeInstrumentos.this)
-                                                        .load(profileImageUrl)
-                                                        .placeholder(R.drawable.ic_profile)
-                                                        .error(R.drawable.ic_profile)
-                                                        .listener(new RequestListener<Drawable>() {
-                                                            @Override
-                                                            public boolean onLoadFailed(@Nullable GlideException e, Object model, Target<Drawable> target, boolean isFirstResource) {
-                                                                Log.e(TAG, "Erro ao carregar foto com Glide: " + e.getMessage());
-                                                                navProfileImageView.setImageResource(R.drawable.ic_profile);
-                                                                return false;
-                                                            }
-
-                                                            @Override
-                                                            public boolean onResourceReady(Drawable resource, Object model, Target<Drawable> target, DataSource dataSource, boolean isFirstResource) {
-                                                                Log.d(TAG, "Foto carregada com sucesso com Glide");
-                                                                return false;
-                                                            }
-                                                        })
-                                                        .into(navProfileImageView);
-                                            } catch (Exception e) {
-                                                Log.e(TAG, "Erro ao carregar foto de perfil: " + e.getMessage());
-                                                navProfileImageView.setImageResource(R.drawable.ic_profile);
-                                            }
-                                        } else {
-                                            Log.d(TAG, "URL da foto está vazia, usando imagem padrão");
-                                            navProfileImageView.setImageResource(R.drawable.ic_profile);
-                                        }
-                                    });
-                                } else {
-                                    Log.d(TAG, "Dados do usuário estão vazios");
-                                    runOnUiThread(() -> {
-                                        navUserName.setText(getString(R.string.user_default_name));
-                                        navProfileImageView.setImageResource(R.drawable.ic_profile);
-                                    });
-                                }
-                            })
-                            .exceptionally(throwable -> {
-                                Log.e(TAG, "Erro ao carregar dados do usuário: " + throwable.getMessage(), throwable);
-                                runOnUiThread(() -> {
-                                    navUserName.setText(getString(R.string.user_default_name));
-                                    navProfileImageView.setImageResource(R.drawable.ic_profile);
-                                });
-                                return null;
-                            });
+                    // Nome e foto são exibidos pelo onResume (atualizarImagemPerfilHeader)
 
                     // Configurar botão "Ver perfil"
                     navViewProfileButton.setOnClickListener(v -> {
@@ -338,8 +226,19 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
 
             // Configurar RecyclerView
             listaInstrumentos.setLayoutManager(new LinearLayoutManager(this));
-            adaptadorInstrumento = new AdaptadorInstrumentoFirebase(new ArrayList<>(), autenticacao.getCurrentUser().getUid(), this);
+            adaptadorInstrumento = new AdaptadorInstrumentoFirebase(new ArrayList<>(), this);
             listaInstrumentos.setAdapter(adaptadorInstrumento);
+            
+            // Inflar cartões em background enquanto o catálogo carrega
+            InfladorAntecipado.preInflar(listaInstrumentos, R.layout.item_instrument,
+                    getResources().getInteger(R.integer.prewarm_item_views));
+            
+            // Pré-carregar as imagens das próximas linhas no tamanho exato da miniatura
+            listaInstrumentos.addOnScrollListener(adaptadorInstrumento.criarPreCarregador(Glide.with(this),
+                    getResources().getInteger(R.integer.catalog_preload_rows)));
+            
+            // Quadros durante a rolagem contados à parte no relatório ("catalogo:rolagem")
+            MonitorQuadros.acompanharRolagem(listaInstrumentos);
 
             // Configurar FAB
             FloatingActionButton addInstrumentFab = findViewById(R.id.addInstrumentFab);
@@ -455,7 +354,7 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
                 carregarInstrumentos();
             });
 
-            // Carregar instrumentos
+            // Carregar instrumentos do espelho local (a sincronização roda no onResume)
             carregarInstrumentos();
             
             // Verificar solicitações não lidas na inicialização
@@ -473,71 +372,146 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
         atualizarImagemPerfilHeader();
         // Verificar solicitações não lidas sempre que a tela voltar ao foco
         verificarSolicitacoesNaoLidas();
+        // Trazer do Firestore o que mudou enquanto a tela esteve em segundo plano
+        sincronizarCatalogo();
+        // Favoritos podem ter mudado nos detalhes ou na tela de favoritos: uma consulta para a lista toda
+        carregarFavoritos();
     }
 
+    /**
+     * Exibe o nome e a foto de perfil no header do menu lateral
+     * 
+     * Usa o perfil guardado em PerfilLocal: o Firestore só é consultado na
+     * primeira vez neste aparelho. A foto é carregada com a assinatura da sua
+     * versão e não é recarregada se a versão exibida não mudou.
+     */
     private void atualizarImagemPerfilHeader() {
         try {
-            NavigationView navigationView = findViewById(R.id.navigationView);
-            View headerView = navigationView.getHeaderView(0);
-            if (headerView != null) {
-                CircleImageView navProfileImageView = headerView.findViewById(R.id.navProfileImageView);
-                TextView navUserName = headerView.findViewById(R.id.navUserName);
-                
-                FirebaseUser currentUser = autenticacao.getCurrentUser();
-                if (currentUser != null) {
-                    // Recarregar dados do usuário
-                    GerenciadorFirebase.obterDadosUsuario(currentUser.getUid())
-                            .thenAccept(userData -> {
-                                if (userData != null && !userData.isEmpty()) {
-                                    String displayName = (String) userData.get("name");
-                                    String profileImageUrl = (String) userData.get("profileImageUrl");
-                                    
-                                    runOnUiThread(() -> {
-                                        if (displayName != null && !displayName.isEmpty()) {
-                                            navUserName.setText(displayName);
-                                        } else {
-                                            navUserName.setText(getString(R.string.user_default_name));
-                                        }
-                                        
-                                        // Recarregar foto de perfil
-                                        if (profileImageUrl != null && !profileImageUrl.isEmpty()) {
-                                            Log.d(TAG, "Recarregando foto: " + profileImageUrl);
-                                            Glide.with(AtividadeInstrumentos.this)
-                                                    .load(profileImageUrl)
-                                                    .placeholder(R.drawable.ic_profile)
-                                                    .error(R.drawable.ic_profile)
-                                                    .into(navProfileImageView);
-                                        }
-                                    });
-                                }
-                            })
-                            .exceptionally(throwable -> {
-                                Log.e(TAG, "Erro ao recarregar dados do usuário: " + throwable.getMessage());
-                                return null;
-                            });
-                }
+            FirebaseUser currentUser = autenticacao.getCurrentUser();
+            if (currentUser == null) {
+                return;
             }
+            
+            PerfilLocal.Dados perfil = PerfilLocal.obter(this, currentUser.getUid());
+            if (perfil != null) {
+                exibirPerfilHeader(perfil);
+                return;
+            }
+            
+            // Primeira exibição neste aparelho: ler do Firestore e guardar localmente
+            carregamentos.vincular(GerenciadorFirebase.obterDadosUsuario(currentUser.getUid()))
+                    .thenAccept(userData -> {
+                        if (userData == null) {
+                            return;
+                        }
+                        Object versao = userData.get("profileImageVersion");
+                        PerfilLocal.guardar(this, currentUser.getUid(), (String) userData.get("name"),
+                                (String) userData.get("profileImageUrl"),
+                                versao instanceof Number ? ((Number) versao).longValue() : 0);
+                        PerfilLocal.Dados carregado = PerfilLocal.obter(this, currentUser.getUid());
+                        runOnUiThread(() -> exibirPerfilHeader(carregado));
+                    })
+                    .exceptionally(throwable -> {
+                        Log.e(TAG, "Erro ao carregar dados do usuário: " + throwable.getMessage());
+                        return null;
+                    });
         } catch (Exception e) {
             Log.e(TAG, "Erro ao recarregar foto do header: " + e.getMessage());
         }
     }
+    
+    /**
+     * Preenche o header com o perfil local, pulando o que já está exibido
+     * 
+     * @param perfil Perfil guardado em PerfilLocal
+     */
+    private void exibirPerfilHeader(PerfilLocal.Dados perfil) {
+        NavigationView navigationView = findViewById(R.id.navigationView);
+        View headerView = navigationView.getHeaderView(0);
+        if (headerView == null || perfil == null) {
+            return;
+        }
+        CircleImageView navProfileImageView = headerView.findViewById(R.id.navProfileImageView);
+        TextView navUserName = headerView.findViewById(R.id.navUserName);
+        
+        navUserName.setText(perfil.nome != null && !perfil.nome.isEmpty()
+                ? perfil.nome : getString(R.string.user_default_name));
+        
+        // Mesma versão já exibida: nada a recarregar
+        if (versaoImagemHeader != null && versaoImagemHeader == perfil.versaoImagem) {
+            return;
+        }
+        versaoImagemHeader = perfil.versaoImagem;
+        
+        if (perfil.urlImagem != null && !perfil.urlImagem.isEmpty()) {
+            Log.d(TAG, "Exibindo foto de perfil, versão " + perfil.versaoImagem);
+            Glide.with(this)
+                    .load(perfil.urlImagem)
+                    .signature(perfil.assinaturaImagem())
+                    .placeholder(R.drawable.ic_profile)
+                    .error(R.drawable.ic_profile)
+                    .into(navProfileImageView);
+        } else {
+            navProfileImageView.setImageResource(R.drawable.ic_profile);
+        }
+    }
+
+    /**
+     * Sincroniza o espelho local de instrumentos e recarrega o catálogo
+     * 
+     * Chamado a cada onResume. O catálogo é exibido imediatamente a partir do
+     * banco local; a sincronização incremental baixa apenas o que mudou desde a
+     * última vez e, se algo mudou, o CacheCatalogo é invalidado e a lista é
+     * recarregada do disco.
+     */
+    private void sincronizarCatalogo() {
+        // A sincronização é compartilhada com outras telas: apenas o retorno é descartado ao sair
+        carregamentos.acompanhar(RepositorioInstrumentos.sincronizar(this))
+                .thenAccept(espelhoMudou -> {
+                    // Sem mudanças no espelho, os resultados em cache continuam válidos
+                    if (espelhoMudou) {
+                        cacheCatalogo.invalidar();
+                        carregarInstrumentos();
+                    }
+                })
+                .exceptionally(throwable -> {
+                    Log.e(TAG, "Erro ao sincronizar instrumentos: " + throwable.getMessage(), throwable);
+                    return null;
+                });
+    }
+
+    /**
+     * Carrega os IDs dos favoritos do usuário e marca as linhas do catálogo
+     * 
+     * Uma única consulta por retorno à tela; o adaptador não consulta favoritos por linha.
+     */
+    private void carregarFavoritos() {
+        FirebaseUser usuarioAtual = autenticacao.getCurrentUser();
+        if (usuarioAtual == null || adaptadorInstrumento == null) {
+            return;
+        }
+        carregamentos.vincular(GerenciadorFirebase.obterIdsFavoritos(usuarioAtual.getUid()))
+                .thenAccept(ids -> adaptadorInstrumento.definirFavoritos(ids))
+                .exceptionally(throwable -> {
+                    Log.e(TAG, "Erro ao carregar favoritos: " + throwable.getMessage(), throwable);
+                    return null;
+                });
+    }
 
     /**
      * Carrega e exibe os instrumentos baseado nos filtros ativos
      * 
      * Este método é o coração da funcionalidade de listagem, aplicando todos os
      * filtros configurados pelo usuário:
-     * - Busca por texto (nome/descrição)
+     * - Busca por texto (nome/descrição), ranqueada por relevância
      * - Filtro por categoria
      * - Filtro por disponibilidade em período específico
-     * - Ordenação por preço
+     * - Ordenação por preço (com busca de texto, apenas desempata a relevância)
      * 
-     * Lógica de filtros:
-     * 1. Determina qual consulta Firebase usar baseado nos filtros ativos
-     * 2. Aplica filtros locais quando necessário (categoria + busca)
-     * 3. Filtra por disponibilidade baseado nas faixas indisponíveis
-     * 4. Ordena por preço conforme configuração do usuário
-     * 5. Atualiza o adaptador com os resultados
+     * Todos os filtros rodam contra o espelho local (RepositorioInstrumentos),
+     * portanto nenhuma leitura ao Firestore é feita aqui. Resultados recentes
+     * ficam no CacheCatalogo: trocar a ordenação ou voltar a um filtro já
+     * usado apenas reordena a lista em memória.
      * 
      * Tratamento de erros:
      * - Exibe toast com mensagem de erro em caso de falha
@@ -546,94 +520,47 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
     private void carregarInstrumentos() {
         Log.d("FiltroCategoria", "categoriaAtual: '" + categoriaAtual + "'");
         
-        CompletableFuture<List<DocumentSnapshot>> future;
+        String categoriaNormalizada = categoriaAtual.isEmpty() ? "" : Instrumento.normalizarCategoria(categoriaAtual);
+        String chave = CacheCatalogo.chave(consultaAtual, categoriaNormalizada, dataInicioFiltroUtc, dataFimFiltroUtc,
+                ordenarPorPrecoCrescente);
         
-        // Determinar qual consulta Firebase usar baseado nos filtros ativos
-        if (consultaAtual.isEmpty() && categoriaAtual.isEmpty()) {
-            // Sem busca e sem filtro - carregar todos
-            future = GerenciadorFirebase.obterTodosInstrumentos();
-        } else if (consultaAtual.isEmpty()) {
-            // Apenas filtro de categoria - normalizar antes de enviar para Firebase
-            String categoriaNormalizada = normalizarCategoria(categoriaAtual);
-            Log.d("FiltroCategoria", "Enviando categoria normalizada para Firebase: '" + categoriaNormalizada + "'");
-            future = GerenciadorFirebase.obterInstrumentosPorCategoria(categoriaNormalizada);
-        } else if (categoriaAtual.isEmpty()) {
-            // Apenas busca por texto
-            future = GerenciadorFirebase.buscarInstrumentos(consultaAtual);
-        } else {
-            // Busca e filtro - fazer busca geral e filtrar localmente
-            future = GerenciadorFirebase.buscarInstrumentos(consultaAtual);
+        // Resultado em cache: apenas reordenar em memória
+        List<FirebaseInstrument> emCache = cacheCatalogo.obter(chave, ordenarPorPrecoCrescente);
+        if (emCache != null) {
+            adaptadorInstrumento.atualizarInstrumentos(emCache);
+            return;
         }
-
-        future.thenAccept(instruments -> {
-            Log.d("FiltroCategoria", "Instrumentos retornados: " + instruments.size());
-            
-            // Se temos categoria e busca, filtrar localmente
-            if (!consultaAtual.isEmpty() && !categoriaAtual.isEmpty()) {
-                String categoriaNormalizada = normalizarCategoria(categoriaAtual);
-                Log.d("FiltroCategoria", "Filtrando localmente - categoriaAtual: '" + categoriaAtual + "' -> normalizada: '" + categoriaNormalizada + "'");
-                instruments.removeIf(doc -> {
-                    String category = (String) doc.get("category");
-                    String normalizedCategory = normalizarCategoria(category);
-                    boolean shouldRemove = !categoriaNormalizada.equals(normalizedCategory);
-                    Log.d("FiltroCategoria", "Doc: '" + category + "' -> normalizada: '" + normalizedCategory + "' -> remove: " + shouldRemove);
-                    return shouldRemove;
-                });
-            }
-
-            // Filtro por intervalo de datas (excluir instrumentos indisponíveis no período)
-            if (dataInicioFiltroUtc != null && dataFimFiltroUtc != null) {
-                final long start = dataInicioFiltroUtc;
-                final long end = dataFimFiltroUtc;
-                instruments.removeIf(doc -> {
-                    Object rangesObj = doc.get("unavailableRanges");
-                    if (!(rangesObj instanceof java.util.List)) {
-                        return false; // sem faixas: disponível
+        
+        int versaoCache = cacheCatalogo.obterVersao();
+        MonitorQuadros.marcarEstado(listaInstrumentos, MonitorQuadros.ESTADO_CARREGANDO);
+        // Conversão em background; apenas o resultado pronto volta à tela, se ela ainda existir
+        carregamentos.vincular(RepositorioInstrumentos.buscarCatalogo(this, consultaAtual, categoriaNormalizada,
+                        ordenarPorPrecoCrescente, dataInicioFiltroUtc, dataFimFiltroUtc)
+                .thenApply(instrumentos -> {
+                    List<FirebaseInstrument> itens = new ArrayList<>(instrumentos.size());
+                    for (Instrumento instrumento : instrumentos) {
+                        itens.add(instrumento.paraFirebaseInstrument());
                     }
-                    @SuppressWarnings("unchecked")
-                    List<Object> ranges = (List<Object>) rangesObj;
-                    for (Object rangeObj : ranges) {
-                        if (rangeObj instanceof Map) {
-                            Map<String, Object> range = (Map<String, Object>) rangeObj;
-                            Object s = range.get("startDate");
-                            Object e = range.get("endDate");
-                            long sMs = toMillis(s);
-                            long eMs = toMillis(e);
-                            // sobreposição: start <= eMs && end >= sMs
-                            if (sMs != Long.MIN_VALUE && eMs != Long.MIN_VALUE) {
-                                if (start <= eMs && end >= sMs) {
-                                    return true; // indisponível nesse período
-                                }
-                            }
-                        }
+                    return itens;
+                }))
+                .thenAccept(itens -> {
+                    cacheCatalogo.guardar(chave, itens, versaoCache);
+                    // Ignorar respostas de filtros que já não estão ativos
+                    String chaveAtual = CacheCatalogo.chave(consultaAtual,
+                            categoriaAtual.isEmpty() ? "" : Instrumento.normalizarCategoria(categoriaAtual),
+                            dataInicioFiltroUtc, dataFimFiltroUtc, ordenarPorPrecoCrescente);
+                    if (chave.equals(chaveAtual)) {
+                        List<FirebaseInstrument> ordenados = cacheCatalogo.obter(chave, ordenarPorPrecoCrescente);
+                        adaptadorInstrumento.atualizarInstrumentos(ordenados != null ? ordenados : itens);
                     }
-                    return false;
-                });
-            }
-            
-            // Ordenar por preço se necessário
-            if (ordenarPorPrecoCrescente) {
-                instruments.sort((a, b) -> {
-                    Double priceA = (Double) a.get("price");
-                    Double priceB = (Double) b.get("price");
-                    return priceA.compareTo(priceB);
-                });
-            } else {
-                instruments.sort((a, b) -> {
-                    Double priceA = (Double) a.get("price");
-                    Double priceB = (Double) b.get("price");
-                    return priceB.compareTo(priceA);
-                });
-            }
-            
-            runOnUiThread(() -> adaptadorInstrumento.atualizarInstrumentos(instruments));
-        }).exceptionally(throwable -> {
-            Log.e("InstrumentsActivity", "Erro ao carregar instrumentos: " + throwable.getMessage());
-            runOnUiThread(() -> 
-                Toast.makeText(this, getString(R.string.error_generic) + ": " + throwable.getMessage(), Toast.LENGTH_LONG).show()
-            );
-            return null;
-        });
+                })
+                .exceptionally(throwable -> {
+                    Log.e("InstrumentsActivity", "Erro ao carregar instrumentos: " + throwable.getMessage());
+                    Toast.makeText(this, getString(R.string.error_generic) + ": " + throwable.getMessage(), Toast.LENGTH_LONG).show();
+                    return null;
+                })
+                .whenComplete((resultado, erro) ->
+                        MonitorQuadros.desmarcarEstado(listaInstrumentos, MonitorQuadros.ESTADO_CARREGANDO));
     }
 
     /**
@@ -642,10 +569,10 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
      * Navega para a tela de detalhes do instrumento selecionado,
      * passando o ID do instrumento como parâmetro.
      * 
-     * @param instrument DocumentSnapshot do instrumento clicado
+     * @param instrument Instrumento clicado
      */
     @Override
-    public void aoClicarInstrumento(DocumentSnapshot instrument) {
+    public void aoClicarInstrumento(FirebaseInstrument instrument) {
         Intent intent = new Intent(this, AtividadeDetalhesInstrumento.class);
         intent.putExtra("instrument_id", instrument.getId());
         startActivity(intent);
@@ -657,10 +584,10 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
      * Navega para a tela de adição/edição de instrumento em modo de edição,
      * passando o ID do instrumento para carregar os dados existentes.
      * 
-     * @param instrument DocumentSnapshot do instrumento a ser editado
+     * @param instrument Instrumento a ser editado
      */
     @Override
-    public void aoClicarEditar(DocumentSnapshot instrument) {
+    public void aoClicarEditar(FirebaseInstrument instrument) {
         Intent intent = new Intent(this, AdicionarInstrumentoActivity.class);
         intent.putExtra("instrument_id", instrument.getId());
         startActivity(intent);
@@ -670,13 +597,13 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
      * Callback chamado quando o usuário clica no botão de deletar
      * 
      * Exibe um diálogo de confirmação antes de excluir o instrumento.
-     * Após confirmação, chama o GerenciadorFirebase para deletar o instrumento
-     * e recarrega a lista em caso de sucesso.
+     * Após confirmação, chama o GerenciadorFirebase para deletar o instrumento,
+     * remove-o do espelho local e recarrega a lista em caso de sucesso.
      * 
-     * @param instrument DocumentSnapshot do instrumento a ser deletado
+     * @param instrument Instrumento a ser deletado
      */
     @Override
-    public void aoClicarDeletar(DocumentSnapshot instrument) {
+    public void aoClicarDeletar(FirebaseInstrument instrument) {
         // Mostrar diálogo de confirmação
         new AlertDialog.Builder(this)
                 .setTitle(getString(R.string.confirm_delete))
@@ -687,7 +614,12 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
                             .thenAccept(success -> {
                                 if (success) {
                                     Toast.makeText(this, getString(R.string.success_delete), Toast.LENGTH_SHORT).show();
-                                    carregarInstrumentos(); // Recarregar lista
+                                    // Remover do espelho local e recarregar lista
+                                    RepositorioInstrumentos.removerLocalmente(this, instrumentId)
+                                            .thenRun(() -> runOnUiThread(() -> {
+                                                cacheCatalogo.invalidar();
+                                                carregarInstrumentos();
+                                            }));
                                 } else {
                                     Toast.makeText(this, getString(R.string.error_generic), Toast.LENGTH_SHORT).show();
                                 }
@@ -708,11 +640,11 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
      * Gerencia a adição/remoção de instrumentos da lista de favoritos do usuário.
      * Atualiza o estado do botão e exibe feedback visual ao usuário.
      * 
-     * @param instrument DocumentSnapshot do instrumento a ser favoritado/desfavoritado
+     * @param instrument Instrumento a ser favoritado/desfavoritado
      * @param isFavorite true se o instrumento está nos favoritos (será removido), false caso contrário
      */
     @Override
-    public void aoClicarFavorito(DocumentSnapshot instrument, boolean isFavorite) {
+    public void aoClicarFavorito(FirebaseInstrument instrument, boolean isFavorite) {
         String instrumentId = instrument.getId();
         String userId = autenticacao.getCurrentUser().getUid();
         
@@ -723,9 +655,9 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
                         if (success) {
                             runOnUiThread(() -> {
                                 Toast.makeText(this, getString(R.string.removed_from_favorites), Toast.LENGTH_SHORT).show();
-                                // Atualizar o botão no adapter
+                                // Atualizar apenas o botão da linha alterada
                                 if (adaptadorInstrumento != null) {
-                                    adaptadorInstrumento.notifyDataSetChanged();
+                                    adaptadorInstrumento.definirFavorito(instrumentId, !isFavorite);
                                 }
                             });
                         } else {
@@ -748,9 +680,9 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
                         if (success) {
                             runOnUiThread(() -> {
                                 Toast.makeText(this, getString(R.string.added_to_favorites), Toast.LENGTH_SHORT).show();
-                                // Atualizar o botão no adapter
+                                // Atualizar apenas o botão da linha alterada
                                 if (adaptadorInstrumento != null) {
-                                    adaptadorInstrumento.notifyDataSetChanged();
+                                    adaptadorInstrumento.definirFavorito(instrumentId, !isFavorite);
                                 }
                             });
                         } else {
@@ -776,7 +708,13 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
         // Configurar item de solicitações
         menuItemRequests = menu.findItem(R.id.action_requests);
         
-        return true;
+        // Opções de depuração (relatório de quadros)
+        return super.onCreateOptionsMenu(menu);
+    }
+
+    @Override
+    protected String nomeTela() {
+        return "catalogo";
     }
 
     @Override
@@ -811,21 +749,9 @@ public class AtividadeInstrumentos extends AppCompatActivity implements Adaptado
         }
         String userId = usuarioAtual.getUid();
         
-        GerenciadorFirebase.buscarSolicitacoesProprietario(userId)
-                .thenAccept(solicitacoes -> {
-                    runOnUiThread(() -> {
-                        boolean hasUnread = false;
-                        
-                        for (DocumentSnapshot solicitacao : solicitacoes) {
-                            Boolean lida = solicitacao.getBoolean("lida");
-                            if (lida == null || !lida) {
-                                hasUnread = true;
-                                break;
-                            }
-                        }
-                        
-                        atualizarIconeNotificacao(hasUnread);
-                    });
+        carregamentos.vincular(GerenciadorFirebase.possuiSolicitacoesNaoLidas(userId))
+                .thenAccept(hasUnread -> {
+                    runOnUiThread(() -> atualizarIconeNotificacao(hasUnread));
                 })
                 .exceptionally(erro -> {
                     Log.e(TAG, "Erro ao verificar solicitações não lidas: " + erro.getMessage(), erro);
@@ -6,9 +6,8 @@ import android.util.Log;
 import android.view.View;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
-import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewpager2.widget.ViewPager2;
@@ -42,11 +41,12 @@ import java.util.List;
  * - Carregamento assíncrono do Firebase
  * - Interface de callback para navegação
  * - Tratamento de estados vazios
+ * - ViewModelChats: uma carga compartilhada pelas duas abas
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeListaChat extends AppCompatActivity implements AdaptadorListaChat.OnChatClickListener {
+public class AtividadeListaChat extends AtividadeBase implements AdaptadorListaChat.OnChatClickListener, PoolVisualizacoes.Provedor {
     
     // Constantes
     private static final String TAG = "ListaChat";
@@ -55,11 +55,15 @@ public class AtividadeListaChat extends AppCompatActivity implements AdaptadorLi
     private ViewPager2 viewPager;
     private TabLayout tabLayout;
     private AdaptadorChatTabs adaptadorTabs;
+
+    // Linhas das listas, compartilhadas entre as abas
+    private final RecyclerView.RecycledViewPool poolVisualizacoes = new RecyclerView.RecycledViewPool();
     
     // Autenticação
     private FirebaseAuth autenticacao;
     private FirebaseUser usuarioAtual;
     private String idUsuarioAtual;
+    private ViewModelChats viewModel;
 
     /**
      * Método chamado quando a atividade é criada
@@ -114,6 +118,18 @@ public class AtividadeListaChat extends AppCompatActivity implements AdaptadorLi
                     break;
             }
         }).attach();
+
+        // Dados compartilhados pelas abas; após uma rotação os já carregados são reaproveitados
+        viewModel = new ViewModelProvider(this).get(ViewModelChats.class);
+        viewModel.falhaCarregamento().observe(this, falhou -> {
+            if (Boolean.TRUE.equals(falhou)) {
+                Toast.makeText(this, "Erro ao carregar conversas", Toast.LENGTH_SHORT).show();
+                viewModel.falhaExibida();
+            }
+        });
+        if (viewModel.semDados()) {
+            viewModel.carregar();
+        }
     }
 
     /**
@@ -180,14 +196,9 @@ public class AtividadeListaChat extends AppCompatActivity implements AdaptadorLi
      * Recarrega as abas após exclusão
      */
     private void recarregarAbas() {
-        // Notificar os fragments para recarregar
-        if (adaptadorTabs != null) {
-            for (int i = 0; i < adaptadorTabs.getItemCount(); i++) {
-                Fragment fragment = getSupportFragmentManager().findFragmentByTag("f" + i);
-                if (fragment instanceof FragmentChatTab) {
-                    ((FragmentChatTab) fragment).carregarChats();
-                }
-            }
+        // Uma única carga atualiza as duas abas
+        if (viewModel != null) {
+            viewModel.carregar();
         }
     }
 
@@ -206,4 +217,12 @@ public class AtividadeListaChat extends AppCompatActivity implements AdaptadorLi
         onBackPressed();
         return true;
     }
+
+    /**
+     * Pool de linhas compartilhado pelas listas das abas (PoolVisualizacoes)
+     */
+    @Override
+    public RecyclerView.RecycledViewPool poolVisualizacoes() {
+        return poolVisualizacoes;
+    }
 }
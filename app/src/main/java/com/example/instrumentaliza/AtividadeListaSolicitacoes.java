@@ -4,11 +4,12 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.MenuItem;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
-import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewpager2.widget.ViewPager2;
 
 import com.google.android.material.tabs.TabLayout;
@@ -45,11 +46,12 @@ import java.util.Locale;
  * - Carregamento assíncrono do Firebase
  * - Interface de callback para interações
  * - Filtro por instrumento específico
+ * - ViewModelSolicitacoes: uma carga compartilhada pelas duas abas
  * 
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeListaSolicitacoes extends AppCompatActivity implements AdaptadorSolicitacoes.OnSolicitacaoClickListener {
+public class AtividadeListaSolicitacoes extends AtividadeBase implements AdaptadorSolicitacoes.OnSolicitacaoClickListener, PoolVisualizacoes.Provedor {
     
     // Constantes
     private static final String TAG = "ListaSolicitacoes";
@@ -58,10 +60,14 @@ public class AtividadeListaSolicitacoes extends AppCompatActivity implements Ada
     private TabLayout tabLayout;
     private ViewPager2 viewPager;
     private AdaptadorSolicitacaoTabs adaptadorSolicitacaoTabs;
+
+    // Linhas das listas, compartilhadas entre as abas
+    private final RecyclerView.RecycledViewPool poolVisualizacoes = new RecyclerView.RecycledViewPool();
     
     // Firebase
     private FirebaseAuth autenticacao;
     private FirebaseUser usuarioAtual;
+    private ViewModelSolicitacoes viewModel;
 
     /**
      * Método chamado quando a atividade é criada
@@ -118,22 +124,26 @@ public class AtividadeListaSolicitacoes extends AppCompatActivity implements Ada
                     break;
             }
         }).attach();
+
+        // Dados compartilhados pelas abas (cada aba observa a sua lista)
+        viewModel = new ViewModelProvider(this).get(ViewModelSolicitacoes.class);
+        viewModel.falhaCarregamento().observe(this, falhou -> {
+            if (Boolean.TRUE.equals(falhou)) {
+                Toast.makeText(this, "Erro ao carregar solicitações", Toast.LENGTH_SHORT).show();
+                viewModel.falhaExibida();
+            }
+        });
     }
 
     /**
      * Recarrega as abas de solicitações
      * 
-     * Método público para ser chamado pelos fragments quando necessário
+     * Método público para ser chamado pelos fragments quando necessário.
+     * Uma única carga atualiza as duas abas.
      */
     public void recarregarAbas() {
         Log.d(TAG, "Recarregando abas de solicitações");
-        // Notificar fragments para recarregar dados
-        for (int i = 0; i < adaptadorSolicitacaoTabs.getItemCount(); i++) {
-            Fragment fragment = getSupportFragmentManager().findFragmentByTag("f" + i);
-            if (fragment instanceof FragmentSolicitacaoTab) {
-                ((FragmentSolicitacaoTab) fragment).carregarSolicitacoes();
-            }
-        }
+        viewModel.carregar();
     }
 
     /**
@@ -180,7 +190,17 @@ public class AtividadeListaSolicitacoes extends AppCompatActivity implements Ada
     @Override
     protected void onResume() {
         super.onResume();
-        Log.d(TAG, "Atividade retomada, recarregando solicitações");
-        recarregarAbas();
+        if (viewModel != null) {
+            Log.d(TAG, "Atividade retomada, recarregando solicitações");
+            recarregarAbas();
+        }
+    }
+
+    /**
+     * Pool de linhas compartilhado pelas listas das abas (PoolVisualizacoes)
+     */
+    @Override
+    public RecyclerView.RecycledViewPool poolVisualizacoes() {
+        return poolVisualizacoes;
     }
 }
@@ -8,7 +8,6 @@ import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.firebase.auth.FirebaseUser;
 
@@ -31,7 +30,7 @@ import java.util.concurrent.CompletableFuture;
  * @author Sistema Instrumentaliza
  * @version 1.0
  */
-public class AtividadeLogin extends AppCompatActivity {
+public class AtividadeLogin extends AtividadeBase {
     private static final String TAG = "Login";
     
     // Componentes da interface
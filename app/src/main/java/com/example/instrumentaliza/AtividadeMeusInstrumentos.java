@@ -6,7 +6,6 @@ import android.util.Log;
 import android.view.View;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -43,7 +42,7 @@ import java.util.List;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeMeusInstrumentos extends AppCompatActivity implements AdaptadorMeusInstrumentos.OnMyInstrumentClickListener {
+public class AtividadeMeusInstrumentos extends AtividadeBase implements AdaptadorMeusInstrumentos.OnMyInstrumentClickListener {
     
     // Constantes
     private static final String TAG = "MeusInstrumentos";
@@ -56,6 +55,9 @@ public class AtividadeMeusInstrumentos extends AppCompatActivity implements Adap
     // Autenticação
     private FirebaseAuth autenticacao;
 
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
+
     /**
      * Método chamado quando a atividade é criada
      * 
@@ -95,6 +97,11 @@ public class AtividadeMeusInstrumentos extends AppCompatActivity implements Adap
         listaMeusInstrumentos.setLayoutManager(new LinearLayoutManager(this));
         adaptadorMeusInstrumentos = new AdaptadorMeusInstrumentos(new ArrayList<>(), this);
         listaMeusInstrumentos.setAdapter(adaptadorMeusInstrumentos);
+        MonitorQuadros.acompanharRolagem(listaMeusInstrumentos);
+
+        // Inflar cartões em background enquanto os instrumentos carregam
+        InfladorAntecipado.preInflar(listaMeusInstrumentos, R.layout.item_my_instrument,
+                getResources().getInteger(R.integer.prewarm_item_views));
 
         // Carregar instrumentos do usuário
         carregarMeusInstrumentos();
@@ -110,7 +117,7 @@ public class AtividadeMeusInstrumentos extends AppCompatActivity implements Adap
 
         Log.d(TAG, "Carregando instrumentos do usuário: " + currentUser.getUid());
 
-        GerenciadorFirebase.obterInstrumentosPorProprietario(currentUser.getUid())
+        carregamentos.vincular(GerenciadorFirebase.obterInstrumentosPorProprietario(currentUser.getUid()))
                 .thenAccept(instruments -> {
                     runOnUiThread(() -> {
                         if (instruments.isEmpty()) {
@@ -6,7 +6,6 @@ import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -27,7 +26,8 @@ import java.util.List;
  * 
  * Funcionalidades:
  * - Exibição de lista de avaliações recebidas
- * - Ordenação por data (mais recentes primeiro)
+ * - Ordenação por data (mais recentes primeiro), no servidor
+ * - Carregamento em páginas conforme a rolagem (ListaPaginada)
  * - Informações detalhadas de cada avaliação
  * - Estado vazio quando não há avaliações
  * - Atualização automática da lista
@@ -42,7 +42,7 @@ import java.util.List;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeMinhasAvaliacoes extends AppCompatActivity {
+public class AtividadeMinhasAvaliacoes extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "MinhasAvaliacoes";
@@ -51,10 +51,14 @@ public class AtividadeMinhasAvaliacoes extends AppCompatActivity {
     private RecyclerView listaAvaliacoes;
     private AdaptadorAvaliacoes adaptadorAvaliacoes;
     private TextView textoEstadoVazio;
+    private ListaPaginada paginas;
     
     // Autenticação
     private FirebaseAuth autenticacao;
     private FirebaseUser usuarioAtual;
+
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
     
     /**
      * Método chamado quando a atividade é criada
@@ -121,6 +125,10 @@ public class AtividadeMinhasAvaliacoes extends AppCompatActivity {
         adaptadorAvaliacoes = new AdaptadorAvaliacoes(new ArrayList<>());
         listaAvaliacoes.setAdapter(adaptadorAvaliacoes);
         
+        // Próxima página pedida antes de a rolagem chegar ao fim
+        listaAvaliacoes.addOnScrollListener(new RolagemPaginada(this::carregarMaisAvaliacoes));
+        MonitorQuadros.acompanharRolagem(listaAvaliacoes);
+        
         // Configurar estado vazio
         textoEstadoVazio.setText("Você ainda não recebeu nenhuma avaliação.\n\n" +
                                 "Quando alguém alugar seus instrumentos e avaliar a experiência, " +
@@ -129,28 +137,48 @@ public class AtividadeMinhasAvaliacoes extends AppCompatActivity {
     }
     
     /**
-     * Carrega as avaliações recebidas pelo usuário
+     * Carrega as avaliações recebidas pelo usuário (primeira página, recarregando do início)
      */
     private void carregarMinhasAvaliacoes() {
         Log.d(TAG, "Carregando avaliações do usuário: " + usuarioAtual.getUid());
         
-        GerenciadorFirebase.obterAvaliacoesProprietario(usuarioAtual.getUid())
-                .thenAccept(avaliacoes -> {
+        paginas = new ListaPaginada(GerenciadorFirebase.consultaAvaliacoesProprietario(usuarioAtual.getUid()));
+        carregarPagina(paginas);
+    }
+    
+    /**
+     * Carrega a próxima página (chamado pela rolagem)
+     */
+    private void carregarMaisAvaliacoes() {
+        if (paginas != null && paginas.temMais() && !paginas.isCarregando()) {
+            carregarPagina(paginas);
+        }
+    }
+    
+    private void carregarPagina(ListaPaginada lista) {
+        carregamentos.vincular(lista.carregarMais())
+                .thenAccept(pagina -> {
                     runOnUiThread(() -> {
+                        // Lista recarregada enquanto a página era lida
+                        if (lista != paginas) return;
+                        
+                        List<DocumentSnapshot> avaliacoes = lista.documentos();
                         if (avaliacoes.isEmpty()) {
                             mostrarEstadoVazio();
                         } else {
                             esconderEstadoVazio();
                             adaptadorAvaliacoes.atualizarAvaliacoes(avaliacoes);
                         }
-                        Log.d(TAG, "Avaliações carregadas: " + avaliacoes.size());
+                        Log.d(TAG, "Avaliações carregadas: " + avaliacoes.size() + (lista.temMais() ? " (há mais)" : ""));
                     });
                 })
                 .exceptionally(throwable -> {
                     Log.e(TAG, "Erro ao carregar avaliações: " + throwable.getMessage(), throwable);
                     runOnUiThread(() -> {
                         Toast.makeText(this, "Erro ao carregar avaliações: " + throwable.getMessage(), Toast.LENGTH_LONG).show();
-                        mostrarEstadoVazio();
+                        if (lista.tamanho() == 0) {
+                            mostrarEstadoVazio();
+                        }
                     });
                     return null;
                 });
@@ -8,9 +8,10 @@ import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.widget.Toolbar;
-import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewpager2.widget.ViewPager2;
@@ -46,11 +47,14 @@ import java.util.Locale;
  * - Adaptador customizado para reservas
  * - Firebase Auth para autenticação
  * - Tratamento de estados vazios
+ * - ViewModelReservas: uma carga compartilhada pelas duas abas, feita apenas quando
+ *   o ViewModel ainda não tem dados (voltar à tela ou girar não consulta de novo)
+ * - Avaliações refletidas pelo resultado da tela de avaliação (marcarComoAvaliada)
  * 
  * @author Jhonata
  * @version 2.0 - Atualizado para Firebase
  */
-public class AtividadeMinhasReservas extends AppCompatActivity implements AdaptadorReservas.OnReservaClickListener {
+public class AtividadeMinhasReservas extends AtividadeBase implements AdaptadorReservas.OnReservaClickListener, PoolVisualizacoes.Provedor {
     
     // Constantes
     private static final String TAG = "MinhasReservas";
@@ -63,10 +67,31 @@ public class AtividadeMinhasReservas extends AppCompatActivity implements Adapta
     private TabLayout tabLayout;
     private ViewPager2 viewPager;
     private AdaptadorReservaTabs adaptadorReservaTabs;
+
+    // Linhas das listas, compartilhadas entre as abas
+    private final RecyclerView.RecycledViewPool poolVisualizacoes = new RecyclerView.RecycledViewPool();
     
     // Firebase e dados
     private FirebaseAuth autenticacao;
     private FirebaseUser usuarioAtual;
+    private ViewModelReservas viewModel;
+    
+    /**
+     * Launcher da tela de avaliação
+     * 
+     * Ao voltar com sucesso, a reserva é marcada como avaliada no ViewModel,
+     * sem recarregar as abas.
+     */
+    private final ActivityResultLauncher<Intent> avaliarReserva = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(),
+            result -> {
+                if (result.getResultCode() == RESULT_OK && result.getData() != null) {
+                    String reservaId = result.getData().getStringExtra("reserva_id");
+                    if (reservaId != null && viewModel != null) {
+                        viewModel.marcarComoAvaliada(ViewModelReservas.TIPO_MEUS_INTERESSES, reservaId);
+                    }
+                }
+            });
 
     /**
      * Método chamado quando a atividade é criada
@@ -130,22 +155,31 @@ public class AtividadeMinhasReservas extends AppCompatActivity implements Adapta
                     break;
             }
         }).attach();
+
+        // Dados compartilhados pelas abas (cada aba observa a sua parte)
+        viewModel = new ViewModelProvider(this).get(ViewModelReservas.class);
+        viewModel.falhaCarregamento().observe(this, falhou -> {
+            if (Boolean.TRUE.equals(falhou)) {
+                Toast.makeText(this, "Erro ao carregar reservas", Toast.LENGTH_SHORT).show();
+                viewModel.falhaExibida();
+            }
+        });
+        // Primeira abertura: carregar. Após rotação, as abas continuam com as páginas já lidas
+        if (viewModel.semDados()) {
+            viewModel.carregar();
+        }
     }
 
     /**
      * Recarrega as abas de reservas
      * 
      * Método público para ser chamado pelos fragments quando necessário
+     * (descarta a paginação e lê a primeira página de novo).
+     * Uma única carga atualiza as duas abas.
      */
     public void recarregarAbas() {
         Log.d(TAG, "Recarregando abas de reservas");
-        // Notificar fragments para recarregar dados
-        for (int i = 0; i < adaptadorReservaTabs.getItemCount(); i++) {
-            Fragment fragment = getSupportFragmentManager().findFragmentByTag("f" + i);
-            if (fragment instanceof FragmentReservaTab) {
-                ((FragmentReservaTab) fragment).carregarReservas();
-            }
-        }
+        viewModel.carregar();
     }
 
     @Override
@@ -180,7 +214,14 @@ public class AtividadeMinhasReservas extends AppCompatActivity implements Adapta
         intent.putExtra("proprietario_id", reserva.getString("ownerId"));
         intent.putExtra("proprietario_nome", "Proprietário"); // Será carregado na tela
         
-        startActivity(intent);
+        avaliarReserva.launch(intent);
     }
 
-} 
\ No newline at end of file
+    /**
+     * Pool de linhas compartilhado pelas listas das abas (PoolVisualizacoes)
+     */
+    @Override
+    public RecyclerView.RecycledViewPool poolVisualizacoes() {
+        return poolVisualizacoes;
+    }
+}
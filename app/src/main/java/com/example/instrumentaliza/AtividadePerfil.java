@@ -8,7 +8,7 @@ import android.view.MenuItem;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewpager2.widget.ViewPager2;
 
 import com.bumptech.glide.Glide;
@@ -48,7 +48,7 @@ import de.hdodenhof.circleimageview.CircleImageView;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadePerfil extends AppCompatActivity {
+public class AtividadePerfil extends AtividadeBase implements PoolVisualizacoes.Provedor {
     
     // Constantes
     private static final String TAG = "Perfil";
@@ -56,10 +56,16 @@ public class AtividadePerfil extends AppCompatActivity {
     // Componentes da interface
     private TextView textoNome, textoEmail;
     private CircleImageView imagemPerfil;
+
+    // Linhas das listas, compartilhadas entre as abas
+    private final RecyclerView.RecycledViewPool poolVisualizacoes = new RecyclerView.RecycledViewPool();
     
     // Autenticação
     private FirebaseAuth autenticacao;
 
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
+
     /**
      * Método chamado quando a atividade é criada
      * 
@@ -208,7 +214,7 @@ public class AtividadePerfil extends AppCompatActivity {
                 }
                 
                 // Carregar dados adicionais do Firestore (sobrescreve dados básicos se disponíveis)
-                GerenciadorFirebase.obterDadosUsuario(usuarioAtual.getUid())
+                carregamentos.vincular(GerenciadorFirebase.obterDadosUsuario(usuarioAtual.getUid()))
                         .thenAccept(userData -> {
                             if (userData != null && !userData.isEmpty()) {
                                 String displayName = (String) userData.get("name");
@@ -274,4 +280,12 @@ public class AtividadePerfil extends AppCompatActivity {
         }
         return super.onOptionsItemSelected(item);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Pool de linhas compartilhado pelas listas das abas (PoolVisualizacoes)
+     */
+    @Override
+    public RecyclerView.RecycledViewPool poolVisualizacoes() {
+        return poolVisualizacoes;
+    }
+}
@@ -7,7 +7,6 @@ import android.widget.Button;
 import android.view.View;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 
 /**
  * AtividadePrincipal - Tela inicial do aplicativo Instrumentaliza
@@ -22,7 +21,7 @@ import androidx.appcompat.app.AppCompatActivity;
  * @author Sistema Instrumentaliza
  * @version 1.0
  */
-public class AtividadePrincipal extends AppCompatActivity {
+public class AtividadePrincipal extends AtividadeBase {
 
     /**
      * Método chamado quando a atividade é criada
@@ -6,7 +6,6 @@ import android.util.Log;
 import android.widget.Button;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseUser;
@@ -35,7 +34,7 @@ import java.util.concurrent.CompletableFuture;
  * @author Sistema Instrumentaliza
  * @version 1.0
  */
-public class AtividadeRegistrar extends AppCompatActivity {
+public class AtividadeRegistrar extends AtividadeBase {
     private static final String TAG = "Registrar";
     
     // Componentes da interface
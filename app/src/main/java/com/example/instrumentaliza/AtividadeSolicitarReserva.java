@@ -12,7 +12,6 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.datepicker.MaterialDatePicker;
 import com.google.android.material.datepicker.DateValidatorPointForward;
@@ -56,7 +55,7 @@ import com.google.firebase.Timestamp;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeSolicitarReserva extends AppCompatActivity {
+public class AtividadeSolicitarReserva extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "SolicitarReserva";
@@ -88,6 +87,9 @@ public class AtividadeSolicitarReserva extends AppCompatActivity {
     // Autenticação
     private FirebaseAuth autenticacao;
     private FirebaseUser usuarioAtual;
+
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
     
     // Datas indisponíveis
     private List<Map<String, Object>> faixasIndisponiveis;
@@ -162,7 +164,7 @@ public class AtividadeSolicitarReserva extends AppCompatActivity {
             return;
         }
         
-        GerenciadorFirebase.obterFaixasIndisponiveisInstrumento(idInstrumento)
+        carregamentos.vincular(GerenciadorFirebase.obterFaixasIndisponiveisInstrumento(idInstrumento))
                 .thenAccept(faixas -> {
                     runOnUiThread(() -> {
                         faixasIndisponiveis = faixas != null ? faixas : new ArrayList<>();
@@ -7,7 +7,6 @@ import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -49,7 +48,7 @@ import java.util.concurrent.CompletableFuture;
  * @author Jhonata
  * @version 1.0
  */
-public class AtividadeVisualizarDisponibilidadeInstrumento extends AppCompatActivity {
+public class AtividadeVisualizarDisponibilidadeInstrumento extends AtividadeBase {
     
     // Constantes
     private static final String TAG = "VisualizarDisponibilidade";
@@ -69,6 +68,9 @@ public class AtividadeVisualizarDisponibilidadeInstrumento extends AppCompatActi
     // Dados de disponibilidade
     private List<Map<String, Object>> faixasIndisponiveis;
     private Calendar mesAtual;
+
+    // Cargas vinculadas ao ciclo de vida da tela
+    private final EscopoCarregamentos carregamentos = EscopoCarregamentos.de(this);
     
     /**
      * Método chamado quando a atividade é criada
@@ -252,7 +254,7 @@ public class AtividadeVisualizarDisponibilidadeInstrumento extends AppCompatActi
     
     private void carregarDadosDisponibilidade() {
         // Carregar faixas indisponíveis usando GerenciadorFirebase
-        GerenciadorFirebase.obterFaixasIndisponiveisInstrumento(idInstrumento)
+        carregamentos.vincular(GerenciadorFirebase.obterFaixasIndisponiveisInstrumento(idInstrumento))
                 .thenAccept(faixas -> {
                     runOnUiThread(() -> {
                         faixasIndisponiveis = faixas;
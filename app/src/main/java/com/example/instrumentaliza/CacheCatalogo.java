@@ -0,0 +1,142 @@
+package com.example.instrumentaliza;
+
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import com.example.instrumentaliza.models.FirebaseInstrument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * CacheCatalogo - Memoização dos resultados do catálogo por estado de filtro
+ *
+ * Guarda em memória os resultados já carregados para cada combinação de
+ * busca, categoria e período. Voltar para uma categoria recém-usada ou
+ * alternar a ordenação por preço reaproveita o resultado existente,
+ * reordenado em memória, sem nova consulta.
+ *
+ * Resultados de uma busca de texto vêm ranqueados por relevância (BM25), e o
+ * preço só desempata: nesse caso a ordenação faz parte da chave e a lista é
+ * devolvida na ordem em que foi carregada.
+ *
+ * Características técnicas:
+ * - LRU limitado a {@link #TAMANHO_MAXIMO} combinações de filtro
+ * - Entradas expiram após {@link #VALIDADE_MS} milissegundos
+ * - Sem busca de texto, a ordenação não faz parte da chave: é aplicada na leitura
+ * - Invalidado quando o espelho local muda: ao fim de cada sincronização do
+ *   onResume que avançou a marca d'água e a cada exclusão local; o prazo de
+ *   validade apenas limita a memória de filtros abandonados
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class CacheCatalogo {
+
+    // Limites do cache
+    private static final int TAMANHO_MAXIMO = 12;
+    private static final long VALIDADE_MS = 60_000;
+
+    private final LruCache<String, Entrada> entradas = new LruCache<>(TAMANHO_MAXIMO);
+
+    // Incrementada a cada invalidação; descarta resultados carregados antes dela
+    private int versao = 0;
+
+    /**
+     * Resultado armazenado com o instante em que foi carregado
+     */
+    private static class Entrada {
+        final List<FirebaseInstrument> instrumentos;
+        final long carregadoEm;
+
+        Entrada(List<FirebaseInstrument> instrumentos, long carregadoEm) {
+            this.instrumentos = instrumentos;
+            this.carregadoEm = carregadoEm;
+        }
+    }
+
+    /**
+     * Monta a chave do cache a partir do estado dos filtros
+     *
+     * @param consulta Texto buscado
+     * @param categoria Categoria normalizada
+     * @param dataInicioUtc Início do filtro de datas (ou null)
+     * @param dataFimUtc Fim do filtro de datas (ou null)
+     * @param precoCrescente Ordenação por preço (usada na chave apenas com busca de texto)
+     * @return Chave do cache
+     */
+    public static String chave(String consulta, String categoria, Long dataInicioUtc, Long dataFimUtc,
+                               boolean precoCrescente) {
+        String texto = Objects.toString(consulta, "").trim().toLowerCase();
+        String chave = texto + "|" + Objects.toString(categoria, "") + "|" + dataInicioUtc + "|" + dataFimUtc;
+        return texto.isEmpty() ? chave : chave + "|" + (precoCrescente ? "asc" : "desc");
+    }
+
+    /**
+     * Indica se a chave é de uma busca de texto (ordem de relevância, sem reordenar)
+     */
+    private static boolean ordenadaPorRelevancia(String chave) {
+        return !chave.startsWith("|");
+    }
+
+    /**
+     * Obtém um resultado válido já ordenado por preço (ou por relevância, com busca de texto)
+     *
+     * @param chave Chave gerada por {@link #chave}
+     * @param precoCrescente true para menor preço primeiro
+     * @return Nova lista ordenada, ou null se não houver resultado válido
+     */
+    public List<FirebaseInstrument> obter(String chave, boolean precoCrescente) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (SystemClock.elapsedRealtime() - entrada.carregadoEm > VALIDADE_MS) {
+            entradas.remove(chave);
+            return null;
+        }
+        List<FirebaseInstrument> ordenados = new ArrayList<>(entrada.instrumentos);
+        if (ordenadaPorRelevancia(chave)) {
+            return ordenados;
+        }
+        // Ordenação estável: empates mantêm a ordem de relevância original
+        if (precoCrescente) {
+            ordenados.sort((a, b) -> Double.compare(a.getPrice(), b.getPrice()));
+        } else {
+            ordenados.sort((a, b) -> Double.compare(b.getPrice(), a.getPrice()));
+        }
+        return ordenados;
+    }
+
+    /**
+     * Obtém a versão atual do cache, a ser capturada antes de iniciar uma consulta
+     *
+     * @return Versão atual
+     */
+    public int obterVersao() {
+        return versao;
+    }
+
+    /**
+     * Armazena um resultado carregado do banco local
+     *
+     * @param chave Chave gerada por {@link #chave}
+     * @param instrumentos Resultado carregado
+     * @param versaoConsulta Versão capturada antes da consulta; resultados de versões antigas são ignorados
+     */
+    public void guardar(String chave, List<FirebaseInstrument> instrumentos, int versaoConsulta) {
+        if (versaoConsulta != versao) {
+            return;
+        }
+        entradas.put(chave, new Entrada(new ArrayList<>(instrumentos), SystemClock.elapsedRealtime()));
+    }
+
+    /**
+     * Descarta todos os resultados (ex.: após sincronização ou exclusão)
+     */
+    public void invalidar() {
+        versao++;
+        entradas.evictAll();
+    }
+}
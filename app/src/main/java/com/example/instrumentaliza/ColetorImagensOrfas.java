@@ -0,0 +1,206 @@
+package com.example.instrumentaliza;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.ListResult;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ColetorImagensOrfas - Remoção de imagens do Storage sem referência no Firestore
+ *
+ * Exclusões de instrumentos e trocas de imagem deixam objetos antigos em
+ * instruments/ e profiles/. O coletor monta o conjunto de objetos ainda
+ * referenciados pelos documentos e remove os demais, em lotes e com
+ * intervalo entre exclusões.
+ *
+ * Funcionalidades:
+ * - Referências lidas de instrumentos (capa e galeria) e de usuários (foto de perfil)
+ * - Listagem paginada das pastas, incluindo subpastas (profiles/{uid}/)
+ * - Período de carência: objetos criados ou reaproveitados recentemente não são removidos
+ *
+ * Características técnicas:
+ * - Métodos bloqueantes (Tasks.await): executar fora da thread principal
+ * - Recebe as instâncias de Firestore/Storage, permitindo rodar contra os emuladores
+ * - Limite de exclusões por execução; o restante fica para a próxima
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ColetorImagensOrfas {
+
+    // Constantes
+    private static final String TAG = "ColetorImagensOrfas";
+    private static final int TAMANHO_PAGINA_DOCUMENTOS = 500;
+    private static final int TAMANHO_PAGINA_ARQUIVOS = 100;
+    private static final long INTERVALO_ENTRE_EXCLUSOES_MS = 250;
+    private static final int MAXIMO_EXCLUSOES_POR_EXECUCAO = 500;
+
+    // Uploads em andamento ainda não têm documento gravado; objetos reaproveitados são "tocados"
+    static final long CARENCIA_MS = TimeUnit.HOURS.toMillis(48);
+
+    // Campos que guardam URLs de imagens
+    private static final String[] CAMPOS_INSTRUMENTO = {
+            VersoesImagem.CAMPO_MINIATURA, VersoesImagem.CAMPO_CARTAO, VersoesImagem.CAMPO_COMPLETA, "imageUrl", "photoUrl"
+    };
+    private static final String[] CAMPOS_USUARIO = {"profileImageUrl", "profileImageUri"};
+
+    private final FirebaseFirestore firestore;
+    private final FirebaseStorage armazenamento;
+    private final long carenciaMs;
+
+    /**
+     * Totais de uma execução
+     */
+    public static class Resultado {
+        public int analisados;
+        public int excluidos;
+        public boolean incompleto;
+    }
+
+    public ColetorImagensOrfas(FirebaseFirestore firestore, FirebaseStorage armazenamento) {
+        this(firestore, armazenamento, CARENCIA_MS);
+    }
+
+    /**
+     * @param carenciaMs Idade mínima do objeto para ser excluído (0 nos testes com emulador)
+     */
+    public ColetorImagensOrfas(FirebaseFirestore firestore, FirebaseStorage armazenamento, long carenciaMs) {
+        this.firestore = firestore;
+        this.armazenamento = armazenamento;
+        this.carenciaMs = carenciaMs;
+    }
+
+    /**
+     * Remove os objetos órfãos das pastas de imagens
+     *
+     * @param interromper Consultado entre exclusões; true encerra a execução (ex.: trabalho parado)
+     * @return Totais da execução
+     */
+    public Resultado executar(BooleanSupplier interromper) throws Exception {
+        Set<String> referenciados = coletarReferencias();
+        Log.d(TAG, "Objetos referenciados: " + referenciados.size());
+
+        Resultado resultado = new Resultado();
+        Deque<StorageReference> pastas = new ArrayDeque<>();
+        pastas.add(armazenamento.getReference().child(GerenciadorFirebase.ARMAZENAMENTO_INSTRUMENTOS));
+        pastas.add(armazenamento.getReference().child(GerenciadorFirebase.ARMAZENAMENTO_PERFIS));
+
+        while (!pastas.isEmpty()) {
+            StorageReference pasta = pastas.poll();
+            String token = null;
+            do {
+                ListResult pagina = Tasks.await(token == null
+                        ? pasta.list(TAMANHO_PAGINA_ARQUIVOS)
+                        : pasta.list(TAMANHO_PAGINA_ARQUIVOS, token));
+                pastas.addAll(pagina.getPrefixes());
+
+                for (StorageReference objeto : pagina.getItems()) {
+                    resultado.analisados++;
+                    if (referenciados.contains(objeto.getPath()) || !foraDaCarencia(objeto)) {
+                        continue;
+                    }
+                    if (interromper.getAsBoolean() || resultado.excluidos >= MAXIMO_EXCLUSOES_POR_EXECUCAO) {
+                        resultado.incompleto = true;
+                        return resultado;
+                    }
+                    Tasks.await(objeto.delete());
+                    resultado.excluidos++;
+                    Log.d(TAG, "Objeto órfão removido: " + objeto.getPath());
+
+                    // Limitar a taxa de exclusões
+                    Thread.sleep(INTERVALO_ENTRE_EXCLUSOES_MS);
+                }
+                token = pagina.getPageToken();
+            } while (token != null);
+        }
+        return resultado;
+    }
+
+    /**
+     * Caminhos (ex.: /instruments/abc.webp) de todos os objetos referenciados por documentos
+     */
+    Set<String> coletarReferencias() throws Exception {
+        Set<String> caminhos = new HashSet<>();
+        for (DocumentSnapshot instrumento : lerColecao("instruments")) {
+            for (String campo : CAMPOS_INSTRUMENTO) {
+                adicionarCaminho(caminhos, instrumento.get(campo));
+            }
+            Object galeria = instrumento.get(VersoesImagem.CAMPO_GALERIA);
+            if (galeria instanceof List) {
+                for (Object item : (List<?>) galeria) {
+                    if (item instanceof Map) {
+                        for (Object url : ((Map<?, ?>) item).values()) {
+                            adicionarCaminho(caminhos, url);
+                        }
+                    }
+                }
+            }
+        }
+        for (DocumentSnapshot usuario : lerColecao("users")) {
+            for (String campo : CAMPOS_USUARIO) {
+                adicionarCaminho(caminhos, usuario.get(campo));
+            }
+        }
+        return caminhos;
+    }
+
+    /**
+     * Lê uma coleção inteira em páginas ordenadas pelo ID do documento
+     */
+    private List<DocumentSnapshot> lerColecao(String colecao) throws Exception {
+        List<DocumentSnapshot> documentos = new ArrayList<>();
+        DocumentSnapshot ultimo = null;
+        while (true) {
+            Query consulta = firestore.collection(colecao)
+                    .orderBy(FieldPath.documentId())
+                    .limit(TAMANHO_PAGINA_DOCUMENTOS);
+            if (ultimo != null) {
+                consulta = consulta.startAfter(ultimo);
+            }
+            QuerySnapshot pagina = Tasks.await(consulta.get());
+            documentos.addAll(pagina.getDocuments());
+            if (pagina.size() < TAMANHO_PAGINA_DOCUMENTOS) {
+                return documentos;
+            }
+            ultimo = pagina.getDocuments().get(pagina.size() - 1);
+        }
+    }
+
+    private void adicionarCaminho(Set<String> caminhos, Object url) {
+        if (!(url instanceof String) || ((String) url).isEmpty()) {
+            return;
+        }
+        try {
+            caminhos.add(armazenamento.getReferenceFromUrl((String) url).getPath());
+        } catch (IllegalArgumentException e) {
+            // URL externa ou de outro bucket: não aponta para um objeto deste Storage
+        }
+    }
+
+    /**
+     * Indica se o objeto foi criado (ou reaproveitado) antes do período de carência
+     */
+    private boolean foraDaCarencia(StorageReference objeto) throws Exception {
+        StorageMetadata metadados = Tasks.await(objeto.getMetadata());
+        long ultimoUso = Math.max(metadados.getCreationTimeMillis(), metadados.getUpdatedTimeMillis());
+        return System.currentTimeMillis() - ultimoUso > carenciaMs;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.instrumentaliza;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ConsultaInstrumentos - Construtor da consulta do catálogo no espelho local
+ *
+ * Substitui as várias consultas fixas do InstrumentoDao (uma para cada
+ * combinação de busca, categoria e ordenação) por uma única consulta
+ * composta, executada via @RawQuery.
+ *
+ * Funcionalidades:
+ * - Busca de texto completo (FTS4) opcional
+ * - Filtro por categoria e por disponibilidade
+ * - Ordenação por preço crescente ou decrescente (desempate pelo ID)
+ *
+ * Características técnicas:
+ * - Filtros de igualdade antes da ordenação, na mesma ordem dos índices
+ *   compostos (disponivel, categoria, preco, id) e (disponivel, preco, id)
+ *   declarados em Instrumento, evitando B-tree temporária na ordenação
+ * - Todos os valores são passados como argumentos ("?"), nunca concatenados
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ConsultaInstrumentos {
+
+    private String consultaFts;
+    private String categoria;
+    private boolean somenteDisponiveis = true;
+    private boolean precoCrescente = true;
+
+    /**
+     * Filtra por texto completo
+     * @param consultaFts Expressão MATCH do FTS4 (ex.: "viol*"), ou vazio para não filtrar
+     */
+    public ConsultaInstrumentos comTexto(String consultaFts) {
+        this.consultaFts = consultaFts;
+        return this;
+    }
+
+    /**
+     * Filtra por categoria normalizada
+     * @param categoria Categoria, ou vazio para todas
+     */
+    public ConsultaInstrumentos naCategoria(String categoria) {
+        this.categoria = categoria;
+        return this;
+    }
+
+    /**
+     * Define se apenas instrumentos disponíveis devem ser retornados (padrão: true)
+     */
+    public ConsultaInstrumentos somenteDisponiveis(boolean somenteDisponiveis) {
+        this.somenteDisponiveis = somenteDisponiveis;
+        return this;
+    }
+
+    /**
+     * Define a ordenação por preço
+     * @param crescente true para menor preço primeiro
+     */
+    public ConsultaInstrumentos ordenarPorPreco(boolean crescente) {
+        this.precoCrescente = crescente;
+        return this;
+    }
+
+    /**
+     * Monta a consulta SQL com os filtros configurados
+     *
+     * @return Consulta pronta para InstrumentoDao.consultar
+     */
+    public SupportSQLiteQuery construir() {
+        boolean temTexto = consultaFts != null && !consultaFts.isEmpty();
+        List<Object> argumentos = new ArrayList<>();
+        List<String> condicoes = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("SELECT instrumentos.*, ");
+        if (temTexto) {
+            sql.append("matchinfo(instrumentos_fts, 'pcnalx') AS infoCorrespondencia ")
+                    .append("FROM instrumentos JOIN instrumentos_fts ON instrumentos.rowid = instrumentos_fts.rowid");
+            condicoes.add("instrumentos_fts MATCH ?");
+            argumentos.add(consultaFts);
+        } else {
+            sql.append("NULL AS infoCorrespondencia FROM instrumentos");
+        }
+
+        // Igualdades na ordem do índice composto
+        if (somenteDisponiveis) {
+            condicoes.add("instrumentos.disponivel = 1");
+        }
+        if (categoria != null && !categoria.isEmpty()) {
+            condicoes.add("instrumentos.categoria = ?");
+            argumentos.add(categoria);
+        }
+
+        if (!condicoes.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        }
+
+        String direcao = precoCrescente ? "ASC" : "DESC";
+        sql.append(" ORDER BY instrumentos.preco ").append(direcao).append(", instrumentos.id ").append(direcao);
+
+        return new SimpleSQLiteQuery(sql.toString(), argumentos.toArray());
+    }
+}
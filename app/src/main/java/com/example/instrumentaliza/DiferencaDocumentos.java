@@ -0,0 +1,43 @@
+package com.example.instrumentaliza;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Objects;
+
+/**
+ * DiferencaDocumentos - Comparação de documentos do Firestore para os ListAdapters
+ *
+ * Os adaptadores que exibem DocumentSnapshot recebem listas inteiras a cada
+ * atualização do Firestore. Esta classe permite ao DiffUtil (em thread de
+ * background, via ListAdapter) descobrir quais linhas mudaram de fato.
+ *
+ * Funcionalidades:
+ * - Mesmo item: mesmo ID de documento
+ * - Mesmo conteúdo: mesmos campos (metadados do snapshot, como pendências de escrita, são ignorados)
+ *
+ * Características técnicas:
+ * - Instância única e sem estado, compartilhada pelos adaptadores
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class DiferencaDocumentos extends DiffUtil.ItemCallback<DocumentSnapshot> {
+
+    public static final DiferencaDocumentos INSTANCIA = new DiferencaDocumentos();
+
+    private DiferencaDocumentos() {
+    }
+
+    @Override
+    public boolean areItemsTheSame(@NonNull DocumentSnapshot antigo, @NonNull DocumentSnapshot novo) {
+        return antigo.getId().equals(novo.getId());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull DocumentSnapshot antigo, @NonNull DocumentSnapshot novo) {
+        return Objects.equals(antigo.getData(), novo.getData());
+    }
+}
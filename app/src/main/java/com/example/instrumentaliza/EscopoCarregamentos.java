@@ -0,0 +1,148 @@
+package com.example.instrumentaliza;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EscopoCarregamentos - Cargas de uma tela vinculadas ao seu ciclo de vida
+ *
+ * Os retornos das consultas ao Firestore verificavam getActivity() == null ou
+ * isFinishing() depois de chegar, e as consultas encadeadas em seguida eram
+ * disparadas mesmo com a tela já fechada. Com o escopo, a tela vincula cada
+ * carga ao próprio ciclo de vida: ao ser destruída, as cargas pendentes são
+ * canceladas e nenhum retorno (nem as consultas encadeadas nele) é executado.
+ *
+ * Funcionalidades:
+ * - Vínculo de um CompletableFuture ao escopo (vincular), ou apenas do seu
+ *   retorno quando a carga é compartilhada entre telas (acompanhar)
+ * - Cancelamento das cargas pendentes quando o dono é destruído
+ * - Uso em atividades e fragments (de) e em ViewModels (encerrar no onCleared)
+ *
+ * Características técnicas:
+ * - Os retornos do futuro vinculado chegam na thread principal
+ * - Após o encerramento, o futuro vinculado nunca é concluído: nem thenAccept
+ *   nem exceptionally são chamados (sem avisos de erro por cancelamento)
+ * - Para cargas (leituras): gravações devem continuar fora do escopo, para que
+ *   o que vem depois delas não se perca ao sair da tela
+ * - Em fragments, usar o getViewLifecycleOwner(): a carga é da view
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class EscopoCarregamentos implements DefaultLifecycleObserver {
+
+    // Constantes
+    private static final String TAG = "EscopoCarregamentos";
+
+    private static final Handler principal = new Handler(Looper.getMainLooper());
+
+    // Futuros de origem ainda não concluídos
+    private final Set<CompletableFuture<?>> pendentes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private volatile boolean encerrado = false;
+
+    /**
+     * Escopo encerrado manualmente (ViewModels: chamar encerrar no onCleared)
+     */
+    public EscopoCarregamentos() {
+    }
+
+    /**
+     * Escopo encerrado quando o dono é destruído
+     *
+     * @param dono Atividade ou getViewLifecycleOwner() do fragment
+     */
+    public static EscopoCarregamentos de(LifecycleOwner dono) {
+        EscopoCarregamentos escopo = new EscopoCarregamentos();
+        if (dono.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            escopo.encerrar();
+        } else {
+            dono.getLifecycle().addObserver(escopo);
+        }
+        return escopo;
+    }
+
+    /**
+     * Vincula uma carga ao escopo
+     *
+     * @param origem Futuro retornado pela consulta (ex.: GerenciadorFirebase)
+     * @return Futuro concluído na thread principal com o resultado da origem,
+     *         enquanto o escopo estiver ativo
+     */
+    public <T> CompletableFuture<T> vincular(CompletableFuture<T> origem) {
+        CompletableFuture<T> vinculado = new CompletableFuture<>();
+        if (encerrado) {
+            origem.cancel(false);
+            return vinculado;
+        }
+        pendentes.add(origem);
+        origem.whenComplete((resultado, erro) -> naThreadPrincipal(() -> {
+            pendentes.remove(origem);
+            if (encerrado) {
+                return;
+            }
+            if (erro != null) {
+                vinculado.completeExceptionally(erro);
+            } else {
+                vinculado.complete(resultado);
+            }
+        }));
+        return vinculado;
+    }
+
+    /**
+     * Vincula apenas o retorno de um futuro compartilhado com outras telas
+     *
+     * A origem não é cancelada ao encerrar o escopo (ex.: sincronização do
+     * espelho local, RepositorioInstrumentos.sincronizar).
+     *
+     * @param compartilhado Futuro que outras telas também podem aguardar
+     */
+    public <T> CompletableFuture<T> acompanhar(CompletableFuture<T> compartilhado) {
+        return vincular(compartilhado.thenApply(resultado -> resultado));
+    }
+
+    /**
+     * Cancela as cargas pendentes; vínculos posteriores já nascem cancelados
+     */
+    public void encerrar() {
+        if (encerrado) {
+            return;
+        }
+        encerrado = true;
+        int canceladas = 0;
+        for (CompletableFuture<?> origem : pendentes) {
+            if (origem.cancel(false)) {
+                canceladas++;
+            }
+        }
+        pendentes.clear();
+        if (canceladas > 0) {
+            Log.d(TAG, "Cargas canceladas: " + canceladas);
+        }
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner dono) {
+        dono.getLifecycle().removeObserver(this);
+        encerrar();
+    }
+
+    private static void naThreadPrincipal(Runnable acao) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            acao.run();
+        } else {
+            principal.post(acao);
+        }
+    }
+}
@@ -22,6 +22,10 @@ import java.util.List;
 
 /**
  * Fragmento para exibir avaliações recebidas pelo usuário
+ * 
+ * As avaliações são lidas em páginas (ListaPaginada), mais recentes primeiro,
+ * e a próxima página é pedida conforme a rolagem. As páginas pendentes são
+ * canceladas quando a view do fragmento é destruída (EscopoCarregamentos).
  */
 public class FragmentAvaliacoesRecebidas extends Fragment {
     
@@ -33,6 +37,8 @@ public class FragmentAvaliacoesRecebidas extends Fragment {
     private FirebaseUser usuarioAtual;
     
     private List<DocumentSnapshot> avaliacoes = new ArrayList<>();
+    private ListaPaginada paginas;
+    private EscopoCarregamentos carregamentos;
     
     @Nullable
     @Override
@@ -47,6 +53,11 @@ public class FragmentAvaliacoesRecebidas extends Fragment {
         adaptadorAvaliacoes = new AdaptadorAvaliacoesRecebidas(avaliacoes);
         listaAvaliacoes.setLayoutManager(new LinearLayoutManager(getContext()));
         listaAvaliacoes.setAdapter(adaptadorAvaliacoes);
+        PoolVisualizacoes.aplicar(this, listaAvaliacoes, R.layout.item_avaliacao_recebida);
+        
+        // Próxima página pedida antes de a rolagem chegar ao fim
+        listaAvaliacoes.addOnScrollListener(new RolagemPaginada(this::carregarMaisAvaliacoes));
+        MonitorQuadros.acompanharRolagem(listaAvaliacoes);
         
         // Obter usuário atual
         usuarioAtual = FirebaseAuth.getInstance().getCurrentUser();
@@ -59,21 +70,20 @@ public class FragmentAvaliacoesRecebidas extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
-        carregarAvaliacoes();
+        carregamentos = EscopoCarregamentos.de(getViewLifecycleOwner());
+        // A primeira carga acontece no onResume
     }
     
     @Override
     public void onResume() {
         super.onResume();
-        // Recarregar avaliações quando o fragmento volta a ser visível
-        if (usuarioAtual != null) {
-            Log.d(TAG, "Fragmento retomado, recarregando avaliações");
-            carregarAvaliacoes();
-        }
+        // Carregar avaliações ao exibir o fragmento e sempre que ele volta a ser visível
+        Log.d(TAG, "Fragmento retomado, recarregando avaliações");
+        carregarAvaliacoes();
     }
     
     /**
-     * Carrega as avaliações recebidas pelo usuário
+     * Carrega as avaliações recebidas pelo usuário (primeira página, recarregando do início)
      */
     public void carregarAvaliacoes() {
         if (usuarioAtual == null) {
@@ -84,29 +94,44 @@ public class FragmentAvaliacoesRecebidas extends Fragment {
         
         Log.d(TAG, "Carregando avaliações recebidas como LOCATÁRIO para usuário: " + usuarioAtual.getUid());
         
-        GerenciadorFirebase.obterAvaliacoesRecebidas(usuarioAtual.getUid())
-                .thenAccept(avaliacoesRecebidas -> {
-                    if (getActivity() == null) return;
+        paginas = new ListaPaginada(GerenciadorFirebase.consultaAvaliacoesRecebidas(usuarioAtual.getUid()));
+        carregarPagina(paginas);
+    }
+    
+    /**
+     * Carrega a próxima página (chamado pela rolagem)
+     */
+    private void carregarMaisAvaliacoes() {
+        if (paginas != null && paginas.temMais() && !paginas.isCarregando()) {
+            carregarPagina(paginas);
+        }
+    }
+    
+    private void carregarPagina(ListaPaginada lista) {
+        // Retorno na thread principal, apenas enquanto a view existir
+        carregamentos.vincular(lista.carregarMais())
+                .thenAccept(pagina -> {
+                    // Lista recarregada enquanto a página era lida
+                    if (lista != paginas) return;
+                    
+                    this.avaliacoes.clear();
+                    this.avaliacoes.addAll(lista.documentos());
+                    
+                    Log.d(TAG, "Avaliações recebidas como LOCATÁRIO carregadas: " + avaliacoes.size()
+                            + (lista.temMais() ? " (há mais)" : ""));
+                    
+                    if (avaliacoes.isEmpty()) {
+                        mostrarEstadoVazio();
+                    } else {
+                        mostrarListaAvaliacoes();
+                    }
                     
-                    getActivity().runOnUiThread(() -> {
-                        this.avaliacoes.clear();
-                        this.avaliacoes.addAll(avaliacoesRecebidas);
-                        
-                        Log.d(TAG, "Avaliações recebidas como LOCATÁRIO carregadas: " + avaliacoesRecebidas.size());
-                        
-                        if (avaliacoesRecebidas.isEmpty()) {
-                            mostrarEstadoVazio();
-                        } else {
-                            mostrarListaAvaliacoes();
-                        }
-                        
-                        adaptadorAvaliacoes.atualizarAvaliacoes(this.avaliacoes);
-                    });
+                    adaptadorAvaliacoes.atualizarAvaliacoes(this.avaliacoes);
                 })
                 .exceptionally(erro -> {
                     Log.e(TAG, "Erro ao carregar avaliações: " + erro.getMessage(), erro);
-                    if (getActivity() != null) {
-                        getActivity().runOnUiThread(this::mostrarEstadoVazio);
+                    if (avaliacoes.isEmpty()) {
+                        mostrarEstadoVazio();
                     }
                     return null;
                 });
@@ -5,11 +5,11 @@ import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -18,7 +18,6 @@ import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.ArrayList;
-import java.util.List;
 
 /**
  * FragmentChatTab - Fragment para exibir lista de chats por tipo
@@ -26,14 +25,17 @@ import java.util.List;
  * Este fragment exibe chats separados por tipo:
  * - Meus Anúncios: chats onde o usuário é proprietário do instrumento
  * - Meus Interesses: chats onde o usuário é interessado no instrumento
+ * 
+ * As conversas vêm do ViewModelChats da atividade, carregado uma única vez
+ * para as duas abas; trocar de aba não consulta o Firestore.
  */
 public class FragmentChatTab extends Fragment implements AdaptadorListaChat.OnChatClickListener {
     
     private static final String TAG = "FragmentChatTab";
     private static final String ARG_TIPO_CHAT = "tipo_chat";
     
-    public static final String TIPO_MEUS_ANUNCIOS = "meus_anuncios";
-    public static final String TIPO_MEUS_INTERESSES = "meus_interesses";
+    public static final String TIPO_MEUS_ANUNCIOS = ViewModelChats.TIPO_MEUS_ANUNCIOS;
+    public static final String TIPO_MEUS_INTERESSES = ViewModelChats.TIPO_MEUS_INTERESSES;
     
     private RecyclerView listaChats;
     private View layoutEstadoVazio;
@@ -41,6 +43,7 @@ public class FragmentChatTab extends Fragment implements AdaptadorListaChat.OnCh
     private String tipoChat;
     private String idUsuarioAtual;
     private FirebaseAuth autenticacao;
+    private ViewModelChats viewModel;
     
     /**
      * Cria nova instância do fragment
@@ -65,6 +68,7 @@ public class FragmentChatTab extends Fragment implements AdaptadorListaChat.OnCh
         if (usuarioAtual != null) {
             idUsuarioAtual = usuarioAtual.getUid();
         }
+        viewModel = new ViewModelProvider(requireActivity()).get(ViewModelChats.class);
     }
     
     @Nullable
@@ -87,12 +91,22 @@ public class FragmentChatTab extends Fragment implements AdaptadorListaChat.OnCh
         listaChats.setLayoutManager(new LinearLayoutManager(getContext()));
         adaptadorListaChat = new AdaptadorListaChat(new ArrayList<>(), this, idUsuarioAtual);
         listaChats.setAdapter(adaptadorListaChat);
+        MonitorQuadros.acompanharRolagem(listaChats);
+        PoolVisualizacoes.aplicar(this, listaChats, R.layout.item_chat);
         
         // Configurar textos do estado vazio
         configurarEstadoVazio();
         
-        // Carregar chats
-        carregarChats();
+        // A carga é feita pela atividade; aqui apenas a lista desta aba é exibida
+        viewModel.chats(tipoChat).observe(getViewLifecycleOwner(), aba -> {
+            Log.d(TAG, "Chats para " + tipoChat + ": " + aba.chats.size());
+            adaptadorListaChat.atualizarChats(aba.chats, aba.instrumentos);
+            if (aba.chats.isEmpty()) {
+                mostrarEstadoVazio();
+            } else {
+                esconderEstadoVazio();
+            }
+        });
     }
     
     /**
@@ -103,78 +117,6 @@ public class FragmentChatTab extends Fragment implements AdaptadorListaChat.OnCh
         // Por enquanto, usar textos padrão
     }
     
-    /**
-     * Carrega os chats baseado no tipo
-     */
-    public void carregarChats() {
-        Log.d(TAG, "Carregando chats do tipo: " + tipoChat + " para usuário: " + idUsuarioAtual);
-        
-        GerenciadorFirebase.obterChatsUsuario(idUsuarioAtual)
-                .thenAccept(todosChats -> {
-                    if (getActivity() != null) {
-                        getActivity().runOnUiThread(() -> {
-                            // Filtrar chats baseado no tipo
-                            List<DocumentSnapshot> chatsFiltrados = filtrarChatsPorTipo(todosChats);
-                            
-                            Log.d(TAG, "Resultado da filtragem: " + chatsFiltrados.size() + " chats");
-                            
-                            if (chatsFiltrados.isEmpty()) {
-                                Log.d(TAG, "Mostrando estado vazio");
-                                mostrarEstadoVazio();
-                            } else {
-                                Log.d(TAG, "Mostrando lista com " + chatsFiltrados.size() + " chats");
-                                esconderEstadoVazio();
-                                adaptadorListaChat.atualizarChats(chatsFiltrados);
-                            }
-                        });
-                    }
-                })
-                .exceptionally(throwable -> {
-                    Log.e(TAG, "Erro ao carregar chats: " + throwable.getMessage(), throwable);
-                    if (getActivity() != null) {
-                        getActivity().runOnUiThread(() -> {
-                            Toast.makeText(getContext(), "Erro ao carregar conversas", Toast.LENGTH_SHORT).show();
-                            mostrarEstadoVazio();
-                        });
-                    }
-                    return null;
-                });
-    }
-    
-    /**
-     * Filtra os chats baseado no tipo (meus anúncios ou meus interesses)
-     */
-    private List<DocumentSnapshot> filtrarChatsPorTipo(List<DocumentSnapshot> todosChats) {
-        List<DocumentSnapshot> chatsFiltrados = new ArrayList<>();
-        
-        Log.d(TAG, "Filtrando " + todosChats.size() + " chats para tipo: " + tipoChat + " (usuário: " + idUsuarioAtual + ")");
-        
-        for (DocumentSnapshot chat : todosChats) {
-            String ownerId = chat.getString("ownerId");
-            String locatorId = chat.getString("locatorId");
-            
-            Log.d(TAG, "Chat " + chat.getId() + " - ownerId: " + ownerId + ", locatorId: " + locatorId);
-            
-            boolean isMeuAnuncio = idUsuarioAtual.equals(ownerId);
-            boolean isMeuInteresse = idUsuarioAtual.equals(locatorId);
-            
-            Log.d(TAG, "  - É meu anúncio: " + isMeuAnuncio + ", É meu interesse: " + isMeuInteresse);
-            
-            if (TIPO_MEUS_ANUNCIOS.equals(tipoChat) && isMeuAnuncio) {
-                chatsFiltrados.add(chat);
-                Log.d(TAG, "  -> ADICIONADO como meu anúncio");
-            } else if (TIPO_MEUS_INTERESSES.equals(tipoChat) && isMeuInteresse) {
-                chatsFiltrados.add(chat);
-                Log.d(TAG, "  -> ADICIONADO como meu interesse");
-            } else {
-                Log.d(TAG, "  -> IGNORADO");
-            }
-        }
-        
-        Log.d(TAG, "Chats filtrados para " + tipoChat + ": " + chatsFiltrados.size() + " de " + todosChats.size());
-        return chatsFiltrados;
-    }
-    
     private void mostrarEstadoVazio() {
         Log.d(TAG, "Mostrando estado vazio - layoutEstadoVazio: " + (layoutEstadoVazio != null) + ", listaChats: " + (listaChats != null));
         if (layoutEstadoVazio != null) layoutEstadoVazio.setVisibility(View.VISIBLE);
@@ -1,28 +1,27 @@
 package com.example.instrumentaliza;
 
+import android.app.Activity;
 import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import androidx.lifecycle.ViewModelProvider;
+
 import com.google.android.material.card.MaterialCardView;
-import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * FragmentReservaTab - Fragment para exibição de reservas
@@ -37,6 +36,12 @@ import java.util.concurrent.CompletableFuture;
  * - Navegação para avaliação de instrumentos/usuários
  * - Estado vazio quando não há reservas
  * - Atualização automática dos dados
+ * - Reservas já avaliadas consultadas em lote e atualizadas localmente ao voltar da avaliação
+ * 
+ * Características técnicas:
+ * - Os dados vêm do ViewModelReservas da atividade, compartilhado pelas duas abas
+ *   (uma única carga; trocar de aba não consulta o Firestore)
+ * - Reservas carregadas em páginas, conforme a rolagem
  * 
  * @author Jhonata
  * @version 1.0
@@ -47,9 +52,25 @@ public class FragmentReservaTab extends Fragment implements AdaptadorReservas.On
     private RecyclerView listaReservas;
     private MaterialCardView layoutEstadoVazio;
     private AdaptadorReservas adaptadorReservas;
-    private List<DocumentSnapshot> reservas = new ArrayList<>();
+    private ViewModelReservas viewModel;
     private String tipoReserva; // "meus_instrumentos" ou "meus_interesses"
-    private String usuarioId;
+    
+    /**
+     * Launcher das telas de avaliação
+     * 
+     * Ao voltar com sucesso, a reserva avaliada é marcada localmente e o botão
+     * some sem uma nova consulta ao Firestore.
+     */
+    private final ActivityResultLauncher<Intent> avaliarReserva = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(),
+            result -> {
+                if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null) {
+                    String reservaId = result.getData().getStringExtra("reserva_id");
+                    if (reservaId != null && viewModel != null) {
+                        viewModel.marcarComoAvaliada(tipoReserva, reservaId);
+                    }
+                }
+            });
 
     public static FragmentReservaTab newInstance(String tipoReserva) {
         FragmentReservaTab fragment = new FragmentReservaTab();
@@ -65,8 +86,8 @@ public class FragmentReservaTab extends Fragment implements AdaptadorReservas.On
         if (getArguments() != null) {
             tipoReserva = getArguments().getString("tipo_reserva");
         }
-        usuarioId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        Log.d(TAG, "Fragment criado para tipo: " + tipoReserva + " - Usuário: " + usuarioId);
+        viewModel = new ViewModelProvider(requireActivity()).get(ViewModelReservas.class);
+        Log.d(TAG, "Fragment criado para tipo: " + tipoReserva);
     }
 
     @Nullable
@@ -78,9 +99,14 @@ public class FragmentReservaTab extends Fragment implements AdaptadorReservas.On
         layoutEstadoVazio = view.findViewById(R.id.emptyStateCard);
         
         // Configurar RecyclerView
-        adaptadorReservas = new AdaptadorReservas(reservas, this, tipoReserva);
+        adaptadorReservas = new AdaptadorReservas(new ArrayList<>(), this, tipoReserva);
         listaReservas.setLayoutManager(new LinearLayoutManager(getContext()));
         listaReservas.setAdapter(adaptadorReservas);
+        PoolVisualizacoes.aplicar(this, listaReservas, R.layout.item_reservation);
+        
+        // Próxima página pedida antes de a rolagem chegar ao fim
+        listaReservas.addOnScrollListener(new RolagemPaginada(() -> viewModel.carregarMais(tipoReserva)));
+        MonitorQuadros.acompanharRolagem(listaReservas);
         
         Log.d(TAG, "View criada - listaReservas: " + (listaReservas != null) + ", layoutEstadoVazio: " + (layoutEstadoVazio != null));
         
@@ -90,123 +116,17 @@ public class FragmentReservaTab extends Fragment implements AdaptadorReservas.On
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
-        carregarReservas();
-    }
-    
-    @Override
-    public void onResume() {
-        super.onResume();
-        // Recarregar reservas quando o fragmento volta a ser visível
-        // Isso garante que avaliações recentes sejam refletidas
-        if (usuarioId != null) {
-            Log.d(TAG, "Fragmento retomado, recarregando reservas");
-            carregarReservas();
-        }
-    }
-
-    public void carregarReservas() {
-        Log.d(TAG, "Carregando reservas do tipo: " + tipoReserva + " para usuário: " + usuarioId);
         
-        if (tipoReserva == null || usuarioId == null) {
-            Log.e(TAG, "Tipo de reserva ou usuário não definido");
-            mostrarEstadoVazio();
-            return;
-        }
-
-        // Primeiro, atualizar reservas que não possuem ownerId
-        GerenciadorFirebase.atualizarReservasSemOwnerId(usuarioId)
-            .thenCompose(atualizadas -> {
-                Log.d(TAG, "Reservas sem ownerId atualizadas: " + atualizadas);
-                
-                // Buscar reservas onde o usuário é locatário
-                return GerenciadorFirebase.buscarReservasUsuario(usuarioId);
-            })
-            .thenAccept(reservasComoLocatario -> {
-                if (getActivity() == null) return;
-                
-                // Buscar reservas onde o usuário é proprietário
-                buscarReservasComoProprietario()
-                    .thenAccept(reservasComoProprietario -> {
-                        if (getActivity() == null) return;
-                        
-                        getActivity().runOnUiThread(() -> {
-                            // Combinar todas as reservas
-                            List<DocumentSnapshot> todasReservas = new ArrayList<>();
-                            todasReservas.addAll(reservasComoLocatario);
-                            todasReservas.addAll(reservasComoProprietario);
-                            
-                            List<DocumentSnapshot> reservasFiltradas = filtrarReservasPorTipo(todasReservas);
-                            Log.d(TAG, "Reservas filtradas para " + tipoReserva + ": " + reservasFiltradas.size() + " de " + todasReservas.size());
-                            
-                            reservas.clear();
-                            reservas.addAll(reservasFiltradas);
-                            adaptadorReservas.notifyDataSetChanged();
-                            
-                            if (reservas.isEmpty()) {
-                                mostrarEstadoVazio();
-                            } else {
-                                mostrarLista();
-                            }
-                        });
-                    })
-                    .exceptionally(throwable -> {
-                        Log.e(TAG, "Erro ao buscar reservas como proprietário: " + throwable.getMessage());
-                        if (getActivity() != null) {
-                            getActivity().runOnUiThread(() -> {
-                                // Usar apenas as reservas como locatário
-                                List<DocumentSnapshot> reservasFiltradas = filtrarReservasPorTipo(reservasComoLocatario);
-                                reservas.clear();
-                                reservas.addAll(reservasFiltradas);
-                                adaptadorReservas.notifyDataSetChanged();
-                                
-                                if (reservas.isEmpty()) {
-                                    mostrarEstadoVazio();
-                                } else {
-                                    mostrarLista();
-                                }
-                            });
-                        }
-                        return null;
-                    });
-            })
-            .exceptionally(throwable -> {
-                Log.e(TAG, "Erro ao carregar reservas: " + throwable.getMessage());
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        Toast.makeText(getContext(), "Erro ao carregar reservas", Toast.LENGTH_SHORT).show();
-                        mostrarEstadoVazio();
-                    });
-                }
-                return null;
-            });
-    }
-
-    private List<DocumentSnapshot> filtrarReservasPorTipo(List<DocumentSnapshot> todasReservas) {
-        List<DocumentSnapshot> reservasFiltradas = new ArrayList<>();
-        
-        for (DocumentSnapshot reserva : todasReservas) {
-            String ownerId = reserva.getString("ownerId");
-            String userId = reserva.getString("userId");
-            
-            boolean isMeuInstrumento = usuarioId.equals(ownerId);
-            boolean isMeuInteresse = usuarioId.equals(userId);
-            
-            Log.d(TAG, "Reserva " + reserva.getId() + " - Owner: " + ownerId + ", User: " + userId);
-            Log.d(TAG, "  - É meu instrumento: " + isMeuInstrumento + ", É meu interesse: " + isMeuInteresse);
-            
-            if ("meus_instrumentos".equals(tipoReserva) && isMeuInstrumento) {
-                reservasFiltradas.add(reserva);
-                Log.d(TAG, "  -> ADICIONADO como meu instrumento");
-            } else if ("meus_interesses".equals(tipoReserva) && isMeuInteresse) {
-                reservasFiltradas.add(reserva);
-                Log.d(TAG, "  -> ADICIONADO como meu interesse");
+        // A carga é feita pela atividade; aqui apenas a parte desta aba é exibida
+        viewModel.reservas(tipoReserva).observe(getViewLifecycleOwner(), aba -> {
+            Log.d(TAG, "Reservas para " + tipoReserva + ": " + aba.reservas.size());
+            adaptadorReservas.atualizarReservas(aba.reservas, aba.avaliadas, aba.instrumentos);
+            if (aba.reservas.isEmpty()) {
+                mostrarEstadoVazio();
             } else {
-                Log.d(TAG, "  -> IGNORADO");
+                mostrarLista();
             }
-        }
-        
-        Log.d(TAG, "Resultado da filtragem: " + reservasFiltradas.size() + " reservas");
-        return reservasFiltradas;
+        });
     }
 
     private void mostrarEstadoVazio() {
@@ -221,7 +141,7 @@ public class FragmentReservaTab extends Fragment implements AdaptadorReservas.On
         if (listaReservas != null && layoutEstadoVazio != null) {
             listaReservas.setVisibility(View.VISIBLE);
             layoutEstadoVazio.setVisibility(View.GONE);
-            Log.d(TAG, "Mostrando lista com " + reservas.size() + " reservas");
+            Log.d(TAG, "Mostrando lista de reservas");
         }
     }
 
@@ -273,7 +193,7 @@ public class FragmentReservaTab extends Fragment implements AdaptadorReservas.On
         Log.d(TAG, "Navegando para avaliação de usuário - Reserva: " + reserva.getId() + 
               ", Instrumento: " + instrumentoId + ", Locatário: " + userId);
         
-        startActivity(intent);
+        avaliarReserva.launch(intent);
     }
     
     /**
@@ -299,63 +219,6 @@ public class FragmentReservaTab extends Fragment implements AdaptadorReservas.On
         Log.d(TAG, "Navegando para avaliação de instrumento - Reserva: " + reserva.getId() + 
               ", Instrumento: " + instrumentoId + ", Proprietário: " + ownerId);
         
-        startActivity(intent);
-    }
-
-    /**
-     * Busca reservas onde o usuário é proprietário do instrumento
-     */
-    private CompletableFuture<List<DocumentSnapshot>> buscarReservasComoProprietario() {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "Buscando reservas onde usuário é proprietário: " + usuarioId);
-        
-        // Primeiro, verificar se o usuário tem instrumentos próprios
-        FirebaseFirestore.getInstance()
-                .collection("instruments")
-                .whereEqualTo("ownerId", usuarioId)
-                .get()
-                .addOnSuccessListener(instrumentsSnapshot -> {
-                    Log.d(TAG, "Instrumentos próprios do usuário: " + instrumentsSnapshot.size());
-                    
-                    if (instrumentsSnapshot.isEmpty()) {
-                        Log.d(TAG, "Usuário não tem instrumentos próprios - nenhuma reserva como proprietário possível");
-                        futuro.complete(new ArrayList<>());
-                        return;
-                    }
-                    
-                    // Agora buscar reservas onde o usuário é proprietário
-                    FirebaseFirestore.getInstance()
-                            .collection("reservations")
-                            .whereEqualTo("ownerId", usuarioId)
-                            .get()
-                            .addOnSuccessListener(snapshotConsulta -> {
-                                List<DocumentSnapshot> reservas = snapshotConsulta.getDocuments();
-                                Log.d(TAG, "Reservas como proprietário encontradas: " + reservas.size());
-                                
-                                // Log detalhado de cada reserva encontrada
-                                for (int i = 0; i < reservas.size(); i++) {
-                                    DocumentSnapshot reserva = reservas.get(i);
-                                    Log.d(TAG, "Reserva " + (i+1) + ": " + reserva.getId());
-                                    Log.d(TAG, "  - userId: " + reserva.getString("userId"));
-                                    Log.d(TAG, "  - ownerId: " + reserva.getString("ownerId"));
-                                    Log.d(TAG, "  - instrumentId: " + reserva.getString("instrumentId"));
-                                    Log.d(TAG, "  - status: " + reserva.getString("status"));
-                                    Log.d(TAG, "  - totalPrice: " + reserva.getDouble("totalPrice"));
-                                }
-                                
-                                futuro.complete(reservas);
-                            })
-                            .addOnFailureListener(erro -> {
-                                Log.e(TAG, "Erro ao buscar reservas como proprietário: " + erro.getMessage());
-                                futuro.completeExceptionally(erro);
-                            });
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao verificar instrumentos próprios: " + erro.getMessage());
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
+        avaliarReserva.launch(intent);
     }
 }
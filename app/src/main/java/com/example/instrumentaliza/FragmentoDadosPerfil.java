@@ -47,6 +47,9 @@ public class FragmentoDadosPerfil extends Fragment {
     
     // Autenticação
     private FirebaseAuth autenticacao;
+    
+    // Cargas vinculadas à view do fragmento
+    private EscopoCarregamentos carregamentos;
 
     /**
      * Método chamado para criar a view do fragmento
@@ -71,13 +74,19 @@ public class FragmentoDadosPerfil extends Fragment {
         
         Log.d(TAG, "Views inicializadas: " + (textoNome != null ? "nome OK" : "nome NULL"));
         
-        // Carregar dados do usuário
-        carregarDadosUsuario();
-        
         Log.d(TAG, "ProfileDataFragment onCreateView concluído");
         return view;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        
+        // Carregar dados do usuário (cancelado se a view for destruída antes da resposta)
+        carregamentos = EscopoCarregamentos.de(getViewLifecycleOwner());
+        carregarDadosUsuario();
+    }
+
     /**
      * Carrega os dados do usuário logado
      * 
@@ -102,7 +111,7 @@ public class FragmentoDadosPerfil extends Fragment {
                 Log.d(TAG, "Dados básicos definidos - Nome: " + displayName + ", Email: " + email);
                 
                 // Tentar carregar dados adicionais do Firestore
-                GerenciadorFirebase.obterDadosUsuario(currentUser.getUid())
+                carregamentos.vincular(GerenciadorFirebase.obterDadosUsuario(currentUser.getUid()))
                         .thenAccept(userData -> {
                             Log.d(TAG, "Dados do Firestore recebidos: " + (userData != null ? userData.size() : "null"));
                             if (userData != null && !userData.isEmpty()) {
@@ -111,20 +120,16 @@ public class FragmentoDadosPerfil extends Fragment {
                                 
                                 Log.d(TAG, "Dados do Firestore - Nome: " + firestoreName + ", Telefone: " + phone);
                                 
-                                if (getActivity() != null) {
-                                    getActivity().runOnUiThread(() -> {
-                                        if (firestoreName != null && !firestoreName.isEmpty()) {
-                                            textoNome.setText(firestoreName);
-                                            Log.d(TAG, "Nome atualizado para: " + firestoreName);
-                                        }
-                                        if (phone != null && !phone.isEmpty()) {
-                                            textoTelefone.setText(phone);
-                                        } else {
-                                            textoTelefone.setText("Não informado");
-                                        }
-                                        Log.d(TAG, "Todos os campos atualizados na UI");
-                                    });
+                                if (firestoreName != null && !firestoreName.isEmpty()) {
+                                    textoNome.setText(firestoreName);
+                                    Log.d(TAG, "Nome atualizado para: " + firestoreName);
+                                }
+                                if (phone != null && !phone.isEmpty()) {
+                                    textoTelefone.setText(phone);
+                                } else {
+                                    textoTelefone.setText("Não informado");
                                 }
+                                Log.d(TAG, "Todos os campos atualizados na UI");
                             } else {
                                 Log.d(TAG, "Dados do Firestore estão vazios");
                             }
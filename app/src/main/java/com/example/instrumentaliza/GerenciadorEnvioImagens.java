@@ -0,0 +1,384 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.lifecycle.LifecycleOwner;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GerenciadorEnvioImagens - Agendamento dos envios de imagem em segundo plano
+ *
+ * Prepara a imagem selecionada (ProcessadorImagem), grava o resultado em
+ * arquivos no armazenamento interno do app e agenda um TrabalhoEnvioImagem
+ * no WorkManager. A imagem é processada enquanto a tela ainda tem permissão
+ * de leitura da URI da galeria; a partir daí o envio não depende mais da
+ * Activity nem do processo.
+ *
+ * Funcionalidades:
+ * - Envio da galeria de um instrumento (versões miniatura, cartão e completa de cada imagem)
+ * - Substituição apenas da capa (primeira imagem), usada pela tela de edição
+ * - Envio da foto de perfil
+ * - Um único envio pendente por instrumento/perfil (o mais recente substitui o anterior)
+ * - Objetos nomeados pelo hash SHA-256 do conteúdo: a mesma imagem não é enviada duas vezes
+ * - Acompanhamento do progresso pelas telas
+ *
+ * Características técnicas:
+ * - Trabalho único por destino, exigindo conexão de rede
+ * - Backoff exponencial entre tentativas
+ * - Arquivos pendentes em filesDir/envios (não são descartados pelo sistema como o cache)
+ * - Listas de arquivos, destinos e prévias em um manifesto JSON na mesma pasta;
+ *   o trabalho recebe apenas o caminho (o Data do WorkManager é limitado a 10 KB)
+ * - Estado salvo de um envio substituído é removido ao agendar o novo
+ * - Hash calculado enquanto o arquivo é gravado, sem uma segunda leitura
+ * - Objetos do Storage nunca são sobrescritos, então a URL de uma imagem é estável
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class GerenciadorEnvioImagens {
+
+    // Constantes
+    private static final String TAG = "GerenciadorEnvioImagens";
+    private static final String PASTA_ENVIOS = "envios";
+    private static final String EXTENSAO_MANIFESTO = ".json";
+    private static final long VALIDADE_ARQUIVOS_MS = TimeUnit.DAYS.toMillis(7);
+
+    /**
+     * Recebe o andamento de um envio acompanhado por uma tela
+     */
+    public interface OuvinteEnvio {
+        void aoProgredir(int percentual);
+        void aoConcluir(boolean sucesso);
+
+        /**
+         * Percentual de cada imagem da galeria, na ordem em que foram enviadas
+         */
+        default void aoProgredirImagens(int[] percentuais) {
+        }
+    }
+
+    /**
+     * Arquivo pendente gravado localmente e o hash do seu conteúdo
+     */
+    private static class ArquivoEnvio {
+        final String caminho;
+        final String hash;
+
+        ArquivoEnvio(String caminho, String hash) {
+            this.caminho = caminho;
+            this.hash = hash;
+        }
+    }
+
+    private GerenciadorEnvioImagens() {
+    }
+
+    /**
+     * Nome do trabalho único de envio da imagem de um instrumento
+     */
+    public static String nomeTrabalhoInstrumento(String idInstrumento) {
+        return "envio_imagem_instrumento_" + idInstrumento;
+    }
+
+    /**
+     * Nome do trabalho único de envio da foto de perfil
+     */
+    public static String nomeTrabalhoPerfil(String idUsuario) {
+        return "envio_imagem_perfil_" + idUsuario;
+    }
+
+    /**
+     * Prepara as imagens da galeria de um instrumento e agenda o envio
+     *
+     * Ao concluir, o trabalho grava a galeria (e a capa) no documento do instrumento.
+     *
+     * @param contexto Contexto com permissão de leitura das URIs
+     * @param urisImagens URIs das imagens selecionadas, na ordem da galeria
+     * @param idInstrumento ID do instrumento que receberá as imagens
+     * @return CompletableFuture<String> com o nome do trabalho agendado
+     */
+    public static CompletableFuture<String> enfileirarGaleriaInstrumento(Context contexto, List<Uri> urisImagens, String idInstrumento) {
+        return enfileirarInstrumento(contexto, urisImagens, idInstrumento, false);
+    }
+
+    /**
+     * Prepara uma nova capa para o instrumento e agenda o envio
+     *
+     * Ao concluir, o trabalho substitui apenas a primeira imagem da galeria.
+     *
+     * @param contexto Contexto com permissão de leitura da URI
+     * @param uriImagem URI da imagem selecionada
+     * @param idInstrumento ID do instrumento que receberá a imagem
+     * @return CompletableFuture<String> com o nome do trabalho agendado
+     */
+    public static CompletableFuture<String> enfileirarImagemInstrumento(Context contexto, Uri uriImagem, String idInstrumento) {
+        return enfileirarInstrumento(contexto, Collections.singletonList(uriImagem), idInstrumento, true);
+    }
+
+    private static CompletableFuture<String> enfileirarInstrumento(Context contexto, List<Uri> urisImagens,
+                                                                   String idInstrumento, boolean apenasCapa) {
+        Context contextoApp = contexto.getApplicationContext();
+
+        // O ProcessadorImagem usa uma única thread: as imagens são preparadas uma de cada vez
+        List<CompletableFuture<ProcessadorImagem.Versoes>> preparacoes = new ArrayList<>();
+        for (Uri uri : urisImagens) {
+            preparacoes.add(ProcessadorImagem.prepararVersoes(contextoApp, uri));
+        }
+
+        return CompletableFuture.allOf(preparacoes.toArray(new CompletableFuture[0])).thenApply(vazio -> {
+            String nomeBase = "instrumento_" + idInstrumento + "_" + System.currentTimeMillis();
+            int quantidade = preparacoes.size() * 3;
+            String[] arquivos = new String[quantidade];
+            String[] destinos = new String[quantidade];
+            String[] campos = new String[quantidade];
+            int[] imagens = new int[quantidade];
+            String[] previas = new String[preparacoes.size()];
+
+            for (int imagem = 0; imagem < preparacoes.size(); imagem++) {
+                ProcessadorImagem.Versoes versoes = preparacoes.get(imagem).join();
+                previas[imagem] = versoes.previa;
+                String prefixo = nomeBase + "_" + imagem;
+                ArquivoEnvio[] gravados = {
+                        gravar(contextoApp, prefixo + "_thumb" + ProcessadorImagem.EXTENSAO, versoes.miniatura),
+                        gravar(contextoApp, prefixo + "_card" + ProcessadorImagem.EXTENSAO, versoes.cartao),
+                        gravar(contextoApp, prefixo + ProcessadorImagem.EXTENSAO, versoes.completa)
+                };
+                String[] camposImagem = {VersoesImagem.CAMPO_MINIATURA, VersoesImagem.CAMPO_CARTAO, VersoesImagem.CAMPO_COMPLETA};
+                for (int v = 0; v < gravados.length; v++) {
+                    int i = imagem * 3 + v;
+                    arquivos[i] = gravados[v].caminho;
+                    destinos[i] = GerenciadorFirebase.ARMAZENAMENTO_INSTRUMENTOS + "/" + gravados[v].hash + ProcessadorImagem.EXTENSAO;
+                    campos[i] = camposImagem[v];
+                    imagens[i] = imagem;
+                }
+            }
+
+            String nomeTrabalho = nomeTrabalhoInstrumento(idInstrumento);
+            try {
+                JSONArray indicesImagens = new JSONArray();
+                for (int imagem : imagens) {
+                    indicesImagens.put(imagem);
+                }
+                enfileirar(contextoApp, nomeTrabalho, nomeBase, manifesto(TrabalhoEnvioImagem.TIPO_INSTRUMENTO,
+                        idInstrumento, arquivos, destinos, campos)
+                        .put(TrabalhoEnvioImagem.ENTRADA_IMAGENS, indicesImagens)
+                        .put(TrabalhoEnvioImagem.ENTRADA_PREVIAS, new JSONArray(Arrays.asList(previas)))
+                        .put(TrabalhoEnvioImagem.ENTRADA_APENAS_CAPA, apenasCapa));
+            } catch (JSONException e) {
+                throw new CompletionException(e);
+            }
+            return nomeTrabalho;
+        });
+    }
+
+    /**
+     * Prepara a foto de perfil e agenda o envio
+     *
+     * Ao concluir, o trabalho grava a URL no documento do usuário.
+     *
+     * @param contexto Contexto com permissão de leitura da URI
+     * @param uriImagem URI da imagem selecionada
+     * @param idUsuario UID do usuário
+     * @return CompletableFuture<String> com o nome do trabalho agendado
+     */
+    public static CompletableFuture<String> enfileirarImagemPerfil(Context contexto, Uri uriImagem, String idUsuario) {
+        Context contextoApp = contexto.getApplicationContext();
+        return ProcessadorImagem.prepararParaUpload(contextoApp, uriImagem, ProcessadorImagem.DIMENSAO_MAXIMA_PERFIL).thenApply(bytes -> {
+            String nomeBase = "profile_" + idUsuario + "_" + System.currentTimeMillis();
+            ArquivoEnvio gravado = gravar(contextoApp, nomeBase + ProcessadorImagem.EXTENSAO, bytes);
+            String[] arquivos = {gravado.caminho};
+            String[] destinos = {GerenciadorFirebase.ARMAZENAMENTO_PERFIS + "/" + idUsuario + "/" + gravado.hash
+                    + ProcessadorImagem.EXTENSAO};
+            String[] campos = {"profileImageUrl"};
+
+            String nomeTrabalho = nomeTrabalhoPerfil(idUsuario);
+            try {
+                enfileirar(contextoApp, nomeTrabalho, nomeBase, manifesto(TrabalhoEnvioImagem.TIPO_PERFIL,
+                        idUsuario, arquivos, destinos, campos));
+            } catch (JSONException e) {
+                throw new CompletionException(e);
+            }
+            return nomeTrabalho;
+        });
+    }
+
+    /**
+     * Acompanha um envio enquanto a tela estiver ativa
+     *
+     * Ao abrir uma tela sem ter agendado o envio, estados finais já existentes
+     * (envios antigos ainda guardados pelo WorkManager) são ignorados.
+     *
+     * @param contexto Contexto da tela
+     * @param dono Tela que acompanha o envio (o acompanhamento termina com ela)
+     * @param nomeTrabalho Nome retornado por nomeTrabalhoInstrumento/nomeTrabalhoPerfil
+     * @param recemAgendado true se a própria tela acabou de agendar o envio
+     * @param ouvinte Recebe o percentual e o resultado
+     */
+    public static void acompanhar(Context contexto, LifecycleOwner dono, String nomeTrabalho,
+                                  boolean recemAgendado, OuvinteEnvio ouvinte) {
+        boolean[] emAndamento = {recemAgendado};
+        WorkManager.getInstance(contexto.getApplicationContext())
+                .getWorkInfosForUniqueWorkLiveData(nomeTrabalho)
+                .observe(dono, infos -> {
+                    WorkInfo info = ultimo(infos);
+                    if (info == null) {
+                        return;
+                    }
+                    if (!info.getState().isFinished()) {
+                        emAndamento[0] = true;
+                        ouvinte.aoProgredir(calcularPercentual(info));
+                        int[] percentuais = info.getProgress().getIntArray(TrabalhoEnvioImagem.PROGRESSO_POR_IMAGEM);
+                        if (percentuais != null) {
+                            ouvinte.aoProgredirImagens(percentuais);
+                        }
+                    } else if (emAndamento[0]) {
+                        emAndamento[0] = false;
+                        ouvinte.aoConcluir(info.getState() == WorkInfo.State.SUCCEEDED);
+                    }
+                });
+    }
+
+    /**
+     * Monta o manifesto com os campos comuns a todos os envios
+     */
+    private static JSONObject manifesto(String tipo, String idAlvo, String[] arquivos, String[] destinos,
+                                        String[] campos) throws JSONException {
+        return new JSONObject()
+                .put(TrabalhoEnvioImagem.ENTRADA_TIPO, tipo)
+                .put(TrabalhoEnvioImagem.ENTRADA_ID_ALVO, idAlvo)
+                .put(TrabalhoEnvioImagem.ENTRADA_ARQUIVOS, new JSONArray(Arrays.asList(arquivos)))
+                .put(TrabalhoEnvioImagem.ENTRADA_DESTINOS, new JSONArray(Arrays.asList(destinos)))
+                .put(TrabalhoEnvioImagem.ENTRADA_CAMPOS, new JSONArray(Arrays.asList(campos)));
+    }
+
+    /**
+     * Grava o manifesto e agenda o trabalho único, substituindo o envio pendente anterior
+     */
+    private static void enfileirar(Context contexto, String nomeTrabalho, String nomeBase, JSONObject manifesto) {
+        File arquivoManifesto = new File(new File(contexto.getFilesDir(), PASTA_ENVIOS), nomeBase + EXTENSAO_MANIFESTO);
+        try (FileOutputStream saida = new FileOutputStream(arquivoManifesto)) {
+            saida.write(manifesto.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Log.e(TAG, "Erro ao gravar manifesto de envio: " + e.getMessage(), e);
+            throw new CompletionException(e);
+        }
+
+        OneTimeWorkRequest requisicao = new OneTimeWorkRequest.Builder(TrabalhoEnvioImagem.class)
+                .setInputData(new Data.Builder()
+                        .putString(TrabalhoEnvioImagem.ENTRADA_MANIFESTO, arquivoManifesto.getAbsolutePath())
+                        .build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 10, TimeUnit.SECONDS)
+                .build();
+
+        WorkManager workManager = WorkManager.getInstance(contexto);
+        try {
+            List<WorkInfo> substituidos = workManager.getWorkInfosForUniqueWork(nomeTrabalho).get();
+            // Aguardar o registro para que a tela já encontre o trabalho ao começar a acompanhar
+            workManager.enqueueUniqueWork(nomeTrabalho, ExistingWorkPolicy.REPLACE, requisicao)
+                    .getResult().get();
+            // Já cancelados pelo REPLACE: o estado salvo deles nunca seria limpo
+            for (WorkInfo substituido : substituidos) {
+                TrabalhoEnvioImagem.limparEstado(contexto, substituido.getId());
+            }
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        Log.d(TAG, "Envio agendado: " + nomeTrabalho + " ("
+                + manifesto.optJSONArray(TrabalhoEnvioImagem.ENTRADA_ARQUIVOS).length() + " arquivo(s))");
+    }
+
+    /**
+     * Grava bytes na pasta de envios pendentes, calculando o SHA-256 durante a gravação,
+     * e remove arquivos abandonados
+     *
+     * @return Caminho absoluto do arquivo gravado e hash hexadecimal do conteúdo
+     */
+    private static ArquivoEnvio gravar(Context contexto, String nome, byte[] bytes) {
+        File pasta = new File(contexto.getFilesDir(), PASTA_ENVIOS);
+        if (!pasta.exists() && !pasta.mkdirs()) {
+            throw new CompletionException(new IOException("Não foi possível criar " + pasta));
+        }
+        removerAbandonados(pasta);
+
+        File arquivo = new File(pasta, nome);
+        MessageDigest resumo;
+        try {
+            resumo = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new CompletionException(e);
+        }
+        try (DigestOutputStream saida = new DigestOutputStream(new FileOutputStream(arquivo), resumo)) {
+            saida.write(bytes);
+        } catch (IOException e) {
+            Log.e(TAG, "Erro ao gravar arquivo de envio: " + e.getMessage(), e);
+            throw new CompletionException(e);
+        }
+        return new ArquivoEnvio(arquivo.getAbsolutePath(), hexadecimal(resumo.digest()));
+    }
+
+    private static String hexadecimal(byte[] bytes) {
+        StringBuilder texto = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            texto.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Remove arquivos de envios substituídos ou cancelados há mais de uma semana
+     * (sessões de upload do Storage também expiram nesse prazo)
+     */
+    private static void removerAbandonados(File pasta) {
+        File[] arquivos = pasta.listFiles();
+        if (arquivos == null) {
+            return;
+        }
+        long limite = System.currentTimeMillis() - VALIDADE_ARQUIVOS_MS;
+        for (File arquivo : arquivos) {
+            if (arquivo.lastModified() < limite && !arquivo.delete()) {
+                Log.w(TAG, "Não foi possível remover " + arquivo);
+            }
+        }
+    }
+
+    private static WorkInfo ultimo(List<WorkInfo> infos) {
+        return infos == null || infos.isEmpty() ? null : infos.get(infos.size() - 1);
+    }
+
+    private static int calcularPercentual(WorkInfo info) {
+        long total = info.getProgress().getLong(TrabalhoEnvioImagem.PROGRESSO_TOTAL, 0);
+        long enviados = info.getProgress().getLong(TrabalhoEnvioImagem.PROGRESSO_ENVIADOS, 0);
+        return total > 0 ? (int) Math.min(100, enviados * 100 / total) : 0;
+    }
+}
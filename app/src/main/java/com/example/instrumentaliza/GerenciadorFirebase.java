@@ -2,7 +2,9 @@ package com.example.instrumentaliza;
 
 import android.content.Context;
 import android.net.Uri;
+import android.os.SystemClock;
 import android.util.Log;
+import android.util.LruCache;
 
 import androidx.annotation.NonNull;
 
@@ -21,13 +23,19 @@ import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 import com.google.firebase.storage.UploadTask;
 import com.google.firebase.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.ArrayList;
@@ -64,7 +72,7 @@ import com.example.instrumentaliza.models.FirebaseAvaliacao;
  * 
  * INSTRUMENTOS:
  * - CRUD completo de instrumentos
- * - Upload de imagens de instrumentos
+ * - Upload de imagens de instrumentos (em segundo plano via GerenciadorEnvioImagens)
  * - Busca e filtros por categoria
  * - Gerenciamento de disponibilidade
  * 
@@ -109,10 +117,23 @@ public class GerenciadorFirebase {
     private static final String COLECAO_FAVORITOS = "favorites";
     private static final String COLECAO_CHATS = "chats";
     private static final String COLECAO_MENSAGENS = "messages";
+    private static final String COLECAO_EXCLUSOES_INSTRUMENTOS = "instrument_tombstones";
+    
+    // Máximo de valores em um filtro whereIn do Firestore
+    static final int LIMITE_WHERE_IN = 30;
+    
+    // Instrumentos lidos em lote (obterInstrumentosPorIds), reaproveitados entre telas e recargas
+    private static final long VALIDADE_CACHE_INSTRUMENTOS_MS = 5 * 60 * 1000L;
+    private static final LruCache<String, InstrumentoEmCache> cacheInstrumentos = new LruCache<>(200);
     
     // Constantes para diretórios do Firebase Storage
-    private static final String ARMAZENAMENTO_INSTRUMENTOS = "instruments";
-    private static final String ARMAZENAMENTO_PERFIS = "profiles";
+    static final String ARMAZENAMENTO_INSTRUMENTOS = "instruments";
+    static final String ARMAZENAMENTO_PERFIS = "profiles";
+    
+    // Portas dos emuladores (firebase.json)
+    static final int PORTA_EMULADOR_AUTENTICACAO = 9099;
+    static final int PORTA_EMULADOR_FIRESTORE = 8080;
+    static final int PORTA_EMULADOR_ARMAZENAMENTO = 9199;
     
     /**
      * Inicializa todas as instâncias do Firebase
@@ -129,6 +150,7 @@ public class GerenciadorFirebase {
      * @param contexto Contexto da aplicação (geralmente Activity)
      */
     public static void inicializar(Context contexto) {
+        boolean primeiraInicializacao = autenticacao == null;
         if (autenticacao == null) {
             autenticacao = FirebaseAuth.getInstance();
         }
@@ -139,6 +161,15 @@ public class GerenciadorFirebase {
             armazenamento = FirebaseStorage.getInstance();
             Log.d(TAG, "FirebaseStorage inicializado");
         }
+        
+        // Emuladores locais (gradle -PfirebaseEmulatorHost=10.0.2.2): antes de qualquer acesso
+        String hostEmulador = BuildConfig.FIREBASE_EMULATOR_HOST;
+        if (primeiraInicializacao && !hostEmulador.isEmpty()) {
+            autenticacao.useEmulator(hostEmulador, PORTA_EMULADOR_AUTENTICACAO);
+            firestore.useEmulator(hostEmulador, PORTA_EMULADOR_FIRESTORE);
+            armazenamento.useEmulator(hostEmulador, PORTA_EMULADOR_ARMAZENAMENTO);
+            Log.d(TAG, "Usando emuladores do Firebase em " + hostEmulador);
+        }
         Log.d(TAG, "Firebase inicializado com sucesso - Auth: " + (autenticacao != null) + ", Firestore: " + (firestore != null) + ", Storage: " + (armazenamento != null));
     }
     
@@ -371,7 +402,7 @@ public class GerenciadorFirebase {
     // Seção responsável por operações CRUD de instrumentos musicais
     
     public static CompletableFuture<String> criarInstrumento(String idProprietario, String nome, String descricao, 
-                                                           String categoria, double preco, String uriImagem) {
+                                                           String categoria, double preco, VersoesImagem imagens) {
         CompletableFuture<String> futuro = new CompletableFuture<>();
         
         Log.d(TAG, "criarInstrumento chamado - idProprietario: " + idProprietario + ", nome: " + nome + ", categoria: " + categoria);
@@ -388,8 +419,11 @@ public class GerenciadorFirebase {
         dadosInstrumento.put("description", descricao);
         dadosInstrumento.put("category", categoria);
         dadosInstrumento.put("price", preco);
-        dadosInstrumento.put("imageUri", uriImagem);
+        dadosInstrumento.put(VersoesImagem.CAMPO_COMPLETA, imagens != null ? imagens.getUrlCompleta() : null);
+        dadosInstrumento.put(VersoesImagem.CAMPO_CARTAO, imagens != null ? imagens.getUrlCartao() : null);
+        dadosInstrumento.put(VersoesImagem.CAMPO_MINIATURA, imagens != null ? imagens.getUrlMiniatura() : null);
         dadosInstrumento.put("createdAt", Timestamp.now()); // Usar Timestamp em vez de Date
+        dadosInstrumento.put("updatedAt", FieldValue.serverTimestamp()); // Marca d'água da sincronização local
         dadosInstrumento.put("available", true);
         dadosInstrumento.put("unavailableRanges", new ArrayList<>()); // Lista vazia de faixas indisponíveis
         
@@ -411,98 +445,6 @@ public class GerenciadorFirebase {
         return futuro;
     }
     
-    public static CompletableFuture<List<DocumentSnapshot>> obterTodosInstrumentos() {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "obterTodosInstrumentos chamado");
-        
-        // Garantir que firestore está inicializado
-        if (firestore == null) {
-            firestore = FirebaseFirestore.getInstance();
-            Log.d(TAG, "Firestore inicializado em obterTodosInstrumentos");
-        }
-        
-        Log.d(TAG, "Consultando coleção: " + COLECAO_INSTRUMENTOS);
-        Log.d(TAG, "Filtros: available = true (sem ordenação temporariamente)");
-        
-        // Consulta simplificada temporariamente (sem ordenação) até o índice ser criado
-        firestore.collection(COLECAO_INSTRUMENTOS)
-                .whereEqualTo("available", true)
-                .get()
-                .addOnSuccessListener(snapshotConsulta -> {
-                    List<DocumentSnapshot> instrumentos = snapshotConsulta.getDocuments();
-                    Log.d(TAG, "Instrumentos carregados com sucesso: " + instrumentos.size());
-                    
-                    // Ordenar localmente por enquanto
-                    instrumentos.sort((a, b) -> {
-                        Object dataA = a.get("createdAt");
-                        Object dataB = b.get("createdAt");
-                        
-                        if (dataA instanceof Timestamp && dataB instanceof Timestamp) {
-                            return ((Timestamp) dataB).compareTo((Timestamp) dataA); // Mais recente primeiro
-                        } else if (dataA instanceof Date && dataB instanceof Date) {
-                            return ((Date) dataB).compareTo((Date) dataA); // Mais recente primeiro
-                        }
-                        return 0;
-                    });
-                    
-                    // Log detalhado de cada instrumento
-                    for (DocumentSnapshot documento : instrumentos) {
-                        Log.d(TAG, "Instrumento: " + documento.get("name") + " - Categoria: " + documento.get("category") + " - Preço: " + documento.get("price"));
-                    }
-                    
-                    futuro.complete(instrumentos);
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao carregar instrumentos: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
-    }
-    
-    public static CompletableFuture<List<DocumentSnapshot>> obterInstrumentosPorCategoria(String categoria) {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "obterInstrumentosPorCategoria chamado para categoria: " + categoria);
-        
-        // Garantir que firestore está inicializado
-        if (firestore == null) {
-            firestore = FirebaseFirestore.getInstance();
-        }
-        
-        // Consulta simplificada temporariamente (sem ordenação) até o índice ser criado
-        firestore.collection(COLECAO_INSTRUMENTOS)
-                .whereEqualTo("category", categoria)
-                .whereEqualTo("available", true)
-                .get()
-                .addOnSuccessListener(snapshotConsulta -> {
-                    List<DocumentSnapshot> instrumentos = snapshotConsulta.getDocuments();
-                    Log.d(TAG, "Instrumentos da categoria " + categoria + ": " + instrumentos.size());
-                    
-                    // Ordenar localmente por enquanto
-                    instrumentos.sort((a, b) -> {
-                        Object dataA = a.get("createdAt");
-                        Object dataB = b.get("createdAt");
-                        
-                        if (dataA instanceof Timestamp && dataB instanceof Timestamp) {
-                            return ((Timestamp) dataB).compareTo((Timestamp) dataA); // Mais recente primeiro
-                        } else if (dataA instanceof Date && dataB instanceof Date) {
-                            return ((Date) dataB).compareTo((Date) dataA); // Mais recente primeiro
-                        }
-                        return 0;
-                    });
-                    
-                    futuro.complete(instrumentos);
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao carregar instrumentos por categoria: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
-    }
-    
     public static CompletableFuture<List<DocumentSnapshot>> obterInstrumentosPorProprietario(String idProprietario) {
         CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
         
@@ -544,33 +486,6 @@ public class GerenciadorFirebase {
         return futuro;
     }
     
-    public static CompletableFuture<List<DocumentSnapshot>> buscarInstrumentos(String consulta) {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        // Busca por nome ou descrição
-        firestore.collection(COLECAO_INSTRUMENTOS)
-                .whereEqualTo("available", true)
-                .get()
-                .addOnSuccessListener(snapshotConsulta -> {
-                    List<DocumentSnapshot> instrumentos = snapshotConsulta.getDocuments();
-                    // Filtrar localmente por nome ou descrição
-                    instrumentos.removeIf(documento -> {
-                        String nome = (String) documento.get("name");
-                        String descricao = (String) documento.get("description");
-                        return !nome.toLowerCase().contains(consulta.toLowerCase()) &&
-                               !descricao.toLowerCase().contains(consulta.toLowerCase());
-                    });
-                    Log.d(TAG, "Instrumentos encontrados na busca: " + instrumentos.size());
-                    futuro.complete(instrumentos);
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro na busca de instrumentos: " + erro.getMessage());
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
-    }
-    
     public static CompletableFuture<DocumentSnapshot> obterInstrumentoPorId(String idInstrumento) {
         CompletableFuture<DocumentSnapshot> futuro = new CompletableFuture<>();
         
@@ -602,9 +517,12 @@ public class GerenciadorFirebase {
     public static CompletableFuture<Void> atualizarInstrumento(String idInstrumento, Map<String, Object> atualizacoes) {
         CompletableFuture<Void> futuro = new CompletableFuture<>();
         
+        Map<String, Object> atualizacoesComData = new HashMap<>(atualizacoes);
+        atualizacoesComData.put("updatedAt", FieldValue.serverTimestamp());
+        
         firestore.collection(COLECAO_INSTRUMENTOS)
                 .document(idInstrumento)
-                .update(atualizacoes)
+                .update(atualizacoesComData)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Instrumento atualizado com sucesso");
                     futuro.complete(null);
@@ -625,11 +543,11 @@ public class GerenciadorFirebase {
      * @param categoria Nova categoria do instrumento
      * @param preco Novo preço do instrumento
      * @param descricao Nova descrição do instrumento
-     * @param urlImagem Nova URL da imagem do instrumento
+     * @param imagens Novas versões da imagem, ou null para manter a imagem atual
      * @return CompletableFuture<Boolean> indicando sucesso da operação
      */
     public static CompletableFuture<Boolean> atualizarInstrumento(String idInstrumento, String nome, String categoria, 
-                                                                 double preco, String descricao, String urlImagem) {
+                                                                 double preco, String descricao, VersoesImagem imagens) {
         CompletableFuture<Boolean> futuro = new CompletableFuture<>();
         
         Log.d(TAG, "=== ATUALIZANDO INSTRUMENTO ===");
@@ -638,7 +556,7 @@ public class GerenciadorFirebase {
         Log.d(TAG, "Categoria: " + categoria);
         Log.d(TAG, "Preço: " + preco);
         Log.d(TAG, "Descrição: " + descricao);
-        Log.d(TAG, "URL Imagem: " + urlImagem);
+        Log.d(TAG, "URL Imagem: " + (imagens != null ? imagens.getUrlCompleta() : "(inalterada)"));
         
         // Garantir que firestore está inicializado
         if (firestore == null) {
@@ -651,8 +569,12 @@ public class GerenciadorFirebase {
         atualizacoes.put("category", categoria);
         atualizacoes.put("price", preco);
         atualizacoes.put("description", descricao);
-        atualizacoes.put("imageUri", urlImagem);
-        atualizacoes.put("updatedAt", Timestamp.now());
+        if (imagens != null) {
+            atualizacoes.put(VersoesImagem.CAMPO_COMPLETA, imagens.getUrlCompleta());
+            atualizacoes.put(VersoesImagem.CAMPO_CARTAO, imagens.getUrlCartao());
+            atualizacoes.put(VersoesImagem.CAMPO_MINIATURA, imagens.getUrlMiniatura());
+        }
+        atualizacoes.put("updatedAt", FieldValue.serverTimestamp());
         
         firestore.collection(COLECAO_INSTRUMENTOS)
                 .document(idInstrumento)
@@ -669,6 +591,79 @@ public class GerenciadorFirebase {
         return futuro;
     }
     
+    /**
+     * Grava a galeria de imagens de um instrumento e os campos de capa
+     * 
+     * Executado em transação para não perder imagens gravadas por outro envio
+     * concluído ao mesmo tempo. Se o instrumento foi excluído durante o envio,
+     * nada é gravado e o futuro conclui normalmente: repetir não adiantaria, e as
+     * imagens já enviadas ficam para o ColetorImagensOrfas.
+     * 
+     * @param idInstrumento ID do instrumento
+     * @param imagens Imagens enviadas, na ordem escolhida
+     * @param apenasCapa true para substituir somente a primeira imagem (tela de edição),
+     *                   false para substituir a galeria inteira
+     * @return CompletableFuture<Void> concluído após a gravação
+     */
+    public static CompletableFuture<Void> definirGaleriaInstrumento(String idInstrumento, List<VersoesImagem> imagens,
+                                                                    boolean apenasCapa) {
+        CompletableFuture<Void> futuro = new CompletableFuture<>();
+        
+        // Garantir que firestore está inicializado
+        if (firestore == null) {
+            firestore = FirebaseFirestore.getInstance();
+            Log.d(TAG, "Firestore inicializado em definirGaleriaInstrumento");
+        }
+        
+        DocumentReference referencia = firestore.collection(COLECAO_INSTRUMENTOS).document(idInstrumento);
+        firestore.runTransaction(transacao -> {
+                    DocumentSnapshot documento = transacao.get(referencia);
+                    if (!documento.exists()) {
+                        // update falharia com NOT_FOUND a cada nova tentativa do envio
+                        return false;
+                    }
+                    
+                    List<VersoesImagem> galeria = new ArrayList<>(imagens);
+                    if (apenasCapa) {
+                        // Manter as demais imagens da galeria atual
+                        List<VersoesImagem> atual = VersoesImagem.galeriaDeDocumento(documento);
+                        if (atual.size() > 1) {
+                            galeria.addAll(atual.subList(1, atual.size()));
+                        }
+                    }
+                    
+                    List<Map<String, Object>> itens = new ArrayList<>();
+                    for (VersoesImagem imagem : galeria) {
+                        itens.add(imagem.paraMapa());
+                    }
+                    VersoesImagem capa = galeria.isEmpty() ? new VersoesImagem(null, null, null) : galeria.get(0);
+                    
+                    Map<String, Object> atualizacoes = new HashMap<>();
+                    atualizacoes.put(VersoesImagem.CAMPO_GALERIA, itens);
+                    atualizacoes.put(VersoesImagem.CAMPO_COMPLETA, capa.getUrlCompleta());
+                    atualizacoes.put(VersoesImagem.CAMPO_CARTAO, capa.getUrlCartao());
+                    atualizacoes.put(VersoesImagem.CAMPO_MINIATURA, capa.getUrlMiniatura());
+                    atualizacoes.put(VersoesImagem.CAMPO_PREVIA, capa.getPrevia());
+                    atualizacoes.put("updatedAt", FieldValue.serverTimestamp());
+                    transacao.update(referencia, atualizacoes);
+                    return true;
+                })
+                .addOnSuccessListener(gravada -> {
+                    if (gravada) {
+                        Log.d(TAG, "Galeria do instrumento gravada: " + imagens.size() + " imagem(ns)");
+                    } else {
+                        Log.w(TAG, "Instrumento " + idInstrumento + " excluído durante o envio; galeria descartada");
+                    }
+                    futuro.complete(null);
+                })
+                .addOnFailureListener(erro -> {
+                    Log.e(TAG, "Erro ao gravar galeria do instrumento: " + erro.getMessage(), erro);
+                    futuro.completeExceptionally(erro);
+                });
+        
+        return futuro;
+    }
+    
     public static CompletableFuture<Boolean> deletarInstrumento(String idInstrumento) {
         CompletableFuture<Boolean> futuro = new CompletableFuture<>();
         
@@ -678,9 +673,16 @@ public class GerenciadorFirebase {
             Log.d(TAG, "Firestore inicializado em deletarInstrumento");
         }
         
-        firestore.collection(COLECAO_INSTRUMENTOS)
-                .document(idInstrumento)
-                .delete()
+        // Excluir o documento e registrar a exclusão (tombstone) na mesma escrita,
+        // para que os espelhos locais removam o instrumento na próxima sincronização
+        Map<String, Object> exclusao = new HashMap<>();
+        exclusao.put("instrumentId", idInstrumento);
+        exclusao.put("updatedAt", FieldValue.serverTimestamp());
+        
+        WriteBatch lote = firestore.batch();
+        lote.delete(firestore.collection(COLECAO_INSTRUMENTOS).document(idInstrumento));
+        lote.set(firestore.collection(COLECAO_EXCLUSOES_INSTRUMENTOS).document(idInstrumento), exclusao);
+        lote.commit()
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Instrumento deletado com sucesso");
                     futuro.complete(true);
@@ -693,6 +695,179 @@ public class GerenciadorFirebase {
         return futuro;
     }
     
+    /**
+     * Obtém os instrumentos alterados desde a marca d'água informada
+     * 
+     * Usado pela sincronização incremental do espelho local (RepositorioInstrumentos).
+     * Sem marca d'água, retorna a coleção inteira, incluindo documentos antigos
+     * que ainda não possuem o campo updatedAt.
+     * 
+     * @param desde Marca d'água (updatedAt) da última sincronização, ou null para sincronização completa
+     * @return CompletableFuture<List<DocumentSnapshot>> com os documentos alterados
+     */
+    public static CompletableFuture<List<DocumentSnapshot>> obterInstrumentosAlteradosDesde(Date desde) {
+        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
+        
+        // Garantir que firestore está inicializado
+        if (firestore == null) {
+            firestore = FirebaseFirestore.getInstance();
+        }
+        
+        Query consulta = firestore.collection(COLECAO_INSTRUMENTOS);
+        if (desde != null) {
+            consulta = consulta.whereGreaterThanOrEqualTo("updatedAt", new Timestamp(desde))
+                    .orderBy("updatedAt", Query.Direction.ASCENDING);
+        }
+        
+        consulta.get()
+                .addOnSuccessListener(snapshotConsulta -> {
+                    Log.d(TAG, "Instrumentos alterados desde " + desde + ": " + snapshotConsulta.size());
+                    futuro.complete(snapshotConsulta.getDocuments());
+                })
+                .addOnFailureListener(erro -> {
+                    Log.e(TAG, "Erro ao buscar instrumentos alterados: " + erro.getMessage(), erro);
+                    futuro.completeExceptionally(erro);
+                });
+        
+        return futuro;
+    }
+    
+    /**
+     * Obtém as exclusões de instrumentos (tombstones) registradas desde a marca d'água
+     * 
+     * @param desde Marca d'água (updatedAt) da última sincronização
+     * @return CompletableFuture<List<String>> com os IDs dos instrumentos excluídos
+     */
+    public static CompletableFuture<List<String>> obterExclusoesInstrumentosDesde(Date desde) {
+        CompletableFuture<List<String>> futuro = new CompletableFuture<>();
+        
+        // Garantir que firestore está inicializado
+        if (firestore == null) {
+            firestore = FirebaseFirestore.getInstance();
+        }
+        
+        firestore.collection(COLECAO_EXCLUSOES_INSTRUMENTOS)
+                .whereGreaterThanOrEqualTo("updatedAt", new Timestamp(desde))
+                .get()
+                .addOnSuccessListener(snapshotConsulta -> {
+                    List<String> idsExcluidos = new ArrayList<>();
+                    for (DocumentSnapshot documento : snapshotConsulta.getDocuments()) {
+                        idsExcluidos.add(documento.getId());
+                    }
+                    Log.d(TAG, "Exclusões de instrumentos desde " + desde + ": " + idsExcluidos.size());
+                    futuro.complete(idsExcluidos);
+                })
+                .addOnFailureListener(erro -> {
+                    Log.e(TAG, "Erro ao buscar exclusões de instrumentos: " + erro.getMessage(), erro);
+                    futuro.completeExceptionally(erro);
+                });
+        
+        return futuro;
+    }
+    
+    /**
+     * Busca vários instrumentos pelo ID, em lote
+     * 
+     * Usado para completar listas que referenciam instrumentos (ex.: solicitações)
+     * antes de exibi-las, em vez de uma leitura por linha durante a rolagem.
+     * IDs repetidos são consultados uma única vez e documentos lidos há menos de
+     * VALIDADE_CACHE_INSTRUMENTOS_MS são reaproveitados do cache em memória.
+     * 
+     * @param ids IDs dos instrumentos (nulos e vazios são ignorados)
+     * @return CompletableFuture<Map<String, DocumentSnapshot>> Instrumentos encontrados, por ID;
+     *         em caso de erro, apenas os que estavam em cache
+     */
+    public static CompletableFuture<Map<String, DocumentSnapshot>> obterInstrumentosPorIds(Collection<String> ids) {
+        CompletableFuture<Map<String, DocumentSnapshot>> futuro = new CompletableFuture<>();
+        
+        Map<String, DocumentSnapshot> encontrados = new HashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        long agora = SystemClock.elapsedRealtime();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (id == null || id.trim().isEmpty()) {
+                continue;
+            }
+            InstrumentoEmCache emCache = cacheInstrumentos.get(id);
+            if (emCache != null && agora - emCache.lidoEm < VALIDADE_CACHE_INSTRUMENTOS_MS) {
+                encontrados.put(id, emCache.documento);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        
+        if (faltantes.isEmpty()) {
+            futuro.complete(encontrados);
+            return futuro;
+        }
+        
+        Log.d(TAG, "Instrumentos por ID: " + encontrados.size() + " em cache, " + faltantes.size() + " a buscar");
+        
+        buscarPorIdsEmBlocos(COLECAO_INSTRUMENTOS, faltantes)
+                .thenAccept(documentos -> {
+                    long lidoEm = SystemClock.elapsedRealtime();
+                    for (DocumentSnapshot documento : documentos) {
+                        cacheInstrumentos.put(documento.getId(), new InstrumentoEmCache(documento, lidoEm));
+                        encontrados.put(documento.getId(), documento);
+                    }
+                    futuro.complete(encontrados);
+                })
+                .exceptionally(erro -> {
+                    Log.e(TAG, "Erro ao buscar instrumentos por ID: " + erro.getMessage(), erro);
+                    futuro.complete(encontrados);
+                    return null;
+                });
+        
+        return futuro;
+    }
+    
+    /**
+     * Lê documentos de uma coleção pelo ID, em consultas whereIn paralelas de até LIMITE_WHERE_IN IDs
+     * 
+     * @param colecao Nome da coleção
+     * @param ids IDs dos documentos (sem repetições)
+     * @return CompletableFuture<List<DocumentSnapshot>> Documentos existentes, sem ordem definida
+     */
+    private static CompletableFuture<List<DocumentSnapshot>> buscarPorIdsEmBlocos(String colecao, List<String> ids) {
+        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
+        
+        if (firestore == null) {
+            firestore = FirebaseFirestore.getInstance();
+        }
+        
+        List<Task<QuerySnapshot>> consultas = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += LIMITE_WHERE_IN) {
+            List<String> bloco = ids.subList(inicio, Math.min(inicio + LIMITE_WHERE_IN, ids.size()));
+            consultas.add(firestore.collection(colecao)
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(bloco))
+                    .get());
+        }
+        
+        Tasks.whenAllSuccess(consultas)
+                .addOnSuccessListener(resultados -> {
+                    List<DocumentSnapshot> documentos = new ArrayList<>();
+                    for (Object resultado : resultados) {
+                        documentos.addAll(((QuerySnapshot) resultado).getDocuments());
+                    }
+                    futuro.complete(documentos);
+                })
+                .addOnFailureListener(futuro::completeExceptionally);
+        
+        return futuro;
+    }
+    
+    /**
+     * Documento de instrumento guardado em cache, com o instante da leitura
+     */
+    private static final class InstrumentoEmCache {
+        final DocumentSnapshot documento;
+        final long lidoEm;
+        
+        InstrumentoEmCache(DocumentSnapshot documento, long lidoEm) {
+            this.documento = documento;
+            this.lidoEm = lidoEm;
+        }
+    }
+    
     // ==================== RESERVAS ====================
     // Seção responsável por operações de reservas de instrumentos
     
@@ -774,90 +949,8 @@ public class GerenciadorFirebase {
     // ==================== STORAGE ====================
     // Seção responsável por upload e download de arquivos no Firebase Storage
     
-    public static CompletableFuture<String> enviarImagemInstrumento(Uri uriImagem, String nomeArquivo) {
-        CompletableFuture<String> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "enviarImagemInstrumento chamado - URI: " + uriImagem + ", nomeArquivo: " + nomeArquivo);
-        
-        // Garantir que armazenamento está inicializado
-        if (armazenamento == null) {
-            armazenamento = FirebaseStorage.getInstance();
-            Log.d(TAG, "FirebaseStorage inicializado em enviarImagemInstrumento");
-        }
-        
-        Log.d(TAG, "Criando referência para: " + ARMAZENAMENTO_INSTRUMENTOS + "/" + nomeArquivo);
-        StorageReference referenciaArmazenamento = armazenamento.getReference().child(ARMAZENAMENTO_INSTRUMENTOS + "/" + nomeArquivo);
-        
-        Log.d(TAG, "Iniciando upload do arquivo...");
-        referenciaArmazenamento.putFile(uriImagem)
-                .addOnSuccessListener(snapshotTarefa -> {
-                    Log.d(TAG, "Upload concluído com sucesso, obtendo URL de download...");
-                    referenciaArmazenamento.getDownloadUrl()
-                            .addOnSuccessListener(uri -> {
-                                String urlDownload = uri.toString();
-                                Log.d(TAG, "Imagem do instrumento enviada: " + urlDownload);
-                                futuro.complete(urlDownload);
-                            })
-                            .addOnFailureListener(erro -> {
-                                Log.e(TAG, "Erro ao obter URL da imagem: " + erro.getMessage(), erro);
-                                futuro.completeExceptionally(erro);
-                            });
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao enviar imagem do instrumento: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
-    }
-    
-    /**
-     * Faz upload de uma nova imagem para um instrumento existente
-     * 
-     * @param uriImagem URI da nova imagem selecionada
-     * @param idInstrumento ID do instrumento que está sendo editado
-     * @return CompletableFuture<String> com a URL da nova imagem
-     */
-    public static CompletableFuture<String> fazerUploadImagemInstrumento(Uri uriImagem, String idInstrumento) {
-        CompletableFuture<String> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "fazerUploadImagemInstrumento chamado - URI: " + uriImagem + ", ID Instrumento: " + idInstrumento);
-        
-        // Garantir que armazenamento está inicializado
-        if (armazenamento == null) {
-            armazenamento = FirebaseStorage.getInstance();
-            Log.d(TAG, "FirebaseStorage inicializado em fazerUploadImagemInstrumento");
-        }
-        
-        // Gerar nome único para a nova imagem
-        String nomeArquivo = "instrumento_" + idInstrumento + "_" + System.currentTimeMillis() + ".jpg";
-        Log.d(TAG, "Nome do arquivo gerado: " + nomeArquivo);
-        
-        Log.d(TAG, "Criando referência para: " + ARMAZENAMENTO_INSTRUMENTOS + "/" + nomeArquivo);
-        StorageReference referenciaArmazenamento = armazenamento.getReference().child(ARMAZENAMENTO_INSTRUMENTOS + "/" + nomeArquivo);
-        
-        Log.d(TAG, "Iniciando upload da nova imagem...");
-        referenciaArmazenamento.putFile(uriImagem)
-                .addOnSuccessListener(snapshotTarefa -> {
-                    Log.d(TAG, "Upload da nova imagem concluído com sucesso, obtendo URL de download...");
-                    referenciaArmazenamento.getDownloadUrl()
-                            .addOnSuccessListener(uri -> {
-                                String urlDownload = uri.toString();
-                                Log.d(TAG, "Nova imagem do instrumento enviada: " + urlDownload);
-                                futuro.complete(urlDownload);
-                            })
-                            .addOnFailureListener(erro -> {
-                                Log.e(TAG, "Erro ao obter URL da nova imagem: " + erro.getMessage(), erro);
-                                futuro.completeExceptionally(erro);
-                            });
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao enviar nova imagem do instrumento: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
-    }
+    // Os envios de imagem (instrumentos e perfil) rodam em segundo plano pelo
+    // GerenciadorEnvioImagens / TrabalhoEnvioImagem, com upload retomável
     
     // Métodos para gerenciar perfil do usuário
     public static CompletableFuture<Boolean> atualizarPerfilUsuario(String idUsuario, String nome, String email, String telefone) {
@@ -881,6 +974,9 @@ public class GerenciadorFirebase {
                 .update(atualizacoes)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Perfil do usuário atualizado com sucesso");
+                    if (InstrumentalizaApplication.getInstance() != null) {
+                        PerfilLocal.registrarNome(InstrumentalizaApplication.getInstance(), idUsuario, nome);
+                    }
                     futuro.complete(true);
                 })
                 .addOnFailureListener(erro -> {
@@ -891,43 +987,6 @@ public class GerenciadorFirebase {
         return futuro;
     }
     
-    public static CompletableFuture<String> enviarImagemPerfil(Uri imageUri, String fileName) {
-        CompletableFuture<String> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "enviarImagemPerfil chamado - URI: " + imageUri + ", fileName: " + fileName);
-        
-        // Garantir que armazenamento está inicializado
-        if (armazenamento == null) {
-            armazenamento = FirebaseStorage.getInstance();
-            Log.d(TAG, "FirebaseStorage inicializado em enviarImagemPerfil");
-        }
-        
-        Log.d(TAG, "Criando referência para: " + ARMAZENAMENTO_PERFIS + "/" + fileName);
-        StorageReference armazenamentoRef = armazenamento.getReference().child(ARMAZENAMENTO_PERFIS + "/" + fileName);
-        
-        Log.d(TAG, "Iniciando upload da imagem de perfil...");
-        armazenamentoRef.putFile(imageUri)
-                .addOnSuccessListener(taskSnapshot -> {
-                    Log.d(TAG, "Upload da imagem de perfil concluído, obtendo URL de download...");
-                    armazenamentoRef.getDownloadUrl()
-                            .addOnSuccessListener(uri -> {
-                                String downloadUrl = uri.toString();
-                                Log.d(TAG, "Imagem de perfil enviada: " + downloadUrl);
-                                futuro.complete(downloadUrl);
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Erro ao obter URL da imagem de perfil: " + e.getMessage(), e);
-                                futuro.completeExceptionally(e);
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Erro ao enviar imagem de perfil: " + e.getMessage(), e);
-                    futuro.completeExceptionally(e);
-                });
-        
-        return futuro;
-    }
-    
     public static CompletableFuture<Boolean> atualizarImagemPerfilUsuario(String idUsuario, String urlImagem) {
         CompletableFuture<Boolean> futuro = new CompletableFuture<>();
         
@@ -939,10 +998,15 @@ public class GerenciadorFirebase {
             Log.d(TAG, "Firestore inicializado em atualizarImagemPerfilUsuario");
         }
         
+        // Carimbo de versão da foto: telas com o perfil em cache (PerfilLocal) só recarregam quando ele muda
+        long versaoImagem = System.currentTimeMillis();
         firestore.collection(COLECAO_USUARIOS).document(idUsuario)
-                .update("profileImageUrl", urlImagem)
+                .update("profileImageUrl", urlImagem, "profileImageVersion", versaoImagem)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Imagem de perfil do usuário atualizada com sucesso");
+                    if (InstrumentalizaApplication.getInstance() != null) {
+                        PerfilLocal.registrarImagem(InstrumentalizaApplication.getInstance(), idUsuario, urlImagem, versaoImagem);
+                    }
                     futuro.complete(true);
                 })
                 .addOnFailureListener(e -> {
@@ -1067,7 +1131,7 @@ public class GerenciadorFirebase {
         
         firestore.collection(COLECAO_FAVORITOS)
                 .whereEqualTo("userId", idUsuario)
-                // Removido temporariamente: .orderBy("createdAt", Query.Direction.DESCENDING)
+                .orderBy("createdAt", Query.Direction.DESCENDING)
                 .get()
                 .addOnSuccessListener(querySnapshot -> {
                     List<DocumentSnapshot> favorites = new ArrayList<>();
@@ -1085,6 +1149,45 @@ public class GerenciadorFirebase {
         return futuro;
     }
     
+    /**
+     * IDs dos instrumentos favoritos do usuário, em uma única consulta
+     * 
+     * Usado pelas listas de instrumentos para marcar o botão de favorito sem
+     * consultar o Firestore a cada linha. Sem ordenação: todos os favoritos do
+     * usuário são lidos, inclusive os sem "createdAt".
+     * 
+     * @param idUsuario ID do usuário
+     * @return CompletableFuture<Set<String>> IDs dos instrumentos favoritos
+     */
+    public static CompletableFuture<Set<String>> obterIdsFavoritos(String idUsuario) {
+        CompletableFuture<Set<String>> futuro = new CompletableFuture<>();
+        
+        if (firestore == null) {
+            firestore = FirebaseFirestore.getInstance();
+        }
+        
+        firestore.collection(COLECAO_FAVORITOS)
+                .whereEqualTo("userId", idUsuario)
+                .get()
+                .addOnSuccessListener(querySnapshot -> {
+                    Set<String> ids = new HashSet<>();
+                    for (DocumentSnapshot doc : querySnapshot) {
+                        String idInstrumento = doc.getString("idInstrumento");
+                        if (idInstrumento != null) {
+                            ids.add(idInstrumento);
+                        }
+                    }
+                    Log.d(TAG, "IDs de favoritos: " + ids.size());
+                    futuro.complete(ids);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Erro ao buscar IDs de favoritos: " + e.getMessage(), e);
+                    futuro.completeExceptionally(e);
+                });
+        
+        return futuro;
+    }
+    
     public static CompletableFuture<List<DocumentSnapshot>> obterInstrumentosFavoritos(String idUsuario) {
         CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
         
@@ -1112,21 +1215,16 @@ public class GerenciadorFirebase {
                         return CompletableFuture.completedFuture(null);
                     }
                     
-                    // Buscar os instrumentos
-                    firestore.collection(COLECAO_INSTRUMENTOS)
-                            .whereIn(FieldPath.documentId(), idInstrumentos)
-                            .get()
-                            .addOnSuccessListener(querySnapshot -> {
-                                List<DocumentSnapshot> instruments = new ArrayList<>();
-                                for (DocumentSnapshot doc : querySnapshot) {
-                                    instruments.add(doc);
-                                }
+                    // Buscar os instrumentos (em blocos: whereIn aceita até LIMITE_WHERE_IN IDs)
+                    buscarPorIdsEmBlocos(COLECAO_INSTRUMENTOS, new ArrayList<>(new LinkedHashSet<>(idInstrumentos)))
+                            .thenAccept(instruments -> {
                                 Log.d(TAG, "Instrumentos favoritos encontrados: " + instruments.size());
                                 futuro.complete(instruments);
                             })
-                            .addOnFailureListener(e -> {
+                            .exceptionally(e -> {
                                 Log.e(TAG, "Erro ao buscar instrumentos favoritos: " + e.getMessage(), e);
                                 futuro.completeExceptionally(e);
+                                return null;
                             });
                     
                     return CompletableFuture.completedFuture(null);
@@ -1155,7 +1253,7 @@ public class GerenciadorFirebase {
         
         Map<String, Object> atualizacoes = new HashMap<>();
         atualizacoes.put("unavailableRanges", faixasIndisponiveis);
-        atualizacoes.put("updatedAt", Timestamp.now());
+        atualizacoes.put("updatedAt", FieldValue.serverTimestamp());
         
         firestore.collection(COLECAO_INSTRUMENTOS).document(idInstrumento)
                 .update(atualizacoes)
@@ -1384,26 +1482,12 @@ public class GerenciadorFirebase {
         
         firestore.collection(COLECAO_MENSAGENS)
                 .whereEqualTo("chatId", idChat)
-                // Temporariamente removido orderBy para evitar necessidade de índice
-                // .orderBy("timestamp", com.google.firebase.firestore.Query.Direction.ASCENDING)
+                .orderBy("timestamp", Query.Direction.ASCENDING)
                 .get()
                 .addOnSuccessListener(snapshotConsulta -> {
                     List<DocumentSnapshot> mensagens = snapshotConsulta.getDocuments();
                     Log.d(TAG, "Mensagens carregadas: " + mensagens.size());
                     
-                    // Ordenar localmente por timestamp (mais antiga primeiro)
-                    mensagens.sort((a, b) -> {
-                        Object timestampA = a.get("timestamp");
-                        Object timestampB = b.get("timestamp");
-                        
-                        if (timestampA instanceof com.google.firebase.Timestamp && timestampB instanceof com.google.firebase.Timestamp) {
-                            return ((com.google.firebase.Timestamp) timestampA).compareTo((com.google.firebase.Timestamp) timestampB);
-                        } else if (timestampA instanceof Date && timestampB instanceof Date) {
-                            return ((Date) timestampA).compareTo((Date) timestampB);
-                        }
-                        return 0;
-                    });
-                    
                     futuro.complete(mensagens);
                 })
                 .addOnFailureListener(erro -> {
@@ -1431,8 +1515,7 @@ public class GerenciadorFirebase {
         firestore.collection(COLECAO_CHATS)
                 .whereEqualTo("status", "active")
                 .whereEqualTo("locatorId", idUsuario)
-                // Temporariamente removido orderBy para evitar necessidade de índice
-                // .orderBy("lastMessageAt", com.google.firebase.firestore.Query.Direction.DESCENDING)
+                .orderBy("lastMessageAt", Query.Direction.DESCENDING)
                 .get()
                 .addOnSuccessListener(snapshotConsulta1 -> {
                     List<DocumentSnapshot> chatsComoLocatario = snapshotConsulta1.getDocuments();
@@ -1441,8 +1524,7 @@ public class GerenciadorFirebase {
                     firestore.collection(COLECAO_CHATS)
                             .whereEqualTo("status", "active")
                             .whereEqualTo("ownerId", idUsuario)
-                            // Temporariamente removido orderBy para evitar necessidade de índice
-                            // .orderBy("lastMessageAt", com.google.firebase.firestore.Query.Direction.DESCENDING)
+                            .orderBy("lastMessageAt", Query.Direction.DESCENDING)
                             .get()
                             .addOnSuccessListener(snapshotConsulta2 -> {
                                 List<DocumentSnapshot> chatsComoProprietario = snapshotConsulta2.getDocuments();
@@ -1522,7 +1604,8 @@ public class GerenciadorFirebase {
                         contadorProcessados[0]++;
                         if (contadorProcessados[0] == todosChats.size()) {
                             // Todos os chats foram verificados
-                            // Ordenar por lastMessageAt (mais recente primeiro) - ordenação local
+                            // As duas consultas já vêm ordenadas, mas as respostas chegam fora de ordem:
+                            // reordenar a lista combinada por lastMessageAt (mais recente primeiro)
                             chatsComMensagens.sort((a, b) -> {
                                 Object dataA = a.get("lastMessageAt");
                                 Object dataB = b.get("lastMessageAt");
@@ -1975,95 +2058,52 @@ public class GerenciadorFirebase {
     }
     
     /**
-     * Buscar solicitações de um proprietário
+     * Consultas das solicitações de um usuário, na ordem de exibição
+     * 
+     * A ordem é definida no servidor para continuar correta entre páginas
+     * (ListaPaginada): primeiro as pendentes (antigas primeiro), depois as
+     * aceitas/recusadas (recentes primeiro).
+     * 
+     * @param campoUsuario "proprietarioId" (recebidas) ou "solicitanteId" (enviadas)
+     * @param idUsuario ID do usuário
+     * @return Consultas a serem lidas em sequência
      */
-    public static CompletableFuture<List<DocumentSnapshot>> buscarSolicitacoesProprietario(String idProprietario) {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "=== BUSCANDO SOLICITAÇÕES DO PROPRIETÁRIO ===");
-        Log.d(TAG, "ID do proprietário: " + idProprietario);
-        
-        // Garantir que firestore está inicializado
+    public static Query[] consultasSolicitacoes(String campoUsuario, String idUsuario) {
         if (firestore == null) {
             firestore = FirebaseFirestore.getInstance();
-            Log.d(TAG, "Firestore inicializado em buscarSolicitacoesProprietario");
         }
         
-        Log.d(TAG, "Executando consulta: collection('solicitacoes').whereEqualTo('proprietarioId', '" + idProprietario + "')");
-        
-        firestore.collection("solicitacoes")
-                .whereEqualTo("proprietarioId", idProprietario)
-                .get()
-                .addOnSuccessListener(snapshotConsulta -> {
-                    List<DocumentSnapshot> solicitacoes = snapshotConsulta.getDocuments();
-                    Log.d(TAG, "✓ Consulta executada com sucesso!");
-                    Log.d(TAG, "Total de solicitações encontradas: " + solicitacoes.size());
-                    
-                    // Ordenar por data de criação (mais recente primeiro)
-                    solicitacoes.sort((doc1, doc2) -> {
-                        Timestamp timestamp1 = (Timestamp) doc1.get("dataCriacao");
-                        Timestamp timestamp2 = (Timestamp) doc2.get("dataCriacao");
-                        
-                        if (timestamp1 == null || timestamp2 == null) return 0;
-                        
-                        return timestamp2.compareTo(timestamp1); // Descendente
-                    });
-                    
-                    // Log de cada documento encontrado
-                    for (int i = 0; i < solicitacoes.size(); i++) {
-                        DocumentSnapshot doc = solicitacoes.get(i);
-                        Log.d(TAG, "Documento " + (i+1) + ": " + doc.getId());
-                        Log.d(TAG, "  - proprietarioId: " + doc.getString("proprietarioId"));
-                        Log.d(TAG, "  - instrumentoId: " + doc.getString("instrumentoId"));
-                        Log.d(TAG, "  - status: " + doc.getString("status"));
-                        Log.d(TAG, "  - dataCriacao: " + doc.get("dataCriacao"));
-                    }
-                    
-                    futuro.complete(solicitacoes);
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao buscar solicitações: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
+        Query pendentes = firestore.collection("solicitacoes")
+                .whereEqualTo(campoUsuario, idUsuario)
+                .whereEqualTo("status", "PENDENTE")
+                .orderBy("dataCriacao", Query.Direction.ASCENDING);
+        Query respondidas = firestore.collection("solicitacoes")
+                .whereEqualTo(campoUsuario, idUsuario)
+                .whereIn("status", Arrays.asList("ACEITA", "RECUSADA"))
+                .orderBy("dataCriacao", Query.Direction.DESCENDING);
+        return new Query[]{pendentes, respondidas};
     }
     
     /**
-     * Buscar solicitações de um solicitante
+     * Verifica se um proprietário tem solicitações não lidas
+     * 
+     * Lê no máximo um documento (usado para o ícone de notificação).
      */
-    public static CompletableFuture<List<DocumentSnapshot>> buscarSolicitacoesSolicitante(String idSolicitante) {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "Buscando solicitações do solicitante: " + idSolicitante);
+    public static CompletableFuture<Boolean> possuiSolicitacoesNaoLidas(String idProprietario) {
+        CompletableFuture<Boolean> futuro = new CompletableFuture<>();
         
-        // Garantir que firestore está inicializado
         if (firestore == null) {
             firestore = FirebaseFirestore.getInstance();
-            Log.d(TAG, "Firestore inicializado em buscarSolicitacoesSolicitante");
         }
         
         firestore.collection("solicitacoes")
-                .whereEqualTo("solicitanteId", idSolicitante)
+                .whereEqualTo("proprietarioId", idProprietario)
+                .whereEqualTo("lida", false)
+                .limit(1)
                 .get()
-                .addOnSuccessListener(snapshotConsulta -> {
-                    List<DocumentSnapshot> solicitacoes = snapshotConsulta.getDocuments();
-                    Log.d(TAG, "Solicitações encontradas: " + solicitacoes.size());
-                    
-                    // Ordenar por data de criação (mais recente primeiro)
-                    solicitacoes.sort((doc1, doc2) -> {
-                        Timestamp timestamp1 = (Timestamp) doc1.get("dataCriacao");
-                        Timestamp timestamp2 = (Timestamp) doc2.get("dataCriacao");
-                        
-                        if (timestamp1 == null || timestamp2 == null) return 0;
-                        
-                        return timestamp2.compareTo(timestamp1); // Descendente
-                    });
-                    
-                    futuro.complete(solicitacoes);
-                })
+                .addOnSuccessListener(snapshotConsulta -> futuro.complete(!snapshotConsulta.isEmpty()))
                 .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao buscar solicitações: " + erro.getMessage(), erro);
+                    Log.e(TAG, "Erro ao verificar solicitações não lidas: " + erro.getMessage(), erro);
                     futuro.completeExceptionally(erro);
                 });
         
@@ -2309,58 +2349,33 @@ public class GerenciadorFirebase {
     }
     
     /**
-     * Buscar reservas de um usuário
+     * Consulta das reservas em que o usuário é locatário (mais recentes primeiro)
+     * 
+     * Lida em páginas pela ListaPaginada.
      */
-    public static CompletableFuture<List<DocumentSnapshot>> buscarReservasUsuario(String idUsuario) {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "=== BUSCANDO RESERVAS DO USUÁRIO ===");
-        Log.d(TAG, "ID do usuário: " + idUsuario);
-        
-        // Garantir que firestore está inicializado
+    public static Query consultaReservasComoLocatario(String idUsuario) {
         if (firestore == null) {
             firestore = FirebaseFirestore.getInstance();
-            Log.d(TAG, "Firestore inicializado em buscarReservasUsuario");
         }
         
-        Log.d(TAG, "Executando consulta: collection('reservations').whereEqualTo('userId', '" + idUsuario + "')");
-        
-        firestore.collection("reservations")
+        return firestore.collection("reservations")
                 .whereEqualTo("userId", idUsuario)
-                .get()
-                .addOnSuccessListener(snapshotConsulta -> {
-                    List<DocumentSnapshot> reservas = snapshotConsulta.getDocuments();
-                    Log.d(TAG, "✓ Consulta executada com sucesso!");
-                    Log.d(TAG, "Total de reservas encontradas: " + reservas.size());
-                    
-                    // Ordenar por data de criação (mais recente primeiro)
-                    reservas.sort((doc1, doc2) -> {
-                        Timestamp timestamp1 = (Timestamp) doc1.get("createdAt");
-                        Timestamp timestamp2 = (Timestamp) doc2.get("createdAt");
-                        
-                        if (timestamp1 == null || timestamp2 == null) return 0;
-                        
-                        return timestamp2.compareTo(timestamp1); // Descendente
-                    });
-                    
-                    // Log de cada documento encontrado
-                    for (int i = 0; i < reservas.size(); i++) {
-                        DocumentSnapshot doc = reservas.get(i);
-                        Log.d(TAG, "Reserva " + (i+1) + ": " + doc.getId());
-                        Log.d(TAG, "  - userId: " + doc.getString("userId"));
-                        Log.d(TAG, "  - instrumentId: " + doc.getString("instrumentId"));
-                        Log.d(TAG, "  - status: " + doc.getString("status"));
-                        Log.d(TAG, "  - totalPrice: " + doc.getDouble("totalPrice"));
-                    }
-                    
-                    futuro.complete(reservas);
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao buscar reservas: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
-                });
+                .orderBy("createdAt", Query.Direction.DESCENDING);
+    }
+    
+    /**
+     * Consulta das reservas dos instrumentos do usuário (mais recentes primeiro)
+     * 
+     * Lida em páginas pela ListaPaginada.
+     */
+    public static Query consultaReservasComoProprietario(String idUsuario) {
+        if (firestore == null) {
+            firestore = FirebaseFirestore.getInstance();
+        }
         
-        return futuro;
+        return firestore.collection("reservations")
+                .whereEqualTo("ownerId", idUsuario)
+                .orderBy("createdAt", Query.Direction.DESCENDING);
     }
     
     /**
@@ -2421,6 +2436,7 @@ public class GerenciadorFirebase {
                     // Atualizar o documento do instrumento
                     Map<String, Object> atualizacoes = new HashMap<>();
                     atualizacoes.put("unavailableRanges", periodosIndisponiveis);
+                    atualizacoes.put("updatedAt", FieldValue.serverTimestamp());
                     
                     firestore.collection("instruments").document(instrumentoId)
                             .update(atualizacoes)
@@ -2727,36 +2743,20 @@ public class GerenciadorFirebase {
     }
     
     /**
-     * Obtém todas as avaliações recebidas por um proprietário
+     * Consulta das avaliações recebidas por um proprietário (mais recentes primeiro)
+     * 
+     * Lida em páginas pela ListaPaginada.
      * 
      * @param proprietarioId ID do proprietário
-     * @return CompletableFuture<List<DocumentSnapshot>> com as avaliações
      */
-    public static CompletableFuture<List<DocumentSnapshot>> obterAvaliacoesProprietario(String proprietarioId) {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
-        
-        Log.d(TAG, "=== OBTENDO AVALIAÇÕES DO PROPRIETÁRIO ===");
-        Log.d(TAG, "Proprietário: " + proprietarioId);
-        
+    public static Query consultaAvaliacoesProprietario(String proprietarioId) {
         if (firestore == null) {
             firestore = FirebaseFirestore.getInstance();
         }
         
-        firestore.collection("avaliacoes")
+        return firestore.collection("avaliacoes")
                 .whereEqualTo("proprietarioId", proprietarioId)
-                .orderBy("dataAvaliacao", Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    List<DocumentSnapshot> avaliacoes = querySnapshot.getDocuments();
-                    Log.d(TAG, "Avaliações encontradas: " + avaliacoes.size());
-                    futuro.complete(avaliacoes);
-                })
-                .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao obter avaliações do proprietário: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
-                });
-        
-        return futuro;
+                .orderBy("dataAvaliacao", Query.Direction.DESCENDING);
     }
     
     /**
@@ -2805,6 +2805,7 @@ public class GerenciadorFirebase {
                     Map<String, Object> atualizacoes = new HashMap<>();
                     atualizacoes.put("notaMedia", notaMedia);
                     atualizacoes.put("totalAvaliacoes", totalAvaliacoes);
+                    atualizacoes.put("updatedAt", FieldValue.serverTimestamp());
                     
                     Log.d(TAG, "Tentando atualizar instrumento " + instrumentoId + " com nota média: " + notaMedia);
                     
@@ -2826,6 +2827,7 @@ public class GerenciadorFirebase {
                                                 Map<String, Object> dados = documentSnapshot.getData();
                                                 dados.put("notaMedia", notaMedia);
                                                 dados.put("totalAvaliacoes", totalAvaliacoes);
+                                                dados.put("updatedAt", FieldValue.serverTimestamp());
                                                 
                                                 firestore.collection("instruments").document(instrumentoId)
                                                         .set(dados)
@@ -3124,49 +3126,77 @@ public class GerenciadorFirebase {
     }
     
     /**
-     * Busca avaliações recebidas por um usuário (quando ele foi locatário)
+     * Descobre, de uma vez, quais reservas de uma lista já foram avaliadas
      * 
-     * @param usuarioId ID do usuário (como locatário)
-     * @return CompletableFuture<List<DocumentSnapshot>> Lista de avaliações recebidas como locatário
+     * Substitui uma chamada de verificarSeReservaFoiAvaliada por linha: os IDs
+     * são consultados em blocos de até LIMITE_WHERE_IN com whereIn, todos em paralelo.
+     * 
+     * @param reservaIds IDs das reservas a verificar
+     * @param tipoAvaliacao "instrumento" ou "usuario"
+     * @return CompletableFuture<Set<String>> IDs das reservas já avaliadas; em caso de erro,
+     *         conjunto vazio (permite avaliar, como na verificação individual)
      */
-    public static CompletableFuture<List<DocumentSnapshot>> obterAvaliacoesRecebidas(String usuarioId) {
-        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
+    public static CompletableFuture<Set<String>> obterReservasAvaliadas(List<String> reservaIds, String tipoAvaliacao) {
+        CompletableFuture<Set<String>> futuro = new CompletableFuture<>();
+        
+        if (reservaIds.isEmpty()) {
+            futuro.complete(new HashSet<>());
+            return futuro;
+        }
         
         if (firestore == null) {
             firestore = FirebaseFirestore.getInstance();
         }
         
-        Log.d(TAG, "Buscando avaliações recebidas para usuário: " + usuarioId);
+        String collection = tipoAvaliacao.equals("usuario") ? "avaliacoes_usuarios" : "avaliacoes";
         
-        firestore.collection("avaliacoes_usuarios")
-                .whereEqualTo("avaliadoId", usuarioId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    List<DocumentSnapshot> avaliacoes = querySnapshot.getDocuments();
-                    
-                    // Ordenar manualmente por data de avaliação (mais recente primeiro)
-                    avaliacoes.sort((doc1, doc2) -> {
-                        Timestamp data1 = doc1.getTimestamp("dataAvaliacao");
-                        Timestamp data2 = doc2.getTimestamp("dataAvaliacao");
-                        
-                        if (data1 == null && data2 == null) return 0;
-                        if (data1 == null) return 1;
-                        if (data2 == null) return -1;
-                        
-                        return data2.compareTo(data1); // DESCENDING
-                    });
-                    
-                    Log.d(TAG, "Encontradas " + avaliacoes.size() + " avaliações recebidas");
-                    futuro.complete(avaliacoes);
+        List<Task<QuerySnapshot>> consultas = new ArrayList<>();
+        for (int inicio = 0; inicio < reservaIds.size(); inicio += LIMITE_WHERE_IN) {
+            List<String> bloco = reservaIds.subList(inicio, Math.min(inicio + LIMITE_WHERE_IN, reservaIds.size()));
+            consultas.add(firestore.collection(collection)
+                    .whereIn("reservaId", new ArrayList<>(bloco))
+                    .get());
+        }
+        
+        Tasks.whenAllSuccess(consultas)
+                .addOnSuccessListener(resultados -> {
+                    Set<String> avaliadas = new HashSet<>();
+                    for (Object resultado : resultados) {
+                        for (DocumentSnapshot avaliacao : ((QuerySnapshot) resultado).getDocuments()) {
+                            String reservaId = avaliacao.getString("reservaId");
+                            if (reservaId != null) {
+                                avaliadas.add(reservaId);
+                            }
+                        }
+                    }
+                    Log.d(TAG, "Reservas avaliadas (" + tipoAvaliacao + "): " + avaliadas.size() + " de " + reservaIds.size());
+                    futuro.complete(avaliadas);
                 })
                 .addOnFailureListener(erro -> {
-                    Log.e(TAG, "Erro ao buscar avaliações recebidas: " + erro.getMessage(), erro);
-                    futuro.completeExceptionally(erro);
+                    Log.e(TAG, "Erro ao buscar reservas avaliadas: " + erro.getMessage(), erro);
+                    futuro.complete(new HashSet<>()); // Em caso de erro, permitir avaliação
                 });
         
         return futuro;
     }
     
+    /**
+     * Consulta das avaliações recebidas por um usuário como locatário (mais recentes primeiro)
+     * 
+     * Lida em páginas pela ListaPaginada.
+     * 
+     * @param usuarioId ID do usuário (como locatário)
+     */
+    public static Query consultaAvaliacoesRecebidas(String usuarioId) {
+        if (firestore == null) {
+            firestore = FirebaseFirestore.getInstance();
+        }
+        
+        return firestore.collection("avaliacoes_usuarios")
+                .whereEqualTo("avaliadoId", usuarioId)
+                .orderBy("dataAvaliacao", Query.Direction.DESCENDING);
+    }
+    
     /**
      * Busca avaliações de instrumentos feitas por um usuário
      * 
@@ -0,0 +1,202 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatViewInflater;
+import androidx.core.view.LayoutInflaterCompat;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.android.material.theme.MaterialComponentsViewInflater;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * InfladorAntecipado - Linhas das listas infladas em background antes de serem necessárias
+ *
+ * Os cartões de instrumento, reserva, solicitação e conversa eram inflados na
+ * thread principal durante a primeira rolagem, causando travadas em aparelhos
+ * mais fracos. Enquanto os dados da tela carregam, algumas views de cada
+ * layout são infladas em uma thread de background; o onCreateViewHolder
+ * dos adaptadores usa essas views antes de inflar novas.
+ *
+ * Funcionalidades:
+ * - Pré-inflação de uma quantidade configurável de views por layout (R.integer.prewarm_item_views)
+ * - Entrega das views prontas aos adaptadores (obter), com inflação síncrona se não houver nenhuma
+ * - Views descartadas quando a atividade é destruída
+ *
+ * Características técnicas:
+ * - Views separadas por atividade: uma linha nunca é usada com o contexto de outra tela
+ * - Inflação com a mesma substituição de widgets do tema (MaterialComponentsViewInflater),
+ *   como no onCreateViewHolder: RatingBar, TextView, Button etc. viram AppCompatRatingBar,
+ *   MaterialTextView, MaterialButton... (o AsyncLayoutInflater usa um inflador sem fábrica
+ *   e criaria os widgets da plataforma)
+ * - Um inflador de widgets novo por inflação em background: o da atividade (AppCompatDelegate)
+ *   não é thread-safe e continua sendo usado pela thread principal
+ * - LayoutParams gerados por um FrameLayout desanexado, nunca pela lista em uso; a view
+ *   recebe RecyclerView.LayoutParams na thread principal
+ * - Layouts que não podem ser inflados fora da thread principal são inflados nela
+ * - Estado acessado apenas na thread principal (as views prontas são entregues nela)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class InfladorAntecipado {
+
+    // Constantes
+    private static final String TAG = "InfladorAntecipado";
+
+    // Thread única de inflação e retorno das views à thread principal
+    private static final ExecutorService executorInflacao = Executors.newSingleThreadExecutor();
+    private static final Handler principal = new Handler(Looper.getMainLooper());
+
+    // Views prontas e inflações em andamento, por atividade e por layout
+    private static final Map<Context, SparseArray<ArrayDeque<View>>> prontas = new HashMap<>();
+    private static final Map<Context, SparseIntArray> pendentes = new HashMap<>();
+
+    private InfladorAntecipado() {
+    }
+
+    /**
+     * Infla views do layout em background até haver a quantidade pedida (prontas + em andamento)
+     *
+     * @param pai Lista que receberá as views (define o contexto e os LayoutParams)
+     * @param layoutItem Layout do item
+     * @param quantidade Views desejadas para este layout
+     */
+    public static void preInflar(ViewGroup pai, @LayoutRes int layoutItem, int quantidade) {
+        Context contexto = pai.getContext();
+        if (!(contexto instanceof LifecycleOwner)) {
+            return;
+        }
+        Lifecycle ciclo = ((LifecycleOwner) contexto).getLifecycle();
+        if (ciclo.getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+
+        if (!prontas.containsKey(contexto)) {
+            prontas.put(contexto, new SparseArray<>());
+            pendentes.put(contexto, new SparseIntArray());
+            ciclo.addObserver(new DefaultLifecycleObserver() {
+                @Override
+                public void onDestroy(@NonNull LifecycleOwner dono) {
+                    prontas.remove(contexto);
+                    pendentes.remove(contexto);
+                }
+            });
+        }
+
+        int faltantes = quantidade - fila(contexto, layoutItem).size() - pendentes.get(contexto).get(layoutItem);
+        if (faltantes <= 0) {
+            return;
+        }
+
+        // Raiz desanexada: gera os LayoutParams sem tocar na lista (e no seu LayoutManager) fora da thread principal
+        FrameLayout raizDesanexada = new FrameLayout(contexto);
+        for (int i = 0; i < faltantes; i++) {
+            pendentes.get(contexto).put(layoutItem, pendentes.get(contexto).get(layoutItem) + 1);
+            executorInflacao.execute(() -> {
+                View inflada;
+                try {
+                    inflada = infladorComWidgetsDoTema(contexto).inflate(layoutItem, raizDesanexada, false);
+                } catch (RuntimeException e) {
+                    // Ex.: view que cria um Handler no construtor; inflar na thread principal
+                    Log.w(TAG, "Inflação em background falhou, inflando na thread principal", e);
+                    inflada = null;
+                }
+                View view = inflada;
+                principal.post(() -> {
+                    SparseIntArray emAndamento = pendentes.get(contexto);
+                    if (emAndamento == null) {
+                        // Atividade destruída durante a inflação
+                        return;
+                    }
+                    emAndamento.put(layoutItem, emAndamento.get(layoutItem) - 1);
+                    if (view == null) {
+                        fila(contexto, layoutItem).add(LayoutInflater.from(contexto).inflate(layoutItem, pai, false));
+                        return;
+                    }
+                    ViewGroup.MarginLayoutParams parametros = (ViewGroup.MarginLayoutParams) view.getLayoutParams();
+                    view.setLayoutParams(new RecyclerView.LayoutParams(parametros));
+                    fila(contexto, layoutItem).add(view);
+                });
+            });
+        }
+        Log.d(TAG, "Pré-inflando " + faltantes + " views de " + pai.getResources().getResourceEntryName(layoutItem));
+    }
+
+    /**
+     * View para um novo ViewHolder: uma pré-inflada, se houver, ou uma inflada agora
+     *
+     * @param pai RecyclerView recebido no onCreateViewHolder
+     * @param layoutItem Layout do item
+     */
+    public static View obter(ViewGroup pai, @LayoutRes int layoutItem) {
+        SparseArray<ArrayDeque<View>> filas = prontas.get(pai.getContext());
+        if (filas != null) {
+            ArrayDeque<View> fila = filas.get(layoutItem);
+            if (fila != null && !fila.isEmpty()) {
+                return fila.poll();
+            }
+        }
+        return LayoutInflater.from(pai.getContext()).inflate(layoutItem, pai, false);
+    }
+
+    /**
+     * Inflador da atividade que substitui os widgets como o tema (MaterialComponentsViewInflater)
+     *
+     * Criado para cada inflação em background: parte do inflador da aplicação, que
+     * não tem fábrica, e usa um MaterialComponentsViewInflater próprio em vez do
+     * AppCompatDelegate da atividade, que só pode ser usado na thread principal.
+     */
+    private static LayoutInflater infladorComWidgetsDoTema(Context contexto) {
+        LayoutInflater inflador = LayoutInflater.from(contexto.getApplicationContext()).cloneInContext(contexto);
+        AppCompatViewInflater widgets = new MaterialComponentsViewInflater();
+        LayoutInflaterCompat.setFactory2(inflador, new LayoutInflater.Factory2() {
+            @Nullable
+            @Override
+            public View onCreateView(@Nullable View parent, @NonNull String nome, @NonNull Context contextoView,
+                                     @NonNull AttributeSet atributos) {
+                // Mesmos argumentos do AppCompatDelegate a partir do Lollipop (minSdk 24)
+                return widgets.createView(parent, nome, contextoView, atributos, false, false, true, false);
+            }
+
+            @Nullable
+            @Override
+            public View onCreateView(@NonNull String nome, @NonNull Context contextoView,
+                                     @NonNull AttributeSet atributos) {
+                return onCreateView(null, nome, contextoView, atributos);
+            }
+        });
+        return inflador;
+    }
+
+    private static ArrayDeque<View> fila(Context contexto, int layoutItem) {
+        SparseArray<ArrayDeque<View>> filas = prontas.get(contexto);
+        ArrayDeque<View> fila = filas.get(layoutItem);
+        if (fila == null) {
+            fila = new ArrayDeque<>();
+            filas.put(layoutItem, fila);
+        }
+        return fila;
+    }
+}
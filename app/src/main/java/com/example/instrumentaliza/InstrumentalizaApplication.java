@@ -37,6 +37,9 @@ public class InstrumentalizaApplication extends Application {
         // Inicializar Firebase
         GerenciadorFirebase.inicializar(this);
         
+        // Agendar a limpeza periódica de imagens órfãs do Storage
+        TrabalhoLimpezaArmazenamento.agendar(this);
+        
         // Inicializar gerenciador de notificações
         gerenciadorNotificacoes = new GerenciadorNotificacoes(this);
         
@@ -1,105 +1,275 @@
 package com.example.instrumentaliza;
 
+import androidx.annotation.NonNull;
 import androidx.room.Entity;
-import androidx.room.ForeignKey;
 import androidx.room.PrimaryKey;
 import androidx.room.Index;
 
+import com.example.instrumentaliza.models.FirebaseInstrument;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
- * Instrumento - Modelo de dados para instrumentos musicais
- * 
- * Esta classe representa um instrumento musical no sistema, contendo todas
- * as informações necessárias para identificação, categorização e aluguel.
- * É uma entidade Room Database que mantém relacionamento com Usuario.
- * 
+ * Instrumento - Espelho local de um instrumento musical do Firestore
+ *
+ * Esta classe representa uma cópia local de um documento da coleção
+ * "instruments" do Firestore. É mantida pelo RepositorioInstrumentos através
+ * de sincronização incremental (campo updatedAt), permitindo que o catálogo,
+ * a busca e os filtros rodem contra o banco local em vez de baixar a coleção
+ * inteira a cada abertura da tela.
+ *
  * Funcionalidades:
- * - Armazenamento de dados básicos do instrumento
- * - Relacionamento com proprietário (Usuario)
- * - Suporte a categorização por tipo
- * - Gerenciamento de preços de aluguel
- * - Armazenamento de URI de imagem
- * 
+ * - Armazenamento dos dados básicos do instrumento
+ * - Categoria já normalizada (sem acentos) para filtros
+ * - Faixas de indisponibilidade serializadas para o filtro por datas
+ * - Nota média e total de avaliações para exibição no catálogo
+ * - Conversão de/para os modelos do Firebase
+ *
  * Características técnicas:
- * - Entidade Room Database com chave primária auto-incremento
- * - Foreign Key para Usuario (proprietário)
+ * - Entidade Room Database com chave primária igual ao ID do documento Firestore
  * - Índice no campo idProprietario para performance
- * - Cascade delete quando proprietário é removido
- * 
+ * - Índices compostos (disponivel, categoria, preco, id) e (disponivel, preco, id)
+ *   para que o catálogo filtre e ordene sem B-tree temporária
+ * - Faixas indisponíveis no formato "inicioMs:fimMs;inicioMs:fimMs"
+ *
  * @author Jhonata
  * @version 1.0
  */
 @Entity(tableName = "instrumentos",
-        foreignKeys = @ForeignKey(
-                entity = Usuario.class,
-                parentColumns = "id",
-                childColumns = "idProprietario",
-                onDelete = ForeignKey.CASCADE
-        ),
-        indices = {@Index("idProprietario")})
+        indices = {
+            @Index("idProprietario"),
+            // Índices compostos usados pela ConsultaInstrumentos (filtro + ordenação por preço)
+            @Index({"disponivel", "categoria", "preco", "id"}),
+            @Index({"disponivel", "preco", "id"})
+        })
 public class Instrumento {
-    
-    // Chave primária auto-incremento
-    @PrimaryKey(autoGenerate = true)
-    private long id;
-    
+
+    // Chave primária: ID do documento no Firestore
+    @PrimaryKey
+    @NonNull
+    private String id = "";
+
     // Dados do instrumento
-    private long idProprietario; // ID do usuário dono do instrumento
+    private String idProprietario; // UID do usuário dono do instrumento
     private String nome;
     private String descricao;
     private String categoria;
     private double preco;
     private String uriImagem;
+    private String uriMiniatura;
+    private String uriCartao;
+    private String previaImagem;
+
+    // Disponibilidade e avaliações
+    private boolean disponivel;
+    private String faixasIndisponiveis;
+    private double notaMedia;
+    private long totalAvaliacoes;
+
+    // Metadados de sincronização
+    private Date criadoEm;
+    private Date atualizadoEm;
 
     /**
-     * Construtor do instrumento
-     * 
-     * @param idProprietario ID do usuário proprietário do instrumento
-     * @param nome Nome do instrumento
-     * @param descricao Descrição detalhada do instrumento
-     * @param categoria Categoria do instrumento (Cordas, Teclas, etc.)
-     * @param preco Preço de aluguel por dia
-     * @param uriImagem URI da imagem do instrumento
+     * Construtor vazio usado pelo Room
      */
-    public Instrumento(long idProprietario, String nome, String descricao, String categoria, double preco, String uriImagem) {
-        this.idProprietario = idProprietario;
-        this.nome = nome;
-        this.descricao = descricao;
-        this.categoria = categoria;
-        this.preco = preco;
-        this.uriImagem = uriImagem;
+    public Instrumento() {
+    }
+
+    /**
+     * Cria o espelho local a partir de um documento do Firestore
+     *
+     * @param documento DocumentSnapshot da coleção "instruments"
+     * @return Instrumento pronto para ser gravado no banco local
+     */
+    public static Instrumento deDocumento(DocumentSnapshot documento) {
+        Instrumento instrumento = new Instrumento();
+        instrumento.setId(documento.getId());
+        instrumento.setIdProprietario(documento.getString("ownerId"));
+        instrumento.setNome(documento.getString("name"));
+        instrumento.setDescricao(documento.getString("description"));
+        instrumento.setCategoria(normalizarCategoria(documento.getString("category")));
+
+        Object preco = documento.get("price");
+        instrumento.setPreco(preco instanceof Number ? ((Number) preco).doubleValue() : 0.0);
+        instrumento.setUriImagem(documento.getString(VersoesImagem.CAMPO_COMPLETA));
+        instrumento.setUriMiniatura(documento.getString(VersoesImagem.CAMPO_MINIATURA));
+        instrumento.setUriCartao(documento.getString(VersoesImagem.CAMPO_CARTAO));
+        instrumento.setPreviaImagem(documento.getString(VersoesImagem.CAMPO_PREVIA));
+
+        Boolean disponivel = documento.getBoolean("available");
+        instrumento.setDisponivel(disponivel == null || disponivel);
+        instrumento.setFaixasIndisponiveis(serializarFaixas(documento.get("unavailableRanges")));
+
+        Object notaMedia = documento.get("notaMedia");
+        instrumento.setNotaMedia(notaMedia instanceof Number ? ((Number) notaMedia).doubleValue() : 0.0);
+        Object totalAvaliacoes = documento.get("totalAvaliacoes");
+        instrumento.setTotalAvaliacoes(totalAvaliacoes instanceof Number ? ((Number) totalAvaliacoes).longValue() : 0);
+
+        instrumento.setCriadoEm(paraData(documento.get("createdAt")));
+        instrumento.setAtualizadoEm(paraData(documento.get("updatedAt")));
+        return instrumento;
+    }
+
+    /**
+     * Converte o espelho local no modelo usado pelos adaptadores
+     *
+     * @return FirebaseInstrument com os mesmos dados deste registro
+     */
+    public FirebaseInstrument paraFirebaseInstrument() {
+        FirebaseInstrument instrumento = new FirebaseInstrument();
+        instrumento.setId(id);
+        instrumento.setOwnerId(idProprietario);
+        instrumento.setName(nome);
+        instrumento.setDescription(descricao);
+        instrumento.setCategory(categoria);
+        instrumento.setPrice(preco);
+        instrumento.setImageUri(uriImagem);
+        instrumento.setImageThumbUri(uriMiniatura);
+        instrumento.setImageCardUri(uriCartao);
+        instrumento.setImagePlaceholder(previaImagem);
+        instrumento.setAvailable(disponivel);
+        instrumento.setCreatedAt(criadoEm);
+        instrumento.setNotaMedia(notaMedia);
+        instrumento.setTotalAvaliacoes(totalAvaliacoes);
+
+        List<Map<String, Object>> faixas = new ArrayList<>();
+        for (long[] faixa : obterFaixasIndisponiveis()) {
+            Map<String, Object> mapa = new HashMap<>();
+            mapa.put("startDate", new Date(faixa[0]));
+            mapa.put("endDate", new Date(faixa[1]));
+            faixas.add(mapa);
+        }
+        instrumento.setUnavailableRanges(faixas);
+        return instrumento;
+    }
+
+    /**
+     * Verifica se alguma faixa indisponível se sobrepõe ao período informado
+     *
+     * @param inicioMs Início do período em milissegundos (UTC)
+     * @param fimMs Fim do período em milissegundos (UTC)
+     * @return true se o instrumento está indisponível em parte do período
+     */
+    public boolean estaIndisponivelEntre(long inicioMs, long fimMs) {
+        for (long[] faixa : obterFaixasIndisponiveis()) {
+            if (inicioMs <= faixa[1] && fimMs >= faixa[0]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decodifica as faixas indisponíveis serializadas
+     *
+     * @return Lista de pares [inicioMs, fimMs]
+     */
+    public List<long[]> obterFaixasIndisponiveis() {
+        List<long[]> faixas = new ArrayList<>();
+        if (faixasIndisponiveis == null || faixasIndisponiveis.isEmpty()) {
+            return faixas;
+        }
+        for (String faixa : faixasIndisponiveis.split(";")) {
+            String[] partes = faixa.split(":");
+            if (partes.length == 2) {
+                try {
+                    faixas.add(new long[]{Long.parseLong(partes[0]), Long.parseLong(partes[1])});
+                } catch (NumberFormatException e) {
+                    // Faixa corrompida: ignorar
+                }
+            }
+        }
+        return faixas;
+    }
+
+    /**
+     * Normaliza a categoria removendo acentos e deixando a primeira letra maiúscula
+     *
+     * Única implementação: usada no espelho local, no cadastro (AdicionarInstrumentoActivity)
+     * e no filtro do catálogo (AtividadeInstrumentos), para que as categorias coincidam.
+     *
+     * @param entrada Categoria original
+     * @return Categoria normalizada
+     */
+    public static String normalizarCategoria(String entrada) {
+        if (entrada == null) return "";
+        String normalizada = Normalizer.normalize(entrada.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+        if (!normalizada.isEmpty()) {
+            normalizada = normalizada.substring(0, 1).toUpperCase() + normalizada.substring(1).toLowerCase();
+        }
+        return normalizada;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String serializarFaixas(Object faixasObj) {
+        if (!(faixasObj instanceof List)) {
+            return "";
+        }
+        StringBuilder resultado = new StringBuilder();
+        for (Object faixaObj : (List<Object>) faixasObj) {
+            if (faixaObj instanceof Map) {
+                Map<String, Object> faixa = (Map<String, Object>) faixaObj;
+                Date inicio = paraData(faixa.get("startDate"));
+                Date fim = paraData(faixa.get("endDate"));
+                if (inicio != null && fim != null) {
+                    if (resultado.length() > 0) {
+                        resultado.append(';');
+                    }
+                    resultado.append(inicio.getTime()).append(':').append(fim.getTime());
+                }
+            }
+        }
+        return resultado.toString();
+    }
+
+    private static Date paraData(Object valor) {
+        if (valor instanceof Timestamp) return ((Timestamp) valor).toDate();
+        if (valor instanceof Date) return (Date) valor;
+        if (valor instanceof Long) return new Date((Long) valor);
+        return null;
     }
 
     // ==================== GETTERS E SETTERS ====================
-    
+
     /**
-     * Obtém o ID único do instrumento
+     * Obtém o ID do documento do instrumento no Firestore
      * @return ID do instrumento
      */
-    public long getId() {
+    @NonNull
+    public String getId() {
         return id;
     }
 
     /**
-     * Define o ID único do instrumento
+     * Define o ID do documento do instrumento no Firestore
      * @param id ID do instrumento
      */
-    public void setId(long id) {
+    public void setId(@NonNull String id) {
         this.id = id;
     }
 
     /**
-     * Obtém o ID do proprietário do instrumento
-     * @return ID do usuário proprietário
+     * Obtém o UID do proprietário do instrumento
+     * @return UID do usuário proprietário
      */
-    public long getIdProprietario() {
+    public String getIdProprietario() {
         return idProprietario;
     }
 
     /**
-     * Define o ID do proprietário do instrumento
-     * @param idProprietario ID do usuário proprietário
+     * Define o UID do proprietário do instrumento
+     * @param idProprietario UID do usuário proprietário
      */
-    public void setIdProprietario(long idProprietario) {
+    public void setIdProprietario(String idProprietario) {
         this.idProprietario = idProprietario;
     }
 
@@ -136,7 +306,7 @@ public class Instrumento {
     }
 
     /**
-     * Obtém a categoria do instrumento
+     * Obtém a categoria normalizada do instrumento
      * @return Categoria do instrumento
      */
     public String getCategoria() {
@@ -144,7 +314,7 @@ public class Instrumento {
     }
 
     /**
-     * Define a categoria do instrumento
+     * Define a categoria normalizada do instrumento
      * @param categoria Categoria do instrumento
      */
     public void setCategoria(String categoria) {
@@ -182,4 +352,148 @@ public class Instrumento {
     public void setUriImagem(String uriImagem) {
         this.uriImagem = uriImagem;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Obtém a URI da versão miniatura da imagem
+     * @return URI da miniatura (null em instrumentos antigos)
+     */
+    public String getUriMiniatura() {
+        return uriMiniatura;
+    }
+
+    /**
+     * Define a URI da versão miniatura da imagem
+     * @param uriMiniatura URI da miniatura
+     */
+    public void setUriMiniatura(String uriMiniatura) {
+        this.uriMiniatura = uriMiniatura;
+    }
+
+    /**
+     * Obtém a URI da versão cartão da imagem
+     * @return URI da versão cartão (null em instrumentos antigos)
+     */
+    public String getUriCartao() {
+        return uriCartao;
+    }
+
+    /**
+     * Define a URI da versão cartão da imagem
+     * @param uriCartao URI da versão cartão
+     */
+    public void setUriCartao(String uriCartao) {
+        this.uriCartao = uriCartao;
+    }
+
+    /**
+     * Obtém a prévia de baixa resolução da imagem
+     * @return Prévia em Base64 (null em instrumentos antigos)
+     */
+    public String getPreviaImagem() {
+        return previaImagem;
+    }
+
+    /**
+     * Define a prévia de baixa resolução da imagem
+     * @param previaImagem Prévia em Base64
+     */
+    public void setPreviaImagem(String previaImagem) {
+        this.previaImagem = previaImagem;
+    }
+
+    /**
+     * Verifica se o instrumento está disponível para aluguel
+     * @return true se disponível
+     */
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    /**
+     * Define se o instrumento está disponível para aluguel
+     * @param disponivel true se disponível
+     */
+    public void setDisponivel(boolean disponivel) {
+        this.disponivel = disponivel;
+    }
+
+    /**
+     * Obtém as faixas indisponíveis serializadas
+     * @return Faixas no formato "inicioMs:fimMs;..."
+     */
+    public String getFaixasIndisponiveis() {
+        return faixasIndisponiveis;
+    }
+
+    /**
+     * Define as faixas indisponíveis serializadas
+     * @param faixasIndisponiveis Faixas no formato "inicioMs:fimMs;..."
+     */
+    public void setFaixasIndisponiveis(String faixasIndisponiveis) {
+        this.faixasIndisponiveis = faixasIndisponiveis;
+    }
+
+    /**
+     * Obtém a nota média do instrumento
+     * @return Nota média de 0.0 a 5.0
+     */
+    public double getNotaMedia() {
+        return notaMedia;
+    }
+
+    /**
+     * Define a nota média do instrumento
+     * @param notaMedia Nota média de 0.0 a 5.0
+     */
+    public void setNotaMedia(double notaMedia) {
+        this.notaMedia = notaMedia;
+    }
+
+    /**
+     * Obtém o total de avaliações recebidas
+     * @return Número total de avaliações
+     */
+    public long getTotalAvaliacoes() {
+        return totalAvaliacoes;
+    }
+
+    /**
+     * Define o total de avaliações recebidas
+     * @param totalAvaliacoes Número total de avaliações
+     */
+    public void setTotalAvaliacoes(long totalAvaliacoes) {
+        this.totalAvaliacoes = totalAvaliacoes;
+    }
+
+    /**
+     * Obtém a data de criação do instrumento
+     * @return Data de criação
+     */
+    public Date getCriadoEm() {
+        return criadoEm;
+    }
+
+    /**
+     * Define a data de criação do instrumento
+     * @param criadoEm Data de criação
+     */
+    public void setCriadoEm(Date criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    /**
+     * Obtém a data da última alteração do documento no servidor
+     * @return Data da última alteração (updatedAt)
+     */
+    public Date getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    /**
+     * Define a data da última alteração do documento no servidor
+     * @param atualizadoEm Data da última alteração (updatedAt)
+     */
+    public void setAtualizadoEm(Date atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
@@ -2,9 +2,12 @@ package com.example.instrumentaliza;
 
 import androidx.room.Dao;
 import androidx.room.Delete;
-import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.room.Upsert;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import java.util.List;
 
@@ -14,10 +17,14 @@ public interface InstrumentoDao {
     List<Instrumento> obterTodos();
 
     @Query("SELECT * FROM instrumentos WHERE id = :id")
-    Instrumento obterPorId(long id);
+    Instrumento obterPorId(String id);
 
-    @Insert
-    long inserir(Instrumento instrumento);
+    @Query("SELECT COUNT(*) FROM instrumentos")
+    int contar();
+
+    // Upsert (UPDATE quando já existe) para que os triggers do índice FTS sejam disparados
+    @Upsert
+    void inserirOuAtualizar(List<Instrumento> instrumentos);
 
     @Update
     void atualizar(Instrumento instrumento);
@@ -25,36 +32,20 @@ public interface InstrumentoDao {
     @Delete
     void deletar(Instrumento instrumento);
 
-    @Query("SELECT * FROM instrumentos WHERE categoria = :categoria")
-    List<Instrumento> obterPorCategoria(String categoria);
-
-    @Query("SELECT * FROM instrumentos WHERE nome LIKE '%' || :consulta || '%' OR descricao LIKE '%' || :consulta || '%'")
-    List<Instrumento> buscar(String consulta);
-
-    @Query("SELECT * FROM instrumentos WHERE categoria = :categoria AND (nome LIKE '%' || :consulta || '%' OR descricao LIKE '%' || :consulta || '%')")
-    List<Instrumento> buscarPorCategoria(String consulta, String categoria);
-
-    @Query("SELECT * FROM instrumentos ORDER BY preco ASC")
-    List<Instrumento> obterTodosOrdenadosPorPrecoAsc();
-
-    @Query("SELECT * FROM instrumentos ORDER BY preco DESC")
-    List<Instrumento> obterTodosOrdenadosPorPrecoDesc();
-
-    @Query("SELECT * FROM instrumentos WHERE categoria = :categoria ORDER BY preco ASC")
-    List<Instrumento> obterPorCategoriaOrdenadosPorPrecoAsc(String categoria);
-
-    @Query("SELECT * FROM instrumentos WHERE categoria = :categoria ORDER BY preco DESC")
-    List<Instrumento> obterPorCategoriaOrdenadosPorPrecoDesc(String categoria);
-
-    @Query("SELECT * FROM instrumentos WHERE nome LIKE '%' || :consulta || '%' OR descricao LIKE '%' || :consulta || '%' ORDER BY preco ASC")
-    List<Instrumento> buscarOrdenadosPorPrecoAsc(String consulta);
+    @Query("DELETE FROM instrumentos WHERE id IN (:ids)")
+    int deletarPorIds(List<String> ids);
 
-    @Query("SELECT * FROM instrumentos WHERE nome LIKE '%' || :consulta || '%' OR descricao LIKE '%' || :consulta || '%' ORDER BY preco DESC")
-    List<Instrumento> buscarOrdenadosPorPrecoDesc(String consulta);
+    @Query("DELETE FROM instrumentos")
+    void limpar();
 
-    @Query("SELECT * FROM instrumentos WHERE (nome LIKE '%' || :consulta || '%' OR descricao LIKE '%' || :consulta || '%') AND categoria = :categoria ORDER BY preco ASC")
-    List<Instrumento> buscarPorCategoriaOrdenadosPorPrecoAsc(String consulta, String categoria);
+    // Sincronização completa: substitui o espelho local inteiro em uma única transação
+    @Transaction
+    default void substituirTodos(List<Instrumento> instrumentos) {
+        limpar();
+        inserirOuAtualizar(instrumentos);
+    }
 
-    @Query("SELECT * FROM instrumentos WHERE (nome LIKE '%' || :consulta || '%' OR descricao LIKE '%' || :consulta || '%') AND categoria = :categoria ORDER BY preco DESC")
-    List<Instrumento> buscarPorCategoriaOrdenadosPorPrecoDesc(String consulta, String categoria);
-} 
\ No newline at end of file
+    // Consulta única do catálogo (filtros e ordenação), montada por ConsultaInstrumentos
+    @RawQuery(observedEntities = {Instrumento.class, InstrumentoFts.class})
+    List<ResultadoBuscaInstrumento> consultar(SupportSQLiteQuery consulta);
+}
@@ -0,0 +1,47 @@
+package com.example.instrumentaliza;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * InstrumentoFts - Índice de texto completo dos instrumentos do espelho local
+ *
+ * Tabela virtual FTS4 com conteúdo externo apontando para a tabela
+ * "instrumentos". O Room cria os triggers que mantêm o índice sincronizado
+ * a cada inserção, atualização e exclusão no espelho.
+ *
+ * Características técnicas:
+ * - Tokenizador unicode61 com remoção de acentos ("violao" encontra "Violão")
+ * - Conteúdo externo: os textos não são duplicados no banco
+ * - Consultas por prefixo ("viol*") e ranqueamento BM25 via matchinfo
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+@Fts4(contentEntity = Instrumento.class,
+        tokenizer = FtsOptions.TOKENIZER_UNICODE61,
+        tokenizerArgs = {"remove_diacritics=1"})
+@Entity(tableName = "instrumentos_fts")
+public class InstrumentoFts {
+
+    // Colunas indexadas (mesmos nomes da tabela de conteúdo)
+    private String nome;
+    private String descricao;
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+}
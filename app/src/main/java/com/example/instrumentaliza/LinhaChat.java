@@ -0,0 +1,144 @@
+package com.example.instrumentaliza;
+
+import androidx.annotation.Nullable;
+
+import com.example.instrumentaliza.models.FirebaseChat;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * LinhaChat - Modelo imutável de uma conversa da lista de chats
+ *
+ * Criado pelo PreparadorLinhas em background a partir do documento do chat,
+ * com o horário da última mensagem e o papel do usuário já resolvidos, e já
+ * unido ao instrumento da conversa (buscado em lote pelo ViewModelChats).
+ *
+ * Funcionalidades:
+ * - Textos prontos para o AdaptadorListaChat
+ * - Nome do instrumento salvo no chat (cache), quando existir; senão, o do instrumento
+ * - Versões da imagem do instrumento: a rolagem não dispara leituras no Firestore
+ * - Igualdade pelos dados exibidos (usada pelo DiffUtil)
+ *
+ * Características técnicas:
+ * - Criar apenas na thread do PreparadorLinhas (formatador de data compartilhado)
+ * - Mantém o DocumentSnapshot original para os callbacks da tela
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class LinhaChat {
+
+    private static final SimpleDateFormat FORMATO_DATA_HORA = new SimpleDateFormat("dd/MM HH:mm", Locale.getDefault());
+
+    public final DocumentSnapshot documento;
+    public final String id;
+    public final String instrumentId;
+    public final String nomeInstrumento;
+    public final String ultimaMensagem;
+    public final String papel;
+    // null se o instrumento não foi encontrado (ou não tem imagem)
+    @Nullable
+    public final VersoesImagem versoes;
+
+    private LinhaChat(DocumentSnapshot documento, String instrumentId, String nomeInstrumento,
+                      String ultimaMensagem, String papel, @Nullable VersoesImagem versoes) {
+        this.documento = documento;
+        this.id = documento.getId();
+        this.instrumentId = instrumentId;
+        this.nomeInstrumento = nomeInstrumento;
+        this.ultimaMensagem = ultimaMensagem;
+        this.papel = papel;
+        this.versoes = versoes;
+    }
+
+    /**
+     * Converte o documento de uma conversa
+     *
+     * @param documento Documento da coleção "chats"
+     * @param idUsuarioAtual ID do usuário logado (pode ser null)
+     * @param instrumento Documento do instrumento da conversa (null se não encontrado)
+     * @return Linha pronta para exibição
+     */
+    public static LinhaChat deDocumento(DocumentSnapshot documento, @Nullable String idUsuarioAtual,
+                                        @Nullable DocumentSnapshot instrumento) {
+        FirebaseChat chat = FirebaseChat.fromDocument(documento);
+
+        String ultimaMensagem = chat.getLastMessageAt() != null
+                ? FORMATO_DATA_HORA.format(chat.getLastMessageAt())
+                : "-";
+
+        // Determinar papel do usuário na conversa
+        String papel = idUsuarioAtual != null && idUsuarioAtual.equals(chat.getOwnerId())
+                ? "Seu anúncio"
+                : "Você - interessado";
+
+        return new LinhaChat(documento, chat.getInstrumentId(),
+                nomeDe(documento, chat.getInstrumentId(), instrumento), ultimaMensagem, papel, versoesDe(instrumento));
+    }
+
+    /**
+     * Nome salvo no chat (cache); senão, o do instrumento; por fim, parte do ID
+     */
+    private static String nomeDe(DocumentSnapshot documento, String instrumentId,
+                                 @Nullable DocumentSnapshot instrumento) {
+        String nome = documento.getString("instrumentName");
+        if (temValor(nome)) {
+            return nome;
+        }
+        if (instrumentId == null || instrumentId.isEmpty()) {
+            return "Instrumento";
+        }
+        if (instrumento != null && instrumento.exists()) {
+            // Tentar diferentes campos de nome
+            for (String campo : new String[]{"name", "nome", "instrumentName"}) {
+                nome = instrumento.getString(campo);
+                if (temValor(nome)) {
+                    return nome;
+                }
+            }
+        }
+        return "Instrumento #" + instrumentId.substring(0, Math.min(8, instrumentId.length()));
+    }
+
+    /**
+     * Versões da imagem do instrumento; documentos antigos só têm "photoUrl"
+     */
+    @Nullable
+    private static VersoesImagem versoesDe(@Nullable DocumentSnapshot instrumento) {
+        if (instrumento == null || !instrumento.exists()) {
+            return null;
+        }
+        VersoesImagem versoes = VersoesImagem.deDocumento(instrumento);
+        if (versoes.escolher(VersoesImagem.LADO_COMPLETA) == null) {
+            String foto = instrumento.getString("photoUrl");
+            return temValor(foto) ? new VersoesImagem(null, null, foto) : null;
+        }
+        PreviaImagem.preCarregar(versoes.getPrevia());
+        return versoes;
+    }
+
+    private static boolean temValor(@Nullable String texto) {
+        return texto != null && !texto.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof LinhaChat)) return false;
+        LinhaChat linha = (LinhaChat) outro;
+        return id.equals(linha.id)
+                && Objects.equals(instrumentId, linha.instrumentId)
+                && nomeInstrumento.equals(linha.nomeInstrumento)
+                && ultimaMensagem.equals(linha.ultimaMensagem)
+                && papel.equals(linha.papel)
+                && Objects.equals(versoes, linha.versoes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, instrumentId, nomeInstrumento, ultimaMensagem, papel, versoes);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.instrumentaliza;
+
+import androidx.annotation.Nullable;
+
+import com.example.instrumentaliza.models.FirebaseInstrument;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * LinhaInstrumento - Modelo imutável de uma linha das listas de instrumentos
+ *
+ * Criado pelo PreparadorLinhas em background, com o preço já formatado, as
+ * versões da imagem já lidas e a prévia já decodificada no cache.
+ *
+ * Funcionalidades:
+ * - Linha do catálogo (preço com nota e total de avaliações) e estado de favorito
+ * - Linha de "meus instrumentos" (preço por dia, a partir do documento)
+ * - Igualdade pelos dados exibidos (usada pelo DiffUtil)
+ *
+ * Características técnicas:
+ * - Mantém o modelo (e, em "meus instrumentos", o documento) para os callbacks da tela
+ * - {@link #versoes} separada dos textos: permite religar a linha sem reiniciar o Glide
+ * - {@link #ehFavorito} vem do conjunto de favoritos lido uma vez pela tela, não de uma consulta por linha
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class LinhaInstrumento {
+
+    public final FirebaseInstrument instrumento;
+    // Apenas nas linhas criadas a partir de documentos do Firestore
+    @Nullable
+    public final DocumentSnapshot documento;
+    public final String id;
+    public final String nome;
+    public final String categoria;
+    public final String descricao;
+    public final String textoPreco;
+    public final VersoesImagem versoes;
+    public final boolean ehFavorito;
+
+    private LinhaInstrumento(FirebaseInstrument instrumento, @Nullable DocumentSnapshot documento, String textoPreco,
+                             boolean ehFavorito) {
+        this.instrumento = instrumento;
+        this.documento = documento;
+        this.id = instrumento.getId();
+        this.nome = instrumento.getName();
+        this.categoria = instrumento.getCategory();
+        this.descricao = instrumento.getDescription();
+        this.textoPreco = textoPreco;
+        this.versoes = VersoesImagem.deInstrumento(instrumento);
+        this.ehFavorito = ehFavorito;
+        PreviaImagem.preCarregar(versoes.getPrevia());
+    }
+
+    /**
+     * Linha do catálogo de instrumentos
+     *
+     * @param instrumento Instrumento (espelho local ou Firestore)
+     * @param ehFavorito true se o instrumento está nos favoritos do usuário
+     * @return Linha pronta para exibição
+     */
+    public static LinhaInstrumento doCatalogo(FirebaseInstrument instrumento, boolean ehFavorito) {
+        String textoPreco;
+        if (instrumento.possuiAvaliacoes()) {
+            textoPreco = String.format(Locale.getDefault(), "R$ %.2f/dia\n%.1f (%d avaliações)",
+                    instrumento.getPrice(),
+                    instrumento.getNotaMedia(),
+                    instrumento.getTotalAvaliacoes());
+        } else {
+            textoPreco = String.format(Locale.getDefault(), "R$ %.2f/dia\nSem avaliações", instrumento.getPrice());
+        }
+        return new LinhaInstrumento(instrumento, null, textoPreco, ehFavorito);
+    }
+
+    /**
+     * Linha da lista de instrumentos do próprio usuário
+     *
+     * @param documento Documento da coleção "instruments"
+     * @return Linha pronta para exibição
+     */
+    public static LinhaInstrumento deMeuInstrumento(DocumentSnapshot documento) {
+        FirebaseInstrument instrumento = FirebaseInstrument.fromDocument(documento);
+        return new LinhaInstrumento(instrumento, documento,
+                String.format(Locale.getDefault(), "R$ %.2f/dia", instrumento.getPrice()), false);
+    }
+
+    /**
+     * Mesmos textos exibidos (a imagem é comparada à parte, por {@link #versoes})
+     */
+    public boolean mesmosTextos(LinhaInstrumento outra) {
+        return Objects.equals(nome, outra.nome)
+                && Objects.equals(categoria, outra.categoria)
+                && Objects.equals(descricao, outra.descricao)
+                && textoPreco.equals(outra.textoPreco);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof LinhaInstrumento)) return false;
+        LinhaInstrumento linha = (LinhaInstrumento) outro;
+        return Objects.equals(id, linha.id) && versoes.equals(linha.versoes) && mesmosTextos(linha)
+                && ehFavorito == linha.ehFavorito;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nome, categoria, descricao, textoPreco, versoes, ehFavorito);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.instrumentaliza;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * LinhaMensagem - Modelo imutável de uma mensagem exibida no chat
+ *
+ * Criado pelo PreparadorLinhas em background a partir do documento da
+ * mensagem, com o horário já formatado e o remetente já resolvido.
+ *
+ * Funcionalidades:
+ * - Texto e horário prontos para o AdaptadorMensagensChat
+ * - Indica se a mensagem é do usuário atual (tipo de view)
+ * - Igualdade pelos dados exibidos (usada pelo DiffUtil)
+ *
+ * Características técnicas:
+ * - Criar apenas na thread do PreparadorLinhas (formatador de hora compartilhado)
+ * - Mensagem ainda sem horário do servidor exibe o horário vazio
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class LinhaMensagem {
+
+    private static final SimpleDateFormat FORMATO_HORA = new SimpleDateFormat("HH:mm", Locale.getDefault());
+
+    public final String id;
+    public final String texto;
+    public final String tempo;
+    public final boolean minha;
+
+    private LinhaMensagem(String id, String texto, String tempo, boolean minha) {
+        this.id = id;
+        this.texto = texto;
+        this.tempo = tempo;
+        this.minha = minha;
+    }
+
+    /**
+     * Converte o documento de uma mensagem
+     *
+     * @param documento Documento da subcoleção "messages"
+     * @param idUsuarioAtual ID do usuário logado
+     * @return Linha pronta para exibição
+     */
+    public static LinhaMensagem deDocumento(DocumentSnapshot documento, String idUsuarioAtual) {
+        Timestamp timestamp = documento.getTimestamp("timestamp");
+        String tempo = timestamp != null ? FORMATO_HORA.format(timestamp.toDate()) : "";
+        return new LinhaMensagem(documento.getId(), documento.getString("content"), tempo,
+                idUsuarioAtual.equals(documento.getString("senderId")));
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof LinhaMensagem)) return false;
+        LinhaMensagem linha = (LinhaMensagem) outro;
+        return minha == linha.minha
+                && id.equals(linha.id)
+                && Objects.equals(texto, linha.texto)
+                && tempo.equals(linha.tempo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, texto, tempo, minha);
+    }
+}
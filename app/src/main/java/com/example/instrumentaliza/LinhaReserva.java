@@ -0,0 +1,184 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * LinhaReserva - Modelo imutável de uma linha da lista de reservas
+ *
+ * Criado pelo PreparadorLinhas em background a partir do documento da reserva,
+ * com período, preço, status traduzido, cor e data já formatados, e já unido
+ * ao instrumento referenciado (buscado em lote pelo ViewModelReservas).
+ *
+ * Funcionalidades:
+ * - Textos e cor prontos para o AdaptadorReservas
+ * - Visibilidade do botão de avaliação já resolvida (reserva confirmada e ainda não avaliada)
+ * - Nome e versões da imagem do instrumento: a rolagem não dispara leituras no Firestore
+ * - Igualdade pelos dados exibidos (usada pelo DiffUtil)
+ *
+ * Características técnicas:
+ * - Criar apenas na thread do PreparadorLinhas (formatador de data compartilhado)
+ * - Mantém o DocumentSnapshot original para os callbacks da tela
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class LinhaReserva {
+
+    private static final SimpleDateFormat FORMATO_DATA = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
+
+    public final DocumentSnapshot documento;
+    public final String id;
+    public final String instrumentoId;
+    public final String nomeInstrumento;
+    public final String periodo;
+    public final String precoTotal;
+    public final String status;
+    public final int corStatus;
+    public final String dataReserva;
+    public final boolean podeAvaliar;
+    // null se o instrumento não foi encontrado (ou não tem imagem)
+    @Nullable
+    public final VersoesImagem versoes;
+
+    private LinhaReserva(DocumentSnapshot documento, String instrumentoId, String nomeInstrumento, String periodo,
+                         String precoTotal, String status, int corStatus, String dataReserva, boolean podeAvaliar,
+                         @Nullable VersoesImagem versoes) {
+        this.documento = documento;
+        this.id = documento.getId();
+        this.instrumentoId = instrumentoId;
+        this.nomeInstrumento = nomeInstrumento;
+        this.periodo = periodo;
+        this.precoTotal = precoTotal;
+        this.status = status;
+        this.corStatus = corStatus;
+        this.dataReserva = dataReserva;
+        this.podeAvaliar = podeAvaliar;
+        this.versoes = versoes;
+    }
+
+    /**
+     * Converte o documento de uma reserva
+     *
+     * @param contexto Contexto usado para resolver as cores
+     * @param documento Documento da coleção "reservations"
+     * @param avaliada true se a reserva já foi avaliada (GerenciadorFirebase.obterReservasAvaliadas)
+     * @param instrumento Documento do instrumento referenciado (null se não encontrado)
+     * @return Linha pronta para exibição
+     */
+    public static LinhaReserva deDocumento(Context contexto, DocumentSnapshot documento, boolean avaliada,
+                                           @Nullable DocumentSnapshot instrumento) {
+        String status = documento.getString("status");
+
+        String periodo = "";
+        Timestamp inicio = documento.getTimestamp("startDate");
+        Timestamp fim = documento.getTimestamp("endDate");
+        if (inicio != null && fim != null) {
+            periodo = FORMATO_DATA.format(inicio.toDate()) + " a " + FORMATO_DATA.format(fim.toDate());
+        }
+
+        Double precoTotal = documento.getDouble("totalPrice");
+        String textoPreco = precoTotal != null
+                ? String.format(Locale.getDefault(), "R$ %.2f", precoTotal)
+                : "R$ 0,00";
+
+        int corStatus;
+        switch (status != null ? status : "PENDENTE") {
+            case "CONFIRMADA":
+                corStatus = contexto.getResources().getColor(R.color.status_accepted);
+                break;
+            case "PENDENTE":
+                corStatus = contexto.getResources().getColor(R.color.status_pending);
+                break;
+            case "CANCELADA":
+                corStatus = contexto.getResources().getColor(R.color.status_rejected);
+                break;
+            default:
+                corStatus = contexto.getResources().getColor(R.color.text_gray_light);
+                break;
+        }
+
+        Timestamp criadaEm = documento.getTimestamp("createdAt");
+        String dataReserva = criadaEm != null ? "Reservado em " + FORMATO_DATA.format(criadaEm.toDate()) : "";
+
+        String instrumentoId = documento.getString("instrumentId");
+        return new LinhaReserva(documento, instrumentoId, nomeDe(instrumentoId, instrumento), periodo, textoPreco,
+                traduzirStatus(status), corStatus, dataReserva, "CONFIRMED".equals(status) && !avaliada,
+                versoesDe(instrumento));
+    }
+
+    /**
+     * Nome exibido para o instrumento da reserva
+     */
+    private static String nomeDe(String instrumentoId, @Nullable DocumentSnapshot instrumento) {
+        if (instrumentoId == null) {
+            return "Instrumento: N/A";
+        }
+        if (instrumento == null || !instrumento.exists()) {
+            return "Instrumento não encontrado";
+        }
+        String nome = instrumento.getString("name");
+        return nome != null && !nome.isEmpty() ? nome : "Instrumento sem nome";
+    }
+
+    @Nullable
+    private static VersoesImagem versoesDe(@Nullable DocumentSnapshot instrumento) {
+        if (instrumento == null || !instrumento.exists()) {
+            return null;
+        }
+        VersoesImagem versoes = VersoesImagem.deDocumento(instrumento);
+        PreviaImagem.preCarregar(versoes.getPrevia());
+        return versoes;
+    }
+
+    /**
+     * Traduz o status do inglês para português
+     */
+    private static String traduzirStatus(String status) {
+        if (status == null) return "PENDENTE";
+
+        switch (status.toUpperCase()) {
+            case "CONFIRMED":
+                return "CONFIRMADO";
+            case "PENDING":
+                return "PENDENTE";
+            case "CANCELLED":
+                return "CANCELADO";
+            case "COMPLETED":
+                return "CONCLUÍDO";
+            default:
+                return status;
+        }
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof LinhaReserva)) return false;
+        LinhaReserva linha = (LinhaReserva) outro;
+        return corStatus == linha.corStatus
+                && podeAvaliar == linha.podeAvaliar
+                && id.equals(linha.id)
+                && Objects.equals(instrumentoId, linha.instrumentoId)
+                && nomeInstrumento.equals(linha.nomeInstrumento)
+                && periodo.equals(linha.periodo)
+                && precoTotal.equals(linha.precoTotal)
+                && status.equals(linha.status)
+                && dataReserva.equals(linha.dataReserva)
+                && Objects.equals(versoes, linha.versoes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, instrumentoId, nomeInstrumento, periodo, precoTotal, status, corStatus, dataReserva,
+                podeAvaliar, versoes);
+    }
+}
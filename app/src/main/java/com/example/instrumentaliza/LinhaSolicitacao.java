@@ -0,0 +1,149 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.graphics.Color;
+
+import androidx.annotation.Nullable;
+
+import com.example.instrumentaliza.models.FirebaseSolicitacao;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * LinhaSolicitacao - Modelo imutável de uma linha da lista de solicitações
+ *
+ * Criado pelo PreparadorLinhas em background a partir do documento da
+ * solicitação, com período, preço, status normalizado, cor e data já formatados,
+ * e já unido ao instrumento referenciado (buscado em lote pela tela).
+ *
+ * Funcionalidades:
+ * - Textos e cor prontos para o AdaptadorSolicitacoes
+ * - Status fora de PENDENTE/ACEITA/RECUSADA exibido como PENDENTE
+ * - Versões da imagem do instrumento: a rolagem não dispara leituras no Firestore
+ * - Igualdade pelos dados exibidos (usada pelo DiffUtil)
+ *
+ * Características técnicas:
+ * - Criar apenas na thread do PreparadorLinhas (formatador de data compartilhado)
+ * - Mantém o DocumentSnapshot original para o clique na linha
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class LinhaSolicitacao {
+
+    private static final SimpleDateFormat FORMATO_DATA = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
+
+    public final DocumentSnapshot documento;
+    public final String id;
+    public final String instrumentoId;
+    public final String nomeInstrumento;
+    public final String emailSolicitante;
+    public final String periodo;
+    public final String precoTotal;
+    public final String dataSolicitacao;
+    public final String status;
+    public final int corStatus;
+    // null se o instrumento não foi encontrado (ou não tem imagem)
+    @Nullable
+    public final VersoesImagem versoes;
+
+    private LinhaSolicitacao(DocumentSnapshot documento, String instrumentoId, String nomeInstrumento,
+                             String emailSolicitante, String periodo, String precoTotal,
+                             String dataSolicitacao, String status, int corStatus,
+                             @Nullable VersoesImagem versoes) {
+        this.documento = documento;
+        this.id = documento.getId();
+        this.instrumentoId = instrumentoId;
+        this.nomeInstrumento = nomeInstrumento;
+        this.emailSolicitante = emailSolicitante;
+        this.periodo = periodo;
+        this.precoTotal = precoTotal;
+        this.dataSolicitacao = dataSolicitacao;
+        this.status = status;
+        this.corStatus = corStatus;
+        this.versoes = versoes;
+    }
+
+    /**
+     * Converte o documento de uma solicitação
+     *
+     * @param contexto Contexto usado para resolver as cores
+     * @param documento Documento da coleção "solicitacoes"
+     * @param instrumento Documento do instrumento referenciado (null se não encontrado)
+     * @return Linha pronta para exibição
+     */
+    public static LinhaSolicitacao deDocumento(Context contexto, DocumentSnapshot documento,
+                                               @Nullable DocumentSnapshot instrumento) {
+        FirebaseSolicitacao solicitacao = FirebaseSolicitacao.fromDocument(documento);
+
+        String periodo = "";
+        if (solicitacao.getDataInicio() != null && solicitacao.getDataFim() != null) {
+            periodo = FORMATO_DATA.format(solicitacao.getDataInicio()) + " a "
+                    + FORMATO_DATA.format(solicitacao.getDataFim());
+        }
+
+        String dataSolicitacao = solicitacao.getDataCriacao() != null
+                ? "Solicitado em " + FORMATO_DATA.format(solicitacao.getDataCriacao())
+                : "";
+
+        // Se o status não for um dos valores esperados, usar PENDENTE
+        String status = solicitacao.getStatus();
+        if (!"ACEITA".equals(status) && !"RECUSADA".equals(status)) {
+            status = "PENDENTE";
+        }
+
+        int corStatus;
+        switch (status) {
+            case "ACEITA":
+                corStatus = contexto.getResources().getColor(R.color.status_accepted);
+                break;
+            case "RECUSADA":
+                corStatus = contexto.getResources().getColor(R.color.status_rejected);
+                break;
+            default:
+                corStatus = Color.WHITE; // Branco para contraste com fundo laranja
+                break;
+        }
+
+        return new LinhaSolicitacao(documento, solicitacao.getInstrumentoId(), solicitacao.getInstrumentoNome(),
+                solicitacao.getSolicitanteEmail(), periodo,
+                String.format(Locale.getDefault(), "R$ %.2f", solicitacao.getPrecoTotal()),
+                dataSolicitacao, status, corStatus, versoesDe(instrumento));
+    }
+
+    @Nullable
+    private static VersoesImagem versoesDe(@Nullable DocumentSnapshot instrumento) {
+        if (instrumento == null || !instrumento.exists()) {
+            return null;
+        }
+        VersoesImagem versoes = VersoesImagem.deDocumento(instrumento);
+        PreviaImagem.preCarregar(versoes.getPrevia());
+        return versoes;
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof LinhaSolicitacao)) return false;
+        LinhaSolicitacao linha = (LinhaSolicitacao) outro;
+        return corStatus == linha.corStatus
+                && id.equals(linha.id)
+                && Objects.equals(instrumentoId, linha.instrumentoId)
+                && Objects.equals(nomeInstrumento, linha.nomeInstrumento)
+                && Objects.equals(emailSolicitante, linha.emailSolicitante)
+                && periodo.equals(linha.periodo)
+                && precoTotal.equals(linha.precoTotal)
+                && dataSolicitacao.equals(linha.dataSolicitacao)
+                && status.equals(linha.status)
+                && Objects.equals(versoes, linha.versoes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, instrumentoId, nomeInstrumento, emailSolicitante, periodo, precoTotal,
+                dataSolicitacao, status, corStatus, versoes);
+    }
+}
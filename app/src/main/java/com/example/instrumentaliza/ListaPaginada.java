@@ -0,0 +1,177 @@
+package com.example.instrumentaliza;
+
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * ListaPaginada - Lista do Firestore carregada em páginas, com cursor
+ *
+ * As listas de reservas, solicitações e avaliações eram lidas inteiras de uma
+ * vez. Esta classe lê uma página por vez (limit + startAfter no último
+ * documento lido), na ordem definida pela própria consulta no servidor, e
+ * acumula os documentos já lidos.
+ *
+ * Funcionalidades:
+ * - Páginas de tamanho fixo, a partir do cursor da página anterior
+ * - Sequência de consultas: quando uma se esgota, a página continua na próxima
+ *   (ex.: solicitações pendentes primeiro, depois as demais)
+ * - Indica se ainda há documentos a carregar
+ *
+ * Características técnicas:
+ * - A ordenação vem do servidor (orderBy), correta entre páginas
+ * - Pedidos durante uma carga em andamento são ignorados (sem páginas duplicadas)
+ * - Cancelar o futuro de carregarMais interrompe a leitura das consultas seguintes
+ *   e devolve o cursor (consulta e documento) ao início da página descartada
+ * - Para recarregar do início, criar uma nova instância
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ListaPaginada {
+
+    // Constantes
+    private static final String TAG = "ListaPaginada";
+    public static final int TAMANHO_PAGINA = 20;
+
+    private final List<Query> consultas;
+    private final int tamanhoPagina;
+
+    // Estado do cursor (acessado com o monitor da instância)
+    private final List<DocumentSnapshot> documentos = new ArrayList<>();
+    private int consultaAtual = 0;
+    private DocumentSnapshot ultimoDocumento;
+    private boolean carregando = false;
+
+    // Cursor no início da página em carga, restaurado se ela for cancelada
+    private int consultaInicioPagina;
+    private DocumentSnapshot documentoInicioPagina;
+
+    /**
+     * @param consultas Consultas já ordenadas, lidas em sequência
+     */
+    public ListaPaginada(Query... consultas) {
+        this(TAMANHO_PAGINA, Arrays.asList(consultas));
+    }
+
+    /**
+     * @param tamanhoPagina Documentos por página
+     * @param consultas Consultas já ordenadas, lidas em sequência
+     */
+    public ListaPaginada(int tamanhoPagina, List<Query> consultas) {
+        this.tamanhoPagina = tamanhoPagina;
+        this.consultas = new ArrayList<>(consultas);
+    }
+
+    /**
+     * Carrega a próxima página
+     *
+     * @return Documentos da nova página (vazia se a lista já terminou ou se já
+     *         havia uma carga em andamento)
+     */
+    public CompletableFuture<List<DocumentSnapshot>> carregarMais() {
+        synchronized (this) {
+            if (carregando || !temMais()) {
+                return CompletableFuture.completedFuture(Collections.emptyList());
+            }
+            carregando = true;
+            consultaInicioPagina = consultaAtual;
+            documentoInicioPagina = ultimoDocumento;
+        }
+        CompletableFuture<List<DocumentSnapshot>> futuro = new CompletableFuture<>();
+        preencherPagina(new ArrayList<>(), futuro);
+        return futuro;
+    }
+
+    /**
+     * Lê da consulta atual até completar a página ou esgotar as consultas
+     */
+    private void preencherPagina(List<DocumentSnapshot> pagina, CompletableFuture<List<DocumentSnapshot>> futuro) {
+        Query consulta;
+        synchronized (this) {
+            consulta = consultas.get(consultaAtual);
+            if (ultimoDocumento != null) {
+                consulta = consulta.startAfter(ultimoDocumento);
+            }
+        }
+        int faltantes = tamanhoPagina - pagina.size();
+
+        consulta.limit(faltantes)
+                .get()
+                .addOnSuccessListener(snapshotConsulta -> {
+                    List<DocumentSnapshot> lidos = snapshotConsulta.getDocuments();
+                    pagina.addAll(lidos);
+                    boolean continuar;
+                    synchronized (this) {
+                        if (futuro.isCancelled()) {
+                            // Tela fechada durante a carga: a página é descartada e o cursor volta
+                            // ao início dela, mesmo que uma consulta da sequência já tenha se esgotado
+                            consultaAtual = consultaInicioPagina;
+                            ultimoDocumento = documentoInicioPagina;
+                            carregando = false;
+                            return;
+                        }
+                        if (lidos.size() < faltantes) {
+                            // Consulta esgotada: a próxima começa do início
+                            consultaAtual++;
+                            ultimoDocumento = null;
+                        } else {
+                            ultimoDocumento = lidos.get(lidos.size() - 1);
+                        }
+                        continuar = pagina.size() < tamanhoPagina && temMais();
+                        if (!continuar) {
+                            documentos.addAll(pagina);
+                            carregando = false;
+                        }
+                    }
+                    if (continuar) {
+                        preencherPagina(pagina, futuro);
+                    } else {
+                        Log.d(TAG, "Página carregada: " + pagina.size() + " documentos (total " + tamanho() + ")");
+                        futuro.complete(pagina);
+                    }
+                })
+                .addOnFailureListener(erro -> {
+                    Log.e(TAG, "Erro ao carregar página: " + erro.getMessage(), erro);
+                    synchronized (this) {
+                        // O cursor fica após o último documento lido: a próxima chamada continua daí
+                        documentos.addAll(pagina);
+                        carregando = false;
+                    }
+                    if (pagina.isEmpty()) {
+                        futuro.completeExceptionally(erro);
+                    } else {
+                        futuro.complete(pagina);
+                    }
+                });
+    }
+
+    /**
+     * true se ainda há documentos a carregar
+     */
+    public synchronized boolean temMais() {
+        return consultaAtual < consultas.size();
+    }
+
+    public synchronized boolean isCarregando() {
+        return carregando;
+    }
+
+    /**
+     * Todos os documentos já carregados, na ordem das páginas (cópia)
+     */
+    public synchronized List<DocumentSnapshot> documentos() {
+        return new ArrayList<>(documentos);
+    }
+
+    public synchronized int tamanho() {
+        return documentos.size();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.instrumentaliza;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+
+import java.io.InputStream;
+
+/**
+ * ModuloGlide - Configuração do Glide para o aplicativo
+ *
+ * Ajusta os caches do Glide à classe do aparelho e registra uma chave de
+ * cache estável para as imagens do Firebase Storage.
+ *
+ * Funcionalidades:
+ * - Cache em memória e pool de bitmaps dimensionados pela memória do aparelho
+ * - Cache em disco maior (imagens do catálogo são reabertas com frequência)
+ * - Decodificação em RGB_565 por padrão em aparelhos com pouca RAM
+ * - Chave de cache baseada no objeto do Storage (caminho + token), e não na URL completa
+ *
+ * Características técnicas:
+ * - Os objetos enviados nunca são sobrescritos (nomeados pelo hash do conteúdo), então
+ *   caminho + token identificam o conteúdo: a mesma imagem vinda de URLs com
+ *   parâmetros ou hosts diferentes reaproveita a mesma entrada do cache
+ * - Parsing de manifest desativado (módulo único, gerado pelo processador de anotações)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+@GlideModule
+public class ModuloGlide extends AppGlideModule {
+
+    // Constantes
+    private static final String TAG = "ModuloGlide";
+    private static final String PASTA_CACHE_DISCO = "imagens";
+    private static final long CACHE_DISCO_POUCA_RAM = 64L * 1024 * 1024;
+    private static final long CACHE_DISCO_PADRAO = 192L * 1024 * 1024;
+    private static final long CACHE_DISCO_MUITA_RAM = 320L * 1024 * 1024;
+
+    // Memória por app (MB) a partir da qual o aparelho é tratado como de alto desempenho
+    private static final int MEMORIA_APP_ALTA_MB = 256;
+
+    // Prefixos das URLs de download do Firebase Storage
+    private static final String PREFIXO_STORAGE = "https://firebasestorage.googleapis.com/";
+    private static final String MARCADOR_OBJETO = "/o/";
+
+    @Override
+    public void applyOptions(@NonNull Context contexto, @NonNull GlideBuilder construtor) {
+        ActivityManager gerenciador = (ActivityManager) contexto.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean poucaRam = gerenciador == null || gerenciador.isLowRamDevice();
+        boolean muitaRam = !poucaRam && gerenciador.getMemoryClass() >= MEMORIA_APP_ALTA_MB;
+
+        // Telas inteiras de bitmaps mantidas em memória e no pool de reutilização
+        MemorySizeCalculator calculadora = new MemorySizeCalculator.Builder(contexto)
+                .setMemoryCacheScreens(poucaRam ? 1 : (muitaRam ? 3 : 2))
+                .setBitmapPoolScreens(poucaRam ? 1 : (muitaRam ? 4 : 3))
+                .build();
+        construtor.setMemoryCache(new LruResourceCache(calculadora.getMemoryCacheSize()));
+        construtor.setBitmapPool(new LruBitmapPool(calculadora.getBitmapPoolSize()));
+
+        long cacheDisco = poucaRam ? CACHE_DISCO_POUCA_RAM : (muitaRam ? CACHE_DISCO_MUITA_RAM : CACHE_DISCO_PADRAO);
+        construtor.setDiskCache(new InternalCacheDiskCacheFactory(contexto, PASTA_CACHE_DISCO, cacheDisco));
+
+        // Em aparelhos com pouca RAM, toda imagem sem transparência usa 2 bytes por pixel
+        construtor.setDefaultRequestOptions(new RequestOptions()
+                .format(poucaRam ? DecodeFormat.PREFER_RGB_565 : DecodeFormat.PREFER_ARGB_8888));
+        construtor.setLogLevel(Log.ERROR);
+
+        Log.d(TAG, "Glide configurado: memória " + (calculadora.getMemoryCacheSize() / 1024) + " KB, pool "
+                + (calculadora.getBitmapPoolSize() / 1024) + " KB, disco " + (cacheDisco / 1024 / 1024) + " MB");
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context contexto, @NonNull Glide glide, @NonNull Registry registro) {
+        // Antes dos carregadores padrão: URLs do Storage passam a usar a chave estável
+        registro.prepend(String.class, InputStream.class, new FabricaUrlArmazenamento<>());
+        registro.prepend(Uri.class, InputStream.class, new FabricaUrlArmazenamento<>());
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+
+    /**
+     * Chave de cache de uma URL de download do Storage: objeto + token
+     *
+     * @param url URL de download
+     * @return Chave estável, ou null se a URL não for do Storage
+     */
+    @Nullable
+    static String chaveArmazenamento(String url) {
+        if (url == null || !url.startsWith(PREFIXO_STORAGE)) {
+            return null;
+        }
+        Uri uri = Uri.parse(url);
+        String caminho = uri.getPath();
+        if (caminho == null || !caminho.contains(MARCADOR_OBJETO)) {
+            return null;
+        }
+        String objeto = caminho.substring(caminho.indexOf(MARCADOR_OBJETO) + MARCADOR_OBJETO.length());
+        String token = uri.getQueryParameter("token");
+        return "storage:" + objeto + (token != null ? "#" + token : "");
+    }
+
+    /**
+     * GlideUrl cuja chave de cache é a do objeto do Storage
+     */
+    private static class UrlArmazenamento extends GlideUrl {
+        private final String chave;
+
+        UrlArmazenamento(String url, String chave) {
+            super(url);
+            this.chave = chave;
+        }
+
+        @Override
+        public String getCacheKey() {
+            return chave;
+        }
+    }
+
+    /**
+     * Carrega URLs do Storage (String ou Uri) delegando ao carregador HTTP do Glide
+     */
+    private static class CarregadorUrlArmazenamento<T> implements ModelLoader<T, InputStream> {
+        private final ModelLoader<GlideUrl, InputStream> carregadorHttp;
+
+        CarregadorUrlArmazenamento(ModelLoader<GlideUrl, InputStream> carregadorHttp) {
+            this.carregadorHttp = carregadorHttp;
+        }
+
+        @Nullable
+        @Override
+        public LoadData<InputStream> buildLoadData(@NonNull T modelo, int largura, int altura, @NonNull Options opcoes) {
+            String url = modelo.toString();
+            return carregadorHttp.buildLoadData(new UrlArmazenamento(url, chaveArmazenamento(url)), largura, altura, opcoes);
+        }
+
+        @Override
+        public boolean handles(@NonNull T modelo) {
+            return chaveArmazenamento(modelo.toString()) != null;
+        }
+    }
+
+    private static class FabricaUrlArmazenamento<T> implements ModelLoaderFactory<T, InputStream> {
+        @NonNull
+        @Override
+        public ModelLoader<T, InputStream> build(@NonNull MultiModelLoaderFactory fabrica) {
+            return new CarregadorUrlArmazenamento<>(fabrica.build(GlideUrl.class, InputStream.class));
+        }
+
+        @Override
+        public void teardown() {
+        }
+    }
+}
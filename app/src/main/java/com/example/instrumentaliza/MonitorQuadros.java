@@ -0,0 +1,195 @@
+package com.example.instrumentaliza;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.metrics.performance.FrameData;
+import androidx.metrics.performance.PerformanceMetricsState;
+import androidx.metrics.performance.StateInfo;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MonitorQuadros - Quadros atrasados (jank) por tela e por estado da tela
+ *
+ * Recebe os quadros medidos pelo JankStats da AtividadeBase e acumula, no
+ * aparelho, quantos foram desenhados e quantos atrasaram em cada tela
+ * ("catalogo") e em cada estado marcado nela ("catalogo:rolagem",
+ * "chat:carregando"). O relatório é exportado pelo menu de depuração, sem
+ * ferramentas externas.
+ *
+ * Funcionalidades:
+ * - Contagem de quadros e de quadros atrasados por tela e por estado
+ * - Marcação de estados na hierarquia de views (marcarEstado / desmarcarEstado)
+ * - Estado "rolagem" automático para listas (acompanharRolagem)
+ * - Relatório em texto, ordenado pela proporção de quadros atrasados, e
+ *   exportação pelo compartilhamento do Android
+ *
+ * Características técnicas:
+ * - Os quadros chegam fora da thread principal (FrameMetrics): contadores atômicos
+ * - Os dados duram enquanto o processo viver; zerar pelo menu de depuração
+ * - Marcar estados só tem efeito com a view já anexada à janela da atividade
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class MonitorQuadros {
+
+    // Estados comuns às telas
+    public static final String ESTADO_ROLAGEM = "rolagem";
+    public static final String ESTADO_CARREGANDO = "carregando";
+
+    private static final Map<String, Contagem> contagens = new ConcurrentHashMap<>();
+    private static volatile long inicioColeta = System.currentTimeMillis();
+
+    private MonitorQuadros() {
+    }
+
+    /**
+     * Registra um quadro medido pelo JankStats
+     *
+     * @param tela Nome da tela (AtividadeBase.nomeTela)
+     * @param quadro Dados do quadro (reutilizados pelo JankStats: não guardar)
+     */
+    static void registrar(String tela, FrameData quadro) {
+        boolean atrasado = quadro.isJank();
+        contar(tela, atrasado);
+        for (StateInfo estado : quadro.getStates()) {
+            contar(tela + ":" + estado.getKey(), atrasado);
+        }
+    }
+
+    private static void contar(String chave, boolean atrasado) {
+        Contagem contagem = contagens.computeIfAbsent(chave, semContagem -> new Contagem());
+        contagem.quadros.incrementAndGet();
+        if (atrasado) {
+            contagem.atrasados.incrementAndGet();
+        }
+    }
+
+    /**
+     * Marca um estado da tela que contém a view; os próximos quadros são contados também nele
+     *
+     * @param view Qualquer view anexada à tela
+     * @param estado Nome do estado (ex.: ESTADO_CARREGANDO)
+     */
+    public static void marcarEstado(View view, String estado) {
+        PerformanceMetricsState estados = PerformanceMetricsState.getHolderForHierarchy(view).getState();
+        if (estados != null) {
+            estados.putState(estado, estado);
+        }
+    }
+
+    /**
+     * Remove um estado marcado com marcarEstado
+     */
+    public static void desmarcarEstado(View view, String estado) {
+        PerformanceMetricsState estados = PerformanceMetricsState.getHolderForHierarchy(view).getState();
+        if (estados != null) {
+            estados.removeState(estado);
+        }
+    }
+
+    /**
+     * Marca o estado "rolagem" enquanto a lista estiver sendo rolada
+     *
+     * @param lista RecyclerView da tela (ou de uma aba)
+     */
+    public static void acompanharRolagem(RecyclerView lista) {
+        lista.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView rolada, int novoEstado) {
+                if (novoEstado == RecyclerView.SCROLL_STATE_IDLE) {
+                    desmarcarEstado(rolada, ESTADO_ROLAGEM);
+                } else {
+                    marcarEstado(rolada, ESTADO_ROLAGEM);
+                }
+            }
+        });
+    }
+
+    /**
+     * Relatório em texto: uma linha por tela/estado, maior proporção de quadros atrasados primeiro
+     */
+    public static String relatorio() {
+        // Cópia dos contadores: os quadros continuam chegando durante a ordenação
+        List<LinhaRelatorio> linhas = new ArrayList<>();
+        for (Map.Entry<String, Contagem> contagem : contagens.entrySet()) {
+            linhas.add(new LinhaRelatorio(contagem.getKey(),
+                    contagem.getValue().quadros.get(), contagem.getValue().atrasados.get()));
+        }
+        linhas.sort((a, b) -> Double.compare(b.proporcao(), a.proporcao()));
+
+        SimpleDateFormat formato = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
+        StringBuilder texto = new StringBuilder();
+        texto.append("Relatório de quadros - ").append(BuildConfig.APPLICATION_ID)
+                .append(" ").append(BuildConfig.VERSION_NAME).append('\n');
+        texto.append("Coleta: ").append(formato.format(new Date(inicioColeta)))
+                .append(" a ").append(formato.format(new Date())).append("\n\n");
+        texto.append(String.format(Locale.ROOT, "%-40s %10s %10s %8s%n", "tela:estado", "quadros", "atrasados", "%"));
+        for (LinhaRelatorio linha : linhas) {
+            texto.append(String.format(Locale.ROOT, "%-40s %10d %10d %7.2f%%%n",
+                    linha.chave, linha.quadros, linha.atrasados, linha.proporcao() * 100));
+        }
+        if (linhas.isEmpty()) {
+            texto.append("Nenhum quadro registrado\n");
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Compartilha o relatório (e-mail, Drive, mensageiros...)
+     */
+    public static void exportar(Activity atividade) {
+        Intent envio = new Intent(Intent.ACTION_SEND);
+        envio.setType("text/plain");
+        envio.putExtra(Intent.EXTRA_SUBJECT, atividade.getString(R.string.debug_frame_report));
+        envio.putExtra(Intent.EXTRA_TEXT, relatorio());
+        atividade.startActivity(Intent.createChooser(envio, atividade.getString(R.string.debug_frame_report)));
+    }
+
+    /**
+     * Descarta as contagens (ex.: antes de medir uma tela específica)
+     */
+    public static void zerar() {
+        contagens.clear();
+        inicioColeta = System.currentTimeMillis();
+    }
+
+    /**
+     * Quadros desenhados e atrasados de uma tela ou estado
+     */
+    private static final class Contagem {
+        final AtomicLong quadros = new AtomicLong();
+        final AtomicLong atrasados = new AtomicLong();
+    }
+
+    /**
+     * Contagem copiada no momento do relatório
+     */
+    private static final class LinhaRelatorio {
+        final String chave;
+        final long quadros;
+        final long atrasados;
+
+        LinhaRelatorio(String chave, long quadros, long atrasados) {
+            this.chave = chave;
+            this.quadros = quadros;
+            this.atrasados = atrasados;
+        }
+
+        double proporcao() {
+            return quadros == 0 ? 0 : (double) atrasados / quadros;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.instrumentaliza;
+
+import android.graphics.drawable.Drawable;
+
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.resource.bitmap.DownsampleStrategy;
+import com.bumptech.glide.load.resource.drawable.DrawableCrossFadeFactory;
+import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.transition.NoTransition;
+import com.bumptech.glide.request.transition.Transition;
+import com.bumptech.glide.request.transition.TransitionFactory;
+
+/**
+ * OpcoesGlide - Opções de carregamento de imagens compartilhadas pelas telas
+ *
+ * Centraliza como as listas e as telas de detalhe pedem imagens ao Glide,
+ * para que todas as linhas usem a mesma decodificação e a mesma transição.
+ *
+ * Funcionalidades:
+ * - Miniaturas de listas decodificadas em RGB_565 e reduzidas ao tamanho da ImageView
+ * - Transição (cross-fade) apenas quando a imagem vem da rede
+ *
+ * Características técnicas:
+ * - Imagens já em cache (memória ou disco) aparecem sem animação ao rolar a lista
+ * - Objetos imutáveis, criados uma única vez
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class OpcoesGlide {
+
+    // Duração do cross-fade das imagens baixadas
+    private static final int DURACAO_TRANSICAO_MS = 200;
+
+    // Miniaturas: fotos sem transparência, 2 bytes por pixel e no máximo o tamanho da view
+    private static final RequestOptions MINIATURA = new RequestOptions()
+            .format(DecodeFormat.PREFER_RGB_565)
+            .downsample(DownsampleStrategy.CENTER_OUTSIDE)
+            .centerCrop();
+
+    private static final DrawableTransitionOptions TRANSICAO = DrawableTransitionOptions.with(new TransicaoSomenteRede());
+
+    private OpcoesGlide() {
+    }
+
+    /**
+     * Opções para imagens em linhas de listas (já incluem centerCrop)
+     *
+     * @return RequestOptions compartilhadas
+     */
+    public static RequestOptions miniatura() {
+        return MINIATURA;
+    }
+
+    /**
+     * Cross-fade apenas para imagens que não estavam em cache
+     *
+     * @return Opções de transição compartilhadas
+     */
+    public static DrawableTransitionOptions transicao() {
+        return TRANSICAO;
+    }
+
+    /**
+     * Fábrica de transições que ignora resultados vindos dos caches
+     */
+    private static class TransicaoSomenteRede implements TransitionFactory<Drawable> {
+        private final DrawableCrossFadeFactory crossFade = new DrawableCrossFadeFactory.Builder(DURACAO_TRANSICAO_MS)
+                .setCrossFadeEnabled(true)
+                .build();
+
+        @Override
+        public Transition<Drawable> build(DataSource origem, boolean primeiroRecurso) {
+            if (origem == DataSource.REMOTE) {
+                return crossFade.build(origem, primeiroRecurso);
+            }
+            return NoTransition.get();
+        }
+    }
+}
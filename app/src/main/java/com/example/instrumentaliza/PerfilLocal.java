@@ -0,0 +1,126 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.bumptech.glide.signature.ObjectKey;
+
+/**
+ * PerfilLocal - Cópia local do nome e da foto de perfil do usuário
+ *
+ * Guarda, por usuário, o nome, a URL da foto de perfil e um carimbo de versão
+ * da foto. As telas que exibem o próprio perfil (ex.: header do menu lateral)
+ * leem daqui em vez de consultar o Firestore a cada retorno à tela.
+ *
+ * Funcionalidades:
+ * - Leitura e gravação do perfil exibido no header
+ * - Nova versão registrada sempre que a foto é trocada (atualizarImagemPerfilUsuario)
+ * - Assinatura do Glide derivada da versão, invalidando apenas a foto trocada
+ *
+ * Características técnicas:
+ * - SharedPreferences por UID, como o GerenciadorSessao
+ * - A versão é o mesmo carimbo gravado em "profileImageVersion" no documento do usuário
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class PerfilLocal {
+
+    // Constantes
+    private static final String TAG = "PerfilLocal";
+    private static final String NOME_PREF = "InstrumentalizaPerfil";
+    private static final String SUFIXO_NOME = "_nome";
+    private static final String SUFIXO_URL_IMAGEM = "_urlImagem";
+    private static final String SUFIXO_VERSAO_IMAGEM = "_versaoImagem";
+
+    /**
+     * Dados do perfil guardados localmente
+     */
+    public static class Dados {
+        public final String nome;
+        public final String urlImagem;
+        public final long versaoImagem;
+
+        Dados(String nome, String urlImagem, long versaoImagem) {
+            this.nome = nome;
+            this.urlImagem = urlImagem;
+            this.versaoImagem = versaoImagem;
+        }
+
+        /**
+         * Assinatura do Glide para a foto: muda apenas quando a foto é trocada
+         */
+        public ObjectKey assinaturaImagem() {
+            return new ObjectKey(versaoImagem);
+        }
+    }
+
+    private PerfilLocal() {
+    }
+
+    /**
+     * Obtém o perfil guardado para o usuário
+     *
+     * @param contexto Contexto da aplicação
+     * @param idUsuario UID do usuário
+     * @return Dados guardados, ou null se o perfil ainda não foi carregado neste aparelho
+     */
+    public static Dados obter(Context contexto, String idUsuario) {
+        SharedPreferences preferencias = preferencias(contexto);
+        if (!preferencias.contains(idUsuario + SUFIXO_VERSAO_IMAGEM)) {
+            return null;
+        }
+        return new Dados(preferencias.getString(idUsuario + SUFIXO_NOME, null),
+                preferencias.getString(idUsuario + SUFIXO_URL_IMAGEM, null),
+                preferencias.getLong(idUsuario + SUFIXO_VERSAO_IMAGEM, 0));
+    }
+
+    /**
+     * Guarda o perfil lido do Firestore
+     *
+     * @param contexto Contexto da aplicação
+     * @param idUsuario UID do usuário
+     * @param nome Nome exibido
+     * @param urlImagem URL da foto de perfil (ou null)
+     * @param versaoImagem Carimbo "profileImageVersion" do documento (0 se ausente)
+     */
+    public static void guardar(Context contexto, String idUsuario, String nome, String urlImagem, long versaoImagem) {
+        preferencias(contexto).edit()
+                .putString(idUsuario + SUFIXO_NOME, nome)
+                .putString(idUsuario + SUFIXO_URL_IMAGEM, urlImagem)
+                .putLong(idUsuario + SUFIXO_VERSAO_IMAGEM, versaoImagem)
+                .apply();
+    }
+
+    /**
+     * Registra uma nova foto de perfil, mudando a versão
+     *
+     * Sem perfil guardado, não faz nada: o próximo carregamento já lê a foto nova.
+     */
+    public static void registrarImagem(Context contexto, String idUsuario, String urlImagem, long versaoImagem) {
+        SharedPreferences preferencias = preferencias(contexto);
+        if (!preferencias.contains(idUsuario + SUFIXO_VERSAO_IMAGEM)) {
+            return;
+        }
+        preferencias.edit()
+                .putString(idUsuario + SUFIXO_URL_IMAGEM, urlImagem)
+                .putLong(idUsuario + SUFIXO_VERSAO_IMAGEM, versaoImagem)
+                .apply();
+        Log.d(TAG, "Nova versão da foto de perfil registrada: " + versaoImagem);
+    }
+
+    /**
+     * Atualiza o nome guardado após a edição do perfil
+     */
+    public static void registrarNome(Context contexto, String idUsuario, String nome) {
+        SharedPreferences preferencias = preferencias(contexto);
+        if (preferencias.contains(idUsuario + SUFIXO_VERSAO_IMAGEM)) {
+            preferencias.edit().putString(idUsuario + SUFIXO_NOME, nome).apply();
+        }
+    }
+
+    private static SharedPreferences preferencias(Context contexto) {
+        return contexto.getApplicationContext().getSharedPreferences(NOME_PREF, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.instrumentaliza;
+
+import androidx.annotation.LayoutRes;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * PoolVisualizacoes - ViewHolders compartilhados entre as abas de uma tela
+ *
+ * As telas com abas (reservas, solicitações, conversas, perfil) exibem, em
+ * cada aba, um RecyclerView com o mesmo layout de item. Cada lista inflava
+ * seus próprios ViewHolders; com um RecycledViewPool por atividade, as linhas
+ * de uma aba são reaproveitadas pela outra, e algumas são infladas de antemão
+ * em background (InfladorAntecipado) enquanto os dados carregam.
+ *
+ * Funcionalidades:
+ * - Pool único por atividade (a atividade implementa Provedor)
+ * - Linhas devolvidas ao pool quando a aba é destruída (recycleChildrenOnDetach)
+ * - Pré-inflação em background, compartilhada pelas abas (R.integer.prewarm_item_views)
+ * - ID estável a partir do ID do documento, para os adaptadores das listas
+ *
+ * Características técnicas:
+ * - O tipo de view dos adaptadores é o ID do layout do item: layouts diferentes
+ *   nunca se misturam no mesmo pool
+ * - O pool pertence à instância da atividade (não sobrevive à rotação: as
+ *   views guardam o contexto)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public final class PoolVisualizacoes {
+
+    // Constantes
+    private static final int MAXIMO_POR_TIPO = 15;
+
+    /**
+     * Implementado pelas atividades que hospedam abas com listas
+     */
+    public interface Provedor {
+        RecyclerView.RecycledViewPool poolVisualizacoes();
+    }
+
+    private PoolVisualizacoes() {
+    }
+
+    /**
+     * Liga a lista ao pool da atividade e inicia a pré-inflação das linhas
+     *
+     * Chamar após definir o LayoutManager e o adaptador. Sem um Provedor, a
+     * lista mantém o próprio pool e nada é pré-inflado.
+     *
+     * @param fragment Fragment dono da lista
+     * @param lista RecyclerView da aba
+     * @param layoutItem Layout do item (tipo de view retornado pelo adaptador)
+     */
+    public static void aplicar(Fragment fragment, RecyclerView lista, @LayoutRes int layoutItem) {
+        if (!(fragment.getActivity() instanceof Provedor)) {
+            return;
+        }
+        RecyclerView.RecycledViewPool pool = ((Provedor) fragment.getActivity()).poolVisualizacoes();
+        pool.setMaxRecycledViews(layoutItem, MAXIMO_POR_TIPO);
+        lista.setRecycledViewPool(pool);
+        if (lista.getLayoutManager() instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) lista.getLayoutManager()).setRecycleChildrenOnDetach(true);
+        }
+        // As views prontas servem às duas abas: a segunda não pede inflações além das da primeira
+        InfladorAntecipado.preInflar(lista, layoutItem,
+                lista.getResources().getInteger(R.integer.prewarm_item_views));
+    }
+
+    /**
+     * ID estável de uma linha a partir do ID do documento (hash FNV-1a de 64 bits)
+     *
+     * @param idDocumento ID do documento no Firestore
+     * @return ID para RecyclerView.Adapter.getItemId
+     */
+    public static long idEstavel(String idDocumento) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < idDocumento.length(); i++) {
+            hash ^= idDocumento.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
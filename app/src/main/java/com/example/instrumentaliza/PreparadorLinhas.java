@@ -0,0 +1,89 @@
+package com.example.instrumentaliza;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ListAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * PreparadorLinhas - Conversão de dados em modelos de linha fora da thread principal
+ *
+ * As listas recebem documentos do Firestore (ou modelos do espelho local) e
+ * os convertem em modelos de linha imutáveis (LinhaReserva, LinhaChat etc.),
+ * com textos e cores já formatados. A conversão roda em uma thread de
+ * background; o onBindViewHolder apenas copia campos para as views.
+ *
+ * Funcionalidades:
+ * - Conversão em background e entrega ao ListAdapter na thread principal
+ * - Respostas antigas descartadas: apenas a lista mais recente é aplicada
+ * - Itens que falham na conversão são ignorados (registrados no log)
+ *
+ * Características técnicas:
+ * - Uma única thread para todas as listas: os formatadores de data (SimpleDateFormat,
+ *   que não é thread-safe) dos modelos de linha podem ser compartilhados
+ * - Uma instância por adaptador (guarda a geração da última lista enviada)
+ *
+ * @param <T> Tipo recebido (ex.: DocumentSnapshot)
+ * @param <L> Modelo de linha exibido pelo adaptador
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class PreparadorLinhas<T, L> {
+
+    // Constantes
+    private static final String TAG = "PreparadorLinhas";
+
+    private static final ExecutorService executorLinhas = Executors.newSingleThreadExecutor();
+    private static final Handler threadPrincipal = new Handler(Looper.getMainLooper());
+
+    private final Function<T, L> conversor;
+
+    // Acessada apenas na thread principal
+    private int geracao = 0;
+
+    /**
+     * @param conversor Converte um item no modelo de linha; executado na thread de background
+     */
+    public PreparadorLinhas(Function<T, L> conversor) {
+        this.conversor = conversor;
+    }
+
+    /**
+     * Converte os itens em background e envia o resultado ao adaptador
+     *
+     * Deve ser chamado na thread principal.
+     *
+     * @param adaptador ListAdapter que exibe as linhas
+     * @param itens Itens a converter (copiados; o chamador pode continuar alterando a lista)
+     * @param aoConcluir Executado na thread principal após a lista ser aplicada (pode ser null)
+     */
+    public void enviar(ListAdapter<L, ?> adaptador, List<T> itens, @Nullable Runnable aoConcluir) {
+        int geracaoEnviada = ++geracao;
+        List<T> copia = new ArrayList<>(itens);
+        executorLinhas.execute(() -> {
+            List<L> linhas = new ArrayList<>(copia.size());
+            for (T item : copia) {
+                try {
+                    linhas.add(conversor.apply(item));
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Item ignorado na conversão: " + e.getMessage(), e);
+                }
+            }
+            threadPrincipal.post(() -> {
+                // Uma lista mais nova já foi enviada: esta não deve sobrescrevê-la
+                if (geracaoEnviada == geracao) {
+                    adaptador.submitList(linhas, aoConcluir);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.instrumentaliza;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.Base64;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+/**
+ * PreviaImagem - Prévia de baixa resolução (LQIP) gravada no documento do instrumento
+ *
+ * Cada imagem enviada ganha uma versão minúscula (16 px no maior lado), codificada
+ * em WebP e Base64 e gravada junto às URLs. As listas exibem essa prévia
+ * ampliada, de forma síncrona, enquanto o Glide baixa a versão real; a linha
+ * nunca aparece vazia ou com o ícone genérico.
+ *
+ * Funcionalidades:
+ * - Geração da prévia a partir do bitmap já decodificado pelo ProcessadorImagem
+ * - Decodificação síncrona em um Drawable pronto para usar como placeholder do Glide
+ * - Cache dos bitmaps decodificados, reaproveitados ao rolar a lista
+ * - Pré-decodificação em background junto com os modelos de linha (preCarregar)
+ *
+ * Características técnicas:
+ * - Poucas centenas de bytes por imagem no documento
+ * - Decodificar 16 px leva microssegundos: seguro na thread principal (onBindViewHolder)
+ * - Prévia inválida ou ausente retorna null (o chamador mantém o comportamento anterior)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class PreviaImagem {
+
+    // Constantes
+    private static final String TAG = "PreviaImagem";
+    private static final int LADO_PREVIA = 16;
+    private static final int QUALIDADE_PREVIA = 40;
+    private static final int MAXIMO_EM_CACHE = 256;
+
+    // Bitmaps de 16 px: 1 KB cada, no máximo
+    private static final LruCache<String, Bitmap> cache = new LruCache<>(MAXIMO_EM_CACHE);
+
+    private PreviaImagem() {
+    }
+
+    /**
+     * Gera a prévia de uma imagem (não altera nem recicla o original)
+     *
+     * @param original Bitmap da imagem
+     * @return Prévia em Base64, para gravar no Firestore
+     */
+    public static String gerar(Bitmap original) {
+        float escala = (float) LADO_PREVIA / Math.max(original.getWidth(), original.getHeight());
+        Bitmap reduzida = Bitmap.createScaledBitmap(original,
+                Math.max(1, Math.round(original.getWidth() * escala)),
+                Math.max(1, Math.round(original.getHeight() * escala)), true);
+        byte[] bytes = ProcessadorImagem.codificarWebp(reduzida, QUALIDADE_PREVIA);
+        if (reduzida != original) {
+            reduzida.recycle();
+        }
+        return Base64.encodeToString(bytes, Base64.NO_WRAP);
+    }
+
+    /**
+     * Decodifica a prévia para o cache, sem criar o Drawable
+     *
+     * Chamado em background (PreparadorLinhas): o onBindViewHolder encontra o
+     * bitmap pronto e apenas o embrulha no Drawable.
+     *
+     * @param previa Prévia em Base64 (pode ser null)
+     */
+    public static void preCarregar(@Nullable String previa) {
+        bitmap(previa);
+    }
+
+    /**
+     * Decodifica a prévia em um Drawable para exibição imediata
+     *
+     * @param recursos Resources da view de destino
+     * @param previa Prévia em Base64 (pode ser null)
+     * @return Drawable ampliado com filtragem, ou null se não houver prévia válida
+     */
+    @Nullable
+    public static Drawable drawable(Resources recursos, @Nullable String previa) {
+        Bitmap bitmap = bitmap(previa);
+        if (bitmap == null) {
+            return null;
+        }
+        // Um Drawable por view (o estado de desenho não é compartilhado), mesmo bitmap
+        BitmapDrawable desenhavel = new BitmapDrawable(recursos, bitmap);
+        desenhavel.setFilterBitmap(true);
+        return desenhavel;
+    }
+
+    @Nullable
+    private static Bitmap bitmap(@Nullable String previa) {
+        if (previa == null || previa.isEmpty()) {
+            return null;
+        }
+        Bitmap bitmap = cache.get(previa);
+        if (bitmap == null) {
+            try {
+                byte[] bytes = Base64.decode(previa, Base64.NO_WRAP);
+                bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Prévia inválida ignorada");
+                return null;
+            }
+            if (bitmap == null) {
+                return null;
+            }
+            cache.put(previa, bitmap);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.instrumentaliza;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ProcessadorImagem - Preparação de imagens antes do upload
+ *
+ * Fotos da galeria costumam ser JPEGs de câmera com vários megabytes. Antes
+ * de enviar ao Firebase Storage, a imagem é reduzida e recodificada, de modo
+ * que o upload, o armazenamento e o download em cada linha do catálogo
+ * trabalhem com poucas centenas de kilobytes.
+ *
+ * Funcionalidades:
+ * - Decodificação com subamostragem (inSampleSize), sem carregar a foto inteira
+ * - Correção da orientação pela tag EXIF
+ * - Redimensionamento para uma dimensão máxima
+ * - Recodificação em WebP com qualidade configurável
+ * - Geração das versões miniatura, cartão e completa (VersoesImagem) a partir de uma única decodificação
+ * - Prévia de baixa resolução (PreviaImagem) gerada na mesma decodificação
+ *
+ * Características técnicas:
+ * - Processamento em thread de background (nunca na thread principal)
+ * - Bitmaps intermediários reciclados assim que deixam de ser usados
+ * - CompletableFuture para operações assíncronas, como no GerenciadorFirebase
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ProcessadorImagem {
+
+    // Constantes
+    private static final String TAG = "ProcessadorImagem";
+
+    // Limites padrão por tipo de imagem
+    public static final int DIMENSAO_MAXIMA_INSTRUMENTO = 1280;
+    public static final int DIMENSAO_MAXIMA_PERFIL = 512;
+    public static final int QUALIDADE_PADRAO = 80;
+
+    // Tipo de conteúdo gravado nos metadados do Storage
+    public static final String TIPO_CONTEUDO = "image/webp";
+    public static final String EXTENSAO = ".webp";
+
+    // Thread dedicada à decodificação/recodificação
+    private static final ExecutorService executorImagens = Executors.newSingleThreadExecutor();
+
+    private ProcessadorImagem() {
+    }
+
+    /**
+     * Reduz e recodifica uma imagem em WebP com a qualidade padrão
+     *
+     * @param contexto Contexto usado para abrir a URI
+     * @param uriImagem URI da imagem selecionada
+     * @param dimensaoMaxima Maior lado permitido, em pixels
+     * @return CompletableFuture<byte[]> com os bytes WebP
+     */
+    public static CompletableFuture<byte[]> prepararParaUpload(Context contexto, Uri uriImagem, int dimensaoMaxima) {
+        return prepararParaUpload(contexto, uriImagem, dimensaoMaxima, QUALIDADE_PADRAO);
+    }
+
+    /**
+     * Reduz e recodifica uma imagem em WebP
+     *
+     * @param contexto Contexto usado para abrir a URI
+     * @param uriImagem URI da imagem selecionada
+     * @param dimensaoMaxima Maior lado permitido, em pixels
+     * @param qualidade Qualidade WebP (0 a 100)
+     * @return CompletableFuture<byte[]> com os bytes WebP
+     */
+    public static CompletableFuture<byte[]> prepararParaUpload(Context contexto, Uri uriImagem, int dimensaoMaxima, int qualidade) {
+        ContentResolver resolvedor = contexto.getApplicationContext().getContentResolver();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Bitmap imagem = redimensionar(resolvedor, uriImagem, dimensaoMaxima);
+                byte[] bytes = codificarWebp(imagem, qualidade);
+                Log.d(TAG, "Imagem preparada: " + imagem.getWidth() + "x" + imagem.getHeight()
+                        + ", " + (bytes.length / 1024) + " KB");
+                imagem.recycle();
+                return bytes;
+            } catch (IOException e) {
+                Log.e(TAG, "Erro ao processar imagem: " + e.getMessage(), e);
+                throw new CompletionException(e);
+            }
+        }, executorImagens);
+    }
+
+    /**
+     * Bytes WebP das três versões da imagem de um instrumento e sua prévia (Base64)
+     */
+    public static class Versoes {
+        public final byte[] miniatura;
+        public final byte[] cartao;
+        public final byte[] completa;
+        public final String previa;
+
+        Versoes(byte[] miniatura, byte[] cartao, byte[] completa, String previa) {
+            this.miniatura = miniatura;
+            this.cartao = cartao;
+            this.completa = completa;
+            this.previa = previa;
+        }
+    }
+
+    /**
+     * Gera as versões miniatura, cartão e completa de uma imagem de instrumento
+     *
+     * A foto é decodificada uma única vez no tamanho da versão completa; as
+     * menores são reduzidas a partir dela.
+     *
+     * @param contexto Contexto usado para abrir a URI
+     * @param uriImagem URI da imagem selecionada
+     * @return CompletableFuture<Versoes> com os bytes WebP de cada versão
+     */
+    public static CompletableFuture<Versoes> prepararVersoes(Context contexto, Uri uriImagem) {
+        ContentResolver resolvedor = contexto.getApplicationContext().getContentResolver();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Bitmap completa = redimensionar(resolvedor, uriImagem, VersoesImagem.LADO_COMPLETA);
+                byte[] bytesCompleta = codificarWebp(completa, QUALIDADE_PADRAO);
+                byte[] bytesCartao = codificarReduzida(completa, VersoesImagem.LADO_CARTAO);
+                byte[] bytesMiniatura = codificarReduzida(completa, VersoesImagem.LADO_MINIATURA);
+                String previa = PreviaImagem.gerar(completa);
+                completa.recycle();
+                Log.d(TAG, "Versões preparadas: completa " + (bytesCompleta.length / 1024) + " KB, cartão "
+                        + (bytesCartao.length / 1024) + " KB, miniatura " + (bytesMiniatura.length / 1024) + " KB");
+                return new Versoes(bytesMiniatura, bytesCartao, bytesCompleta, previa);
+            } catch (IOException e) {
+                Log.e(TAG, "Erro ao processar imagem: " + e.getMessage(), e);
+                throw new CompletionException(e);
+            }
+        }, executorImagens);
+    }
+
+    /**
+     * Reduz o bitmap para o lado máximo indicado e codifica em WebP (sem alterar o original)
+     */
+    private static byte[] codificarReduzida(Bitmap original, int ladoMaximo) {
+        int maiorLado = Math.max(original.getWidth(), original.getHeight());
+        if (maiorLado <= ladoMaximo) {
+            return codificarWebp(original, QUALIDADE_PADRAO);
+        }
+        float escala = (float) ladoMaximo / maiorLado;
+        Bitmap reduzida = Bitmap.createScaledBitmap(original,
+                Math.max(1, Math.round(original.getWidth() * escala)),
+                Math.max(1, Math.round(original.getHeight() * escala)), true);
+        byte[] bytes = codificarWebp(reduzida, QUALIDADE_PADRAO);
+        if (reduzida != original) {
+            reduzida.recycle();
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodifica a imagem já subamostrada, aplica a orientação EXIF e ajusta à dimensão máxima
+     */
+    static Bitmap redimensionar(ContentResolver resolvedor, Uri uriImagem, int dimensaoMaxima) throws IOException {
+        // 1ª leitura: apenas as dimensões
+        BitmapFactory.Options opcoes = new BitmapFactory.Options();
+        opcoes.inJustDecodeBounds = true;
+        try (InputStream entrada = abrir(resolvedor, uriImagem)) {
+            BitmapFactory.decodeStream(entrada, null, opcoes);
+        }
+        if (opcoes.outWidth <= 0 || opcoes.outHeight <= 0) {
+            throw new IOException("Formato de imagem não suportado: " + uriImagem);
+        }
+
+        // 2ª leitura: decodificar já reduzida (potência de 2 que não fica abaixo do alvo)
+        opcoes.inJustDecodeBounds = false;
+        opcoes.inSampleSize = calcularSubamostragem(opcoes.outWidth, opcoes.outHeight, dimensaoMaxima);
+        Bitmap decodificada;
+        try (InputStream entrada = abrir(resolvedor, uriImagem)) {
+            decodificada = BitmapFactory.decodeStream(entrada, null, opcoes);
+        }
+        if (decodificada == null) {
+            throw new IOException("Não foi possível decodificar a imagem: " + uriImagem);
+        }
+
+        // Rotação EXIF e escala final em uma única transformação
+        Matrix transformacao = new Matrix();
+        aplicarOrientacao(transformacao, lerOrientacao(resolvedor, uriImagem));
+        int maiorLado = Math.max(decodificada.getWidth(), decodificada.getHeight());
+        if (maiorLado > dimensaoMaxima) {
+            float escala = (float) dimensaoMaxima / maiorLado;
+            transformacao.postScale(escala, escala);
+        }
+        if (transformacao.isIdentity()) {
+            return decodificada;
+        }
+
+        Bitmap resultado = Bitmap.createBitmap(decodificada, 0, 0,
+                decodificada.getWidth(), decodificada.getHeight(), transformacao, true);
+        if (resultado != decodificada) {
+            decodificada.recycle();
+        }
+        return resultado;
+    }
+
+    /**
+     * Recodifica o bitmap em WebP com perdas
+     */
+    static byte[] codificarWebp(Bitmap imagem, int qualidade) {
+        Bitmap.CompressFormat formato = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : formatoWebpLegado();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        imagem.compress(formato, Math.max(0, Math.min(100, qualidade)), saida);
+        return saida.toByteArray();
+    }
+
+    /**
+     * Formato WebP antes do Android 11 (API 30), onde a qualidade abaixo de 100 já gera WebP com perdas
+     */
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat formatoWebpLegado() {
+        return Bitmap.CompressFormat.WEBP;
+    }
+
+    /**
+     * Maior potência de 2 que mantém o maior lado igual ou acima da dimensão máxima
+     */
+    static int calcularSubamostragem(int largura, int altura, int dimensaoMaxima) {
+        int maiorLado = Math.max(largura, altura);
+        int subamostragem = 1;
+        while (maiorLado / (subamostragem * 2) >= dimensaoMaxima) {
+            subamostragem *= 2;
+        }
+        return subamostragem;
+    }
+
+    private static int lerOrientacao(ContentResolver resolvedor, Uri uriImagem) {
+        try (InputStream entrada = abrir(resolvedor, uriImagem)) {
+            return new ExifInterface(entrada).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            Log.w(TAG, "EXIF não disponível, mantendo orientação: " + e.getMessage());
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+
+    private static void aplicarOrientacao(Matrix transformacao, int orientacao) {
+        switch (orientacao) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                transformacao.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                transformacao.postRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                transformacao.postScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                transformacao.postRotate(90);
+                transformacao.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                transformacao.postRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                transformacao.postRotate(-90);
+                transformacao.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                transformacao.postRotate(270);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static InputStream abrir(ContentResolver resolvedor, Uri uriImagem) throws IOException {
+        InputStream entrada = resolvedor.openInputStream(uriImagem);
+        if (entrada == null) {
+            throw new IOException("Não foi possível abrir a imagem: " + uriImagem);
+        }
+        return entrada;
+    }
+}
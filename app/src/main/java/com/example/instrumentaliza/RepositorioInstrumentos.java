@@ -0,0 +1,244 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * RepositorioInstrumentos - Espelho local (offline-first) da coleção de instrumentos
+ *
+ * Mantém a tabela "instrumentos" do AppDatabase sincronizada com a coleção
+ * "instruments" do Firestore e responde às consultas do catálogo a partir do
+ * banco local. Assim, abrir o catálogo é uma consulta em disco, e não o
+ * download da coleção inteira.
+ *
+ * Funcionalidades principais:
+ * - Sincronização incremental pela marca d'água updatedAt
+ * - Remoção local de instrumentos excluídos (tombstones de deletarInstrumento)
+ * - Sincronização completa quando o espelho está vazio
+ * - Busca, filtro por categoria/datas e ordenação por preço no banco local
+ * - Busca de texto completo (FTS4) por prefixo, sem acentos, ranqueada por BM25
+ *
+ * Características técnicas:
+ * - Acesso ao Room em uma única thread de background
+ * - Marca d'água persistida em SharedPreferences
+ * - Apenas uma sincronização em andamento por vez
+ * - CompletableFuture para operações assíncronas, como no GerenciadorFirebase
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class RepositorioInstrumentos {
+
+    // Constantes
+    private static final String TAG = "RepositorioInstrumentos";
+    private static final String NOME_PREF = "InstrumentalizaSincronizacao";
+    private static final String CHAVE_MARCA_DAGUA = "instrumentosAtualizadosAte";
+
+    // Thread única para todas as operações no banco local
+    private static final ExecutorService executorBanco = Executors.newSingleThreadExecutor();
+
+    // Sincronização em andamento (evita consultas duplicadas ao Firestore)
+    private static CompletableFuture<Boolean> sincronizacaoEmAndamento;
+
+    private RepositorioInstrumentos() {
+    }
+
+    /**
+     * Sincroniza o espelho local com o Firestore
+     *
+     * Na primeira execução (ou com o banco vazio) baixa a coleção inteira e
+     * substitui o espelho. Nas seguintes, baixa apenas os documentos com
+     * updatedAt igual ou posterior à marca d'água e aplica as exclusões
+     * registradas no mesmo intervalo.
+     *
+     * @param contexto Contexto da aplicação
+     * @return CompletableFuture<Boolean> que completa quando o espelho estiver
+     *         atualizado; true se o espelho mudou (marca d'água avançou ou houve exclusões)
+     */
+    public static synchronized CompletableFuture<Boolean> sincronizar(Context contexto) {
+        if (sincronizacaoEmAndamento != null && !sincronizacaoEmAndamento.isDone()) {
+            return sincronizacaoEmAndamento;
+        }
+
+        Context contextoApp = contexto.getApplicationContext();
+        InstrumentoDao dao = AppDatabase.getInstance(contextoApp).instrumentoDao();
+        SharedPreferences preferencias = contextoApp.getSharedPreferences(NOME_PREF, Context.MODE_PRIVATE);
+
+        sincronizacaoEmAndamento = CompletableFuture
+                .supplyAsync(() -> {
+                    long marcaDagua = preferencias.getLong(CHAVE_MARCA_DAGUA, 0);
+                    // Banco recriado (ex.: migração destrutiva): forçar sincronização completa
+                    return marcaDagua > 0 && dao.contar() > 0 ? marcaDagua : 0L;
+                }, executorBanco)
+                .thenCompose(marcaDagua -> {
+                    boolean completa = marcaDagua == 0;
+                    Date desde = completa ? null : new Date(marcaDagua);
+                    Log.d(TAG, "Iniciando sincronização " + (completa ? "completa" : "incremental desde " + desde));
+
+                    CompletableFuture<List<String>> exclusoes = completa
+                            ? CompletableFuture.completedFuture(new ArrayList<>())
+                            : GerenciadorFirebase.obterExclusoesInstrumentosDesde(desde);
+
+                    return GerenciadorFirebase.obterInstrumentosAlteradosDesde(desde)
+                            .thenCombineAsync(exclusoes, (documentos, idsExcluidos) ->
+                                    aplicarAlteracoes(dao, preferencias, marcaDagua, completa, documentos, idsExcluidos),
+                                    executorBanco);
+                });
+
+        return sincronizacaoEmAndamento;
+    }
+
+    /**
+     * Grava no banco local o resultado de uma sincronização e avança a marca d'água
+     * 
+     * Executado na thread do banco local. As exclusões são aplicadas depois das
+     * gravações para que um tombstone sempre prevaleça sobre o documento.
+     *
+     * @return true se o espelho mudou; a consulta incremental usa "igual ou
+     *         posterior", então os documentos na própria marca d'água voltam
+     *         sempre e não contam como mudança
+     */
+    private static boolean aplicarAlteracoes(InstrumentoDao dao, SharedPreferences preferencias, long marcaDaguaAnterior,
+                                          boolean completa, List<DocumentSnapshot> documentos, List<String> idsExcluidos) {
+        List<Instrumento> instrumentos = new ArrayList<>();
+        long novaMarcaDagua = marcaDaguaAnterior;
+        for (DocumentSnapshot documento : documentos) {
+            Instrumento instrumento = Instrumento.deDocumento(documento);
+            instrumentos.add(instrumento);
+            if (instrumento.getAtualizadoEm() != null) {
+                novaMarcaDagua = Math.max(novaMarcaDagua, instrumento.getAtualizadoEm().getTime());
+            }
+        }
+        // Após uma sincronização completa, a marca d'água nunca volta a zero
+        novaMarcaDagua = Math.max(novaMarcaDagua, 1);
+
+        int excluidos = 0;
+        if (completa) {
+            dao.substituirTodos(instrumentos);
+        } else {
+            dao.inserirOuAtualizar(instrumentos);
+            if (!idsExcluidos.isEmpty()) {
+                excluidos = dao.deletarPorIds(idsExcluidos);
+            }
+        }
+        preferencias.edit().putLong(CHAVE_MARCA_DAGUA, novaMarcaDagua).apply();
+        Log.d(TAG, "Sincronização concluída - gravados: " + instrumentos.size()
+                + ", excluídos: " + excluidos);
+        return completa || novaMarcaDagua > marcaDaguaAnterior || excluidos > 0;
+    }
+
+    /**
+     * Consulta o catálogo no banco local
+     *
+     * @param contexto Contexto da aplicação
+     * @param consulta Texto buscado em nome/descrição (vazio para todos)
+     * @param categoria Categoria normalizada (vazia para todas)
+     * @param precoCrescente true para ordenar do menor para o maior preço
+     * @param dataInicioUtc Início do filtro de disponibilidade (ou null)
+     * @param dataFimUtc Fim do filtro de disponibilidade (ou null)
+     * @return CompletableFuture<List<Instrumento>> com os instrumentos disponíveis
+     */
+    public static CompletableFuture<List<Instrumento>> buscarCatalogo(Context contexto, String consulta, String categoria,
+                                                                     boolean precoCrescente, Long dataInicioUtc, Long dataFimUtc) {
+        InstrumentoDao dao = AppDatabase.getInstance(contexto.getApplicationContext()).instrumentoDao();
+
+        return CompletableFuture.supplyAsync(() -> {
+            boolean temConsulta = consulta != null && !consulta.isEmpty();
+            String consultaFts = temConsulta ? montarConsultaFts(consulta) : "";
+            if (temConsulta && consultaFts.isEmpty()) {
+                return new ArrayList<Instrumento>();
+            }
+
+            List<ResultadoBuscaInstrumento> resultados = dao.consultar(new ConsultaInstrumentos()
+                    .comTexto(consultaFts)
+                    .naCategoria(categoria)
+                    .ordenarPorPreco(precoCrescente)
+                    .construir());
+            List<Instrumento> instrumentos = ordenarResultadosBusca(resultados);
+
+            // Filtro por intervalo de datas (excluir instrumentos indisponíveis no período)
+            if (dataInicioUtc != null && dataFimUtc != null) {
+                instrumentos.removeIf(instrumento -> instrumento.estaIndisponivelEntre(dataInicioUtc, dataFimUtc));
+            }
+
+            Log.d(TAG, "Catálogo local: " + instrumentos.size() + " instrumentos");
+            return instrumentos;
+        }, executorBanco);
+    }
+
+    /**
+     * Converte o texto digitado em uma expressão MATCH do FTS4 com busca por prefixo
+     * 
+     * Cada palavra vira um termo com "*" (ex.: "viol cord" -> "viol* cord*"), e
+     * todos os termos precisam aparecer. Caracteres especiais da sintaxe do FTS
+     * são descartados para que a entrada do usuário nunca gere erro de consulta.
+     * 
+     * @param consulta Texto digitado pelo usuário
+     * @return Expressão MATCH, ou string vazia se não houver termos válidos
+     */
+    static String montarConsultaFts(String consulta) {
+        StringBuilder expressao = new StringBuilder();
+        for (String termo : consulta.split("[^\\p{L}\\p{N}]+")) {
+            if (termo.isEmpty()) {
+                continue;
+            }
+            if (expressao.length() > 0) {
+                expressao.append(' ');
+            }
+            expressao.append(termo).append('*');
+        }
+        return expressao.toString();
+    }
+
+    /**
+     * Ordena os resultados da busca pela relevância BM25, usando o preço como desempate
+     * 
+     * Os resultados já chegam ordenados por preço do banco; sem busca de texto
+     * (sem matchinfo) a ordem é mantida como está.
+     */
+    private static List<Instrumento> ordenarResultadosBusca(List<ResultadoBuscaInstrumento> resultados) {
+        List<Instrumento> instrumentos = new ArrayList<>(resultados.size());
+        if (!resultados.isEmpty() && resultados.get(0).infoCorrespondencia == null) {
+            for (ResultadoBuscaInstrumento resultado : resultados) {
+                instrumentos.add(resultado.instrumento);
+            }
+            return instrumentos;
+        }
+        Map<ResultadoBuscaInstrumento, Double> relevancia = new HashMap<>();
+        for (ResultadoBuscaInstrumento resultado : resultados) {
+            relevancia.put(resultado, resultado.calcularBm25());
+        }
+        // Ordenação estável: empates de relevância mantêm a ordem por preço do banco
+        resultados.sort((a, b) -> Double.compare(relevancia.get(b), relevancia.get(a)));
+        for (ResultadoBuscaInstrumento resultado : resultados) {
+            instrumentos.add(resultado.instrumento);
+        }
+        return instrumentos;
+    }
+
+    /**
+     * Remove um instrumento do espelho local logo após a exclusão no Firestore
+     *
+     * @param contexto Contexto da aplicação
+     * @param idInstrumento ID do instrumento excluído
+     * @return CompletableFuture<Void> que completa após a remoção
+     */
+    public static CompletableFuture<Void> removerLocalmente(Context contexto, String idInstrumento) {
+        InstrumentoDao dao = AppDatabase.getInstance(contexto.getApplicationContext()).instrumentoDao();
+        List<String> ids = new ArrayList<>();
+        ids.add(idInstrumento);
+        return CompletableFuture.runAsync(() -> dao.deletarPorIds(ids), executorBanco);
+    }
+}
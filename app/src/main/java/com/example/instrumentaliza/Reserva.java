@@ -23,7 +23,7 @@ import java.util.Date;
  * 
  * Características técnicas:
  * - Entidade Room Database com chave primária auto-incremento
- * - Foreign Keys para Usuario e Instrumento
+ * - Foreign Key para Usuario (a tabela de instrumentos é um espelho do Firestore)
  * - Índices para performance em consultas
  * - Cascade delete quando entidades relacionadas são removidas
  * 
@@ -37,12 +37,6 @@ import java.util.Date;
                 parentColumns = "id",
                 childColumns = "idUsuario",
                 onDelete = ForeignKey.CASCADE
-            ),
-            @ForeignKey(
-                entity = Instrumento.class,
-                parentColumns = "id",
-                childColumns = "idInstrumento",
-                onDelete = ForeignKey.CASCADE
             )
         },
         indices = {@Index("idUsuario"), @Index("idInstrumento")})
@@ -0,0 +1,72 @@
+package com.example.instrumentaliza;
+
+import androidx.room.Embedded;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * ResultadoBuscaInstrumento - Resultado de uma busca de texto completo
+ *
+ * Agrupa o instrumento encontrado com o blob matchinfo('pcnalx') do FTS4,
+ * a partir do qual é calculada a relevância BM25 do resultado.
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ResultadoBuscaInstrumento {
+
+    // Parâmetros padrão do BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Peso de cada coluna do índice (nome vale mais que descrição)
+    private static final double[] PESOS_COLUNAS = {2.0, 1.0};
+
+    @Embedded
+    public Instrumento instrumento;
+
+    // Blob matchinfo(instrumentos_fts, 'pcnalx')
+    public byte[] infoCorrespondencia;
+
+    /**
+     * Calcula a relevância BM25 do resultado
+     *
+     * Formato do matchinfo 'pcnalx' (inteiros de 32 bits, ordem nativa):
+     * p (frases), c (colunas), n (total de linhas), a[c] (média de tokens por coluna),
+     * l[c] (tokens desta linha por coluna) e x[3*p*c] (ocorrências por frase/coluna).
+     *
+     * @return Pontuação BM25 (maior é mais relevante)
+     */
+    public double calcularBm25() {
+        if (infoCorrespondencia == null || infoCorrespondencia.length < 12) {
+            return 0.0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(infoCorrespondencia).order(ByteOrder.nativeOrder());
+        int frases = buffer.getInt(0);
+        int colunas = buffer.getInt(4);
+        long totalLinhas = buffer.getInt(8) & 0xFFFFFFFFL;
+        int inicioMedias = 3;
+        int inicioTamanhos = inicioMedias + colunas;
+        int inicioOcorrencias = inicioTamanhos + colunas;
+
+        double pontuacao = 0.0;
+        for (int frase = 0; frase < frases; frase++) {
+            for (int coluna = 0; coluna < colunas; coluna++) {
+                int base = inicioOcorrencias + 3 * (frase * colunas + coluna);
+                double ocorrencias = buffer.getInt(base * 4);
+                double documentosComTermo = buffer.getInt((base + 2) * 4);
+                if (ocorrencias <= 0) {
+                    continue;
+                }
+                double media = Math.max(1, buffer.getInt((inicioMedias + coluna) * 4));
+                double tamanho = buffer.getInt((inicioTamanhos + coluna) * 4);
+                double idf = Math.log(1 + (totalLinhas - documentosComTermo + 0.5) / (documentosComTermo + 0.5));
+                double tf = (ocorrencias * (K1 + 1)) / (ocorrencias + K1 * (1 - B + B * tamanho / media));
+                double peso = coluna < PESOS_COLUNAS.length ? PESOS_COLUNAS[coluna] : 1.0;
+                pontuacao += peso * idf * tf;
+            }
+        }
+        return pontuacao;
+    }
+}
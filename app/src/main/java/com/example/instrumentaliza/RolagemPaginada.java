@@ -0,0 +1,65 @@
+package com.example.instrumentaliza;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * RolagemPaginada - Pede a próxima página antes de a rolagem chegar ao fim da lista
+ *
+ * Usada junto com a ListaPaginada: quando a última linha visível fica a menos
+ * de uma janela de distância do fim, a próxima página é pedida. Com a janela
+ * maior que uma tela, as linhas novas chegam antes de o usuário alcançá-las.
+ *
+ * Funcionalidades:
+ * - Janela de pré-carregamento configurável (em linhas)
+ * - Também dispara quando a primeira página não preenche a tela (o RecyclerView
+ *   chama onScrolled com deslocamento zero após o layout)
+ *
+ * Características técnicas:
+ * - Requer LinearLayoutManager
+ * - Chamadas repetidas são esperadas: quem carrega deve ignorar pedidos durante uma carga
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class RolagemPaginada extends RecyclerView.OnScrollListener {
+
+    // Constantes
+    public static final int JANELA_PADRAO = 10;
+
+    private final int janela;
+    private final Runnable aoAproximarDoFim;
+
+    /**
+     * @param aoAproximarDoFim Executado na thread principal para pedir a próxima página
+     */
+    public RolagemPaginada(Runnable aoAproximarDoFim) {
+        this(JANELA_PADRAO, aoAproximarDoFim);
+    }
+
+    /**
+     * @param janela Distância do fim, em linhas, a partir da qual a próxima página é pedida
+     * @param aoAproximarDoFim Executado na thread principal para pedir a próxima página
+     */
+    public RolagemPaginada(int janela, Runnable aoAproximarDoFim) {
+        this.janela = janela;
+        this.aoAproximarDoFim = aoAproximarDoFim;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView lista, int dx, int dy) {
+        if (dy < 0) {
+            return;
+        }
+        RecyclerView.LayoutManager gerenciador = lista.getLayoutManager();
+        if (!(gerenciador instanceof LinearLayoutManager)) {
+            return;
+        }
+        int total = gerenciador.getItemCount();
+        int ultimaVisivel = ((LinearLayoutManager) gerenciador).findLastVisibleItemPosition();
+        if (total > 0 && ultimaVisivel >= total - janela) {
+            aoAproximarDoFim.run();
+        }
+    }
+}
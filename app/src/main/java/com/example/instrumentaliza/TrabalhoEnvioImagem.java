@@ -0,0 +1,490 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.UploadTask;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TrabalhoEnvioImagem - Envio de imagens em segundo plano (WorkManager)
+ *
+ * Envia ao Firebase Storage os arquivos já processados pelo ProcessadorImagem
+ * e, ao final, grava as URLs no documento de destino (instrumento ou perfil).
+ * Como roda no WorkManager, o envio continua com o app em segundo plano e é
+ * retomado após a morte do processo.
+ *
+ * Funcionalidades:
+ * - Upload retomável: a URI de sessão do Storage é persistida e reutilizada,
+ *   continuando do último byte confirmado em vez de reenviar o arquivo
+ * - Arquivos já concluídos não são reenviados em uma nova tentativa
+ * - Destinos nomeados pelo hash do conteúdo: se o objeto já existe no Storage
+ *   (mesma imagem enviada antes), sua URL é reaproveitada sem novo upload
+ * - Progresso publicado via setProgress (bytes enviados / total e percentual por
+ *   imagem) e persistido, sendo reapresentado quando o trabalho é retomado
+ * - Galerias: vários arquivos enviados em paralelo, no máximo
+ *   {@link #LIMITE_ENVIOS_SIMULTANEOS} ao mesmo tempo
+ * - Atualização do documento do instrumento (galeria e capa) ou do perfil ao concluir
+ *
+ * Características técnicas:
+ * - Entrada em um arquivo de manifesto (JSON) gravado pelo GerenciadorEnvioImagens:
+ *   o Data do WorkManager recebe apenas o caminho, longe do limite de 10 KB
+ * - Estado de cada arquivo em SharedPreferences, por ID do trabalho; o estado de
+ *   um trabalho substituído (REPLACE) é removido ao agendar o novo (limparEstado)
+ * - Progresso recebido em uma thread própria, gravado e publicado no máximo a
+ *   cada {@link #INTERVALO_PROGRESSO_MS} ms por arquivo
+ * - Falhas de rede resultam em Result.retry() (backoff do WorkManager),
+ *   até {@link #MAXIMO_TENTATIVAS} tentativas
+ * - Arquivos locais e estado removidos após o sucesso
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class TrabalhoEnvioImagem extends Worker {
+
+    // Constantes
+    private static final String TAG = "TrabalhoEnvioImagem";
+    private static final String NOME_PREF = "InstrumentalizaEnvios";
+    private static final int MAXIMO_TENTATIVAS = 10;
+    private static final int LIMITE_ENVIOS_SIMULTANEOS = 3;
+    private static final String METADADO_ULTIMO_USO = "ultimoUso";
+    private static final long INTERVALO_PROGRESSO_MS = 500;
+
+    // Chave de entrada (Data): caminho do manifesto
+    static final String ENTRADA_MANIFESTO = "manifesto";
+
+    // Chaves do manifesto
+    static final String ENTRADA_TIPO = "tipo";
+    static final String ENTRADA_ID_ALVO = "idAlvo";
+    static final String ENTRADA_ARQUIVOS = "arquivos";
+    static final String ENTRADA_DESTINOS = "destinos";
+    static final String ENTRADA_CAMPOS = "campos";
+    static final String ENTRADA_IMAGENS = "imagens";
+    static final String ENTRADA_APENAS_CAPA = "apenasCapa";
+    static final String ENTRADA_PREVIAS = "previas";
+
+    // Chaves de progresso/saída
+    public static final String PROGRESSO_ENVIADOS = "bytesEnviados";
+    public static final String PROGRESSO_TOTAL = "bytesTotal";
+    public static final String PROGRESSO_POR_IMAGEM = "percentualPorImagem";
+    public static final String SAIDA_URLS = "urls";
+
+    // Tipos de destino
+    static final String TIPO_INSTRUMENTO = "instrumento";
+    static final String TIPO_PERFIL = "perfil";
+
+    private final SharedPreferences estado;
+
+    // Manifesto da execução atual
+    private JSONObject manifesto;
+
+    // Arquivos da execução atual: índice da imagem, tamanho e bytes já enviados de cada um
+    private int[] imagemDoArquivo;
+    private long[] tamanhos;
+    private AtomicLongArray enviados;
+    // Última gravação do progresso de cada arquivo e última publicação (elapsed ms)
+    private AtomicLongArray ultimaGravacao;
+    private final AtomicLong ultimaPublicacao = new AtomicLong();
+
+    public TrabalhoEnvioImagem(@NonNull Context contexto, @NonNull WorkerParameters parametros) {
+        super(contexto, parametros);
+        estado = contexto.getSharedPreferences(NOME_PREF, Context.MODE_PRIVATE);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String caminhoManifesto = getInputData().getString(ENTRADA_MANIFESTO);
+        try {
+            manifesto = lerManifesto(caminhoManifesto);
+        } catch (IOException | JSONException e) {
+            Log.e(TAG, "Manifesto de envio ilegível: " + caminhoManifesto, e);
+            return Result.failure();
+        }
+        String tipo = manifesto.optString(ENTRADA_TIPO, null);
+        String idAlvo = manifesto.optString(ENTRADA_ID_ALVO, null);
+        String[] arquivos = textos(ENTRADA_ARQUIVOS);
+        String[] destinos = textos(ENTRADA_DESTINOS);
+        String[] campos = textos(ENTRADA_CAMPOS);
+
+        if (tipo == null || idAlvo == null || arquivos == null || destinos == null || campos == null
+                || arquivos.length == 0 || arquivos.length != destinos.length || arquivos.length != campos.length) {
+            Log.e(TAG, "Dados de entrada inválidos");
+            return Result.failure();
+        }
+
+        // Sem índices de imagem, todos os arquivos pertencem à mesma imagem (ex.: perfil)
+        int[] imagens = inteiros(ENTRADA_IMAGENS);
+        imagemDoArquivo = imagens != null && imagens.length == arquivos.length ? imagens : new int[arquivos.length];
+        tamanhos = new long[arquivos.length];
+        enviados = new AtomicLongArray(arquivos.length);
+        ultimaGravacao = new AtomicLongArray(arquivos.length);
+        for (int i = 0; i < arquivos.length; i++) {
+            tamanhos[i] = new File(arquivos[i]).length();
+            // Reapresentar o último progresso conhecido (ex.: após a morte do processo)
+            enviados.set(i, estado.getLong(getId() + "_" + i + "_enviados", 0));
+        }
+        publicarProgresso();
+
+        String[] urls = new String[arquivos.length];
+        ExecutorService envios = Executors.newFixedThreadPool(Math.min(LIMITE_ENVIOS_SIMULTANEOS, arquivos.length));
+        // Retornos de progresso do Storage fora da thread principal
+        ExecutorService progresso = Executors.newSingleThreadExecutor();
+        try {
+            List<Future<String>> pendentes = new ArrayList<>();
+            for (int i = 0; i < arquivos.length; i++) {
+                final int indice = i;
+                pendentes.add(envios.submit(() -> enviarArquivo(indice, arquivos[indice], destinos[indice], progresso)));
+            }
+            for (int i = 0; i < arquivos.length; i++) {
+                urls[i] = pendentes.get(i).get();
+            }
+
+            gravarUrls(tipo, idAlvo, campos, urls);
+        } catch (Exception e) {
+            Throwable causa = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof FileNotFoundException) {
+                Log.e(TAG, "Arquivo local ausente: " + causa.getMessage());
+                limpar(arquivos, caminhoManifesto);
+                return Result.failure();
+            }
+            if (getRunAttemptCount() + 1 >= MAXIMO_TENTATIVAS) {
+                Log.e(TAG, "Envio desistido após " + MAXIMO_TENTATIVAS + " tentativas: " + causa.getMessage(), causa);
+                limpar(arquivos, caminhoManifesto);
+                return Result.failure();
+            }
+            Log.e(TAG, "Envio interrompido, será retomado: " + causa.getMessage(), causa);
+            return Result.retry();
+        } finally {
+            envios.shutdownNow();
+            progresso.shutdownNow();
+        }
+
+        limpar(arquivos, caminhoManifesto);
+        Log.d(TAG, "Envio concluído para " + tipo + " " + idAlvo);
+        return Result.success(new Data.Builder().putStringArray(SAIDA_URLS, urls).build());
+    }
+
+    /**
+     * Envia um arquivo, pulando os já concluídos em tentativas anteriores
+     * e os cujo conteúdo já está no Storage
+     *
+     * @return URL de download do arquivo
+     */
+    private String enviarArquivo(int indice, String caminho, String destino, ExecutorService progresso) throws Exception {
+        String chave = getId() + "_" + indice;
+
+        // Arquivo já enviado em uma tentativa anterior
+        String urlSalva = estado.getString(chave + "_url", null);
+        if (urlSalva != null) {
+            atualizarProgresso(indice, tamanhos[indice]);
+            return urlSalva;
+        }
+
+        // Mesmo conteúdo já armazenado: reaproveitar o objeto e a URL existentes
+        String url = urlExistente(destino);
+        if (url != null) {
+            Log.d(TAG, "Conteúdo já armazenado, reaproveitando " + destino);
+            marcarUso(destino);
+        } else {
+            File arquivo = new File(caminho);
+            if (!arquivo.exists()) {
+                throw new FileNotFoundException(caminho);
+            }
+            url = enviarRetomavel(arquivo, destino, chave, indice, progresso);
+        }
+        estado.edit().putString(chave + "_url", url).remove(chave + "_sessao").apply();
+        atualizarProgresso(indice, tamanhos[indice]);
+        return url;
+    }
+
+    /**
+     * Envia um arquivo reutilizando a sessão de upload salva, se houver
+     *
+     * @return URL de download do arquivo enviado
+     */
+    private String enviarRetomavel(File arquivo, String destino, String chave, int indice,
+                                   ExecutorService progresso) throws Exception {
+        StorageReference referencia = FirebaseStorage.getInstance().getReference().child(destino);
+        StorageMetadata metadados = new StorageMetadata.Builder()
+                .setContentType(ProcessadorImagem.TIPO_CONTEUDO)
+                .build();
+
+        String sessaoSalva = estado.getString(chave + "_sessao", null);
+        UploadTask envio = sessaoSalva != null
+                ? referencia.putFile(Uri.fromFile(arquivo), metadados, Uri.parse(sessaoSalva))
+                : referencia.putFile(Uri.fromFile(arquivo), metadados);
+        Log.d(TAG, (sessaoSalva != null ? "Retomando" : "Iniciando") + " envio de " + destino);
+
+        String[] sessaoGravada = {sessaoSalva};
+        envio.addOnProgressListener(progresso, snapshot -> {
+            if (isStopped()) {
+                return;
+            }
+            // Guardar a sessão assim que o Storage a criar, para retomar depois
+            Uri sessao = snapshot.getUploadSessionUri();
+            if (sessao != null && !sessao.toString().equals(sessaoGravada[0])) {
+                sessaoGravada[0] = sessao.toString();
+                estado.edit().putString(chave + "_sessao", sessaoGravada[0]).apply();
+            }
+            atualizarProgresso(indice, snapshot.getBytesTransferred());
+        });
+
+        try {
+            Tasks.await(envio);
+        } catch (ExecutionException e) {
+            if (sessaoSalva != null && sessaoRejeitada(e.getCause())) {
+                // Sessão expirada ou inválida: a próxima tentativa começa uma nova
+                estado.edit().remove(chave + "_sessao").apply();
+            }
+            throw e;
+        }
+        return Tasks.await(referencia.getDownloadUrl()).toString();
+    }
+
+    /**
+     * Obtém a URL de download de um objeto já existente
+     *
+     * @return URL do objeto, ou null se ele ainda não existir
+     */
+    private static String urlExistente(String destino) throws Exception {
+        try {
+            return Tasks.await(FirebaseStorage.getInstance().getReference().child(destino).getDownloadUrl()).toString();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageException
+                    && ((StorageException) e.getCause()).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Atualiza os metadados de um objeto reaproveitado, renovando seu período de
+     * carência na limpeza de imagens órfãs (ColetorImagensOrfas)
+     */
+    private static void marcarUso(String destino) throws Exception {
+        StorageMetadata metadados = new StorageMetadata.Builder()
+                .setCustomMetadata(METADADO_ULTIMO_USO, String.valueOf(System.currentTimeMillis()))
+                .build();
+        Tasks.await(FirebaseStorage.getInstance().getReference().child(destino).updateMetadata(metadados));
+    }
+
+    /**
+     * Indica se o servidor recusou a sessão salva (erro 4xx); falhas de rede mantêm a sessão
+     */
+    private static boolean sessaoRejeitada(Throwable erro) {
+        if (!(erro instanceof StorageException)) {
+            return false;
+        }
+        int codigoHttp = ((StorageException) erro).getHttpResultCode();
+        return codigoHttp >= 400 && codigoHttp < 500;
+    }
+
+    /**
+     * Grava as URLs enviadas no documento de destino
+     */
+    private void gravarUrls(String tipo, String idAlvo, String[] campos, String[] urls) throws Exception {
+        if (TIPO_PERFIL.equals(tipo)) {
+            GerenciadorFirebase.atualizarImagemPerfilUsuario(idAlvo, urls[0]).get();
+            return;
+        }
+
+        // Reagrupar as versões de cada imagem da galeria, na ordem original
+        int quantidadeImagens = contarImagens();
+        String[][] versoes = new String[quantidadeImagens][3];
+        for (int i = 0; i < urls.length; i++) {
+            if (VersoesImagem.CAMPO_MINIATURA.equals(campos[i])) {
+                versoes[imagemDoArquivo[i]][0] = urls[i];
+            } else if (VersoesImagem.CAMPO_CARTAO.equals(campos[i])) {
+                versoes[imagemDoArquivo[i]][1] = urls[i];
+            } else {
+                versoes[imagemDoArquivo[i]][2] = urls[i];
+            }
+        }
+        String[] previas = textos(ENTRADA_PREVIAS);
+        List<VersoesImagem> galeria = new ArrayList<>();
+        for (int i = 0; i < quantidadeImagens; i++) {
+            String previa = previas != null && i < previas.length ? previas[i] : null;
+            galeria.add(new VersoesImagem(versoes[i][0], versoes[i][1], versoes[i][2], previa));
+        }
+
+        boolean apenasCapa = manifesto.optBoolean(ENTRADA_APENAS_CAPA, false);
+        GerenciadorFirebase.definirGaleriaInstrumento(idAlvo, galeria, apenasCapa).get();
+    }
+
+    /**
+     * Registra os bytes enviados de um arquivo e publica o progresso
+     *
+     * O Storage avisa a cada bloco enviado: a gravação em SharedPreferences e a
+     * publicação (também gravada pelo WorkManager) acontecem no máximo a cada
+     * {@link #INTERVALO_PROGRESSO_MS} ms, e sempre ao concluir o arquivo.
+     */
+    private void atualizarProgresso(int indice, long bytesEnviados) {
+        enviados.set(indice, bytesEnviados);
+        boolean concluido = bytesEnviados >= tamanhos[indice];
+        long agora = SystemClock.elapsedRealtime();
+
+        long gravadoEm = ultimaGravacao.get(indice);
+        if (concluido || (agora - gravadoEm >= INTERVALO_PROGRESSO_MS
+                && ultimaGravacao.compareAndSet(indice, gravadoEm, agora))) {
+            estado.edit().putLong(getId() + "_" + indice + "_enviados", bytesEnviados).apply();
+        }
+
+        long publicadoEm = ultimaPublicacao.get();
+        if (concluido || (agora - publicadoEm >= INTERVALO_PROGRESSO_MS
+                && ultimaPublicacao.compareAndSet(publicadoEm, agora))) {
+            publicarProgresso();
+        }
+    }
+
+    /**
+     * Publica o total enviado e o percentual de cada imagem
+     */
+    private void publicarProgresso() {
+        int quantidadeImagens = contarImagens();
+        long[] enviadosPorImagem = new long[quantidadeImagens];
+        long[] totalPorImagem = new long[quantidadeImagens];
+        long enviadosTotal = 0;
+        long total = 0;
+        for (int i = 0; i < tamanhos.length; i++) {
+            long enviadosArquivo = Math.min(enviados.get(i), tamanhos[i]);
+            enviadosPorImagem[imagemDoArquivo[i]] += enviadosArquivo;
+            totalPorImagem[imagemDoArquivo[i]] += tamanhos[i];
+            enviadosTotal += enviadosArquivo;
+            total += tamanhos[i];
+        }
+        int[] percentuais = new int[quantidadeImagens];
+        for (int i = 0; i < quantidadeImagens; i++) {
+            percentuais[i] = totalPorImagem[i] > 0 ? (int) (enviadosPorImagem[i] * 100 / totalPorImagem[i]) : 0;
+        }
+
+        setProgressAsync(new Data.Builder()
+                .putLong(PROGRESSO_ENVIADOS, enviadosTotal)
+                .putLong(PROGRESSO_TOTAL, total)
+                .putIntArray(PROGRESSO_POR_IMAGEM, percentuais)
+                .build());
+    }
+
+    private int contarImagens() {
+        int quantidade = 0;
+        for (int imagem : imagemDoArquivo) {
+            quantidade = Math.max(quantidade, imagem + 1);
+        }
+        return quantidade;
+    }
+
+    /**
+     * Lê o manifesto de entrada gravado pelo GerenciadorEnvioImagens
+     */
+    private static JSONObject lerManifesto(String caminho) throws IOException, JSONException {
+        if (caminho == null) {
+            throw new FileNotFoundException("Manifesto não informado");
+        }
+        ByteArrayOutputStream conteudo = new ByteArrayOutputStream();
+        try (InputStream entrada = new FileInputStream(caminho)) {
+            byte[] bloco = new byte[4096];
+            int lidos;
+            while ((lidos = entrada.read(bloco)) != -1) {
+                conteudo.write(bloco, 0, lidos);
+            }
+        }
+        return new JSONObject(new String(conteudo.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lista de textos do manifesto (itens nulos preservados), ou null se ausente
+     */
+    private String[] textos(String chave) {
+        JSONArray lista = manifesto.optJSONArray(chave);
+        if (lista == null) {
+            return null;
+        }
+        String[] valores = new String[lista.length()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = lista.isNull(i) ? null : lista.optString(i);
+        }
+        return valores;
+    }
+
+    /**
+     * Lista de inteiros do manifesto, ou null se ausente
+     */
+    private int[] inteiros(String chave) {
+        JSONArray lista = manifesto.optJSONArray(chave);
+        if (lista == null) {
+            return null;
+        }
+        int[] valores = new int[lista.length()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = lista.optInt(i);
+        }
+        return valores;
+    }
+
+    private void limpar(String[] arquivos, String caminhoManifesto) {
+        limparEstado(getApplicationContext(), getId());
+        for (String arquivo : arquivos) {
+            if (!new File(arquivo).delete()) {
+                Log.w(TAG, "Não foi possível remover o arquivo local: " + arquivo);
+            }
+        }
+        if (!new File(caminhoManifesto).delete()) {
+            Log.w(TAG, "Não foi possível remover o manifesto: " + caminhoManifesto);
+        }
+    }
+
+    /**
+     * Remove o estado salvo (URLs, sessões e progresso) de um trabalho
+     *
+     * Usado ao concluir e pelo GerenciadorEnvioImagens para trabalhos
+     * substituídos (REPLACE), que nunca chegam a limpar o próprio estado.
+     *
+     * @param contexto Contexto da aplicação
+     * @param idTrabalho ID do WorkRequest
+     */
+    static void limparEstado(Context contexto, UUID idTrabalho) {
+        SharedPreferences estado = contexto.getSharedPreferences(NOME_PREF, Context.MODE_PRIVATE);
+        String prefixo = idTrabalho + "_";
+        SharedPreferences.Editor editor = estado.edit();
+        for (String chave : estado.getAll().keySet()) {
+            if (chave.startsWith(prefixo)) {
+                editor.remove(chave);
+            }
+        }
+        editor.apply();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.instrumentaliza;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.storage.FirebaseStorage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TrabalhoLimpezaArmazenamento - Limpeza periódica de imagens órfãs (WorkManager)
+ *
+ * Executa o ColetorImagensOrfas uma vez por semana. Apenas contas com a
+ * claim "admin" podem excluir objetos (ver regras do Storage); para os
+ * demais usuários o trabalho termina sem fazer nada.
+ *
+ * Funcionalidades:
+ * - Agendamento único e periódico (não duplica a cada abertura do app)
+ * - Execução apenas em rede não tarifada, carregando e com o aparelho ocioso
+ * - Execuções interrompidas ou com limite atingido continuam na próxima
+ *
+ * Características técnicas:
+ * - Totais da execução publicados na saída do trabalho
+ * - Falhas de rede resultam em Result.retry() (backoff do WorkManager)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class TrabalhoLimpezaArmazenamento extends Worker {
+
+    // Constantes
+    private static final String TAG = "TrabalhoLimpeza";
+    private static final String NOME_TRABALHO = "limpeza_armazenamento";
+    private static final String CLAIM_ADMIN = "admin";
+    private static final int MAXIMO_TENTATIVAS = 3;
+
+    // Chaves de saída
+    public static final String SAIDA_ANALISADOS = "analisados";
+    public static final String SAIDA_EXCLUIDOS = "excluidos";
+
+    public TrabalhoLimpezaArmazenamento(@NonNull Context contexto, @NonNull WorkerParameters parametros) {
+        super(contexto, parametros);
+    }
+
+    /**
+     * Agenda a limpeza semanal, mantendo o agendamento existente
+     *
+     * @param contexto Contexto da aplicação
+     */
+    public static void agendar(Context contexto) {
+        Constraints restricoes = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresCharging(true)
+                .setRequiresBatteryNotLow(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+        PeriodicWorkRequest pedido = new PeriodicWorkRequest.Builder(TrabalhoLimpezaArmazenamento.class, 7, TimeUnit.DAYS)
+                .setConstraints(restricoes)
+                .build();
+        WorkManager.getInstance(contexto.getApplicationContext())
+                .enqueueUniquePeriodicWork(NOME_TRABALHO, ExistingPeriodicWorkPolicy.KEEP, pedido);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        FirebaseUser usuario = FirebaseAuth.getInstance().getCurrentUser();
+        try {
+            if (usuario == null || !Boolean.TRUE.equals(
+                    Tasks.await(usuario.getIdToken(false)).getClaims().get(CLAIM_ADMIN))) {
+                return Result.success();
+            }
+
+            ColetorImagensOrfas coletor = new ColetorImagensOrfas(FirebaseFirestore.getInstance(), FirebaseStorage.getInstance());
+            ColetorImagensOrfas.Resultado resultado = coletor.executar(this::isStopped);
+            Log.d(TAG, "Limpeza concluída: " + resultado.excluidos + " de " + resultado.analisados
+                    + " objetos removidos" + (resultado.incompleto ? " (continua na próxima execução)" : ""));
+
+            return Result.success(new Data.Builder()
+                    .putInt(SAIDA_ANALISADOS, resultado.analisados)
+                    .putInt(SAIDA_EXCLUIDOS, resultado.excluidos)
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Erro na limpeza do armazenamento: " + e.getMessage(), e);
+            return getRunAttemptCount() < MAXIMO_TENTATIVAS ? Result.retry() : Result.failure();
+        }
+    }
+}
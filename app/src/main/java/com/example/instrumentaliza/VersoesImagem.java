@@ -0,0 +1,237 @@
+package com.example.instrumentaliza;
+
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import com.example.instrumentaliza.models.FirebaseInstrument;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * VersoesImagem - URLs das versões (miniatura, cartão e completa) da imagem de um instrumento
+ *
+ * Cada upload de imagem de instrumento gera três versões no Firebase Storage.
+ * As listas carregam a menor versão que cobre o tamanho da ImageView; a
+ * versão completa fica reservada para a tela de detalhes.
+ *
+ * Funcionalidades:
+ * - Nomes dos campos de imagem nos documentos do Firestore
+ * - Escolha da menor versão que cobre o tamanho pedido
+ * - Compatível com documentos antigos (apenas "imageUri")
+ * - Galeria ordenada ("gallery"): lista de mapas com as três versões de cada imagem;
+ *   a primeira imagem também é gravada nos campos de capa usados pelas listas
+ * - Prévia de baixa resolução (PreviaImagem) de cada imagem, gravada junto às URLs
+ *
+ * Características técnicas:
+ * - Objeto imutável
+ * - Tamanhos (maior lado, em pixels) definidos aqui e usados pelo ProcessadorImagem
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class VersoesImagem {
+
+    // Campos no documento do instrumento ("imageUri" continua sendo a versão completa)
+    public static final String CAMPO_MINIATURA = "imageThumbUri";
+    public static final String CAMPO_CARTAO = "imageCardUri";
+    public static final String CAMPO_COMPLETA = "imageUri";
+    public static final String CAMPO_GALERIA = "gallery";
+    public static final String CAMPO_PREVIA = "imagePlaceholder";
+
+    // Maior lado de cada versão, em pixels
+    public static final int LADO_MINIATURA = 160;
+    public static final int LADO_CARTAO = 480;
+    public static final int LADO_COMPLETA = ProcessadorImagem.DIMENSAO_MAXIMA_INSTRUMENTO;
+
+    private final String urlMiniatura;
+    private final String urlCartao;
+    private final String urlCompleta;
+    private final String previa;
+
+    public VersoesImagem(String urlMiniatura, String urlCartao, String urlCompleta) {
+        this(urlMiniatura, urlCartao, urlCompleta, null);
+    }
+
+    public VersoesImagem(String urlMiniatura, String urlCartao, String urlCompleta, String previa) {
+        this.urlMiniatura = urlMiniatura;
+        this.urlCartao = urlCartao;
+        this.urlCompleta = urlCompleta;
+        this.previa = previa;
+    }
+
+    /**
+     * Lê as versões de um documento da coleção "instruments"
+     */
+    public static VersoesImagem deDocumento(DocumentSnapshot documento) {
+        return new VersoesImagem(documento.getString(CAMPO_MINIATURA),
+                documento.getString(CAMPO_CARTAO),
+                documento.getString(CAMPO_COMPLETA),
+                documento.getString(CAMPO_PREVIA));
+    }
+
+    /**
+     * Lê a galeria de um documento da coleção "instruments"
+     *
+     * Documentos sem galeria retornam apenas a capa (ou lista vazia, se não houver imagem).
+     *
+     * @param documento Documento do instrumento
+     * @return Imagens na ordem definida pelo proprietário
+     */
+    public static List<VersoesImagem> galeriaDeDocumento(DocumentSnapshot documento) {
+        List<VersoesImagem> galeria = new ArrayList<>();
+        Object campo = documento.get(CAMPO_GALERIA);
+        if (campo instanceof List) {
+            for (Object item : (List<?>) campo) {
+                if (item instanceof Map) {
+                    VersoesImagem imagem = deMapa((Map<?, ?>) item);
+                    if (imagem.escolher(LADO_COMPLETA) != null) {
+                        galeria.add(imagem);
+                    }
+                }
+            }
+        }
+        if (galeria.isEmpty()) {
+            VersoesImagem capa = deDocumento(documento);
+            if (capa.escolher(LADO_COMPLETA) != null) {
+                galeria.add(capa);
+            }
+        }
+        return galeria;
+    }
+
+    /**
+     * Lê as versões de um item da galeria
+     */
+    static VersoesImagem deMapa(Map<?, ?> mapa) {
+        return new VersoesImagem(texto(mapa.get(CAMPO_MINIATURA)),
+                texto(mapa.get(CAMPO_CARTAO)),
+                texto(mapa.get(CAMPO_COMPLETA)),
+                texto(mapa.get(CAMPO_PREVIA)));
+    }
+
+    /**
+     * Converte as versões em um item da galeria para gravação no Firestore
+     */
+    public Map<String, Object> paraMapa() {
+        Map<String, Object> mapa = new HashMap<>();
+        mapa.put(CAMPO_MINIATURA, urlMiniatura);
+        mapa.put(CAMPO_CARTAO, urlCartao);
+        mapa.put(CAMPO_COMPLETA, urlCompleta);
+        if (previa != null) {
+            mapa.put(CAMPO_PREVIA, previa);
+        }
+        return mapa;
+    }
+
+    /**
+     * Lê as versões de um instrumento já convertido para o modelo
+     */
+    public static VersoesImagem deInstrumento(FirebaseInstrument instrumento) {
+        return new VersoesImagem(instrumento.getImageThumbUri(),
+                instrumento.getImageCardUri(),
+                instrumento.getImageUri(),
+                instrumento.getImagePlaceholder());
+    }
+
+    /**
+     * Escolhe a menor versão cujo maior lado cobre o tamanho pedido
+     *
+     * Se a versão ideal não existir (documentos anteriores às versões),
+     * usa a próxima maior disponível.
+     *
+     * @param ladoPx Maior lado da área de exibição, em pixels
+     * @return URL escolhida, ou null se o instrumento não tiver imagem
+     */
+    public String escolher(int ladoPx) {
+        if (ladoPx <= LADO_MINIATURA && temValor(urlMiniatura)) {
+            return urlMiniatura;
+        }
+        if (ladoPx <= LADO_CARTAO && temValor(urlCartao)) {
+            return urlCartao;
+        }
+        if (temValor(urlCompleta)) {
+            return urlCompleta;
+        }
+        // Sem a versão completa, a maior disponível
+        return temValor(urlCartao) ? urlCartao : (temValor(urlMiniatura) ? urlMiniatura : null);
+    }
+
+    /**
+     * Escolhe a versão adequada ao tamanho declarado no layout da ImageView
+     *
+     * @param imagem ImageView de destino (tamanho fixo no layout, em pixels após a inflação)
+     * @return URL escolhida, ou null se o instrumento não tiver imagem
+     */
+    public String escolherPara(ImageView imagem) {
+        return escolher(ladoEmPixels(imagem));
+    }
+
+    /**
+     * Maior lado de uma ImageView; sem tamanho fixo, considera a largura da tela
+     */
+    static int ladoEmPixels(ImageView imagem) {
+        ViewGroup.LayoutParams parametros = imagem.getLayoutParams();
+        int lado = 0;
+        if (parametros != null) {
+            lado = Math.max(parametros.width, parametros.height);
+        }
+        if (lado <= 0) {
+            lado = Math.max(imagem.getWidth(), imagem.getHeight());
+        }
+        if (lado <= 0) {
+            lado = imagem.getResources().getDisplayMetrics().widthPixels;
+        }
+        return lado;
+    }
+
+    public String getUrlMiniatura() {
+        return urlMiniatura;
+    }
+
+    public String getUrlCartao() {
+        return urlCartao;
+    }
+
+    public String getUrlCompleta() {
+        return urlCompleta;
+    }
+
+    /**
+     * Prévia em Base64 (null em imagens enviadas antes das prévias)
+     */
+    public String getPrevia() {
+        return previa;
+    }
+
+    /**
+     * Mesmas versões e mesma prévia: a imagem exibida não muda (usado pelo DiffUtil das listas)
+     */
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof VersoesImagem)) return false;
+        VersoesImagem versoes = (VersoesImagem) outro;
+        return Objects.equals(urlMiniatura, versoes.urlMiniatura)
+                && Objects.equals(urlCartao, versoes.urlCartao)
+                && Objects.equals(urlCompleta, versoes.urlCompleta)
+                && Objects.equals(previa, versoes.previa);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(urlMiniatura, urlCartao, urlCompleta, previa);
+    }
+
+    private static String texto(Object valor) {
+        return valor instanceof String ? (String) valor : null;
+    }
+
+    private static boolean temValor(String url) {
+        return url != null && !url.trim().isEmpty();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.instrumentaliza;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ViewModelChats - Dados compartilhados pelas abas da lista de conversas
+ *
+ * As abas "Meus Anúncios" e "Meus Interesses" filtravam, cada uma, o resultado
+ * da mesma consulta (GerenciadorFirebase.obterChatsUsuario). Este ViewModel,
+ * com escopo da AtividadeListaChat, consulta uma única vez e publica a lista
+ * de cada aba.
+ *
+ * Funcionalidades:
+ * - Busca única das conversas do usuário
+ * - Separação por papel: proprietário (ownerId) ou interessado (locatorId)
+ * - Instrumentos das conversas (nome e foto) buscados em lote, não por linha
+ * - Aviso de falha de carregamento, exibido uma vez pela atividade
+ *
+ * Características técnicas:
+ * - Obtido com new ViewModelProvider(atividade): sobrevive à rotação
+ * - Apenas uma carga em andamento; pedidos durante a carga geram uma única recarga ao final
+ * - Cargas pendentes canceladas quando a atividade é finalizada (onCleared)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ViewModelChats extends ViewModel {
+
+    // Constantes
+    private static final String TAG = "ViewModelChats";
+    public static final String TIPO_MEUS_ANUNCIOS = "meus_anuncios";
+    public static final String TIPO_MEUS_INTERESSES = "meus_interesses";
+
+    private final MutableLiveData<ChatsDaAba> meusAnuncios = new MutableLiveData<>();
+    private final MutableLiveData<ChatsDaAba> meusInteresses = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> falhaCarregamento = new MutableLiveData<>(false);
+    private final AtomicBoolean carregando = new AtomicBoolean(false);
+    private final AtomicBoolean recarregarAoConcluir = new AtomicBoolean(false);
+    private final EscopoCarregamentos carregamentos = new EscopoCarregamentos();
+
+    /**
+     * Conversas de uma aba
+     *
+     * @param tipo "meus_anuncios" ou "meus_interesses"
+     */
+    public LiveData<ChatsDaAba> chats(String tipo) {
+        return TIPO_MEUS_ANUNCIOS.equals(tipo) ? meusAnuncios : meusInteresses;
+    }
+
+    /**
+     * true quando a última carga falhou e o aviso ainda não foi exibido
+     */
+    public LiveData<Boolean> falhaCarregamento() {
+        return falhaCarregamento;
+    }
+
+    public void falhaExibida() {
+        falhaCarregamento.setValue(false);
+    }
+
+    @Override
+    protected void onCleared() {
+        // Atividade finalizada: páginas e consultas pendentes não são mais lidas
+        carregamentos.encerrar();
+    }
+
+    /**
+     * true se as abas ainda não receberam nenhuma carga
+     */
+    public boolean semDados() {
+        return meusAnuncios.getValue() == null;
+    }
+
+    /**
+     * Busca as conversas do usuário e os instrumentos delas (em um lote) e publica a lista de cada aba
+     *
+     * Se já houver uma carga em andamento, uma nova é feita quando ela terminar
+     * (os dados podem ter mudado depois que a consulta começou).
+     */
+    public void carregar() {
+        FirebaseUser usuario = FirebaseAuth.getInstance().getCurrentUser();
+        if (usuario == null) {
+            Log.e(TAG, "Usuário não definido");
+            publicar(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+            return;
+        }
+        if (!carregando.compareAndSet(false, true)) {
+            Log.d(TAG, "Carga já em andamento; nova carga ao concluir");
+            recarregarAoConcluir.set(true);
+            return;
+        }
+        String idUsuarioAtual = usuario.getUid();
+
+        carregamentos.vincular(GerenciadorFirebase.obterChatsUsuario(idUsuarioAtual))
+                .thenCompose(todosChats -> {
+                    List<DocumentSnapshot> anuncios = new ArrayList<>();
+                    List<DocumentSnapshot> interesses = new ArrayList<>();
+                    for (DocumentSnapshot chat : todosChats) {
+                        if (idUsuarioAtual.equals(chat.getString("ownerId"))) {
+                            anuncios.add(chat);
+                        } else if (idUsuarioAtual.equals(chat.getString("locatorId"))) {
+                            interesses.add(chat);
+                        }
+                    }
+                    Log.d(TAG, "Chats: " + anuncios.size() + " anúncios, " + interesses.size()
+                            + " interesses, de " + todosChats.size());
+                    // Instrumentos das duas abas em um único lote
+                    return carregamentos.vincular(GerenciadorFirebase.obterInstrumentosPorIds(idsInstrumentos(todosChats)))
+                            .thenAccept(instrumentosPorId -> publicar(anuncios, interesses, instrumentosPorId));
+                })
+                .whenComplete((resultado, erro) -> {
+                    carregando.set(false);
+                    if (erro != null) {
+                        Log.e(TAG, "Erro ao carregar chats: " + erro.getMessage(), erro);
+                        falhaCarregamento.postValue(true);
+                        if (semDados()) {
+                            publicar(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+                        }
+                    }
+                    if (recarregarAoConcluir.getAndSet(false)) {
+                        carregar();
+                    }
+                });
+    }
+
+    private void publicar(List<DocumentSnapshot> anuncios, List<DocumentSnapshot> interesses,
+                          Map<String, DocumentSnapshot> instrumentos) {
+        meusAnuncios.postValue(new ChatsDaAba(anuncios, instrumentos));
+        meusInteresses.postValue(new ChatsDaAba(interesses, instrumentos));
+    }
+
+    private static Set<String> idsInstrumentos(List<DocumentSnapshot> chats) {
+        Set<String> ids = new HashSet<>();
+        for (DocumentSnapshot chat : chats) {
+            ids.add(chat.getString("instrumentId"));
+        }
+        return ids;
+    }
+
+    /**
+     * Conversas de uma aba e os instrumentos referenciados (por ID)
+     */
+    public static final class ChatsDaAba {
+        public final List<DocumentSnapshot> chats;
+        public final Map<String, DocumentSnapshot> instrumentos;
+
+        ChatsDaAba(List<DocumentSnapshot> chats, Map<String, DocumentSnapshot> instrumentos) {
+            this.chats = Collections.unmodifiableList(chats);
+            this.instrumentos = Collections.unmodifiableMap(instrumentos);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.instrumentaliza;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ViewModelReservas - Dados compartilhados pelas abas da tela de reservas
+ *
+ * As duas abas (meus instrumentos / meus interesses) pertencem à mesma tela.
+ * Este ViewModel, com escopo da AtividadeMinhasReservas, carrega as reservas
+ * de cada aba em páginas (ListaPaginada) e as publica; trocar de aba não
+ * dispara leituras.
+ *
+ * Funcionalidades:
+ * - Reservas como proprietário (ownerId) e como locatário (userId), mais recentes primeiro
+ * - Páginas seguintes pedidas pela rolagem (carregarMais)
+ * - Reservas já avaliadas consultadas em lote a cada página
+ * - Instrumentos da página (nome e imagem) buscados em lote, não por linha
+ * - Marcação local de reserva avaliada, ao voltar da tela de avaliação
+ * - Aviso de falha de carregamento, exibido uma vez pela atividade
+ *
+ * Características técnicas:
+ * - Obtido com new ViewModelProvider(atividade): sobrevive à rotação
+ * - Apenas uma carga em andamento; pedidos durante a carga geram uma única recarga ao final
+ * - Cargas pendentes canceladas quando a atividade é finalizada (onCleared)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ViewModelReservas extends ViewModel {
+
+    // Constantes
+    private static final String TAG = "ViewModelReservas";
+    public static final String TIPO_MEUS_INSTRUMENTOS = "meus_instrumentos";
+    public static final String TIPO_MEUS_INTERESSES = "meus_interesses";
+
+    private final MutableLiveData<ReservasDaAba> meusInstrumentos = new MutableLiveData<>();
+    private final MutableLiveData<ReservasDaAba> meusInteresses = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> falhaCarregamento = new MutableLiveData<>(false);
+    private final AtomicBoolean carregando = new AtomicBoolean(false);
+    private final AtomicBoolean recarregarAoConcluir = new AtomicBoolean(false);
+    private final EscopoCarregamentos carregamentos = new EscopoCarregamentos();
+    private volatile EstadoAba estadoInstrumentos;
+    private volatile EstadoAba estadoInteresses;
+
+    /**
+     * Reservas de uma aba
+     *
+     * @param tipo "meus_instrumentos" ou "meus_interesses"
+     */
+    public LiveData<ReservasDaAba> reservas(String tipo) {
+        return abaDa(tipo);
+    }
+
+    /**
+     * true quando a última carga falhou e o aviso ainda não foi exibido
+     */
+    public LiveData<Boolean> falhaCarregamento() {
+        return falhaCarregamento;
+    }
+
+    public void falhaExibida() {
+        falhaCarregamento.setValue(false);
+    }
+
+    /**
+     * true se as abas ainda não receberam nenhuma carga (nem há uma em andamento)
+     */
+    public boolean semDados() {
+        return meusInstrumentos.getValue() == null && !carregando.get();
+    }
+
+    @Override
+    protected void onCleared() {
+        // Atividade finalizada: páginas e consultas pendentes não são mais lidas
+        carregamentos.encerrar();
+    }
+
+    /**
+     * Carrega a primeira página de cada aba (recarrega do início)
+     *
+     * Se já houver uma carga em andamento, uma nova é feita quando ela terminar
+     * (os dados podem ter mudado depois que a consulta começou).
+     */
+    public void carregar() {
+        FirebaseUser usuario = FirebaseAuth.getInstance().getCurrentUser();
+        if (usuario == null) {
+            Log.e(TAG, "Usuário não definido");
+            publicarVazio();
+            return;
+        }
+        if (!carregando.compareAndSet(false, true)) {
+            Log.d(TAG, "Carga já em andamento; nova carga ao concluir");
+            recarregarAoConcluir.set(true);
+            return;
+        }
+        String usuarioId = usuario.getUid();
+
+        // Primeiro, atualizar reservas que não possuem ownerId (a aba de proprietário consulta por ownerId)
+        carregamentos.vincular(GerenciadorFirebase.atualizarReservasSemOwnerId(usuarioId))
+                .thenCompose(atualizadas -> {
+                    EstadoAba instrumentos = new EstadoAba(GerenciadorFirebase.consultaReservasComoProprietario(usuarioId));
+                    EstadoAba interesses = new EstadoAba(GerenciadorFirebase.consultaReservasComoLocatario(usuarioId));
+                    estadoInstrumentos = instrumentos;
+                    estadoInteresses = interesses;
+                    return CompletableFuture.allOf(
+                            carregarPagina(TIPO_MEUS_INSTRUMENTOS, instrumentos),
+                            carregarPagina(TIPO_MEUS_INTERESSES, interesses));
+                })
+                .whenComplete((resultado, erro) -> {
+                    carregando.set(false);
+                    if (erro != null) {
+                        Log.e(TAG, "Erro ao carregar reservas: " + erro.getMessage());
+                        falhaCarregamento.postValue(true);
+                        if (meusInstrumentos.getValue() == null) {
+                            publicarVazio();
+                        }
+                    }
+                    if (recarregarAoConcluir.getAndSet(false)) {
+                        carregar();
+                    }
+                });
+    }
+
+    /**
+     * Carrega a próxima página de uma aba
+     *
+     * Chamado pela rolagem (RolagemPaginada); ignorado durante uma carga ou se a aba já terminou.
+     *
+     * @param tipo Aba a continuar
+     */
+    public void carregarMais(String tipo) {
+        EstadoAba estado = estadoDa(tipo);
+        if (estado == null || carregando.get() || !estado.lista.temMais()) {
+            return;
+        }
+        carregarPagina(tipo, estado).exceptionally(erro -> {
+            Log.e(TAG, "Erro ao carregar mais reservas: " + erro.getMessage());
+            falhaCarregamento.postValue(true);
+            return null;
+        });
+    }
+
+    /**
+     * Registra que uma reserva foi avaliada (sem consultar o Firestore)
+     *
+     * @param tipo Aba da reserva
+     * @param reservaId ID da reserva avaliada
+     */
+    public void marcarComoAvaliada(String tipo, String reservaId) {
+        EstadoAba estado = estadoDa(tipo);
+        ReservasDaAba atual = abaDa(tipo).getValue();
+        if (estado == null || atual == null || !estado.avaliadas.add(reservaId)) {
+            return;
+        }
+        abaDa(tipo).setValue(new ReservasDaAba(atual.reservas, new HashSet<>(estado.avaliadas),
+                atual.instrumentos, atual.temMais));
+    }
+
+    /**
+     * Lê a próxima página da aba, busca quais das suas reservas já foram avaliadas e os
+     * instrumentos referenciados (as duas consultas em lote e em paralelo) e publica
+     *
+     * Uma página por vez em cada aba: a seguinte só é pedida depois que esta é publicada.
+     */
+    private CompletableFuture<Void> carregarPagina(String tipo, EstadoAba estado) {
+        if (!estado.ocupado.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return carregamentos.vincular(estado.lista.carregarMais())
+                .thenCompose(pagina -> {
+                    CompletableFuture<Set<String>> avaliadasPagina = carregamentos.vincular(
+                            GerenciadorFirebase.obterReservasAvaliadas(confirmadas(pagina), tipoAvaliacao(tipo)));
+                    CompletableFuture<Map<String, DocumentSnapshot>> instrumentosPagina = carregamentos.vincular(
+                            GerenciadorFirebase.obterInstrumentosPorIds(idsInstrumentos(pagina)));
+                    return avaliadasPagina.thenCombine(instrumentosPagina, (avaliadas, instrumentos) -> {
+                        estado.avaliadas.addAll(avaliadas);
+                        estado.instrumentos.putAll(instrumentos);
+                        return null;
+                    });
+                })
+                .thenAccept(nada -> {
+                    // Aba recarregada enquanto a página era lida: o resultado é descartado
+                    if (estado == estadoDa(tipo)) {
+                        Log.d(TAG, "Reservas em " + tipo + ": " + estado.lista.tamanho()
+                                + (estado.lista.temMais() ? " (há mais)" : ""));
+                        abaDa(tipo).postValue(new ReservasDaAba(estado.lista.documentos(),
+                                new HashSet<>(estado.avaliadas), new HashMap<>(estado.instrumentos),
+                                estado.lista.temMais()));
+                    }
+                })
+                .whenComplete((resultado, erro) -> estado.ocupado.set(false));
+    }
+
+    /**
+     * Na aba "Meus Instrumentos" o usuário avalia o locatário; em "Meus Interesses", o instrumento
+     */
+    private static String tipoAvaliacao(String tipo) {
+        return TIPO_MEUS_INSTRUMENTOS.equals(tipo) ? "usuario" : "instrumento";
+    }
+
+    /**
+     * IDs das reservas confirmadas (apenas estas podem ser avaliadas)
+     */
+    private static List<String> confirmadas(List<DocumentSnapshot> reservas) {
+        List<String> ids = new ArrayList<>();
+        for (DocumentSnapshot reserva : reservas) {
+            if ("CONFIRMED".equals(reserva.getString("status"))) {
+                ids.add(reserva.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static Set<String> idsInstrumentos(List<DocumentSnapshot> reservas) {
+        Set<String> ids = new HashSet<>();
+        for (DocumentSnapshot reserva : reservas) {
+            ids.add(reserva.getString("instrumentId"));
+        }
+        return ids;
+    }
+
+    private EstadoAba estadoDa(String tipo) {
+        return TIPO_MEUS_INSTRUMENTOS.equals(tipo) ? estadoInstrumentos : estadoInteresses;
+    }
+
+    private MutableLiveData<ReservasDaAba> abaDa(String tipo) {
+        return TIPO_MEUS_INSTRUMENTOS.equals(tipo) ? meusInstrumentos : meusInteresses;
+    }
+
+    private void publicarVazio() {
+        meusInstrumentos.postValue(new ReservasDaAba(new ArrayList<>(), new HashSet<>(), new HashMap<>(), false));
+        meusInteresses.postValue(new ReservasDaAba(new ArrayList<>(), new HashSet<>(), new HashMap<>(), false));
+    }
+
+    /**
+     * Paginação de uma aba; substituído a cada recarga
+     */
+    private static final class EstadoAba {
+        final ListaPaginada lista;
+        final Set<String> avaliadas = ConcurrentHashMap.newKeySet();
+        final Map<String, DocumentSnapshot> instrumentos = new ConcurrentHashMap<>();
+        final AtomicBoolean ocupado = new AtomicBoolean(false);
+
+        EstadoAba(Query consulta) {
+            this.lista = new ListaPaginada(consulta);
+        }
+    }
+
+    /**
+     * Reservas já carregadas de uma aba, as já avaliadas entre elas, os instrumentos
+     * referenciados (por ID) e se há mais páginas
+     */
+    public static final class ReservasDaAba {
+        public final List<DocumentSnapshot> reservas;
+        public final Set<String> avaliadas;
+        public final Map<String, DocumentSnapshot> instrumentos;
+        public final boolean temMais;
+
+        ReservasDaAba(List<DocumentSnapshot> reservas, Set<String> avaliadas,
+                      Map<String, DocumentSnapshot> instrumentos, boolean temMais) {
+            this.reservas = Collections.unmodifiableList(reservas);
+            this.avaliadas = Collections.unmodifiableSet(avaliadas);
+            this.instrumentos = Collections.unmodifiableMap(instrumentos);
+            this.temMais = temMais;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.instrumentaliza;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ViewModelSolicitacoes - Dados compartilhados pelas abas da tela de solicitações
+ *
+ * As abas de solicitações recebidas e enviadas eram carregadas por cada
+ * fragmento, repetindo a verificação de expiradas e a busca dos instrumentos.
+ * Este ViewModel, com escopo da AtividadeListaSolicitacoes, faz uma única carga
+ * e publica a lista de cada aba, em páginas (ListaPaginada).
+ *
+ * Funcionalidades:
+ * - Verificação de solicitações expiradas uma vez por carga
+ * - Primeiras páginas de recebidas e enviadas em paralelo, com os instrumentos em um único lote
+ * - Páginas seguintes pedidas pela rolagem (carregarMais), unidas aos seus instrumentos
+ * - Ordenação no servidor: pendentes (antigas primeiro), depois as demais (recentes primeiro)
+ * - Aviso de falha de carregamento, exibido uma vez pela atividade
+ *
+ * Características técnicas:
+ * - Obtido com new ViewModelProvider(atividade): sobrevive à rotação
+ * - Apenas uma carga em andamento; pedidos durante a carga geram uma única recarga ao final
+ * - Cargas pendentes canceladas quando a atividade é finalizada (onCleared)
+ *
+ * @author Jhonata
+ * @version 1.0
+ */
+public class ViewModelSolicitacoes extends ViewModel {
+
+    // Constantes
+    private static final String TAG = "ViewModelSolicitacoes";
+    public static final String TIPO_RECEBIDAS = "solicitacoes_recebidas";
+    public static final String TIPO_ENVIADAS = "solicitacoes_enviadas";
+
+    private final MutableLiveData<SolicitacoesDaAba> recebidas = new MutableLiveData<>();
+    private final MutableLiveData<SolicitacoesDaAba> enviadas = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> falhaCarregamento = new MutableLiveData<>(false);
+    private final AtomicBoolean carregando = new AtomicBoolean(false);
+    private final AtomicBoolean recarregarAoConcluir = new AtomicBoolean(false);
+    private final EscopoCarregamentos carregamentos = new EscopoCarregamentos();
+    private volatile EstadoAba estadoRecebidas;
+    private volatile EstadoAba estadoEnviadas;
+
+    /**
+     * Solicitações de uma aba
+     *
+     * @param tipo "solicitacoes_recebidas" ou "solicitacoes_enviadas"
+     */
+    public LiveData<SolicitacoesDaAba> solicitacoes(String tipo) {
+        return abaDa(tipo);
+    }
+
+    /**
+     * true quando a última carga falhou e o aviso ainda não foi exibido
+     */
+    public LiveData<Boolean> falhaCarregamento() {
+        return falhaCarregamento;
+    }
+
+    public void falhaExibida() {
+        falhaCarregamento.setValue(false);
+    }
+
+    @Override
+    protected void onCleared() {
+        // Atividade finalizada: páginas e consultas pendentes não são mais lidas
+        carregamentos.encerrar();
+    }
+
+    /**
+     * Carrega a primeira página de cada aba (recarrega do início)
+     *
+     * Se já houver uma carga em andamento, uma nova é feita quando ela terminar
+     * (os dados podem ter mudado depois que a consulta começou).
+     */
+    public void carregar() {
+        FirebaseUser usuario = FirebaseAuth.getInstance().getCurrentUser();
+        if (usuario == null) {
+            Log.e(TAG, "Usuário não definido");
+            publicarVazio();
+            return;
+        }
+        if (!carregando.compareAndSet(false, true)) {
+            Log.d(TAG, "Carga já em andamento; nova carga ao concluir");
+            recarregarAoConcluir.set(true);
+            return;
+        }
+        String usuarioId = usuario.getUid();
+
+        // Primeiro, verificar e atualizar solicitações expiradas
+        carregamentos.vincular(GerenciadorFirebase.verificarEAtualizarSolicitacoesExpiradas(usuarioId))
+                .thenCompose(atualizadas -> {
+                    Log.d(TAG, "Solicitações expiradas atualizadas: " + atualizadas);
+
+                    // Recebidas (usuário proprietário) e enviadas (usuário solicitante), em paralelo
+                    EstadoAba deRecebidas = new EstadoAba(GerenciadorFirebase.consultasSolicitacoes("proprietarioId", usuarioId));
+                    EstadoAba deEnviadas = new EstadoAba(GerenciadorFirebase.consultasSolicitacoes("solicitanteId", usuarioId));
+                    estadoRecebidas = deRecebidas;
+                    estadoEnviadas = deEnviadas;
+                    deRecebidas.ocupado.set(true);
+                    deEnviadas.ocupado.set(true);
+                    CompletableFuture<List<DocumentSnapshot>> paginaRecebidas = carregamentos.vincular(deRecebidas.lista.carregarMais());
+                    CompletableFuture<List<DocumentSnapshot>> paginaEnviadas = carregamentos.vincular(deEnviadas.lista.carregarMais());
+                    return CompletableFuture.allOf(paginaRecebidas, paginaEnviadas)
+                            .thenCompose(ambas -> {
+                                // Instrumentos das duas primeiras páginas em um único lote
+                                List<DocumentSnapshot> paginas = new ArrayList<>(paginaRecebidas.join());
+                                paginas.addAll(paginaEnviadas.join());
+                                return carregamentos.vincular(GerenciadorFirebase.obterInstrumentosPorIds(idsInstrumentos(paginas)));
+                            })
+                            .thenAccept(instrumentosPorId -> {
+                                publicar(TIPO_RECEBIDAS, deRecebidas, instrumentosPorId);
+                                publicar(TIPO_ENVIADAS, deEnviadas, instrumentosPorId);
+                            })
+                            .whenComplete((resultado, erro) -> {
+                                deRecebidas.ocupado.set(false);
+                                deEnviadas.ocupado.set(false);
+                            });
+                })
+                .whenComplete((resultado, erro) -> {
+                    carregando.set(false);
+                    if (erro != null) {
+                        Log.e(TAG, "Erro ao carregar solicitações: " + erro.getMessage());
+                        falhaCarregamento.postValue(true);
+                        if (recebidas.getValue() == null) {
+                            publicarVazio();
+                        }
+                    }
+                    if (recarregarAoConcluir.getAndSet(false)) {
+                        carregar();
+                    }
+                });
+    }
+
+    /**
+     * Carrega a próxima página de uma aba, já unida aos instrumentos
+     *
+     * Chamado pela rolagem (RolagemPaginada); ignorado durante uma carga ou se a aba já terminou.
+     *
+     * @param tipo Aba a continuar
+     */
+    public void carregarMais(String tipo) {
+        EstadoAba estado = estadoDa(tipo);
+        if (estado == null || carregando.get() || !estado.lista.temMais()
+                || !estado.ocupado.compareAndSet(false, true)) {
+            return;
+        }
+        carregamentos.vincular(estado.lista.carregarMais())
+                .thenCompose(pagina -> carregamentos.vincular(
+                        GerenciadorFirebase.obterInstrumentosPorIds(idsInstrumentos(pagina))))
+                .thenAccept(instrumentosPorId -> publicar(tipo, estado, instrumentosPorId))
+                .whenComplete((resultado, erro) -> {
+                    estado.ocupado.set(false);
+                    if (erro != null) {
+                        Log.e(TAG, "Erro ao carregar mais solicitações: " + erro.getMessage());
+                        falhaCarregamento.postValue(true);
+                    }
+                });
+    }
+
+    /**
+     * Acrescenta os instrumentos lidos à aba e publica as solicitações já carregadas
+     */
+    private void publicar(String tipo, EstadoAba estado, Map<String, DocumentSnapshot> instrumentosPorId) {
+        estado.instrumentos.putAll(instrumentosPorId);
+        // Aba recarregada enquanto a página era lida: o resultado é descartado
+        if (estado != estadoDa(tipo)) {
+            return;
+        }
+        Log.d(TAG, "Solicitações em " + tipo + ": " + estado.lista.tamanho()
+                + (estado.lista.temMais() ? " (há mais)" : ""));
+        abaDa(tipo).postValue(new SolicitacoesDaAba(estado.lista.documentos(),
+                new HashMap<>(estado.instrumentos), estado.lista.temMais()));
+    }
+
+    private static Set<String> idsInstrumentos(List<DocumentSnapshot> solicitacoes) {
+        Set<String> ids = new HashSet<>();
+        for (DocumentSnapshot solicitacao : solicitacoes) {
+            ids.add(solicitacao.getString("instrumentoId"));
+        }
+        return ids;
+    }
+
+    private EstadoAba estadoDa(String tipo) {
+        return TIPO_RECEBIDAS.equals(tipo) ? estadoRecebidas : estadoEnviadas;
+    }
+
+    private MutableLiveData<SolicitacoesDaAba> abaDa(String tipo) {
+        return TIPO_RECEBIDAS.equals(tipo) ? recebidas : enviadas;
+    }
+
+    private void publicarVazio() {
+        recebidas.postValue(new SolicitacoesDaAba(new ArrayList<>(), new HashMap<>(), false));
+        enviadas.postValue(new SolicitacoesDaAba(new ArrayList<>(), new HashMap<>(), false));
+    }
+
+    /**
+     * Paginação de uma aba; substituído a cada recarga
+     */
+    private static final class EstadoAba {
+        final ListaPaginada lista;
+        final Map<String, DocumentSnapshot> instrumentos = new ConcurrentHashMap<>();
+        final AtomicBoolean ocupado = new AtomicBoolean(false);
+
+        EstadoAba(Query[] consultas) {
+            this.lista = new ListaPaginada(consultas);
+        }
+    }
+
+    /**
+     * Solicitações já carregadas de uma aba, os instrumentos referenciados (por ID) e se há mais páginas
+     */
+    public static final class SolicitacoesDaAba {
+        public final List<DocumentSnapshot> solicitacoes;
+        public final Map<String, DocumentSnapshot> instrumentos;
+        public final boolean temMais;
+
+        SolicitacoesDaAba(List<DocumentSnapshot> solicitacoes, Map<String, DocumentSnapshot> instrumentos,
+                          boolean temMais) {
+            this.solicitacoes = Collections.unmodifiableList(solicitacoes);
+            this.instrumentos = Collections.unmodifiableMap(instrumentos);
+            this.temMais = temMais;
+        }
+    }
+}
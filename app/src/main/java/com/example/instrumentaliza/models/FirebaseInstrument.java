@@ -41,6 +41,9 @@ public class FirebaseInstrument {
     private String category;
     private double price;
     private String imageUri;
+    private String imageThumbUri; // Versão miniatura (listas)
+    private String imageCardUri;  // Versão cartão (telas intermediárias)
+    private String imagePlaceholder; // Prévia de baixa resolução (Base64)
     
     // Metadados e controle de disponibilidade
     private Date createdAt;
@@ -105,6 +108,9 @@ public class FirebaseInstrument {
         instrument.setCategory((String) document.get("category"));
         instrument.setPrice(((Number) document.get("price")).doubleValue());
         instrument.setImageUri((String) document.get("imageUri"));
+        instrument.setImageThumbUri((String) document.get("imageThumbUri"));
+        instrument.setImageCardUri((String) document.get("imageCardUri"));
+        instrument.setImagePlaceholder((String) document.get("imagePlaceholder"));
         
         // Converter Timestamp do Firebase para Date do Java
         Object createdAtObj = document.get("createdAt");
@@ -262,6 +268,54 @@ public class FirebaseInstrument {
         this.imageUri = imageUri;
     }
 
+    /**
+     * Obtém a URI da versão miniatura da imagem
+     * @return URI da miniatura (null em instrumentos antigos)
+     */
+    public String getImageThumbUri() {
+        return imageThumbUri;
+    }
+
+    /**
+     * Define a URI da versão miniatura da imagem
+     * @param imageThumbUri URI da miniatura
+     */
+    public void setImageThumbUri(String imageThumbUri) {
+        this.imageThumbUri = imageThumbUri;
+    }
+
+    /**
+     * Obtém a URI da versão cartão da imagem
+     * @return URI da versão cartão (null em instrumentos antigos)
+     */
+    public String getImageCardUri() {
+        return imageCardUri;
+    }
+
+    /**
+     * Define a URI da versão cartão da imagem
+     * @param imageCardUri URI da versão cartão
+     */
+    public void setImageCardUri(String imageCardUri) {
+        this.imageCardUri = imageCardUri;
+    }
+
+    /**
+     * Obtém a prévia de baixa resolução da imagem
+     * @return Prévia em Base64 (null em instrumentos antigos)
+     */
+    public String getImagePlaceholder() {
+        return imagePlaceholder;
+    }
+
+    /**
+     * Define a prévia de baixa resolução da imagem
+     * @param imagePlaceholder Prévia em Base64
+     */
+    public void setImagePlaceholder(String imagePlaceholder) {
+        this.imagePlaceholder = imagePlaceholder;
+    }
+
     /**
      * Obtém a data de criação do instrumento
      * @return Data de criação
@@ -0,0 +1,99 @@
+#!/usr/bin/env node
+/**
+ * preencher-campos-ordenacao - Tarefa única de preenchimento dos campos usados em orderBy
+ *
+ * O Firestore exclui do resultado de uma consulta com orderBy os documentos que
+ * não têm o campo ordenado. Este script percorre as coleções consultadas pelo
+ * aplicativo com ordenação e grava o campo nos documentos em que ele falta
+ * (dados criados à mão no console ou por versões antigas do app).
+ *
+ * Valor gravado:
+ * - o primeiro campo de origem presente no documento (ex.: "createdAt" para "lastMessageAt");
+ * - senão, a data de criação do documento no Firestore;
+ * - em instruments.updatedAt, sempre o horário do servidor: a sincronização
+ *   incremental dos aparelhos passa a trazer o documento.
+ *
+ * Uso (Admin SDK, ignora as regras de segurança):
+ *   cd scripts && npm install
+ *   GOOGLE_APPLICATION_CREDENTIALS=chave.json node preencher-campos-ordenacao.js [--simular]
+ * Contra o emulador: FIRESTORE_EMULATOR_HOST=localhost:8080 GCLOUD_PROJECT=<projeto> node ...
+ *
+ * Idempotente: documentos que já têm o campo não são alterados.
+ */
+'use strict';
+
+const { initializeApp } = require('firebase-admin/app');
+const { getFirestore, FieldPath, FieldValue } = require('firebase-admin/firestore');
+
+// Mesmas coleções e campos da tabela "Campos obrigatórios para a ordenação" (FIREBASE_SETUP.md)
+const CAMPOS_ORDENACAO = [
+  { colecao: 'reservations', campo: 'createdAt', origens: ['startDate'] },
+  { colecao: 'favorites', campo: 'createdAt', origens: [] },
+  { colecao: 'messages', campo: 'timestamp', origens: ['createdAt'] },
+  { colecao: 'chats', campo: 'lastMessageAt', origens: ['createdAt'] },
+  { colecao: 'instruments', campo: 'updatedAt', horarioServidor: true },
+  { colecao: 'solicitacoes', campo: 'dataCriacao', origens: [] },
+  { colecao: 'avaliacoes', campo: 'dataAvaliacao', origens: [] },
+  { colecao: 'avaliacoes_usuarios', campo: 'dataAvaliacao', origens: [] },
+];
+
+// Documentos lidos por página e gravações por lote (limite do Firestore: 500)
+const TAMANHO_PAGINA = 500;
+
+const simular = process.argv.includes('--simular');
+
+async function preencherColecao(firestore, { colecao, campo, origens = [], horarioServidor = false }) {
+  let analisados = 0;
+  let preenchidos = 0;
+  let ultimo = null;
+
+  while (true) {
+    let consulta = firestore.collection(colecao).orderBy(FieldPath.documentId()).limit(TAMANHO_PAGINA);
+    if (ultimo) {
+      consulta = consulta.startAfter(ultimo);
+    }
+    const pagina = await consulta.get();
+    if (pagina.empty) {
+      break;
+    }
+
+    const lote = firestore.batch();
+    let alteracoesNoLote = 0;
+    for (const documento of pagina.docs) {
+      analisados++;
+      if (documento.get(campo) !== undefined) {
+        continue;
+      }
+      const origem = origens.find((nome) => documento.get(nome) != null);
+      const valor = horarioServidor
+        ? FieldValue.serverTimestamp()
+        : (origem ? documento.get(origem) : documento.createTime);
+      lote.update(documento.ref, { [campo]: valor });
+      alteracoesNoLote++;
+    }
+    if (alteracoesNoLote > 0 && !simular) {
+      await lote.commit();
+    }
+    preenchidos += alteracoesNoLote;
+
+    if (pagina.size < TAMANHO_PAGINA) {
+      break;
+    }
+    ultimo = pagina.docs[pagina.size - 1];
+  }
+
+  console.log(`${colecao}.${campo}: ${preenchidos} de ${analisados} documentos ${simular ? 'sem o campo' : 'preenchidos'}`);
+}
+
+async function main() {
+  initializeApp();
+  const firestore = getFirestore();
+  for (const definicao of CAMPOS_ORDENACAO) {
+    await preencherColecao(firestore, definicao);
+  }
+}
+
+main().catch((erro) => {
+  console.error('Erro ao preencher campos de ordenação:', erro);
+  process.exit(1);
+});